@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.changes;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonPointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A change handler which delivers only the latest value of each changed location to the handler it wraps.
+ * <p>
+ * While the wrapped handler is busy, only the newest pending change per Thing and path is kept; older pending changes
+ * of the same location are discarded without being built. When the handler becomes free, it gets the pending changes
+ * one after another in the order their locations first changed.
+ * </p>
+ * <p>
+ * Pass it to any change registration, e.g.:
+ * </p>
+ * <pre>
+ * ConflatingChangeHandler&lt;Change&gt; handler = ConflatingChangeHandler.latestValue(change -&gt;
+ *    dashboard.show(change.getPath(), change.getValue()));
+ * client.twin().registerForFeaturePropertyChanges(HANDLER_ID, "smokeDetector", handler);
+ * </pre>
+ * <p>
+ * Discarded changes are not acknowledged, so do not use conflation for changes which request acknowledgements.
+ * </p>
+ *
+ * @param <T> the type of the handled changes.
+ * @since 3.2.0
+ */
+@ThreadSafe
+public final class ConflatingChangeHandler<T extends Change> implements Consumer<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConflatingChangeHandler.class);
+    private static final JsonPointer THINGS = JsonPointer.of("/things");
+
+    private final Consumer<T> handler;
+    @GuardedBy("this") private final Map<JsonPointer, Supplier<? extends T>> pendingChanges;
+    @GuardedBy("this") private boolean delivering;
+    private final LongAdder deliveredCount;
+    private final LongAdder conflatedCount;
+
+    private ConflatingChangeHandler(final Consumer<T> handler) {
+        this.handler = handler;
+        pendingChanges = new LinkedHashMap<>();
+        delivering = false;
+        deliveredCount = new LongAdder();
+        conflatedCount = new LongAdder();
+    }
+
+    /**
+     * Returns a handler delivering only the latest value of each changed location to the passed handler.
+     *
+     * @param handler the handler to be notified of the latest changes.
+     * @param <T> the type of the handled changes.
+     * @return the conflating handler.
+     * @throws NullPointerException if {@code handler} is {@code null}.
+     */
+    public static <T extends Change> ConflatingChangeHandler<T> latestValue(final Consumer<T> handler) {
+        return new ConflatingChangeHandler<>(checkNotNull(handler, "handler"));
+    }
+
+    @Override
+    public void accept(final T change) {
+        final JsonPointer location = THINGS.addLeaf(JsonKey.of(String.valueOf(change.getEntityId())))
+                .append(change.getPath());
+        offer(location, () -> change);
+    }
+
+    /**
+     * Offers a change which is only built if it is delivered, i.e. if no newer change of the same location arrives
+     * while the wrapped handler is busy. If the handler is free, the change is delivered on the calling thread.
+     *
+     * @param location the absolute location of the change, e.g.
+     * {@code /things/org.eclipse.ditto:thing/features/smokeDetector/properties/density}.
+     * @param changeSupplier builds the change.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public void offer(final JsonPointer location, final Supplier<? extends T> changeSupplier) {
+        checkNotNull(location, "location");
+        checkNotNull(changeSupplier, "changeSupplier");
+        synchronized (this) {
+            if (null != pendingChanges.put(location, changeSupplier)) {
+                conflatedCount.increment();
+            }
+            if (delivering) {
+                // the thread which is delivering will pick up the change
+                return;
+            }
+            delivering = true;
+        }
+        deliverPendingChanges();
+    }
+
+    private void deliverPendingChanges() {
+        Supplier<? extends T> changeSupplier;
+        while ((changeSupplier = pollPendingChange()) != null) {
+            try {
+                handler.accept(changeSupplier.get());
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Handler failed to handle change.", e);
+            }
+            deliveredCount.increment();
+        }
+    }
+
+    @Nullable
+    private synchronized Supplier<? extends T> pollPendingChange() {
+        final Iterator<Supplier<? extends T>> iterator = pendingChanges.values().iterator();
+        if (!iterator.hasNext()) {
+            delivering = false;
+            return null;
+        }
+        final Supplier<? extends T> changeSupplier = iterator.next();
+        iterator.remove();
+        return changeSupplier;
+    }
+
+    /**
+     * Returns the number of changes handed to the wrapped handler.
+     *
+     * @return the number of delivered changes.
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    /**
+     * Returns the number of changes discarded because a newer change of the same location arrived before they were
+     * delivered.
+     *
+     * @return the number of conflated changes.
+     */
+    public long getConflatedCount() {
+        return conflatedCount.sum();
+    }
+
+    /**
+     * Returns the number of locations with a change waiting for the wrapped handler.
+     *
+     * @return the number of pending changes.
+     */
+    public synchronized int getPendingCount() {
+        return pendingChanges.size();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "handler=" + handler +
+                ", deliveredCount=" + deliveredCount +
+                ", conflatedCount=" + conflatedCount +
+                "]";
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Contains information about the compression of WebSocket messages with the permessage-deflate extension
+ * (RFC 7692). The client compresses each outgoing message on its own and sends it uncompressed if deflating does not
+ * shrink it, so it always offers {@code client_no_context_takeover}. With server context takeover, the backend keeps
+ * its compression context from one incoming message to the next, which compresses the similar messages of the Ditto
+ * protocol much better at the cost of keeping a 32 KiB window per connection on both sides.
+ *
+ * @since 3.2.0
+ */
+public final class CompressionConfiguration {
+
+    private final boolean serverContextTakeover;
+
+    private CompressionConfiguration(final Builder builder) {
+        serverContextTakeover = builder.serverContextTakeover;
+    }
+
+    /**
+     * @return a new builder used to create a CompressionConfiguration object
+     */
+    public static CompressionConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return whether the backend may keep its compression context between incoming messages
+     */
+    public boolean isServerContextTakeover() {
+        return serverContextTakeover;
+    }
+
+    /**
+     * Builder for creating a CompressionConfiguration object.
+     */
+    public interface CompressionConfigurationBuilder {
+
+        /**
+         * @param serverContextTakeover whether the backend may keep its compression context between incoming
+         * messages, default is {@code true}. If {@code false}, {@code server_no_context_takeover} is requested from
+         * the backend.
+         * @return this builder.
+         */
+        CompressionConfigurationBuilder serverContextTakeover(boolean serverContextTakeover);
+
+        /**
+         * @return new CompressionConfiguration instance
+         */
+        CompressionConfiguration build();
+    }
+
+    private static final class Builder implements CompressionConfigurationBuilder {
+
+        private boolean serverContextTakeover;
+
+        private Builder() {
+            serverContextTakeover = true;
+        }
+
+        @Override
+        public CompressionConfigurationBuilder serverContextTakeover(final boolean serverContextTakeover) {
+            this.serverContextTakeover = serverContextTakeover;
+            return this;
+        }
+
+        @Override
+        public CompressionConfiguration build() {
+            return new CompressionConfiguration(this);
+        }
+
+    }
+
+}
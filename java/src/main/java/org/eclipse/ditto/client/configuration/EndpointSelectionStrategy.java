@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Defines which of several {@link MessagingConfiguration#getEndpointUris() endpoints} a WebSocket connection is
+ * opened to. The latency of an endpoint is the sum of its observed connect time and ping round-trip time; endpoints
+ * which failed recently are only chosen if all endpoints failed recently.
+ *
+ * @since 3.2.0
+ */
+public enum EndpointSelectionStrategy {
+
+    /**
+     * The endpoint with the least latency is chosen. Endpoints without observed latency are tried first, in the
+     * order they were configured.
+     */
+    LEAST_LATENCY,
+
+    /**
+     * An endpoint is chosen at random, weighted by the inverse of its latency. Unlike {@link #LEAST_LATENCY}, this
+     * spreads the connections of many clients across all endpoints while still favouring the faster ones.
+     */
+    WEIGHTED_RANDOM
+
+}
@@ -15,6 +15,7 @@ package org.eclipse.ditto.client.configuration;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -23,6 +24,7 @@ import javax.annotation.Nullable;
 
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.messaging.AdaptableCodec;
 
 /**
  * Provides configuration for messaging.
@@ -52,6 +54,22 @@ public interface MessagingConfiguration {
      */
     URI getEndpointUri();
 
+    /**
+     * Returns all Ditto endpoint URIs to use for messaging, starting with the {@link #getEndpointUri() endpoint URI}.
+     *
+     * @return the URIs.
+     * @since 3.2.0
+     */
+    List<URI> getEndpointUris();
+
+    /**
+     * Returns how one of the {@link #getEndpointUris() endpoint URIs} is chosen for each WebSocket connection.
+     *
+     * @return the strategy.
+     * @since 3.2.0
+     */
+    EndpointSelectionStrategy getEndpointSelectionStrategy();
+
     /**
      * Returns the labels of all acknowledgements that are declared to be provided by this connection.
      *
@@ -100,6 +118,122 @@ public interface MessagingConfiguration {
      */
     Optional<Consumer<DisconnectedContext>> getDisconnectedListener();
 
+    /**
+     * Returns the number of WebSocket connections one messaging provider opens to the endpoint.
+     *
+     * @return the size of the connection pool, at least 1.
+     * @since 3.2.0
+     */
+    int getConnectionPoolSize();
+
+    /**
+     * Returns the number of queued messages per WebSocket connection at which the send queue is considered full.
+     *
+     * @return the high watermark of the send queue.
+     * @since 3.2.0
+     */
+    int getSendQueueHighWatermark();
+
+    /**
+     * Returns the number of queued messages per WebSocket connection a full send queue has to be drained down to
+     * before it accepts messages again.
+     *
+     * @return the low watermark of the send queue.
+     * @since 3.2.0
+     */
+    int getSendQueueLowWatermark();
+
+    /**
+     * Returns what happens to messages emitted while the send queue is full.
+     *
+     * @return the overflow policy of the send queue.
+     * @since 3.2.0
+     */
+    SendQueueOverflowPolicy getSendQueueOverflowPolicy();
+
+    /**
+     * Returns the configuration of the offline outbox.
+     *
+     * @return the configuration or an empty optional if the outbox is disabled.
+     * @since 3.2.0
+     */
+    Optional<OutboxConfiguration> getOutboxConfiguration();
+
+    /**
+     * Returns the codec for binary WebSocket frames.
+     *
+     * @return the codec or an empty optional if only text frames are used.
+     * @since 3.2.0
+     */
+    Optional<AdaptableCodec> getBinaryCodec();
+
+    /**
+     * Returns the configuration of the permessage-deflate WebSocket extension. See
+     * {@link Builder#compressionConfiguration(CompressionConfiguration)} for what is supported.
+     *
+     * @return the configuration or an empty optional if compression is disabled.
+     * @since 3.2.0
+     */
+    Optional<CompressionConfiguration> getCompressionConfiguration();
+
+    /**
+     * Returns the policy determining the delays before the attempts to reconnect a lost WebSocket connection.
+     *
+     * @return the policy or an empty optional if the default delays are used.
+     * @since 3.2.0
+     */
+    Optional<ReconnectDelayPolicy> getReconnectDelayPolicy();
+
+    /**
+     * Indicates whether a second, already authenticated WebSocket connection is kept open for each connection
+     * and takes over as soon as the connection is lost.
+     *
+     * @return {@code true} if hot standby connections are kept open.
+     * @since 3.2.0
+     */
+    boolean isHotStandbyEnabled();
+
+    /**
+     * Returns the interval in which pings are sent on each WebSocket connection.
+     *
+     * @return the ping interval.
+     * @since 3.2.0
+     */
+    Duration getPingInterval();
+
+    /**
+     * Returns the number of consecutive pongs which may be missed before a WebSocket connection is considered
+     * half-open and is reconnected.
+     *
+     * @return the number of missed pongs or 0 if connections are never considered half-open.
+     * @since 3.2.0
+     */
+    int getMaxMissedPongs();
+
+    /**
+     * Returns the number of threads parsing received messages in parallel.
+     *
+     * @return the number of parsing threads or 0 if messages are parsed on the thread receiving them.
+     * @since 3.2.0
+     */
+    int getInboundParsingParallelism();
+
+    /**
+     * Returns the maximum number of requests waiting for their response at the same time.
+     *
+     * @return the limit of in-flight requests or 0 if the number of in-flight requests is not limited.
+     * @since 3.2.0
+     */
+    int getMaxInFlightRequests();
+
+    /**
+     * Returns how long a request may wait to be sent while the maximum number of requests is in flight.
+     *
+     * @return the maximum admission wait.
+     * @since 3.2.0
+     */
+    Duration getMaxAdmissionWait();
+
     /**
      * Builder for creating an instance of {@code MessagingConfiguration} by utilizing Object Scoping and Method
      * Chaining.
@@ -132,6 +266,35 @@ public interface MessagingConfiguration {
          */
         Builder endpoint(String endpoint);
 
+        /**
+         * Sets several endpoints of the same Ditto installation, e.g. the addresses of the individual gateways
+         * behind a load balancer. Each WebSocket connection is opened to one of them as chosen by the
+         * {@link #endpointSelectionStrategy(EndpointSelectionStrategy) endpoint selection strategy}. A connection
+         * which could not be established or was lost is reconnected to the next best endpoint, so that retries
+         * rotate through the endpoints instead of only retrying the failed one. Replaces a previously set
+         * {@link #endpoint(String) endpoint}.
+         *
+         * @param endpoints the endpoints, the first one is the {@link MessagingConfiguration#getEndpointUri()
+         * endpoint URI}.
+         * @return this builder.
+         * @throws NullPointerException if {@code endpoints} is {@code null}.
+         * @throws IllegalArgumentException if {@code endpoints} is empty or contains an endpoint with an invalid
+         * scheme.
+         * @since 3.2.0
+         */
+        Builder endpoints(List<String> endpoints);
+
+        /**
+         * Sets how one of several {@link #endpoints(List) endpoints} is chosen for each WebSocket connection.
+         * Default is {@link EndpointSelectionStrategy#LEAST_LATENCY}.
+         *
+         * @param endpointSelectionStrategy the strategy.
+         * @return this builder.
+         * @throws NullPointerException if {@code endpointSelectionStrategy} is {@code null}.
+         * @since 3.2.0
+         */
+        Builder endpointSelectionStrategy(EndpointSelectionStrategy endpointSelectionStrategy);
+
         /**
          * Sets the labels of all acknowledgements that are declared to be provided by this client session/connection.
          *
@@ -196,6 +359,185 @@ public interface MessagingConfiguration {
          */
         Builder disconnectedListener(@Nullable Consumer<DisconnectedContext> contextListener);
 
+        /**
+         * Sets the number of WebSocket connections to open to the endpoint.
+         * <p>
+         * Default is 1. With more than one connection, commands are spread across the connections by their
+         * correlation ID while each subscription for events or messages is pinned to one connection so that the
+         * order of the events of a thing is kept.
+         *
+         * @param connectionPoolSize the number of connections, must be at least 1.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code connectionPoolSize} is less than 1.
+         * @since 3.2.0
+         */
+        Builder connectionPoolSize(int connectionPoolSize);
+
+        /**
+         * Sets the watermarks of the send queue each WebSocket connection buffers outgoing messages in.
+         * <p>
+         * Once a queue holds {@code highWatermark} messages it is full and emitted messages are handled according to
+         * the {@link #sendQueueOverflowPolicy(SendQueueOverflowPolicy) overflow policy} until it was drained down to
+         * {@code lowWatermark} messages. Default is a low watermark of 5000 and a high watermark of 10000 messages.
+         *
+         * @param lowWatermark the number of messages a full queue has to be drained down to, must not be negative.
+         * @param highWatermark the number of messages at which the queue is full, must be greater than
+         * {@code lowWatermark}.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code lowWatermark} is negative or not less than
+         * {@code highWatermark}.
+         * @since 3.2.0
+         */
+        Builder sendQueueWatermarks(int lowWatermark, int highWatermark);
+
+        /**
+         * Sets what happens to messages emitted while the send queue of a WebSocket connection is full.
+         * Default is {@link SendQueueOverflowPolicy#FAIL_FAST}, which never blocks the emitting thread.
+         *
+         * @param overflowPolicy the overflow policy.
+         * @return this builder.
+         * @throws NullPointerException if {@code overflowPolicy} is {@code null}.
+         * @since 3.2.0
+         */
+        Builder sendQueueOverflowPolicy(SendQueueOverflowPolicy overflowPolicy);
+
+        /**
+         * Enables the offline outbox which keeps messages emitted while the WebSocket connection is down on disk
+         * and sends them after the connection was established again. Disabled by default.
+         *
+         * @param outboxConfiguration the outbox configuration to set or {@code null} to disable the outbox.
+         * @return this builder.
+         * @since 3.2.0
+         */
+        Builder outboxConfiguration(@Nullable OutboxConfiguration outboxConfiguration);
+
+        /**
+         * Sets the codec to exchange Ditto protocol messages in binary WebSocket frames with. The codec is offered
+         * to the backend in the {@code ditto-binary-codec} header of the WebSocket handshake; connections whose
+         * backend does not confirm it in the same response header keep using JSON text frames. Protocol commands
+         * like {@code START-SEND-EVENTS} are always sent as text. Disabled by default.
+         *
+         * @param binaryCodec the codec to use or {@code null} to only use text frames.
+         * @return this builder.
+         * @see org.eclipse.ditto.client.messaging.AdaptableCodecs
+         * @since 3.2.0
+         */
+        Builder binaryCodec(@Nullable AdaptableCodec binaryCodec);
+
+        /**
+         * Sets the configuration of the permessage-deflate WebSocket extension (RFC 7692). The extension is offered
+         * in the WebSocket handshake; connections whose backend does not accept it send uncompressed frames.
+         * Disabled by default.
+         * <p>
+         * The WebSocket library compresses the outgoing messages, which limits the configuration:
+         * <ul>
+         *   <li>There is no size threshold. Every text and binary message is deflated, however small it is, and
+         *   only sent uncompressed if deflating does not shrink it.</li>
+         *   <li>Client context takeover is not supported. Each outgoing message is deflated on its own, so
+         *   {@code client_no_context_takeover} is always offered. Only the context takeover of the backend can be
+         *   configured.</li>
+         * </ul>
+         * The {@link org.eclipse.ditto.client.messaging.CompressionStatistics} compare the payload of each message
+         * handed over to the library with the payload it actually wrote.
+         *
+         * @param compressionConfiguration the compression configuration to set or {@code null} to disable
+         * compression.
+         * @return this builder.
+         * @since 3.2.0
+         */
+        Builder compressionConfiguration(@Nullable CompressionConfiguration compressionConfiguration);
+
+        /**
+         * Sets the policy determining the delays before the attempts to reconnect a lost WebSocket connection.
+         * By default, the first attempt is made after 5 seconds and further attempts back off from 1 up to 13
+         * seconds.
+         *
+         * @param reconnectDelayPolicy the policy or {@code null} to use the default delays.
+         * @return this builder.
+         * @see ReconnectDelayPolicy#exponentialBackoff(Duration, Duration, double)
+         * @since 3.2.0
+         */
+        Builder reconnectDelayPolicy(@Nullable ReconnectDelayPolicy reconnectDelayPolicy);
+
+        /**
+         * Enables hot standby connections. For each WebSocket connection a second one is opened and authenticated
+         * in advance. When the connection is lost and {@link #reconnectEnabled(boolean) reconnecting} is enabled,
+         * the standby connection takes over without any delay: the subscriptions for events and messages are
+         * replayed on it right away and a new standby connection is opened in the background. The standby
+         * connection does not subscribe before it takes over in order not to receive events twice. Disabled by
+         * default.
+         *
+         * @param hotStandbyEnabled whether to keep hot standby connections open.
+         * @return this builder.
+         * @since 3.2.0
+         */
+        Builder hotStandbyEnabled(boolean hotStandbyEnabled);
+
+        /**
+         * Sets the interval in which pings are sent on each WebSocket connection. The round-trip times of the pings
+         * are available via {@link org.eclipse.ditto.client.messaging.MessagingProvider#getLatencyStatistics()}.
+         * Default is 5 seconds.
+         *
+         * @param pingInterval the ping interval, must be positive.
+         * @return this builder.
+         * @throws NullPointerException if {@code pingInterval} is {@code null}.
+         * @throws IllegalArgumentException if {@code pingInterval} is not positive.
+         * @since 3.2.0
+         */
+        Builder pingInterval(Duration pingInterval);
+
+        /**
+         * Sets the number of consecutive pongs which may be missed before a WebSocket connection is considered
+         * half-open, e.g. because a network device dropped it silently. Such a connection is closed and, if
+         * {@link #reconnectEnabled(boolean) reconnecting} is enabled, reconnected. A pong is missed if it did not
+         * arrive before the next ping is sent. Default is 0, i.e. connections are never considered half-open.
+         *
+         * @param maxMissedPongs the number of missed pongs or 0 to never consider connections half-open.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxMissedPongs} is negative.
+         * @since 3.2.0
+         */
+        Builder maxMissedPongs(int maxMissedPongs);
+
+        /**
+         * Sets the number of threads parsing received messages in parallel. Received messages are put into a ring
+         * buffer, parsed by these threads and delivered in the order they were received in, so that the thread
+         * reading from the WebSocket is not slowed down by parsing. Default is 0, i.e. messages are parsed on the
+         * thread reading from the WebSocket.
+         *
+         * @param inboundParsingParallelism the number of parsing threads or 0 to parse on the reading thread.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code inboundParsingParallelism} is negative.
+         * @since 3.2.0
+         */
+        Builder inboundParsingParallelism(int inboundParsingParallelism);
+
+        /**
+         * Sets the maximum number of requests waiting for their response at the same time. Further requests are
+         * queued per channel and sent in turns across the twin, live and policies channels as responses arrive, so
+         * that a burst on one channel does not delay the others. The response timeout of a queued request starts when
+         * it is sent. Default is 0, i.e. the number of in-flight requests is not limited.
+         *
+         * @param maxInFlightRequests the limit of in-flight requests or 0 to not limit them.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxInFlightRequests} is negative.
+         * @since 3.2.0
+         */
+        Builder maxInFlightRequests(int maxInFlightRequests);
+
+        /**
+         * Sets how long a request may wait to be sent while the maximum number of requests is in flight. A request
+         * which waited longer fails with a {@link java.util.concurrent.TimeoutException} without being sent. Default
+         * is 60 seconds.
+         *
+         * @param maxAdmissionWait the maximum admission wait.
+         * @return this builder.
+         * @throws NullPointerException if {@code maxAdmissionWait} is {@code null}.
+         * @throws IllegalArgumentException if {@code maxAdmissionWait} is not positive.
+         * @since 3.2.0
+         */
+        Builder maxAdmissionWait(Duration maxAdmissionWait);
+
         /**
          * Creates a new instance of {@code MessagingConfiguration}.
          *
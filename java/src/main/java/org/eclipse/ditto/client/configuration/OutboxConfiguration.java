@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Contains information about the offline outbox of the client. While the WebSocket connection is down, outgoing
+ * messages are appended to a journal on disk instead of being rejected, and are sent in order once the connection
+ * is established again. The journal consists of memory-mapped segment files in one directory which survive a
+ * restart of the client.
+ *
+ * @since 3.2.0
+ */
+public final class OutboxConfiguration {
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxSize;
+    private final Duration messageTimeToLive;
+
+    private OutboxConfiguration(final Builder builder) {
+        directory = builder.directory;
+        segmentSize = builder.segmentSize;
+        maxSize = builder.maxSize;
+        messageTimeToLive = builder.messageTimeToLive;
+    }
+
+    /**
+     * @return a new builder used to create an OutboxConfiguration object
+     */
+    public static OutboxConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the directory the journal segments are stored in
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return the size of one journal segment in bytes, which also limits the size of a single message
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @return the maximum size of all journal segments in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return how long a message is kept in the outbox before it is discarded instead of being sent
+     */
+    public Duration getMessageTimeToLive() {
+        return messageTimeToLive;
+    }
+
+    /**
+     * Entry point for building an OutboxConfiguration object.
+     */
+    public interface OutboxConfigurationBuilder extends DirectorySettable {
+    }
+
+    /**
+     * Allows setting the outbox directory.
+     */
+    public interface DirectorySettable {
+
+        /**
+         * @param directory the directory to store the journal segments in; it is created if it does not exist.
+         * @return a builder object for optional outbox settings.
+         */
+        OutboxOptionalSettable directory(Path directory);
+    }
+
+    /**
+     * Allows setting the optional outbox settings.
+     */
+    public interface OutboxOptionalSettable extends OutboxConfigurationBuildable {
+
+        /**
+         * @param segmentSize the size of one journal segment in bytes, default is 16 MiB.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code segmentSize} is less than 1 KiB.
+         */
+        OutboxOptionalSettable segmentSize(int segmentSize);
+
+        /**
+         * @param maxSize the maximum size of all journal segments in bytes, default is 256 MiB. Messages emitted
+         * while the outbox is full are rejected as if there were no outbox.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxSize} is less than 1 KiB.
+         */
+        OutboxOptionalSettable maxSize(long maxSize);
+
+        /**
+         * @param messageTimeToLive how long a message is kept in the outbox, default is 10 minutes.
+         * @return this builder.
+         * @throws NullPointerException if {@code messageTimeToLive} is {@code null}.
+         * @throws IllegalArgumentException if {@code messageTimeToLive} is not positive.
+         */
+        OutboxOptionalSettable messageTimeToLive(Duration messageTimeToLive);
+    }
+
+    /**
+     * Final interface to finish building a new OutboxConfiguration object.
+     */
+    public interface OutboxConfigurationBuildable {
+
+        /**
+         * @return new OutboxConfiguration instance
+         */
+        OutboxConfiguration build();
+    }
+
+    private static final class Builder implements OutboxConfigurationBuilder, DirectorySettable,
+            OutboxOptionalSettable, OutboxConfigurationBuildable {
+
+        private static final int MIN_SIZE = 1024;
+
+        private Path directory;
+        private int segmentSize;
+        private long maxSize;
+        private Duration messageTimeToLive;
+
+        private Builder() {
+            directory = null;
+            segmentSize = 16 * 1024 * 1024;
+            maxSize = 256L * 1024 * 1024;
+            messageTimeToLive = Duration.ofMinutes(10L);
+        }
+
+        @Override
+        public OutboxOptionalSettable directory(final Path directory) {
+            this.directory = checkNotNull(directory, "directory");
+            return this;
+        }
+
+        @Override
+        public OutboxOptionalSettable segmentSize(final int segmentSize) {
+            checkArgument(segmentSize, size -> size >= MIN_SIZE,
+                    () -> "The segmentSize must be at least " + MIN_SIZE + " but was " + segmentSize + ".");
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        @Override
+        public OutboxOptionalSettable maxSize(final long maxSize) {
+            checkArgument(maxSize, size -> size >= MIN_SIZE,
+                    () -> "The maxSize must be at least " + MIN_SIZE + " but was " + maxSize + ".");
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        @Override
+        public OutboxOptionalSettable messageTimeToLive(final Duration messageTimeToLive) {
+            checkNotNull(messageTimeToLive, "messageTimeToLive");
+            checkArgument(messageTimeToLive, ttl -> !ttl.isNegative() && !ttl.isZero(),
+                    () -> "The messageTimeToLive must be positive but was " + messageTimeToLive + ".");
+            this.messageTimeToLive = messageTimeToLive;
+            return this;
+        }
+
+        @Override
+        public OutboxConfiguration build() {
+            return new OutboxConfiguration(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Determines how long to wait before each attempt to reconnect a WebSocket connection which was lost.
+ *
+ * @since 3.2.0
+ */
+@FunctionalInterface
+public interface ReconnectDelayPolicy {
+
+    /**
+     * Returns the delay before the passed attempt to reconnect.
+     *
+     * @param attempt the number of the attempt since the connection was lost, starting with 1.
+     * @return the delay, must not be negative.
+     */
+    Duration getDelay(int attempt);
+
+    /**
+     * Returns a policy which waits the same delay before each attempt.
+     *
+     * @param delay the delay.
+     * @return the policy.
+     * @throws NullPointerException if {@code delay} is {@code null}.
+     * @throws IllegalArgumentException if {@code delay} is negative.
+     */
+    static ReconnectDelayPolicy fixed(final Duration delay) {
+        checkNotNull(delay, "delay");
+        checkArgument(delay, d -> !d.isNegative(), () -> "The delay must not be negative but was " + delay + ".");
+        return attempt -> delay;
+    }
+
+    /**
+     * Returns a policy which doubles the delay with each attempt, starting with {@code initialDelay} and limited
+     * to {@code maxDelay}. Each delay is shortened by a random fraction of up to {@code jitter} of itself, so that
+     * clients which lost their connections at the same time, e.g. because of a restart of the backend, do not
+     * reconnect at the same time.
+     *
+     * @param initialDelay the delay before the first attempt.
+     * @param maxDelay the maximum delay.
+     * @param jitter the maximum fraction of a delay to shorten it by, between 0.0 and 1.0.
+     * @return the policy.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code initialDelay} is negative, {@code maxDelay} is less than
+     * {@code initialDelay} or {@code jitter} is not between 0.0 and 1.0.
+     */
+    static ReconnectDelayPolicy exponentialBackoff(final Duration initialDelay, final Duration maxDelay,
+            final double jitter) {
+        checkNotNull(initialDelay, "initialDelay");
+        checkNotNull(maxDelay, "maxDelay");
+        checkArgument(initialDelay, d -> !d.isNegative(),
+                () -> "The initialDelay must not be negative but was " + initialDelay + ".");
+        checkArgument(maxDelay, d -> d.compareTo(initialDelay) >= 0,
+                () -> "The maxDelay must not be less than the initialDelay <" + initialDelay + "> but was " +
+                        maxDelay + ".");
+        checkArgument(jitter, j -> j >= 0.0 && j <= 1.0,
+                () -> "The jitter must be between 0.0 and 1.0 but was " + jitter + ".");
+        final long initialMillis = initialDelay.toMillis();
+        final long maxMillis = maxDelay.toMillis();
+        return attempt -> {
+            // doubling more than 62 times overflows any initial delay
+            final int doublings = Math.min(Math.max(attempt - 1, 0), 62);
+            final long uncappedMillis = initialMillis << doublings;
+            final long millis = uncappedMillis >>> doublings == initialMillis
+                    ? Math.min(uncappedMillis, maxMillis)
+                    : maxMillis;
+            final double shortening = jitter * ThreadLocalRandom.current().nextDouble();
+            return Duration.ofMillis(millis - (long) (millis * shortening));
+        };
+    }
+
+}
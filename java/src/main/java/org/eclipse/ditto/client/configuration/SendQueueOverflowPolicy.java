@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Defines what happens to a message emitted while the send queue of a WebSocket connection is full, i.e. after it
+ * reached its high watermark and was not yet drained down to its low watermark.
+ *
+ * @since 3.2.0
+ */
+public enum SendQueueOverflowPolicy {
+
+    /**
+     * The emitting thread is blocked until the queue was drained down to its low watermark. If that does not happen
+     * within the configured {@link MessagingConfiguration#getTimeout() timeout}, the message is rejected.
+     * <p>
+     * The queues are drained by the threads which run the callbacks of the client, so emitting from those threads,
+     * e.g. from a change handler, may block for the whole timeout.
+     */
+    BLOCK,
+
+    /**
+     * The message is rejected immediately. This is the default.
+     */
+    FAIL_FAST,
+
+    /**
+     * The oldest queued message is discarded in favour of the new one.
+     */
+    DROP_OLDEST
+
+}
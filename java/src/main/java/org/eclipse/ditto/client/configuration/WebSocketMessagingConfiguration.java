@@ -18,6 +18,7 @@ import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
 import java.net.URI;
 import java.text.MessageFormat;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -33,6 +34,7 @@ import javax.annotation.Nullable;
 
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.messaging.AdaptableCodec;
 
 /**
  * Provides Ditto WebSocket messaging specific configuration.
@@ -44,6 +46,8 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
     private final Duration timeout;
     private final JsonSchemaVersion jsonSchemaVersion;
     private final URI endpointUri;
+    private final List<URI> endpointUris;
+    private final EndpointSelectionStrategy endpointSelectionStrategy;
     private final boolean reconnectEnabled;
     private final boolean initialConnectRetryEnabled;
     @Nullable private final ProxyConfiguration proxyConfiguration;
@@ -51,10 +55,30 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
     @Nullable private final Consumer<Throwable> connectionErrorHandler;
     @Nullable private final Consumer<DisconnectedContext> disconnectedListener;
     private final Set<AcknowledgementLabel> declaredAcknowledgements;
+    private final int connectionPoolSize;
+    private final int sendQueueHighWatermark;
+    private final int sendQueueLowWatermark;
+    private final SendQueueOverflowPolicy sendQueueOverflowPolicy;
+    @Nullable private final OutboxConfiguration outboxConfiguration;
+    @Nullable private final AdaptableCodec binaryCodec;
+    @Nullable private final CompressionConfiguration compressionConfiguration;
+    @Nullable private final ReconnectDelayPolicy reconnectDelayPolicy;
+    private final boolean hotStandbyEnabled;
+    private final Duration pingInterval;
+    private final int maxMissedPongs;
+    private final int inboundParsingParallelism;
+    private final int maxInFlightRequests;
+    private final Duration maxAdmissionWait;
 
     public WebSocketMessagingConfiguration(final WebSocketMessagingConfigurationBuilder builder,
             final URI endpointUri) {
 
+        this(builder, Collections.singletonList(endpointUri));
+    }
+
+    private WebSocketMessagingConfiguration(final WebSocketMessagingConfigurationBuilder builder,
+            final List<URI> endpointUris) {
+
         jsonSchemaVersion = builder.jsonSchemaVersion;
         reconnectEnabled = builder.reconnectEnabled;
         initialConnectRetryEnabled = builder.initialConnectRetryEnabled;
@@ -64,7 +88,23 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         disconnectedListener = builder.disconnectedListener;
         this.timeout = builder.timeout;
         this.declaredAcknowledgements = Collections.unmodifiableSet(builder.declaredAcknowledgements);
-        this.endpointUri = endpointUri;
+        this.endpointUris = Collections.unmodifiableList(new ArrayList<>(endpointUris));
+        endpointUri = this.endpointUris.get(0);
+        endpointSelectionStrategy = builder.endpointSelectionStrategy;
+        connectionPoolSize = builder.connectionPoolSize;
+        sendQueueHighWatermark = builder.sendQueueHighWatermark;
+        sendQueueLowWatermark = builder.sendQueueLowWatermark;
+        sendQueueOverflowPolicy = builder.sendQueueOverflowPolicy;
+        outboxConfiguration = builder.outboxConfiguration;
+        binaryCodec = builder.binaryCodec;
+        compressionConfiguration = builder.compressionConfiguration;
+        reconnectDelayPolicy = builder.reconnectDelayPolicy;
+        hotStandbyEnabled = builder.hotStandbyEnabled;
+        pingInterval = builder.pingInterval;
+        maxMissedPongs = builder.maxMissedPongs;
+        inboundParsingParallelism = builder.inboundParsingParallelism;
+        maxInFlightRequests = builder.maxInFlightRequests;
+        maxAdmissionWait = builder.maxAdmissionWait;
     }
 
     public static MessagingConfiguration.Builder newBuilder() {
@@ -86,6 +126,16 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         return endpointUri;
     }
 
+    @Override
+    public List<URI> getEndpointUris() {
+        return endpointUris;
+    }
+
+    @Override
+    public EndpointSelectionStrategy getEndpointSelectionStrategy() {
+        return endpointSelectionStrategy;
+    }
+
     @Override
     public Set<AcknowledgementLabel> getDeclaredAcknowledgements() {
         return declaredAcknowledgements;
@@ -121,6 +171,76 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         return Optional.ofNullable(disconnectedListener);
     }
 
+    @Override
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    @Override
+    public int getSendQueueHighWatermark() {
+        return sendQueueHighWatermark;
+    }
+
+    @Override
+    public int getSendQueueLowWatermark() {
+        return sendQueueLowWatermark;
+    }
+
+    @Override
+    public SendQueueOverflowPolicy getSendQueueOverflowPolicy() {
+        return sendQueueOverflowPolicy;
+    }
+
+    @Override
+    public Optional<OutboxConfiguration> getOutboxConfiguration() {
+        return Optional.ofNullable(outboxConfiguration);
+    }
+
+    @Override
+    public Optional<AdaptableCodec> getBinaryCodec() {
+        return Optional.ofNullable(binaryCodec);
+    }
+
+    @Override
+    public Optional<CompressionConfiguration> getCompressionConfiguration() {
+        return Optional.ofNullable(compressionConfiguration);
+    }
+
+    @Override
+    public Optional<ReconnectDelayPolicy> getReconnectDelayPolicy() {
+        return Optional.ofNullable(reconnectDelayPolicy);
+    }
+
+    @Override
+    public boolean isHotStandbyEnabled() {
+        return hotStandbyEnabled;
+    }
+
+    @Override
+    public Duration getPingInterval() {
+        return pingInterval;
+    }
+
+    @Override
+    public int getMaxMissedPongs() {
+        return maxMissedPongs;
+    }
+
+    @Override
+    public int getInboundParsingParallelism() {
+        return inboundParsingParallelism;
+    }
+
+    @Override
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    @Override
+    public Duration getMaxAdmissionWait() {
+        return maxAdmissionWait;
+    }
+
     private static final class WebSocketMessagingConfigurationBuilder implements MessagingConfiguration.Builder {
 
         private static final List<String> ALLOWED_URI_SCHEME = Arrays.asList("wss", "ws");
@@ -129,7 +249,8 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
 
         private JsonSchemaVersion jsonSchemaVersion;
         private Duration timeout = Duration.ofSeconds(60L);
-        private URI endpointUri;
+        @Nullable private List<URI> endpointUris;
+        private EndpointSelectionStrategy endpointSelectionStrategy;
         private boolean reconnectEnabled;
         private boolean initialConnectRetryEnabled;
         @Nullable private ProxyConfiguration proxyConfiguration;
@@ -137,6 +258,20 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         @Nullable private Consumer<Throwable> connectionErrorHandler;
         @Nullable private Consumer<DisconnectedContext> disconnectedListener;
         private final Set<AcknowledgementLabel> declaredAcknowledgements = new HashSet<>();
+        private int connectionPoolSize;
+        private int sendQueueHighWatermark;
+        private int sendQueueLowWatermark;
+        private SendQueueOverflowPolicy sendQueueOverflowPolicy;
+        @Nullable private OutboxConfiguration outboxConfiguration;
+        @Nullable private AdaptableCodec binaryCodec;
+        @Nullable private CompressionConfiguration compressionConfiguration;
+        @Nullable private ReconnectDelayPolicy reconnectDelayPolicy;
+        private boolean hotStandbyEnabled;
+        private Duration pingInterval;
+        private int maxMissedPongs;
+        private int inboundParsingParallelism;
+        private int maxInFlightRequests;
+        private Duration maxAdmissionWait;
 
         private WebSocketMessagingConfigurationBuilder() {
             jsonSchemaVersion = JsonSchemaVersion.LATEST;
@@ -145,6 +280,21 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
             proxyConfiguration = null;
             connectionErrorHandler = null;
             disconnectedListener = null;
+            connectionPoolSize = 1;
+            sendQueueHighWatermark = 10_000;
+            sendQueueLowWatermark = 5_000;
+            sendQueueOverflowPolicy = SendQueueOverflowPolicy.FAIL_FAST;
+            outboxConfiguration = null;
+            binaryCodec = null;
+            compressionConfiguration = null;
+            reconnectDelayPolicy = null;
+            hotStandbyEnabled = false;
+            pingInterval = Duration.ofSeconds(5L);
+            maxMissedPongs = 0;
+            inboundParsingParallelism = 0;
+            maxInFlightRequests = 0;
+            maxAdmissionWait = Duration.ofSeconds(60L);
+            endpointSelectionStrategy = EndpointSelectionStrategy.LEAST_LATENCY;
         }
 
         @Override
@@ -161,14 +311,35 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
 
         @Override
         public MessagingConfiguration.Builder endpoint(final String endpoint) {
+            endpointUris = Collections.singletonList(toEndpointUri(endpoint));
+            return this;
+        }
+
+        @Override
+        public Builder endpoints(final List<String> endpoints) {
+            checkNotNull(endpoints, "endpoints");
+            checkArgument(endpoints, list -> !list.isEmpty(), () -> "The endpoints must not be empty.");
+            final List<URI> uris = new ArrayList<>(endpoints.size());
+            for (final String endpoint : endpoints) {
+                uris.add(toEndpointUri(endpoint));
+            }
+            endpointUris = uris;
+            return this;
+        }
+
+        private static URI toEndpointUri(final String endpoint) {
             final URI uri = URI.create(checkNotNull(endpoint));
             final String uriScheme = uri.getScheme();
             checkArgument(uriScheme, ALLOWED_URI_SCHEME::contains, () -> {
                 final String msgTemplate = "Scheme {0} not allowed for endpoint URI! Must be one of {1}.";
                 return MessageFormat.format(msgTemplate, uriScheme, ALLOWED_URI_SCHEME);
             });
+            return uri;
+        }
 
-            endpointUri = uri;
+        @Override
+        public Builder endpointSelectionStrategy(final EndpointSelectionStrategy endpointSelectionStrategy) {
+            this.endpointSelectionStrategy = checkNotNull(endpointSelectionStrategy, "endpointSelectionStrategy");
             return this;
         }
 
@@ -217,10 +388,113 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
             return this;
         }
 
+        @Override
+        public Builder connectionPoolSize(final int connectionPoolSize) {
+            checkArgument(connectionPoolSize, size -> size >= 1,
+                    () -> "The connectionPoolSize must be at least 1 but was " + connectionPoolSize + ".");
+            this.connectionPoolSize = connectionPoolSize;
+            return this;
+        }
+
+        @Override
+        public Builder sendQueueWatermarks(final int lowWatermark, final int highWatermark) {
+            checkArgument(lowWatermark, low -> low >= 0,
+                    () -> "The lowWatermark must not be negative but was " + lowWatermark + ".");
+            checkArgument(highWatermark, high -> high > lowWatermark,
+                    () -> "The highWatermark must be greater than the lowWatermark <" + lowWatermark +
+                            "> but was " + highWatermark + ".");
+            sendQueueLowWatermark = lowWatermark;
+            sendQueueHighWatermark = highWatermark;
+            return this;
+        }
+
+        @Override
+        public Builder sendQueueOverflowPolicy(final SendQueueOverflowPolicy overflowPolicy) {
+            sendQueueOverflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy");
+            return this;
+        }
+
+        @Override
+        public Builder outboxConfiguration(@Nullable final OutboxConfiguration outboxConfiguration) {
+            this.outboxConfiguration = outboxConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder binaryCodec(@Nullable final AdaptableCodec binaryCodec) {
+            this.binaryCodec = binaryCodec;
+            return this;
+        }
+
+        @Override
+        public Builder compressionConfiguration(@Nullable final CompressionConfiguration compressionConfiguration) {
+            this.compressionConfiguration = compressionConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder reconnectDelayPolicy(@Nullable final ReconnectDelayPolicy reconnectDelayPolicy) {
+            this.reconnectDelayPolicy = reconnectDelayPolicy;
+            return this;
+        }
+
+        @Override
+        public Builder hotStandbyEnabled(final boolean hotStandbyEnabled) {
+            this.hotStandbyEnabled = hotStandbyEnabled;
+            return this;
+        }
+
+        @Override
+        public Builder pingInterval(final Duration pingInterval) {
+            checkNotNull(pingInterval, "pingInterval");
+            checkArgument(pingInterval, interval -> !interval.isNegative() && !interval.isZero(),
+                    () -> "The pingInterval must be positive but was " + pingInterval + ".");
+            this.pingInterval = pingInterval;
+            return this;
+        }
+
+        @Override
+        public Builder maxMissedPongs(final int maxMissedPongs) {
+            checkArgument(maxMissedPongs, missed -> missed >= 0,
+                    () -> "The maxMissedPongs must not be negative but was " + maxMissedPongs + ".");
+            this.maxMissedPongs = maxMissedPongs;
+            return this;
+        }
+
+        @Override
+        public Builder inboundParsingParallelism(final int inboundParsingParallelism) {
+            checkArgument(inboundParsingParallelism, parallelism -> parallelism >= 0,
+                    () -> "The inboundParsingParallelism must not be negative but was " +
+                            inboundParsingParallelism + ".");
+            this.inboundParsingParallelism = inboundParsingParallelism;
+            return this;
+        }
+
+        @Override
+        public Builder maxInFlightRequests(final int maxInFlightRequests) {
+            checkArgument(maxInFlightRequests, max -> max >= 0,
+                    () -> "The maxInFlightRequests must not be negative but was " + maxInFlightRequests + ".");
+            this.maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+
+        @Override
+        public Builder maxAdmissionWait(final Duration maxAdmissionWait) {
+            checkNotNull(maxAdmissionWait, "maxAdmissionWait");
+            checkArgument(maxAdmissionWait, wait -> !wait.isNegative() && !wait.isZero(),
+                    () -> "The maxAdmissionWait must be positive but was " + maxAdmissionWait + ".");
+            this.maxAdmissionWait = maxAdmissionWait;
+            return this;
+        }
+
         @Override
         public MessagingConfiguration build() {
-            final URI wsEndpointUri = appendWsPathIfNecessary(this.endpointUri, jsonSchemaVersion);
-            return new WebSocketMessagingConfiguration(this, wsEndpointUri);
+            checkNotNull(endpointUris, "endpoint");
+            final List<URI> wsEndpointUris = new ArrayList<>(endpointUris.size());
+            for (final URI endpointUri : endpointUris) {
+                wsEndpointUris.add(appendWsPathIfNecessary(endpointUri, jsonSchemaVersion));
+            }
+            return new WebSocketMessagingConfiguration(this, wsEndpointUris);
         }
 
         private static URI appendWsPathIfNecessary(final URI baseUri, final JsonSchemaVersion schemaVersion) {
@@ -42,6 +42,7 @@ import org.eclipse.ditto.client.ack.internal.AcknowledgementRequestsValidator;
 import org.eclipse.ditto.client.internal.bus.Classification;
 import org.eclipse.ditto.client.management.AcknowledgementsFailedException;
 import org.eclipse.ditto.client.management.ClientReconnectingException;
+import org.eclipse.ditto.client.management.SendQueueFullException;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonObject;
@@ -188,7 +189,10 @@ public abstract class AbstractHandle {
      * @param <E> type of the expected error response.
      * @param <R> type of the result.
      * @return future of the result. The future can be exceptional with a {@link ClientReconnectingException} if the
-     * client is reconnecting while this method is called.
+     * client is reconnecting while this method is called, with a {@link SendQueueFullException} if the send queue
+     * did not accept the signal, or with a {@link java.util.concurrent.TimeoutException} if
+     * the request could not be sent within the maximum admission wait of the messaging configuration. Cancelling the
+     * future stops waiting for the response.
      */
     protected <S, E, R> CompletionStage<R> sendSignalAndExpectResponse(final Signal<?> signal,
             final Class<S> expectedResponseClass,
@@ -196,33 +200,44 @@ public abstract class AbstractHandle {
             final Class<E> expectedErrorResponseClass,
             final Function<E, ? extends RuntimeException> onError) {
 
-        try {
-            final CompletionStage<Adaptable> responseFuture = messagingProvider.getAdaptableBus()
+        // the response timeout starts once the admission control lets the signal be sent
+        final CompletionStage<Adaptable> responseFuture = messagingProvider.admit(channel, () -> {
+            final CompletionStage<Adaptable> result = messagingProvider.getAdaptableBus()
                     .subscribeOnceForAdaptable(Classification.forCorrelationId(signal), getTimeout());
-
-            messagingProvider.emit(signalToJsonString(signal));
-            return responseFuture.thenApply(responseAdaptable -> {
-                final Signal<?> response = signalFromAdaptable(responseAdaptable);
-                if (expectedErrorResponseClass.isInstance(response)) {
-                    // extracted runtime exception will be wrapped in CompletionException.
-                    throw onError.apply(expectedErrorResponseClass.cast(response));
-                } else if (response instanceof Acknowledgements) {
-                    final CommandResponse<?> commandResponse =
-                            extractCommandResponseFromAcknowledgements(signal, (Acknowledgements) response);
-                    return onSuccess.apply(expectedResponseClass.cast(commandResponse));
-                } else if (expectedResponseClass.isInstance(response)) {
-                    return onSuccess.apply(expectedResponseClass.cast(response));
-                } else {
-                    throw new ClassCastException(
-                            "Expect " + expectedResponseClass.getSimpleName() + ", got: " + response);
-                }
-            });
-        } catch (final ClientReconnectingException cre) {
-            return CompletableFuture.supplyAsync(() -> {
-                throw cre;
-            });
-        }
-
+            try {
+                messagingProvider.emit(signalToJsonString(signal));
+                return result;
+            } catch (final ClientReconnectingException | SendQueueFullException e) {
+                // no response is coming, so free the subscription for it right away
+                result.toCompletableFuture().cancel(false);
+                return CompletableFuture.supplyAsync(() -> {
+                    throw e;
+                });
+            }
+        });
+        final CompletableFuture<R> result = responseFuture.thenApply(responseAdaptable -> {
+            final Signal<?> response = signalFromAdaptable(responseAdaptable);
+            if (expectedErrorResponseClass.isInstance(response)) {
+                // extracted runtime exception will be wrapped in CompletionException.
+                throw onError.apply(expectedErrorResponseClass.cast(response));
+            } else if (response instanceof Acknowledgements) {
+                final CommandResponse<?> commandResponse =
+                        extractCommandResponseFromAcknowledgements(signal, (Acknowledgements) response);
+                return onSuccess.apply(expectedResponseClass.cast(commandResponse));
+            } else if (expectedResponseClass.isInstance(response)) {
+                return onSuccess.apply(expectedResponseClass.cast(response));
+            } else {
+                throw new ClassCastException(
+                        "Expect " + expectedResponseClass.getSimpleName() + ", got: " + response);
+            }
+        }).toCompletableFuture();
+        // cancelling the result frees the subscription for the response and its timeout right away
+        result.whenComplete((r, error) -> {
+            if (result.isCancelled()) {
+                responseFuture.toCompletableFuture().cancel(false);
+            }
+        });
+        return result;
     }
 
     /**
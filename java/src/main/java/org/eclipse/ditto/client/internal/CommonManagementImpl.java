@@ -27,6 +27,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -52,11 +53,16 @@ import org.eclipse.ditto.client.internal.bus.Classification;
 import org.eclipse.ditto.client.internal.bus.PointerBus;
 import org.eclipse.ditto.client.internal.bus.SelectorUtil;
 import org.eclipse.ditto.client.management.CommonManagement;
+import org.eclipse.ditto.client.management.DuplicateSuppressionStatistics;
 import org.eclipse.ditto.client.management.FeatureHandle;
+import org.eclipse.ditto.client.management.HandlerCacheStatistics;
+import org.eclipse.ditto.client.management.MailboxStatistics;
 import org.eclipse.ditto.client.management.ThingHandle;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
+import org.eclipse.ditto.client.options.DeliveryOrder;
 import org.eclipse.ditto.client.options.Option;
 import org.eclipse.ditto.client.options.OptionName;
+import org.eclipse.ditto.client.options.OverflowPolicy;
 import org.eclipse.ditto.client.options.internal.OptionsEvaluator;
 import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.json.JsonObject;
@@ -101,6 +107,12 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
     protected final OutgoingMessageFactory outgoingMessageFactory;
 
     private final AtomicBoolean subscriptionRequestPending = new AtomicBoolean(false);
+    private volatile DeliveryOrder deliveryOrder = DeliveryOrder.UNORDERED;
+    private volatile int mailboxCapacity = AdaptableBus.DEFAULT_MAILBOX_CAPACITY;
+    private volatile OverflowPolicy overflowPolicy = AdaptableBus.DEFAULT_OVERFLOW_POLICY;
+    @Nullable private volatile RevisionDeduplicator revisionDeduplicator = null;
+    private final Map<Classification.StreamingType, AdaptableBus.SubscriptionId> subscriptionIds =
+            new ConcurrentHashMap<>();
     private final HandlerRegistry<T, F> handlerRegistry;
     private final PointerBus bus;
 
@@ -138,12 +150,19 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
                 .filter(option -> !option.getName().equals(OptionName.Consumption.NAMESPACES))
                 .filter(option -> !option.getName().equals(OptionName.Consumption.FILTER))
                 .filter(option -> !option.getName().equals(OptionName.Consumption.EXTRA_FIELDS))
+                .filter(option -> !option.getName().equals(OptionName.Consumption.DELIVERY_ORDER))
+                .filter(option -> !option.getName().equals(OptionName.Consumption.MAILBOX_CAPACITY))
+                .filter(option -> !option.getName().equals(OptionName.Consumption.OVERFLOW_POLICY))
+                .filter(option -> !option.getName().equals(OptionName.Consumption.SUPPRESS_DUPLICATE_EVENTS))
                 .findFirst();
         if (unknownOptionIncluded.isPresent()) {
             final Option<?> unknownOption = unknownOptionIncluded.get();
             throw new IllegalArgumentException("Unsupported Option <" + unknownOption + ">. " +
                     "The only supported options for startConsumption() are: " +
-                    "Options.Consumption.namespaces() and Options.Consumption.filter()");
+                    "Options.Consumption.namespaces(), Options.Consumption.filter(), " +
+                    "Options.Consumption.extraFields(), Options.Consumption.deliveryOrder(), " +
+                    "Options.Consumption.mailboxCapacity(), Options.Consumption.overflowPolicy() and " +
+                    "Options.Consumption.suppressDuplicateEvents()");
         }
 
         final OptionsEvaluator.Consumption options = OptionsEvaluator.forConsumptionOptions(consumptionOptions);
@@ -154,6 +173,11 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
                 subscriptionConfig.put(CONSUMPTION_PARAM_FILTER, filter.toString()));
         options.getExtraFields().ifPresent(extraFields ->
                 subscriptionConfig.put(CONSUMPTION_PARAM_EXTRA_FIELDS, extraFields.toString()));
+        // the delivery order and the mailbox are applied by the client only
+        deliveryOrder = options.getDeliveryOrder().orElse(DeliveryOrder.UNORDERED);
+        mailboxCapacity = options.getMailboxCapacity().orElse(AdaptableBus.DEFAULT_MAILBOX_CAPACITY);
+        overflowPolicy = options.getOverflowPolicy().orElse(AdaptableBus.DEFAULT_OVERFLOW_POLICY);
+        revisionDeduplicator = options.getDuplicateSuppressionCapacity().map(RevisionDeduplicator::new).orElse(null);
 
         // make sure to reset the flag when consumption request completes
         return doStartConsumption(subscriptionConfig).whenComplete((v, t) -> subscriptionRequestPending.set(false));
@@ -658,13 +682,28 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
             final String protocolCommandAck,
             final CompletableFuture<Void> futureToCompleteOrFailAfterAck) {
 
+        // only twin events have revisions which are persisted, so that duplicates can be recognized by them
+        final RevisionDeduplicator deduplicator =
+                streamingType == Classification.StreamingType.TWIN_EVENT ? revisionDeduplicator : null;
+        // the revisions of a Thing must be checked in the order its events were received in: delivered in parallel,
+        // a newer event could be remembered first and the older one would be dropped without ever being delivered
+        final DeliveryOrder order = null != deduplicator && deliveryOrder == DeliveryOrder.UNORDERED
+                ? DeliveryOrder.PER_ENTITY
+                : deliveryOrder;
         return subscribeAndPublishMessage(previousSubscriptionId,
                 streamingType,
+                order,
                 protocolCommand,
                 protocolCommandAck,
                 futureToCompleteOrFailAfterAck,
-                adaptable -> pointerBus -> asThingMessage(adaptable).ifPresent(message -> pointerBus.notify(message.getSubject(),
-                        message)));
+                adaptable -> pointerBus -> {
+                    if (null == deduplicator || deduplicator.isNew(adaptable)) {
+                        asThingMessage(adaptable).ifPresent(message -> pointerBus.notify(message.getSubject(),
+                                message));
+                    } else {
+                        LOGGER.debug("Dropped duplicate event: {}", adaptable);
+                    }
+                });
     }
 
     protected AdaptableBus.SubscriptionId subscribeAndPublishMessage(
@@ -676,6 +715,20 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
             final Function<Adaptable, NotifyMessage> adaptableToNotifier
     ) {
 
+        return subscribeAndPublishMessage(previousSubscriptionId, streamingType, deliveryOrder, protocolCommand,
+                protocolCommandAck, futureToCompleteOrFailAfterAck, adaptableToNotifier);
+    }
+
+    private AdaptableBus.SubscriptionId subscribeAndPublishMessage(
+            @Nullable final AdaptableBus.SubscriptionId previousSubscriptionId,
+            final Classification.StreamingType streamingType,
+            final DeliveryOrder order,
+            final String protocolCommand,
+            final String protocolCommandAck,
+            final CompletableFuture<Void> futureToCompleteOrFailAfterAck,
+            final Function<Adaptable, NotifyMessage> adaptableToNotifier
+    ) {
+
         final String correlationId = UUID.randomUUID().toString();
         final String protocolCommandWithCorrelationId = appendCorrelationIdParameter(protocolCommand, correlationId);
         LOGGER.trace("Sending {} and waiting for {}", protocolCommandWithCorrelationId, protocolCommandAck);
@@ -686,8 +739,9 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
             adaptableBus.unsubscribe(previousSubscriptionId);
         }
         final AdaptableBus.SubscriptionId subscriptionId =
-                adaptableBus.subscribeForAdaptable(streamingType,
+                adaptableBus.subscribeForAdaptable(streamingType, order, mailboxCapacity, overflowPolicy,
                         adaptable -> adaptableToNotifier.apply(adaptable).accept(getBus()));
+        subscriptionIds.put(streamingType, subscriptionId);
         final Classification tag = Classification.forString(protocolCommandAck);
 
         // subscribe exclusively because we allow only one request at a time
@@ -740,6 +794,9 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
             final CompletableFuture<Void> futureToCompleteOrFailAfterAck) {
 
         final AdaptableBus adaptableBus = messagingProvider.getAdaptableBus();
+        if (subscriptionId != null) {
+            subscriptionIds.values().remove(subscriptionId);
+        }
         if (adaptableBus.unsubscribe(subscriptionId)) {
             LOGGER.trace("Sending {} and waiting for {}", protocolCommand, protocolCommandAck);
             adjoin(adaptableBus.subscribeOnceForString(Classification.forString(protocolCommandAck), getTimeout()),
@@ -751,6 +808,26 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
         }
     }
 
+    @Override
+    public Optional<DuplicateSuppressionStatistics> getDuplicateSuppressionStatistics() {
+        return Optional.ofNullable(revisionDeduplicator);
+    }
+
+    @Override
+    public Optional<HandlerCacheStatistics> getHandlerCacheStatistics() {
+        return getBus().getHandlerCacheStatistics();
+    }
+
+    @Override
+    public Map<String, MailboxStatistics> getMailboxStatistics() {
+        final AdaptableBus adaptableBus = messagingProvider.getAdaptableBus();
+        final Map<String, MailboxStatistics> result = new HashMap<>();
+        subscriptionIds.forEach((streamingType, subscriptionId) ->
+                adaptableBus.getMailboxStatistics(subscriptionId)
+                        .ifPresent(statistics -> result.put(streamingType.name(), statistics)));
+        return Collections.unmodifiableMap(result);
+    }
+
     /**
      * Build a {@link Message} out of the given {@link Adaptable}.
      *
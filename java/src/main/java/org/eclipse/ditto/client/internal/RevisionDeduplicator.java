@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.management.DuplicateSuppressionStatistics;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.TopicPath;
+
+/**
+ * Remembers the last revision of a bounded number of Things in order to detect duplicate events.
+ * <p>
+ * The revisions are kept in open-addressing tables of arrays keyed by a 64-bit hash of the Thing ID. The namespace
+ * and name of each Thing are stored alongside and compared on a hash hit, so that Things with colliding hashes never
+ * share a revision. A Thing is looked up in a window of a few slots starting at its hash; if the window is full, the
+ * least recently seen Thing in it is evicted. An evicted Thing's next event is never considered a duplicate.
+ * <p>
+ * The table is split into independently locked stripes selected by the hash, so that events of different Things
+ * rarely wait for each other.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class RevisionDeduplicator implements DuplicateSuppressionStatistics {
+
+    private static final int PROBE_WINDOW = 8;
+    private static final int MAX_STRIPES = 16;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int capacity;
+    private final int stripeShift;
+    private final Stripe[] stripes;
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder evictionCount;
+
+    /**
+     * Creates a deduplicator.
+     *
+     * @param capacity the maximum number of Things to remember; rounded up to a power of two.
+     */
+    RevisionDeduplicator(final int capacity) {
+        final int slots = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.capacity = Math.max(2, slots);
+        final int stripeCount = Math.max(1, Math.min(MAX_STRIPES, this.capacity / PROBE_WINDOW));
+        stripeShift = Integer.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(this.capacity / stripeCount);
+        }
+        hitCount = new LongAdder();
+        missCount = new LongAdder();
+        evictionCount = new LongAdder();
+    }
+
+    /**
+     * Tests whether the passed event is newer than the last remembered event of its Thing and remembers its revision
+     * if so. Events without revision are always considered new.
+     *
+     * @param adaptable the event.
+     * @return whether the event should be passed on.
+     */
+    boolean isNew(final Adaptable adaptable) {
+        final Optional<Long> revision = adaptable.getPayload().getRevision();
+        if (!revision.isPresent()) {
+            return true;
+        }
+        final TopicPath topicPath = adaptable.getTopicPath();
+        return isNew(topicPath.getNamespace(), topicPath.getEntityName(), revision.get());
+    }
+
+    /**
+     * Tests whether the passed revision is newer than the remembered one of the Thing {@code namespace:name} and
+     * remembers it if so.
+     *
+     * @param namespace the namespace of the Thing.
+     * @param name the name of the Thing.
+     * @param revision the revision of the event.
+     * @return whether the event should be passed on.
+     */
+    boolean isNew(final String namespace, final String name, final long revision) {
+        return isNew(hash(namespace, name), namespace, name, revision);
+    }
+
+    /**
+     * Tests whether the passed revision is newer than the remembered one of the Thing {@code namespace:name} whose
+     * ID has the passed hash.
+     */
+    boolean isNew(final long hash, final String namespace, final String name, final long revision) {
+        final int spread = spread(hash);
+        final Stripe stripe = stripes.length == 1 ? stripes[0] : stripes[spread >>> stripeShift];
+        final boolean isNew = stripe.putIfNewer(hash, spread, namespace, name, revision);
+        if (isNew) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return isNew;
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of the Thing ID {@code namespace:name} without building the ID.
+     *
+     * @param namespace the namespace of the Thing.
+     * @param name the name of the Thing.
+     * @return the hash.
+     */
+    static long hash(final String namespace, final String name) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < namespace.length(); i++) {
+            hash = (hash ^ namespace.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ ':') * FNV_PRIME;
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ name.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static int spread(final long key) {
+        // finalizer of MurmurHash3, so that the bits used as stripe and index depend on all bits of the key
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (final Stripe stripe : stripes) {
+            size += stripe.getSize();
+        }
+        return size;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "capacity=" + capacity +
+                ", stripes=" + stripes.length +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                "]";
+    }
+
+    /**
+     * One independently locked part of the table. Slots without name are empty.
+     */
+    private final class Stripe {
+
+        private final int mask;
+        private final int probeWindow;
+        @GuardedBy("this") private final long[] hashes;
+        @GuardedBy("this") private final String[] namespaces;
+        @GuardedBy("this") private final String[] names;
+        @GuardedBy("this") private final long[] revisions;
+        @GuardedBy("this") private final long[] lastSeen;
+        @GuardedBy("this") private long clock;
+        @GuardedBy("this") private int size;
+
+        private Stripe(final int slots) {
+            mask = slots - 1;
+            probeWindow = Math.min(PROBE_WINDOW, slots);
+            hashes = new long[slots];
+            namespaces = new String[slots];
+            names = new String[slots];
+            revisions = new long[slots];
+            lastSeen = new long[slots];
+            clock = 0L;
+            size = 0;
+        }
+
+        private synchronized boolean putIfNewer(final long hash, final int spread, final String namespace,
+                final String name, final long revision) {
+
+            final long now = ++clock;
+            final int start = spread & mask;
+            int victim = start;
+            for (int i = 0; i < probeWindow; i++) {
+                final int slot = (start + i) & mask;
+                final String slotName = names[slot];
+                if (null == slotName) {
+                    put(slot, hash, namespace, name, revision, now);
+                    size++;
+                    return true;
+                } else if (hashes[slot] == hash && slotName.equals(name) && namespaces[slot].equals(namespace)) {
+                    lastSeen[slot] = now;
+                    if (revision <= revisions[slot]) {
+                        return false;
+                    }
+                    revisions[slot] = revision;
+                    return true;
+                } else if (lastSeen[slot] < lastSeen[victim]) {
+                    victim = slot;
+                }
+            }
+            // window full: forget the least recently seen Thing of the window
+            put(victim, hash, namespace, name, revision, now);
+            evictionCount.increment();
+            return true;
+        }
+
+        @GuardedBy("this")
+        private void put(final int slot, final long hash, final String namespace, final String name,
+                final long revision, final long now) {
+            hashes[slot] = hash;
+            namespaces[slot] = namespace;
+            names[slot] = name;
+            revisions[slot] = revision;
+            lastSeen[slot] = now;
+        }
+
+        private synchronized int getSize() {
+            return size;
+        }
+
+    }
+
+}
@@ -13,6 +13,8 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
@@ -20,6 +22,11 @@ import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
+import org.eclipse.ditto.client.management.MailboxStatistics;
+import org.eclipse.ditto.client.messaging.InFlightRequest;
+import org.eclipse.ditto.client.messaging.LaneStatistics;
+import org.eclipse.ditto.client.options.DeliveryOrder;
+import org.eclipse.ditto.client.options.OverflowPolicy;
 import org.eclipse.ditto.protocol.Adaptable;
 
 /**
@@ -37,6 +44,21 @@ import org.eclipse.ditto.protocol.Adaptable;
  */
 public interface AdaptableBus {
 
+    /**
+     * The capacity of the mailboxes of persistent subscriptions which do not specify one, i.e. they are unbounded and
+     * never drop a message.
+     *
+     * @since 3.2.0
+     */
+    int DEFAULT_MAILBOX_CAPACITY = Integer.MAX_VALUE;
+
+    /**
+     * The overflow policy of the mailboxes of persistent subscriptions which specify a capacity but no policy.
+     *
+     * @since 3.2.0
+     */
+    OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.DROP_OLDEST;
+
     /**
      * Add another string classifier.
      *
@@ -94,6 +116,66 @@ public interface AdaptableBus {
      */
     SubscriptionId subscribeForAdaptable(Classification tag, Consumer<Adaptable> adaptableConsumer);
 
+    /**
+     * Add a persistent subscriber for an adaptable message which is delivered the adaptables in the passed order
+     * through an unbounded mailbox. Only effective if no one-time string or adaptable subscriber matches. Ignored if
+     * the tag requires sequentialization, which delivers all messages in order on the publishing thread.
+     *
+     * @param tag the adaptable classification.
+     * @param deliveryOrder the order in which to deliver the adaptables; the entity of an adaptable is the one of its
+     * topic path.
+     * @param adaptableConsumer the consumer of the adaptable message.
+     * @return the subscription ID.
+     * @since 3.2.0
+     */
+    SubscriptionId subscribeForAdaptable(Classification tag, DeliveryOrder deliveryOrder,
+            Consumer<Adaptable> adaptableConsumer);
+
+    /**
+     * Add a persistent subscriber for an adaptable message which is delivered the adaptables in the passed order
+     * through a mailbox of the passed capacity. Only effective if no one-time string or adaptable subscriber matches.
+     * The mailbox is bypassed if the tag requires sequentialization.
+     *
+     * @param tag the adaptable classification.
+     * @param deliveryOrder the order in which to deliver the adaptables.
+     * @param mailboxCapacity the maximum number of adaptables published but not yet passed to the consumer.
+     * @param overflowPolicy what to do with an adaptable if the mailbox is full.
+     * @param adaptableConsumer the consumer of the adaptable message.
+     * @return the subscription ID.
+     * @throws IllegalArgumentException if {@code mailboxCapacity} is not positive.
+     * @since 3.2.0
+     */
+    SubscriptionId subscribeForAdaptable(Classification tag, DeliveryOrder deliveryOrder, int mailboxCapacity,
+            OverflowPolicy overflowPolicy, Consumer<Adaptable> adaptableConsumer);
+
+    /**
+     * Returns the statistics of the mailbox of a persistent subscription.
+     *
+     * @param subscriptionId the subscription ID.
+     * @return the statistics or an empty optional if the subscription has no mailbox.
+     * @since 3.2.0
+     */
+    Optional<MailboxStatistics> getMailboxStatistics(@Nullable SubscriptionId subscriptionId);
+
+    /**
+     * Returns the number of published frames of a lane. Control frames, i.e. protocol command replies like
+     * {@code START-SEND-EVENTS:ACK}, are published ahead of the data frames waiting in the inbound pipeline.
+     *
+     * @param lane the lane.
+     * @return the number of published frames.
+     * @since 3.2.0
+     */
+    long getReceivedCount(LaneStatistics.Lane lane);
+
+    /**
+     * Returns the one-time subscriptions for responses with a correlation ID which are still waiting, e.g. to find
+     * requests whose responses never arrive.
+     *
+     * @return the waiting requests, the oldest first.
+     * @since 3.2.0
+     */
+    List<InFlightRequest> getInFlightRequests();
+
     /**
      * Add a persistent subscriber for an adaptable message and remove all other subscribers.
      * Only effective if no one-time string or adaptable subscriber matches.
@@ -147,6 +229,24 @@ public interface AdaptableBus {
      */
     void publish(String message);
 
+    /**
+     * Publish the UTF-8 encoded payload of a text frame that may or may not be an adaptable. JSON objects are parsed
+     * directly from the bytes; other messages are decoded into a string and published like
+     * {@link #publish(String)}.
+     *
+     * @param utf8Message the UTF-8 encoded message.
+     * @since 3.2.0
+     */
+    void publish(byte[] utf8Message);
+
+    /**
+     * Publish a message which was already decoded into an adaptable, e.g. from a binary frame.
+     *
+     * @param adaptable the adaptable.
+     * @since 3.2.0
+     */
+    void publishAdaptable(Adaptable adaptable);
+
     /**
      * An empty interface to mark adaptable bus subscriptions.
      */
@@ -46,8 +46,44 @@ public final class BusFactory {
      */
     public static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
             final ScheduledExecutorService scheduledExecutor) {
+        return createAdaptableBus(defaultExecutor, scheduledExecutor, TimeoutSchedulers.hashedWheel(scheduledExecutor));
+    }
+
+    /**
+     * Create an adaptable bus with a custom scheduler for the timeouts of its subscriptions.
+     *
+     * @return the adaptable bus.
+     * @param defaultExecutor the default executor to run non-scheduled tasks on.
+     * @param scheduledExecutor the {@code ScheduledExecutorService} to use for scheduling tasks.
+     * @param timeoutScheduler the scheduler of the timeouts of the subscriptions.
+     * @since 3.2.0
+     */
+    public static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
+            final ScheduledExecutorService scheduledExecutor, final TimeoutScheduler timeoutScheduler) {
+        return createAdaptableBus(defaultExecutor, scheduledExecutor, timeoutScheduler, 0);
+    }
+
+    /**
+     * Create an adaptable bus which parses published messages on several threads.
+     *
+     * @return the adaptable bus.
+     * @param defaultExecutor the default executor to run non-scheduled tasks on.
+     * @param scheduledExecutor the {@code ScheduledExecutorService} to use for scheduling tasks.
+     * @param parsingParallelism the number of threads parsing published messages in parallel, or 0 to parse them on
+     * the publishing thread. Parsed messages are delivered in the order they were published in either way.
+     * @since 3.2.0
+     */
+    public static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
+            final ScheduledExecutorService scheduledExecutor, final int parsingParallelism) {
+        return createAdaptableBus(defaultExecutor, scheduledExecutor, TimeoutSchedulers.hashedWheel(scheduledExecutor),
+                parsingParallelism);
+    }
+
+    private static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
+            final ScheduledExecutorService scheduledExecutor, final TimeoutScheduler timeoutScheduler,
+            final int parsingParallelism) {
         // the executor service will shutdown when garbage-collected.
-        return new DefaultAdaptableBus(defaultExecutor, scheduledExecutor)
+        return new DefaultAdaptableBus(defaultExecutor, scheduledExecutor, timeoutScheduler, parsingParallelism)
                 .addStringClassifier(Classifiers.identity())
                 .addAdaptableClassifier(Classifiers.correlationId())
                 .addAdaptableClassifier(Classifiers.streamingType())
@@ -76,7 +76,7 @@ public interface Classification {
      * @return the key.
      */
     static Classification forErrors() {
-        return new Errors();
+        return Errors.INSTANCE;
     }
 
     /**
@@ -156,20 +156,26 @@ public interface Classification {
     abstract class Literal<T> implements Classification {
 
         protected final T value;
+        // literals are created for each inbound message and used as map keys right away
+        private final int hashCode;
 
         protected Literal(final T value) {
             this.value = value;
+            hashCode = 31 * getClass().hashCode() + Objects.hashCode(value);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(getClass(), value);
+            return hashCode;
         }
 
         @Override
         public boolean equals(final Object o) {
-            if (o != null && o.getClass() == getClass()) {
-                return Objects.equals(value, getClass().cast(o).value);
+            if (this == o) {
+                return true;
+            } else if (o != null && o.getClass() == getClass()) {
+                final Literal<?> that = (Literal<?>) o;
+                return hashCode == that.hashCode && Objects.equals(value, that.value);
             } else {
                 return false;
             }
@@ -186,6 +192,14 @@ public interface Classification {
         private CorrelationId(final String correlationId) {
             super(correlationId);
         }
+
+        /**
+         * @return the correlation ID.
+         * @since 3.2.0
+         */
+        public String getCorrelationId() {
+            return value;
+        }
     }
 
     final class SearchSubscriptionId extends Literal<String> {
@@ -215,6 +229,7 @@ public interface Classification {
     final class Errors extends Literal<String> {
 
         private static final String ANY_ERROR = "";
+        private static final Errors INSTANCE = new Errors();
 
         private Errors() {
             super(ANY_ERROR);
@@ -14,6 +14,8 @@ package org.eclipse.ditto.client.internal.bus;
 
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 /**
  * Classifier of a message.
  */
@@ -28,4 +30,17 @@ public interface Classifier<T> {
      */
     Optional<Classification> classify(T message);
 
+    /**
+     * Classify a message for subscribers without wrapping the classification into an {@code Optional}. The
+     * built-in classifiers override this method as it is called for each inbound message.
+     *
+     * @param message the message.
+     * @return the classification of the message or {@code null} if none is known.
+     * @since 3.2.0
+     */
+    @Nullable
+    default Classification classifyOrNull(final T message) {
+        return classify(message).orElse(null);
+    }
+
 }
@@ -15,7 +15,10 @@ package org.eclipse.ditto.client.internal.bus;
 import java.util.EnumSet;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 import org.eclipse.ditto.base.model.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
 import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.protocol.Adaptable;
 import org.eclipse.ditto.protocol.TopicPath;
@@ -85,38 +88,84 @@ public final class Classifiers {
         return Instances.ERROR_CODE_CLASSIFIER;
     }
 
-    private static final class StreamingTypeClassifier implements Classifier<Adaptable> {
+    /**
+     * Check whether a classifier is one of the adaptable classifiers of this class. Their classifications depend
+     * on the topic and the correlation ID of a message only, except for thing-search events and errors whose
+     * classifications depend on the payload.
+     *
+     * @param classifier the classifier.
+     * @return whether the classifier is a built-in adaptable classifier.
+     * @since 3.2.0
+     */
+    static boolean isBuiltInAdaptableClassifier(final Classifier<?> classifier) {
+        return classifier == Instances.CORRELATION_ID_CLASSIFIER ||
+                classifier == Instances.STREAMING_TYPE_CLASSIFIER ||
+                classifier == Instances.THINGS_SEARCH_CLASSIFIER ||
+                classifier == Instances.ERRORS_CLASSIFIER ||
+                classifier == Instances.ERROR_CODE_CLASSIFIER;
+    }
+
+    /**
+     * Base of the built-in adaptable classifiers, which classify each inbound message without allocating an
+     * {@code Optional}.
+     */
+    private abstract static class AdaptableClassifier implements Classifier<Adaptable> {
+
+        @Override
+        public final Optional<Classification> classify(final Adaptable message) {
+            return Optional.ofNullable(classifyOrNull(message));
+        }
+
+        @Nullable
+        @Override
+        public abstract Classification classifyOrNull(Adaptable message);
+    }
+
+    private static final class CorrelationIdClassifier extends AdaptableClassifier {
+
+        private static final String CORRELATION_ID_KEY = DittoHeaderDefinition.CORRELATION_ID.getKey();
 
+        @Nullable
         @Override
-        public Optional<Classification> classify(final Adaptable message) {
+        public Classification classifyOrNull(final Adaptable message) {
+            final String correlationId = message.getDittoHeaders().get(CORRELATION_ID_KEY);
+            return null != correlationId ? Classification.forCorrelationId(correlationId) : null;
+        }
+    }
+
+    private static final class StreamingTypeClassifier extends AdaptableClassifier {
+
+        @Nullable
+        @Override
+        public Classification classifyOrNull(final Adaptable message) {
             final TopicPath topicPath = message.getTopicPath();
             if (topicPath.getGroup() == TopicPath.Group.THINGS) {
                 switch (topicPath.getChannel()) {
                     case LIVE:
                         switch (topicPath.getCriterion()) {
                             case COMMANDS:
-                                return Optional.of(Classification.StreamingType.LIVE_COMMAND);
+                                return Classification.StreamingType.LIVE_COMMAND;
                             case EVENTS:
-                                return Optional.of(Classification.StreamingType.LIVE_EVENT);
+                                return Classification.StreamingType.LIVE_EVENT;
                             case MESSAGES:
-                                return Optional.of(Classification.StreamingType.LIVE_MESSAGE);
+                                return Classification.StreamingType.LIVE_MESSAGE;
                             default:
-                                return Optional.empty();
+                                return null;
                         }
                     case TWIN:
                         if (topicPath.getCriterion() == TopicPath.Criterion.EVENTS) {
-                            return Optional.of(Classification.StreamingType.TWIN_EVENT);
+                            return Classification.StreamingType.TWIN_EVENT;
                         }
                         break;
                     default:
-                        return Optional.empty();
+                        return null;
                 }
             }
-            return Optional.empty();
+            return null;
         }
     }
 
-    private static final class ThingsSearchClassifier implements Classifier<Adaptable> {
+    private static final class ThingsSearchClassifier extends AdaptableClassifier {
 
         private static final EnumSet<TopicPath.SearchAction> SEARCH_EVENTS = EnumSet.of(
                 TopicPath.SearchAction.NEXT,
@@ -124,51 +173,56 @@ public final class Classifiers {
                 TopicPath.SearchAction.FAILED
         );
 
+        @Nullable
         @Override
-        public Optional<Classification> classify(final Adaptable message) {
-            return message.getTopicPath().getSearchAction()
-                    .filter(SEARCH_EVENTS::contains)
-                    .flatMap(action -> message.getPayload().getValue())
+        public Classification classifyOrNull(final Adaptable message) {
+            final Optional<TopicPath.SearchAction> searchAction = message.getTopicPath().getSearchAction();
+            if (!searchAction.isPresent() || !SEARCH_EVENTS.contains(searchAction.get())) {
+                return null;
+            }
+            return message.getPayload()
+                    .getValue()
                     .filter(JsonValue::isObject)
                     .flatMap(jsonValue -> jsonValue.asObject().getValue(SubscriptionEvent.JsonFields.SUBSCRIPTION_ID))
-                    .map(Classification::forThingsSearch);
+                    .map(Classification::forThingsSearch)
+                    .orElse(null);
         }
     }
 
-    private static final class ErrorsClassifier implements Classifier<Adaptable> {
+    private static final class ErrorsClassifier extends AdaptableClassifier {
 
+        @Nullable
         @Override
-        public Optional<Classification> classify(final Adaptable message) {
+        public Classification classifyOrNull(final Adaptable message) {
             if (message.getTopicPath().getCriterion() == TopicPath.Criterion.ERRORS) {
-                return Optional.of(Classification.forErrors());
+                return Classification.forErrors();
             } else {
-                return Optional.empty();
+                return null;
             }
         }
     }
 
-    private static final class ErrorCodeClassifier implements Classifier<Adaptable> {
+    private static final class ErrorCodeClassifier extends AdaptableClassifier {
 
+        @Nullable
         @Override
-        public Optional<Classification> classify(final Adaptable message) {
+        public Classification classifyOrNull(final Adaptable message) {
             if (message.getTopicPath().getCriterion() == TopicPath.Criterion.ERRORS) {
                 return message.getPayload()
                         .getValue()
                         .filter(JsonValue::isObject)
                         .flatMap(value -> value.asObject().getValue(DittoRuntimeException.JsonFields.ERROR_CODE))
-                        .map(Classification::forErrorCode);
+                        .map(Classification::forErrorCode)
+                        .orElse(null);
             } else {
-                return Optional.empty();
+                return null;
             }
         }
     }
 
     private static final class Instances {
 
-        private static final Classifier<Adaptable> CORRELATION_ID_CLASSIFIER = adaptable ->
-                adaptable.getDittoHeaders()
-                        .getCorrelationId()
-                        .map(Classification::forCorrelationId);
+        private static final Classifier<Adaptable> CORRELATION_ID_CLASSIFIER = new CorrelationIdClassifier();
 
         private static final Classifier<Adaptable> STREAMING_TYPE_CLASSIFIER = new StreamingTypeClassifier();
 
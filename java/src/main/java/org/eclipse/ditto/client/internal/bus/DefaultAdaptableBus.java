@@ -12,9 +12,16 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,26 +29,33 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
+import org.eclipse.ditto.client.internal.DefaultThreadFactory;
+import org.eclipse.ditto.client.management.MailboxStatistics;
+import org.eclipse.ditto.client.messaging.InFlightRequest;
+import org.eclipse.ditto.client.messaging.LaneStatistics;
+import org.eclipse.ditto.client.options.DeliveryOrder;
+import org.eclipse.ditto.client.options.OverflowPolicy;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonParseException;
 import org.eclipse.ditto.json.JsonRuntimeException;
 import org.eclipse.ditto.protocol.Adaptable;
 import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.TopicPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,35 +65,68 @@ final class DefaultAdaptableBus implements AdaptableBus {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAdaptableBus.class);
 
     private final ExecutorService defaultExecutor;
+    private final KeyedExecutor keyedExecutor;
     private final ScheduledExecutorService scheduledExecutor;
-    private final Collection<Classifier<String>> stringClassifiers;
-    private final Collection<Classifier<Adaptable>> adaptableClassifiers;
+    private final TimeoutScheduler timeoutScheduler;
+    // arrays replaced on each (rare) addition so that classifying a message iterates without allocating
+    private volatile Classifier<String>[] stringClassifiers;
+    private volatile Classifier<Adaptable>[] adaptableClassifiers;
 
     private final Map<Classification, Set<Entry<Consumer<String>>>> oneTimeStringConsumers;
     private final Map<Classification, Set<Entry<Consumer<Adaptable>>>> oneTimeAdaptableConsumers;
     private final Map<Classification, Set<Entry<Consumer<Adaptable>>>> persistentAdaptableConsumers;
-    private final Map<SubscriptionId, Future<?>> timeoutFutures;
+    private volatile boolean preClassificationEnabled;
+    @Nullable private final ExecutorService parserExecutor;
+    @Nullable private final InboundPipeline<Object, Adaptable> inboundPipeline;
+    private final LongAdder receivedControlCount;
+    private final LongAdder receivedDataCount;
+
+    DefaultAdaptableBus(final ExecutorService defaultExecutor, final ScheduledExecutorService scheduledExecutor,
+            final TimeoutScheduler timeoutScheduler) {
+        this(defaultExecutor, scheduledExecutor, timeoutScheduler, 0);
+    }
 
-    DefaultAdaptableBus(final ExecutorService defaultExecutor, final ScheduledExecutorService scheduledExecutor) {
+    DefaultAdaptableBus(final ExecutorService defaultExecutor, final ScheduledExecutorService scheduledExecutor,
+            final TimeoutScheduler timeoutScheduler, final int parsingParallelism) {
         this.defaultExecutor = defaultExecutor;
+        keyedExecutor = new KeyedExecutor(defaultExecutor, KeyedExecutor.DEFAULT_BATCH_SIZE);
         this.scheduledExecutor = scheduledExecutor;
-        stringClassifiers = new ConcurrentLinkedQueue<>();
-        adaptableClassifiers = new ConcurrentLinkedQueue<>();
+        this.timeoutScheduler = timeoutScheduler;
+        stringClassifiers = newClassifierArray(0);
+        adaptableClassifiers = newClassifierArray(0);
         oneTimeStringConsumers = new ConcurrentHashMap<>();
         oneTimeAdaptableConsumers = new ConcurrentHashMap<>();
         persistentAdaptableConsumers = new ConcurrentHashMap<>();
-        timeoutFutures = new ConcurrentHashMap<>();
+        preClassificationEnabled = true;
+        receivedControlCount = new LongAdder();
+        receivedDataCount = new LongAdder();
+        if (parsingParallelism > 0) {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(parsingParallelism, parsingParallelism,
+                    60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new DefaultThreadFactory("ditto-client-inbound-parser"));
+            executor.allowCoreThreadTimeOut(true);
+            parserExecutor = executor;
+            inboundPipeline = new InboundPipeline<>(InboundPipeline.DEFAULT_CAPACITY, executor, this::parseFrame,
+                    this::dispatchFrame);
+        } else {
+            parserExecutor = null;
+            inboundPipeline = null;
+        }
     }
 
     @Override
-    public AdaptableBus addStringClassifier(final Classifier<String> classifier) {
-        stringClassifiers.add(classifier);
+    public synchronized AdaptableBus addStringClassifier(final Classifier<String> classifier) {
+        stringClassifiers = append(stringClassifiers, classifier);
         return this;
     }
 
     @Override
-    public AdaptableBus addAdaptableClassifier(final Classifier<Adaptable> adaptableClassifier) {
-        adaptableClassifiers.add(adaptableClassifier);
+    public synchronized AdaptableBus addAdaptableClassifier(final Classifier<Adaptable> adaptableClassifier) {
+        adaptableClassifiers = append(adaptableClassifiers, adaptableClassifier);
+        if (!Classifiers.isBuiltInAdaptableClassifier(adaptableClassifier)) {
+            // the classifications of other classifiers can not be predicted without parsing
+            preClassificationEnabled = false;
+        }
         return this;
     }
 
@@ -108,6 +155,34 @@ final class DefaultAdaptableBus implements AdaptableBus {
         return entry;
     }
 
+    @Override
+    public SubscriptionId subscribeForAdaptable(final Classification tag, final DeliveryOrder deliveryOrder,
+            final Consumer<Adaptable> adaptableConsumer) {
+        return subscribeForAdaptable(tag, deliveryOrder, DEFAULT_MAILBOX_CAPACITY, DEFAULT_OVERFLOW_POLICY,
+                adaptableConsumer);
+    }
+
+    @Override
+    public SubscriptionId subscribeForAdaptable(final Classification tag, final DeliveryOrder deliveryOrder,
+            final int mailboxCapacity, final OverflowPolicy overflowPolicy,
+            final Consumer<Adaptable> adaptableConsumer) {
+        checkArgument(mailboxCapacity, capacity -> capacity > 0,
+                () -> "The mailboxCapacity must be positive but was " + mailboxCapacity + ".");
+        final Entry<Consumer<Adaptable>> entry = new Entry<>(tag, adaptableConsumer, deliveryOrder,
+                new Mailbox(mailboxCapacity, checkNotNull(overflowPolicy, "overflowPolicy")));
+        addEntry(persistentAdaptableConsumers, entry);
+
+        return entry;
+    }
+
+    @Override
+    public Optional<MailboxStatistics> getMailboxStatistics(@Nullable final SubscriptionId subscriptionId) {
+        if (subscriptionId instanceof Entry) {
+            return Optional.ofNullable(((Entry<?>) subscriptionId).mailbox);
+        }
+        return Optional.empty();
+    }
+
     @Override
     public SubscriptionId subscribeForAdaptableExclusively(final Classification tag,
             final Consumer<Adaptable> adaptableConsumer) {
@@ -158,13 +233,78 @@ final class DefaultAdaptableBus implements AdaptableBus {
 
     @Override
     public void publish(final String message) {
-        doPublish(message);
+        final boolean control = !message.startsWith("{");
+        countReceived(control);
+        // control frames bypass the data frames waiting in the pipeline
+        if (null != inboundPipeline && !control) {
+            inboundPipeline.submit(message);
+        } else {
+            doPublish(message);
+        }
+    }
+
+    @Override
+    public void publish(final byte[] utf8Message) {
+        final boolean control = !Utf8JsonParser.startsWithObject(utf8Message);
+        countReceived(control);
+        if (null != inboundPipeline && !control) {
+            inboundPipeline.submit(utf8Message);
+        } else {
+            doPublish(utf8Message);
+        }
+    }
+
+    private void countReceived(final boolean control) {
+        if (control) {
+            receivedControlCount.increment();
+        } else {
+            receivedDataCount.increment();
+        }
+    }
+
+    @Override
+    public long getReceivedCount(final LaneStatistics.Lane lane) {
+        return lane == LaneStatistics.Lane.CONTROL ? receivedControlCount.sum() : receivedDataCount.sum();
+    }
+
+    private void doPublish(final byte[] utf8Message) {
+        // string subscribers classify the whole message, so they get it decoded as long as one is waiting
+        if (!oneTimeStringConsumers.isEmpty() || !Utf8JsonParser.startsWithObject(utf8Message)) {
+            doPublish(new String(utf8Message, StandardCharsets.UTF_8));
+        } else if (HeaderSniffer.sniff(utf8Message).filter(this::isUnsubscribed).isPresent()) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("Client got message without subscriber: {}",
+                        new String(utf8Message, StandardCharsets.UTF_8));
+            }
+        } else {
+            final Optional<Adaptable> adaptableOptional = parseAsAdaptable(utf8Message);
+            if (!(adaptableOptional.isPresent() && doPublishAdaptable(adaptableOptional.get())) &&
+                    LOGGER.isTraceEnabled()) {
+                LOGGER.trace("Client got unhandled message: {}", new String(utf8Message, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Override
+    public void publishAdaptable(final Adaptable adaptable) {
+        if (!doPublishAdaptable(adaptable)) {
+            LOGGER.trace("Client got unhandled adaptable: {}", adaptable);
+        }
     }
 
     @Override
     public void shutdownExecutors() {
         LOGGER.trace("Shutting down AdaptableBus Executors");
+        // wakes up publishers waiting for room in a mailbox whose deliveries will not run anymore
+        persistentAdaptableConsumers.values().forEach(entries -> entries.forEach(entry -> {
+            if (null != entry.mailbox) {
+                entry.mailbox.close();
+            }
+        }));
         try {
+            if (null != parserExecutor) {
+                parserExecutor.shutdownNow();
+            }
             defaultExecutor.shutdownNow();
             scheduledExecutor.shutdownNow();
             defaultExecutor.awaitTermination(2, TimeUnit.SECONDS);
@@ -175,27 +315,108 @@ final class DefaultAdaptableBus implements AdaptableBus {
         }
     }
 
-    // call this in a single-threaded executor so that ordering is preserved
+    /**
+     * Parses a frame of the inbound pipeline in parallel to other frames. Only frames which the single-threaded
+     * {@link #doPublish(String)} would parse are parsed; it is left to {@link #dispatchFrame(Object, Adaptable)} to
+     * handle all other frames and to log parse errors.
+     */
+    @Nullable
+    private Adaptable parseFrame(final Object frame) {
+        try {
+            if (frame instanceof byte[]) {
+                final byte[] utf8Message = (byte[]) frame;
+                if (Utf8JsonParser.startsWithObject(utf8Message) &&
+                        !HeaderSniffer.sniff(utf8Message).filter(this::isUnsubscribed).isPresent()) {
+                    return ProtocolFactory.jsonifiableAdaptableFromJson(Utf8JsonParser.parseObject(utf8Message));
+                }
+            } else {
+                final String message = (String) frame;
+                if (message.startsWith("{") &&
+                        !HeaderSniffer.sniff(message).filter(this::isUnsubscribed).isPresent()) {
+                    return ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(message));
+                }
+            }
+        } catch (final JsonRuntimeException e) {
+            // logged when the frame is published the single-threaded way
+        }
+        return null;
+    }
+
+    /**
+     * Dispatches a frame of the inbound pipeline; called for one frame after the other in the order of their arrival.
+     */
+    private void dispatchFrame(final Object frame, @Nullable final Adaptable adaptable) {
+        if (null == adaptable) {
+            if (frame instanceof byte[]) {
+                doPublish((byte[]) frame);
+            } else {
+                doPublish((String) frame);
+            }
+        } else if (oneTimeStringConsumers.isEmpty() || !publishToOneTimeStringSubscribers(frameToString(frame))) {
+            publishAdaptable(adaptable);
+        }
+    }
+
+    private static String frameToString(final Object frame) {
+        if (frame instanceof byte[]) {
+            return new String((byte[]) frame, StandardCharsets.UTF_8);
+        }
+        return (String) frame;
+    }
+
+    // call this in a single-threaded executor or in the inbound pipeline so that ordering is preserved
     private void doPublish(final String message) {
         if (publishToOneTimeStringSubscribers(message)) {
             return;
         }
         if (message.endsWith(ACK_SUFFIX)) {
             LOGGER.trace("Client got acknowledgement for which there is no subscriber: {}", message);
+        } else if (HeaderSniffer.sniff(message).filter(this::isUnsubscribed).isPresent()) {
+            LOGGER.trace("Client got message without subscriber: {}", message);
         } else {
             final Optional<Adaptable> adaptableOptional = parseAsAdaptable(message);
-            if (adaptableOptional.isPresent()) {
-                final Adaptable adaptable = adaptableOptional.get();
-                final List<Classification> tags = getAllAdaptableTags(adaptable);
-                if (publishToOneTimeAdaptableSubscribers(adaptable, tags) ||
-                        publishToPersistentAdaptableSubscribers(adaptable, tags)) {
-                    return;
-                }
+            if (adaptableOptional.isPresent() && doPublishAdaptable(adaptableOptional.get())) {
+                return;
             }
             LOGGER.trace("Client got unhandled message: {}", message);
         }
     }
 
+    /**
+     * Tests with the topic and the correlation ID sniffed from a message whether there can be no subscriber for the
+     * message, so that it need not be parsed. This is only the case if the classifications of all classifiers can be
+     * predicted from the sniffed headers.
+     */
+    private boolean isUnsubscribed(final HeaderSniffer.Headers headers) {
+        if (!preClassificationEnabled || headers.isPossiblySearchOrError()) {
+            return false;
+        }
+        final Optional<String> correlationId = headers.getCorrelationId();
+        if (correlationId.isPresent() && isSubscribed(Classification.forCorrelationId(correlationId.get()))) {
+            return false;
+        }
+        final Optional<Classification> streamingType = headers.getStreamingType();
+        return !(streamingType.isPresent() && isSubscribed(streamingType.get()));
+    }
+
+    private boolean isSubscribed(final Classification tag) {
+        return oneTimeAdaptableConsumers.containsKey(tag) || persistentAdaptableConsumers.containsKey(tag);
+    }
+
+    private boolean doPublishAdaptable(final Adaptable adaptable) {
+        final Classifier<Adaptable>[] classifiers = adaptableClassifiers;
+        final Classification[] tags = new Classification[classifiers.length];
+        int tagCount = 0;
+        for (final Classifier<Adaptable> classifier : classifiers) {
+            final Classification tag = classifier.classifyOrNull(adaptable);
+            if (null != tag) {
+                tags[tagCount++] = tag;
+            }
+        }
+        return publishToOneTimeAdaptableSubscribers(adaptable, tags, tagCount) ||
+                publishToPersistentAdaptableSubscribers(adaptable, tags, tagCount);
+    }
+
     private Consumer<Adaptable> withTermination(
             final Consumer<Adaptable> adaptableConsumer,
             final Predicate<Adaptable> terminationPredicate,
@@ -235,16 +456,26 @@ final class DefaultAdaptableBus implements AdaptableBus {
             addEntry(registry, subscriber);
         }
         removeAfter(registry, subscriber, timeout, resultFuture);
+        // free the entry and its timeout right away if the future is cancelled or failed by its user
+        resultFuture.whenComplete((result, error) -> {
+            if (null != error) {
+                removeEntry(registry, subscriber, () -> {});
+            }
+        });
         return resultFuture;
     }
 
     private boolean publishToOneTimeStringSubscribers(final String message) {
+        if (oneTimeStringConsumers.isEmpty()) {
+            // spares classifying the message, which e.g. hashes it as a whole for the identity classifier
+            return false;
+        }
         for (final Classifier<String> stringClassifier : stringClassifiers) {
-            final Optional<Classification> tag = stringClassifier.classify(message);
-            if (tag.isPresent()) {
-                final Consumer<String> consumer = removeOne(oneTimeStringConsumers, tag.get());
+            final Classification tag = stringClassifier.classifyOrNull(message);
+            if (tag != null) {
+                final Consumer<String> consumer = removeOne(oneTimeStringConsumers, tag);
                 if (consumer != null) {
-                    runConsumerAsync(consumer, message, tag.get());
+                    runConsumerAsync(consumer, message, tag);
                     return true;
                 }
             }
@@ -261,8 +492,55 @@ final class DefaultAdaptableBus implements AdaptableBus {
         }
     }
 
-    private boolean publishToOneTimeAdaptableSubscribers(final Adaptable adaptable, final List<Classification> tags) {
-        for (final Classification tag : tags) {
+    private void runConsumerInOrder(final Entry<Consumer<Adaptable>> entry, final Adaptable adaptable,
+            final Classification tag) {
+        final Mailbox mailbox = entry.mailbox;
+        if (tag.mustBeSequential() || mailbox == null) {
+            runConsumerAsync(entry.value, adaptable, tag);
+            return;
+        }
+        final Runnable delivery = mailbox.offer(() -> entry.value.accept(adaptable));
+        final long dropCount = mailbox.pollDropsToReport();
+        if (dropCount > 0L) {
+            LOGGER.warn("Dropped <{}> messages for <{}> within the last {} as the mailbox of the subscriber was " +
+                    "full: {}", dropCount, tag, Mailbox.DROP_REPORT_INTERVAL, mailbox);
+        }
+        if (delivery == null) {
+            if (mailbox.isFailed()) {
+                failSubscription(entry, tag);
+            } else {
+                LOGGER.trace("dropped as mailbox of subscriber is full for {}: {}", tag, adaptable);
+            }
+        } else if (entry.deliveryOrder == DeliveryOrder.UNORDERED) {
+            LOGGER.trace("publishing for {}: {}", tag, adaptable);
+            defaultExecutor.submit(delivery);
+        } else {
+            LOGGER.trace("publishing in order for {}: {}", tag, adaptable);
+            final Object key = entry.deliveryOrder == DeliveryOrder.PER_ENTITY ? entityKey(adaptable) : entry;
+            keyedExecutor.execute(key, delivery);
+        }
+    }
+
+    private void failSubscription(final Entry<Consumer<Adaptable>> entry, final Classification tag) {
+        final AtomicBoolean removed = new AtomicBoolean(false);
+        removeEntry(persistentAdaptableConsumers, entry, () -> removed.set(true));
+        if (removed.get()) {
+            LOGGER.error("Removed subscription for <{}> as its mailbox overflowed: {}", tag, entry.mailbox);
+        }
+    }
+
+    private static String entityKey(final Adaptable adaptable) {
+        final TopicPath topicPath = adaptable.getTopicPath();
+        return topicPath.getNamespace() + ":" + topicPath.getEntityName();
+    }
+
+    private boolean publishToOneTimeAdaptableSubscribers(final Adaptable adaptable, final Classification[] tags,
+            final int tagCount) {
+        if (oneTimeAdaptableConsumers.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < tagCount; i++) {
+            final Classification tag = tags[i];
             final Consumer<Adaptable> oneTimeSubscriber = removeOne(oneTimeAdaptableConsumers, tag);
             if (oneTimeSubscriber != null) {
                 runConsumerAsync(oneTimeSubscriber, adaptable, tag);
@@ -273,24 +551,30 @@ final class DefaultAdaptableBus implements AdaptableBus {
     }
 
     private boolean publishToPersistentAdaptableSubscribers(final Adaptable adaptable,
-            final List<Classification> tags) {
+            final Classification[] tags, final int tagCount) {
         boolean publishedToPersistentSubscribers = false;
-        for (final Classification tag : tags) {
+        for (int i = 0; i < tagCount; i++) {
+            final Classification tag = tags[i];
             final Set<Entry<Consumer<Adaptable>>> persistentConsumers = persistentAdaptableConsumers.get(tag);
             if (persistentConsumers != null && !persistentConsumers.isEmpty()) {
                 publishedToPersistentSubscribers = true;
                 for (final Entry<Consumer<Adaptable>> entry : persistentConsumers) {
-                    runConsumerAsync(entry.value, adaptable, tag);
+                    runConsumerInOrder(entry, adaptable, tag);
                 }
             }
         }
         return publishedToPersistentSubscribers;
     }
 
-    private List<Classification> getAllAdaptableTags(final Adaptable adaptable) {
-        return adaptableClassifiers.stream()
-                .flatMap(classifier -> classifier.classify(adaptable).map(Stream::of).orElseGet(Stream::empty))
-                .collect(Collectors.toList());
+    private static <T> Classifier<T>[] append(final Classifier<T>[] classifiers, final Classifier<T> classifier) {
+        final Classifier<T>[] result = Arrays.copyOf(classifiers, classifiers.length + 1);
+        result[classifiers.length] = classifier;
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Classifier<T>[] newClassifierArray(final int length) {
+        return (Classifier<T>[]) new Classifier<?>[length];
     }
 
     private <T> void removeAfter(final Map<Classification, Set<Entry<T>>> registry,
@@ -302,13 +586,8 @@ final class DefaultAdaptableBus implements AdaptableBus {
         schedule(entry, cancellationRunnable, after);
     }
 
-    private void schedule(final SubscriptionId subscriptionId, final Runnable runnable, final Duration when) {
-        timeoutFutures.compute(subscriptionId, (k, v) -> {
-            if (v != null) {
-                v.cancel(false);
-            }
-            return scheduledExecutor.schedule(runnable, when.toMillis(), TimeUnit.MILLISECONDS);
-        });
+    private void schedule(final Entry<?> entry, final Runnable runnable, final Duration when) {
+        entry.replaceTimeout(timeoutScheduler.schedule(runnable, when));
     }
 
     private <T> void removeAfterIdle(
@@ -360,35 +639,84 @@ final class DefaultAdaptableBus implements AdaptableBus {
         return Optional.empty();
     }
 
+    private Optional<Adaptable> parseAsAdaptable(final byte[] utf8Message) {
+        try {
+            final JsonObject jsonObject = Utf8JsonParser.parseObject(utf8Message);
+            return Optional.of(ProtocolFactory.jsonifiableAdaptableFromJson(jsonObject));
+        } catch (final JsonParseException e) {
+            final String msgPattern = "Client got unknown non-JSON message: {}";
+            LOGGER.warn(msgPattern, new String(utf8Message, StandardCharsets.UTF_8), e);
+        } catch (final JsonRuntimeException e) {
+            final String msgPattern = "Client could not understand incoming JSON due to: <{}>:\n  <{}>";
+            LOGGER.warn(msgPattern, e.getMessage(), new String(utf8Message, StandardCharsets.UTF_8));
+        }
+        return Optional.empty();
+    }
+
     private <T> void removeEntry(final Map<Classification, Set<Entry<T>>> registry,
             final Entry<?> entry,
             final Runnable onRemove) {
+        final AtomicBoolean removed = new AtomicBoolean(false);
         registry.computeIfPresent(entry.key, (key, set) -> {
-            if (set.remove(entry)) {
-                onRemove.run();
-            }
+            removed.set(set.remove(entry));
             return set.isEmpty() ? null : set;
         });
-        timeoutFutures.computeIfPresent(entry, (k, v) -> {
-            v.cancel(false);
-            return null;
-        });
+        entry.replaceTimeout(null);
+        // run outside of the remapping function as it may complete futures whose dependents touch the registry
+        if (removed.get()) {
+            if (null != entry.mailbox) {
+                entry.mailbox.close();
+            }
+            onRemove.run();
+        }
     }
 
     @Nullable
     private static <T> T removeOne(final Map<Classification, Set<Entry<T>>> registry,
             final Classification tag) {
-        final AtomicReference<T> result = new AtomicReference<>(null);
-        registry.computeIfPresent(tag, (k, set) -> set.stream()
-                .findAny()
-                .map(entry -> {
-                    if (set.remove(entry)) {
-                        result.set(entry.value);
-                    }
-                    return set.isEmpty() ? null : set;
-                })
-                .orElse(null));
-        return result.get();
+        if (!registry.containsKey(tag)) {
+            // spares the allocations of the remapping function below
+            return null;
+        }
+        final AtomicReference<Entry<T>> result = new AtomicReference<>(null);
+        registry.computeIfPresent(tag, (k, set) -> {
+            final Iterator<Entry<T>> iterator = set.iterator();
+            if (iterator.hasNext()) {
+                final Entry<T> entry = iterator.next();
+                if (set.remove(entry)) {
+                    result.set(entry);
+                }
+            }
+            return set.isEmpty() ? null : set;
+        });
+        final Entry<T> removed = result.get();
+        if (null == removed) {
+            return null;
+        }
+        // the awaited message arrived, so its timeout need not stay scheduled
+        removed.replaceTimeout(null);
+        return removed.value;
+    }
+
+    @Override
+    public List<InFlightRequest> getInFlightRequests() {
+        final long now = System.nanoTime();
+        final List<InFlightRequest> result = new ArrayList<>();
+        addInFlightRequests(oneTimeAdaptableConsumers, now, result);
+        addInFlightRequests(oneTimeStringConsumers, now, result);
+        result.sort(Comparator.comparing(InFlightRequest::getAge).reversed());
+        return result;
+    }
+
+    private static <T> void addInFlightRequests(final Map<Classification, Set<Entry<T>>> registry, final long now,
+            final List<InFlightRequest> result) {
+        registry.forEach((tag, entries) -> {
+            if (tag instanceof Classification.CorrelationId) {
+                final String correlationId = ((Classification.CorrelationId) tag).getCorrelationId();
+                entries.forEach(entry -> result.add(
+                        new PendingRequest(correlationId, Duration.ofNanos(now - entry.subscribedNanos))));
+            }
+        });
     }
 
     private static Throwable timeout(final Duration duration) {
@@ -401,12 +729,68 @@ final class DefaultAdaptableBus implements AdaptableBus {
      */
     private static final class Entry<T> implements SubscriptionId {
 
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Entry, TimeoutScheduler.Timeout> TIMEOUT =
+                AtomicReferenceFieldUpdater.newUpdater(Entry.class, TimeoutScheduler.Timeout.class, "timeout");
+
         private final Classification key;
         private final T value;
+        private final DeliveryOrder deliveryOrder;
+        @Nullable private final Mailbox mailbox;
+        private final long subscribedNanos;
+        @Nullable private volatile TimeoutScheduler.Timeout timeout;
 
         private Entry(final Classification key, final T value) {
+            this(key, value, DeliveryOrder.UNORDERED, null);
+        }
+
+        private Entry(final Classification key, final T value, final DeliveryOrder deliveryOrder,
+                @Nullable final Mailbox mailbox) {
             this.key = key;
             this.value = value;
+            this.deliveryOrder = deliveryOrder;
+            this.mailbox = mailbox;
+            subscribedNanos = System.nanoTime();
+            timeout = null;
+        }
+
+        /**
+         * Replaces the timeout of this subscription and cancels the previous one, if any.
+         */
+        private void replaceTimeout(@Nullable final TimeoutScheduler.Timeout newTimeout) {
+            final TimeoutScheduler.Timeout previous = TIMEOUT.getAndSet(this, newTimeout);
+            if (previous != null) {
+                previous.cancel();
+            }
+        }
+    }
+
+    private static final class PendingRequest implements InFlightRequest {
+
+        private final String correlationId;
+        private final Duration age;
+
+        private PendingRequest(final String correlationId, final Duration age) {
+            this.correlationId = correlationId;
+            this.age = age;
+        }
+
+        @Override
+        public String getCorrelationId() {
+            return correlationId;
+        }
+
+        @Override
+        public Duration getAge() {
+            return age;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "correlationId=" + correlationId +
+                    ", age=" + age +
+                    "]";
         }
     }
 }
@@ -12,9 +12,6 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import javax.annotation.Nullable;
 
 import org.eclipse.ditto.json.JsonPointer;
@@ -65,19 +62,9 @@ final class DefaultJsonPointerSelector implements JsonPointerSelector {
         final Class<?> type = pointer.getClass();
         if (JsonPointerWithChangePaths.class.isAssignableFrom(type)) // only JsonPointerWithChangePaths class
         {
-            final JsonPointerWithChangePaths target = (JsonPointerWithChangePaths) pointer;
-            final JsonPointer targetPointer = target.getTargetPath();
-
-            // we need to add the target path for modification on empty objects
-            final List<JsonPointer> targetPaths = new ArrayList<>(target.getChangePaths());
-            targetPaths.add(JsonPointer.empty());
-
-            return targetPaths.stream() // iterate over all configured "changePaths"
-                    .anyMatch(
-                            targetPath -> // and check if the "changePath" appended to the initial "targetPath" matches
-                                    // the template key looked up via "getObject()":
-                                    JsonPointerSelector.doesTargetMatchTemplate(targetPointer.append(targetPath),
-                                            getPointer()));
+            // check whether the "targetPath" or any "changePath" appended to it matches the template key looked up
+            // via "getPointer()":
+            return ((JsonPointerWithChangePaths) pointer).isMatchedBy(getPointer());
         } else if (JsonPointer.class.isAssignableFrom(type)) // or JsonPointer class are supported
         {
             return JsonPointerSelector.doesTargetMatchTemplate(pointer, getPointer());
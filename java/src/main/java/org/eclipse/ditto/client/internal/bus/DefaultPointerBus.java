@@ -13,9 +13,12 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
+import org.eclipse.ditto.client.management.HandlerCacheStatistics;
+
 /**
  * Default implementation of {@link PointerBus}.
  *
@@ -53,6 +56,11 @@ final class DefaultPointerBus implements PointerBus {
         return consumerRegistry.register(selector, consumer);
     }
 
+    @Override
+    public Optional<HandlerCacheStatistics> getHandlerCacheStatistics() {
+        return consumerRegistry.getCacheStatistics();
+    }
+
     @Override
     public void close() {
         consumerRegistry.clear();
@@ -13,107 +13,165 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.management.HandlerCacheStatistics;
 import org.eclipse.ditto.json.JsonPointer;
 
 /**
  * Default implementation of {@link Registry}.
+ * <p>
+ * The registrations are kept in an immutable snapshot. Selecting reads the current snapshot without locking, changing
+ * the registrations publishes a new snapshot by compare-and-set, so lookups never wait for each other or for writers.
+ * Selected registrations are cached for a bounded number of pointers. A change of the registrations removes only the
+ * cached pointers its selector matches.
  *
  * @since 1.0.0
  */
+@ThreadSafe
 final class DefaultRegistry<T> implements Registry<T> {
 
-    private final ConcurrentHashMap<JsonPointer, List<Registration<T>>> pointerCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<JsonPointerSelector, List<Registration<T>>> registrationMap =
-            new ConcurrentHashMap<>();
+    private static final int DEFAULT_MAXIMUM_CACHE_SIZE = 10_000;
+
+    private final AtomicReference<JsonPointerSelectorIndex<List<Registration<T>>>> snapshot =
+            new AtomicReference<>(JsonPointerSelectorIndex.empty());
 
-    private final boolean useCache;
+    @Nullable private final PointerCache<List<Registration<T>>> pointerCache;
 
     /**
      * Constructs a new DefaultRegistry with JsonPointer caching enabled.
      */
     DefaultRegistry() {
-        this(true);
+        this(DEFAULT_MAXIMUM_CACHE_SIZE);
     }
 
     /**
      * Constructs a new DefaultRegistry withe the passed options.
      *
-     * @param useJsonPointerCache whether to use a JsonPointer cache or not.
+     * @param maximumCacheSize the maximum number of JsonPointers whose registrations are cached or {@code 0} to not
+     * cache them.
      */
-    private DefaultRegistry(final boolean useJsonPointerCache) {
-        this.useCache = useJsonPointerCache;
+    DefaultRegistry(final int maximumCacheSize) {
+        pointerCache = maximumCacheSize > 0 ? new PointerCache<>(maximumCacheSize) : null;
     }
 
     @Override
-    public synchronized Registration<T> register(final JsonPointerSelector sel, final T obj) {
-        List<Registration<T>> registrations;
-        if (null == (registrations = this.registrationMap.get(sel))) {
-            registrations = this.registrationMap.computeIfAbsent(sel, selector -> new ArrayList<>());
-        }
-
-        final Registration<T> reg = new DefaultRegistration<>(sel, obj, () -> {
-            this.registrationMap.remove(sel);
-            pointerCache.clear();
-        });
-        registrations.add(reg);
-
-        pointerCache.clear();
+    public Registration<T> register(final JsonPointerSelector sel, final T obj) {
+        final Registration<T> reg = new DefaultRegistration<>(sel, obj, () -> unregister(sel));
+        JsonPointerSelectorIndex<List<Registration<T>>> current;
+        JsonPointerSelectorIndex<List<Registration<T>>> next;
+        do {
+            current = snapshot.get();
+            final List<Registration<T>> registrations = current.get(sel);
+            final List<Registration<T>> newRegistrations =
+                    new ArrayList<>(null != registrations ? registrations.size() + 1 : 1);
+            if (null != registrations) {
+                newRegistrations.addAll(registrations);
+            }
+            newRegistrations.add(reg);
+            next = current.put(sel, Collections.unmodifiableList(newRegistrations));
+        } while (!snapshot.compareAndSet(current, next));
+        invalidateCache(sel);
         return reg;
     }
 
-    @Override
-    public synchronized boolean unregister(final JsonPointer pointer) {
-        boolean found = false;
-        for (final JsonPointerSelector sel : registrationMap.keySet()) {
-            if (!sel.matches(pointer)) {
-                continue;
+    private void unregister(final JsonPointerSelector sel) {
+        JsonPointerSelectorIndex<List<Registration<T>>> current;
+        JsonPointerSelectorIndex<List<Registration<T>>> next;
+        do {
+            current = snapshot.get();
+            next = current.remove(sel);
+            if (next == current) {
+                return;
             }
-            if (null != registrationMap.remove(sel) && !found) {
-                found = true;
+        } while (!snapshot.compareAndSet(current, next));
+        invalidateCache(sel);
+    }
+
+    @Override
+    public boolean unregister(final JsonPointer pointer) {
+        JsonPointerSelectorIndex<List<Registration<T>>> current;
+        List<JsonPointerSelector> matchingSelectors;
+        do {
+            current = snapshot.get();
+            final List<JsonPointerSelector> selectors = new ArrayList<>();
+            current.forEachMatch(pointer, (selector, theRegistrations) -> selectors.add(selector));
+            matchingSelectors = selectors;
+            if (matchingSelectors.isEmpty()) {
+                return false;
             }
+        } while (!snapshot.compareAndSet(current, removeAll(current, matchingSelectors)));
+        matchingSelectors.forEach(this::invalidateCache);
+        return true;
+    }
+
+    private static <V> JsonPointerSelectorIndex<V> removeAll(final JsonPointerSelectorIndex<V> index,
+            final List<JsonPointerSelector> selectors) {
+        JsonPointerSelectorIndex<V> result = index;
+        for (final JsonPointerSelector selector : selectors) {
+            result = result.remove(selector);
         }
+        return result;
+    }
 
-        if (useCache) {
-            pointerCache.remove(pointer);
+    private void invalidateCache(final JsonPointerSelector sel) {
+        if (null != pointerCache) {
+            pointerCache.invalidate(sel::matches);
         }
-        return found;
     }
 
     @Override
-    public synchronized List<Registration<T>> select(final JsonPointer pointer) {
-        List<Registration<T>> selectedRegs;
-        if (null != (selectedRegs = pointerCache.get(pointer))) {
-            return selectedRegs;
+    public List<Registration<T>> select(final JsonPointer pointer) {
+        final JsonPointerSelectorIndex<List<Registration<T>>> current = snapshot.get();
+        // pointers with change paths equal each other only for equal changed values, which rarely repeat and would
+        // have to be hashed as a whole
+        final boolean cacheable = null != pointerCache && !(pointer instanceof JsonPointerWithChangePaths);
+        if (cacheable) {
+            final List<Registration<T>> cachedRegs = pointerCache.get(pointer);
+            if (null != cachedRegs) {
+                return cachedRegs;
+            }
         }
 
         final List<Registration<T>> regs = new ArrayList<>();
-        registrationMap.forEach((selector, theRegistrations) -> {
-            if (selector.matches(pointer)) {
-                regs.addAll(theRegistrations);
-            }
-        });
+        current.forEachMatch(pointer, (selector, theRegistrations) -> regs.addAll(theRegistrations));
 
-        if (useCache && !regs.isEmpty()) {
-            pointerCache.put(pointer, regs);
+        if (cacheable && !regs.isEmpty()) {
+            final List<Registration<T>> cachedRegs = pointerCache.put(pointer, regs);
+            if (snapshot.get() != current) {
+                // a writer may have invalidated the cache before the selection was put into it
+                pointerCache.remove(pointer, cachedRegs);
+            }
         }
 
         return regs;
     }
 
     @Override
-    public synchronized void clear() {
-        pointerCache.clear();
-        registrationMap.clear();
+    public void clear() {
+        snapshot.set(JsonPointerSelectorIndex.empty());
+        if (null != pointerCache) {
+            pointerCache.clear();
+        }
     }
 
     @Override
-    public synchronized Iterator<Registration<T>> iterator() {
+    public Optional<HandlerCacheStatistics> getCacheStatistics() {
+        return Optional.ofNullable(pointerCache);
+    }
+
+    @Override
+    public Iterator<Registration<T>> iterator() {
         final List<Registration<T>> regs = new ArrayList<>();
-        registrationMap.forEach((selector, theRegistrations) -> regs.addAll(theRegistrations));
+        snapshot.get().values().forEach(regs::addAll);
         return regs.iterator();
     }
+
 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timeout scheduler keeping its timeouts in a wheel of buckets, one bucket per tick modulo the wheel size.
+ * <p>
+ * A timeout is linked into the bucket of the first tick at or after its deadline and unlinked on cancellation, both
+ * in constant time under the lock of the bucket only. Each tick expires the timeouts of its bucket whose deadline
+ * passed; the others are due in a later revolution of the wheel. The ticks run on the scheduled executor as long as
+ * there are pending timeouts, so that a single scheduled task replaces one per timeout.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class HashedWheelTimeoutScheduler implements TimeoutScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimeoutScheduler.class);
+
+    private final ScheduledExecutorService scheduledExecutor;
+    private final long tickNanos;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Bucket[] wheel;
+    private final AtomicLong pendingTimeouts;
+    private final AtomicBoolean ticking;
+
+    // the last tick whose bucket was processed, only written by expireTimeouts
+    private volatile long processedTick;
+
+    HashedWheelTimeoutScheduler(final ScheduledExecutorService scheduledExecutor, final long tickNanos,
+            final int wheelSize, final LongSupplier nanoClock) {
+        this.scheduledExecutor = scheduledExecutor;
+        this.tickNanos = tickNanos;
+        this.nanoClock = nanoClock;
+        startNanos = nanoClock.getAsLong();
+        wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        pendingTimeouts = new AtomicLong();
+        ticking = new AtomicBoolean();
+        processedTick = 0L;
+    }
+
+    @Override
+    public Timeout schedule(final Runnable task, final Duration delay) {
+        final long delayNanos = Math.max(delay.toNanos(), 0L);
+        final long elapsedNanos = nanoClock.getAsLong() - startNanos;
+        // round up so that a timeout never expires early
+        final long deadlineTick = (elapsedNanos + delayNanos + tickNanos - 1L) / tickNanos;
+        final WheelTimeout timeout = new WheelTimeout(task, deadlineTick, pendingTimeouts);
+        pendingTimeouts.incrementAndGet();
+        long tick = Math.max(deadlineTick, processedTick + 1L);
+        while (!bucketOf(tick).add(timeout, tick)) {
+            // the bucket was processed concurrently; the timeout is due with the next tick then
+            tick = Math.max(tick, bucketOf(tick).processedUpTo()) + 1L;
+        }
+        if (ticking.compareAndSet(false, true)) {
+            scheduleTick();
+        }
+        return timeout;
+    }
+
+    /**
+     * @return the number of timeouts neither expired nor cancelled.
+     */
+    long getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Expires the timeouts of all ticks that passed since the last call.
+     */
+    synchronized void expireTimeouts() {
+        final long currentTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+        final long firstTick = processedTick + 1L;
+        if (currentTick < firstTick) {
+            return;
+        }
+        final List<WheelTimeout> expired = new ArrayList<>();
+        if (currentTick - firstTick >= wheel.length) {
+            // the ticks lagged behind by more than a revolution; each bucket has to be processed only once
+            for (final Bucket bucket : wheel) {
+                bucket.expireUpTo(currentTick, expired);
+            }
+        } else {
+            for (long tick = firstTick; tick <= currentTick; tick++) {
+                bucketOf(tick).expireUpTo(tick, expired);
+            }
+        }
+        processedTick = currentTick;
+        for (final WheelTimeout timeout : expired) {
+            timeout.expire();
+        }
+    }
+
+    private Bucket bucketOf(final long tick) {
+        return wheel[(int) (tick % wheel.length)];
+    }
+
+    private void scheduleTick() {
+        scheduledExecutor.schedule(this::tick, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void tick() {
+        expireTimeouts();
+        if (pendingTimeouts.get() > 0L) {
+            scheduleTick();
+        } else {
+            ticking.set(false);
+            // a timeout may have been scheduled after the check above, but before ticking stopped
+            if (pendingTimeouts.get() > 0L && ticking.compareAndSet(false, true)) {
+                scheduleTick();
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts of one bucket.
+     */
+    @ThreadSafe
+    private static final class Bucket {
+
+        @GuardedBy("this") @Nullable private WheelTimeout head;
+        @GuardedBy("this") private long processedUpTo = 0L;
+
+        /**
+         * Links a timeout into this bucket unless the bucket was processed for the tick already.
+         *
+         * @return whether the timeout was linked.
+         */
+        synchronized boolean add(final WheelTimeout timeout, final long tick) {
+            if (processedUpTo >= tick) {
+                return false;
+            }
+            timeout.bucket = this;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+            return true;
+        }
+
+        synchronized long processedUpTo() {
+            return processedUpTo;
+        }
+
+        synchronized void remove(final WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                // unlinked on expiry already
+                return;
+            }
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.unlink();
+        }
+
+        synchronized void expireUpTo(final long tick, final List<WheelTimeout> expired) {
+            processedUpTo = Math.max(processedUpTo, tick);
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                final WheelTimeout next = timeout.next;
+                if (timeout.deadlineTick <= tick) {
+                    remove(timeout);
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+
+    }
+
+    private static final class WheelTimeout implements Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final Runnable task;
+        private final long deadlineTick;
+        private final AtomicLong pendingTimeouts;
+        private volatile int state;
+
+        // the bucket the timeout is linked into; read without its lock on cancellation
+        @Nullable private volatile Bucket bucket;
+        // guarded by the lock of the bucket
+        @Nullable private WheelTimeout previous;
+        @Nullable private WheelTimeout next;
+
+        private WheelTimeout(final Runnable task, final long deadlineTick, final AtomicLong pendingTimeouts) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+            this.pendingTimeouts = pendingTimeouts;
+            state = PENDING;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            final Bucket linkedBucket = bucket;
+            if (linkedBucket != null) {
+                linkedBucket.remove(this);
+            }
+            return true;
+        }
+
+        private void expire() {
+            if (STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                pendingTimeouts.decrementAndGet();
+                try {
+                    task.run();
+                } catch (final RuntimeException e) {
+                    LOGGER.warn("Task of expired timeout failed.", e);
+                }
+            }
+        }
+
+        private void unlink() {
+            bucket = null;
+            previous = null;
+            next = null;
+        }
+
+    }
+
+}
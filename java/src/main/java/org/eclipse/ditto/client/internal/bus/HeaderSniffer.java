@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Extracts the {@code topic}, the {@code correlation-id} header and whether the {@code requested-acks} header is
+ * non-empty of a Ditto protocol message with a single pass over its JSON text, without building any JSON values.
+ * Values of other fields are skipped and the scan stops as soon as the topic and the headers were seen.
+ * <p>
+ * The sniffer does not validate the message. It gives up on anything it cannot interpret with certainty, e.g.
+ * escape sequences in the extracted strings, and leaves such messages to the full parser.
+ *
+ * @since 3.2.0
+ */
+public final class HeaderSniffer {
+
+    private static final String TOPIC = "topic";
+    private static final String HEADERS = "headers";
+    private static final String CORRELATION_ID = "correlation-id";
+    private static final String REQUESTED_ACKS = "requested-acks";
+
+    private final Text text;
+    private int position;
+    @Nullable private String topic;
+    @Nullable private String correlationId;
+    private boolean acknowledgementsRequested;
+
+    private HeaderSniffer(final Text text) {
+        this.text = text;
+        position = 0;
+        topic = null;
+        correlationId = null;
+        acknowledgementsRequested = false;
+    }
+
+    /**
+     * Sniffs the headers of a UTF-8 encoded message.
+     *
+     * @param utf8Message the message.
+     * @return the sniffed headers or an empty optional if they could not be determined with certainty.
+     */
+    public static Optional<Headers> sniff(final byte[] utf8Message) {
+        return new HeaderSniffer(new Utf8Text(utf8Message)).sniff();
+    }
+
+    /**
+     * Sniffs the headers of a message.
+     *
+     * @param message the message.
+     * @return the sniffed headers or an empty optional if they could not be determined with certainty.
+     */
+    public static Optional<Headers> sniff(final String message) {
+        return new HeaderSniffer(new StringText(message)).sniff();
+    }
+
+    private Optional<Headers> sniff() {
+        try {
+            return scanEnvelope() && null != topic
+                    ? Optional.of(new Headers(topic, correlationId, acknowledgementsRequested))
+                    : Optional.empty();
+        } catch (final IndexOutOfBoundsException e) {
+            // truncated message
+            return Optional.empty();
+        }
+    }
+
+    private boolean scanEnvelope() {
+        boolean headersSeen = false;
+        if (!consume('{') || consume('}')) {
+            return false;
+        }
+        do {
+            final String key = readPlainString();
+            if (null == key || !consume(':')) {
+                return false;
+            }
+            if (TOPIC.equals(key) && null == topic) {
+                topic = readPlainString();
+                if (null == topic) {
+                    return false;
+                }
+            } else if (HEADERS.equals(key) && !headersSeen) {
+                headersSeen = true;
+                if (!scanHeaders()) {
+                    return false;
+                }
+            } else if (!skipValue()) {
+                return false;
+            }
+            if (null != topic && headersSeen) {
+                // Ditto does not repeat fields, so the rest of the message cannot change the result
+                return true;
+            }
+        } while (consume(','));
+        return consume('}');
+    }
+
+    private boolean scanHeaders() {
+        if (!consume('{')) {
+            return false;
+        }
+        if (consume('}')) {
+            return true;
+        }
+        do {
+            final String key = readPlainString();
+            if (null == key || !consume(':')) {
+                return false;
+            }
+            // header keys are case-insensitive
+            if (CORRELATION_ID.equalsIgnoreCase(key)) {
+                if (null != correlationId) {
+                    return false;
+                }
+                correlationId = readPlainString();
+                if (null == correlationId) {
+                    return false;
+                }
+            } else if (REQUESTED_ACKS.equalsIgnoreCase(key)) {
+                final int start = position;
+                if (!skipValue()) {
+                    return false;
+                }
+                acknowledgementsRequested = !isEmptyArray(start);
+            } else if (!skipValue()) {
+                return false;
+            }
+        } while (consume(','));
+        return consume('}');
+    }
+
+    /**
+     * Reads a string without escape sequences.
+     *
+     * @return the string or {@code null} if the next token is no string or contains an escape sequence.
+     */
+    @Nullable
+    private String readPlainString() {
+        if (!consume('"')) {
+            return null;
+        }
+        final int start = position;
+        int c;
+        while ((c = text.charAt(position)) != '"') {
+            if (c == '\\') {
+                return null;
+            }
+            position++;
+        }
+        return text.substring(start, position++);
+    }
+
+    private boolean skipValue() {
+        skipWhitespace();
+        final int c = text.charAt(position);
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                final int d = text.charAt(position);
+                if (d == '"') {
+                    skipString();
+                } else {
+                    if (d == '{' || d == '[') {
+                        depth++;
+                    } else if (d == '}' || d == ']') {
+                        depth--;
+                    }
+                    position++;
+                }
+            } while (depth > 0);
+        } else {
+            final int start = position;
+            while (position < text.length() && !isDelimiter(text.charAt(position))) {
+                position++;
+            }
+            return position > start;
+        }
+        return true;
+    }
+
+    private void skipString() {
+        position++;
+        int c;
+        while ((c = text.charAt(position)) != '"') {
+            position += c == '\\' ? 2 : 1;
+        }
+        position++;
+    }
+
+    private boolean isEmptyArray(final int start) {
+        int i = start;
+        while (isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        if (text.charAt(i++) != '[') {
+            return false;
+        }
+        while (isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return text.charAt(i) == ']';
+    }
+
+    private boolean consume(final char expected) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isDelimiter(final int c) {
+        return c == ',' || c == '}' || c == ']' || isWhitespace(c);
+    }
+
+    private static boolean isWhitespace(final int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    /**
+     * The sniffed headers of a message.
+     */
+    @Immutable
+    public static final class Headers {
+
+        private static final String THINGS = "things";
+        private static final String TWIN = "twin";
+        private static final String LIVE = "live";
+        private static final String COMMANDS = "commands";
+        private static final String EVENTS = "events";
+        private static final String MESSAGES = "messages";
+        private static final String SEARCH = "search";
+        private static final String ERRORS = "errors";
+
+        private final String topic;
+        @Nullable private final String correlationId;
+        private final boolean acknowledgementsRequested;
+
+        private Headers(final String topic, @Nullable final String correlationId,
+                final boolean acknowledgementsRequested) {
+            this.topic = topic;
+            this.correlationId = correlationId;
+            this.acknowledgementsRequested = acknowledgementsRequested;
+        }
+
+        /**
+         * @return the topic of the message.
+         */
+        public String getTopic() {
+            return topic;
+        }
+
+        /**
+         * @return the correlation ID of the message if it has one.
+         */
+        public Optional<String> getCorrelationId() {
+            return Optional.ofNullable(correlationId);
+        }
+
+        /**
+         * @return whether the {@code requested-acks} header of the message is present and not empty.
+         */
+        public boolean isAcknowledgementRequested() {
+            return acknowledgementsRequested;
+        }
+
+        /**
+         * Determines the streaming type the way {@link Classifiers#streamingType()} does from the topic
+         * {@code namespace/name/things/channel/criterion/action}.
+         *
+         * @return the streaming type or an empty optional if the message is not streamed.
+         */
+        public Optional<Classification> getStreamingType() {
+            if (!THINGS.equals(segment(2))) {
+                return Optional.empty();
+            }
+            final String channel = segment(3);
+            final String criterion = segment(4);
+            if (LIVE.equals(channel)) {
+                if (COMMANDS.equals(criterion)) {
+                    return Optional.of(Classification.StreamingType.LIVE_COMMAND);
+                } else if (EVENTS.equals(criterion)) {
+                    return Optional.of(Classification.StreamingType.LIVE_EVENT);
+                } else if (MESSAGES.equals(criterion)) {
+                    return Optional.of(Classification.StreamingType.LIVE_MESSAGE);
+                }
+            } else if (TWIN.equals(channel) && EVENTS.equals(criterion)) {
+                return Optional.of(Classification.StreamingType.TWIN_EVENT);
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * @return whether the message may be a thing-search event or an error, whose classifications depend on the
+         * payload.
+         */
+        boolean isPossiblySearchOrError() {
+            for (int i = 2; ; i++) {
+                final String segment = segment(i);
+                if (null == segment) {
+                    return false;
+                } else if (SEARCH.equals(segment) || ERRORS.equals(segment)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Determines the search action of a thing-search message from the topic
+         * {@code _/_/things/channel/search/action}.
+         *
+         * @return the name of the search action, e.g. {@code request}, or an empty optional if the message is no
+         * thing-search message.
+         */
+        public Optional<String> getSearchAction() {
+            if (!THINGS.equals(segment(2)) || !SEARCH.equals(segment(4))) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(segment(5));
+        }
+
+        @Nullable
+        private String segment(final int index) {
+            int start = 0;
+            for (int i = 0; i < index; i++) {
+                start = topic.indexOf('/', start) + 1;
+                if (start == 0) {
+                    return null;
+                }
+            }
+            final int end = topic.indexOf('/', start);
+            return end < 0 ? topic.substring(start) : topic.substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "topic=" + topic +
+                    ", correlationId=" + correlationId +
+                    ", acknowledgementsRequested=" + acknowledgementsRequested +
+                    "]";
+        }
+
+    }
+
+    /**
+     * Character access to the message; the JSON structure consists of ASCII characters only, which are encoded as
+     * single bytes in UTF-8.
+     */
+    private interface Text {
+
+        int length();
+
+        /**
+         * @throws IndexOutOfBoundsException if {@code index} is not less than the length.
+         */
+        int charAt(int index);
+
+        String substring(int start, int end);
+    }
+
+    private static final class Utf8Text implements Text {
+
+        private final byte[] bytes;
+
+        private Utf8Text(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int length() {
+            return bytes.length;
+        }
+
+        @Override
+        public int charAt(final int index) {
+            return bytes[index] & 0xff;
+        }
+
+        @Override
+        public String substring(final int start, final int end) {
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class StringText implements Text {
+
+        private final String string;
+
+        private StringText(final String string) {
+            this.string = string;
+        }
+
+        @Override
+        public int length() {
+            return string.length();
+        }
+
+        @Override
+        public int charAt(final int index) {
+            return string.charAt(index);
+        }
+
+        @Override
+        public String substring(final int start, final int end) {
+            return string.substring(start, end);
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pipeline stage between the thread receiving frames and their dispatching. Frames are put into the slots of a
+ * preallocated ring buffer in the order they are submitted, parsed in parallel on a parser executor and dispatched in
+ * submission order, one after another.
+ * <p>
+ * If all slots are in use, submitting waits until the oldest frame was dispatched, so that a slow dispatch slows down
+ * the receiving thread instead of buffering without bounds.
+ *
+ * @param <F> the type of the frames.
+ * @param <P> the type of the parse results.
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class InboundPipeline<F, P> {
+
+    /**
+     * The number of slots of pipelines which do not specify one.
+     */
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InboundPipeline.class);
+    private static final long WAIT_FOR_SLOT_NANOS = TimeUnit.MICROSECONDS.toNanos(50L);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final Executor parserExecutor;
+    private final Function<F, P> parser;
+    private final BiConsumer<F, P> dispatcher;
+    private final AtomicLong claimSequence;
+    private final AtomicBoolean dispatching;
+    // written by the thread holding the dispatching flag only
+    private volatile long dispatchSequence;
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param capacity the number of slots, a power of two.
+     * @param parserExecutor runs the parser, typically with several threads.
+     * @param parser parses a frame; must be thread-safe. It may return {@code null}.
+     * @param dispatcher dispatches a frame with its parse result; it is called for one frame at a time.
+     */
+    @SuppressWarnings("unchecked")
+    InboundPipeline(final int capacity, final Executor parserExecutor, final Function<F, P> parser,
+            final BiConsumer<F, P> dispatcher) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two but was " + capacity + ".");
+        }
+        slots = new InboundPipeline.Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        mask = capacity - 1;
+        this.parserExecutor = parserExecutor;
+        this.parser = parser;
+        this.dispatcher = dispatcher;
+        claimSequence = new AtomicLong();
+        dispatching = new AtomicBoolean(false);
+        dispatchSequence = 0L;
+    }
+
+    /**
+     * Claims the next slot for the passed frame and hands it to the parser executor. Waits if all slots are in use.
+     *
+     * @param frame the frame.
+     */
+    void submit(final F frame) {
+        final long sequence = claimSequence.getAndIncrement();
+        while (sequence - dispatchSequence >= slots.length) {
+            // the slot is still occupied by the frame one lap ahead
+            LockSupport.parkNanos(WAIT_FOR_SLOT_NANOS);
+        }
+        final Slot slot = slots[(int) sequence & mask];
+        slot.frame = frame;
+        slot.sequence = sequence;
+        parserExecutor.execute(slot);
+    }
+
+    /**
+     * Returns the number of frames which were submitted but not yet dispatched.
+     *
+     * @return the number of frames in the pipeline.
+     */
+    int getPendingFrames() {
+        return (int) (claimSequence.get() - dispatchSequence);
+    }
+
+    private void dispatchParsedFrames() {
+        do {
+            if (!dispatching.compareAndSet(false, true)) {
+                // the thread holding the flag dispatches the frame parsed meanwhile
+                return;
+            }
+            try {
+                long sequence = dispatchSequence;
+                Slot slot;
+                while ((slot = slots[(int) sequence & mask]).isParsed(sequence)) {
+                    final F frame = slot.frame;
+                    final P parseResult = slot.parseResult;
+                    slot.clear();
+                    try {
+                        dispatcher.accept(frame, parseResult);
+                    } catch (final RuntimeException e) {
+                        LOGGER.error("Failed to dispatch inbound frame <{}>.", frame, e);
+                    }
+                    dispatchSequence = ++sequence;
+                }
+            } finally {
+                dispatching.set(false);
+            }
+            // a frame may have been parsed after the last check and before the flag was released
+        } while (slots[(int) dispatchSequence & mask].isParsed(dispatchSequence));
+    }
+
+    private final class Slot implements Runnable {
+
+        @Nullable private F frame;
+        @Nullable private P parseResult;
+        private long sequence = -1L;
+        // sequence whose parse result is available; publishes frame and result to the dispatching thread
+        private volatile long parsedSequence = -1L;
+
+        @Override
+        public void run() {
+            final long slotSequence = sequence;
+            try {
+                parseResult = parser.apply(frame);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Failed to parse inbound frame <{}>.", frame, e);
+                parseResult = null;
+            }
+            parsedSequence = slotSequence;
+            dispatchParsedFrames();
+        }
+
+        private boolean isParsed(final long expectedSequence) {
+            return parsedSequence == expectedSequence;
+        }
+
+        private void clear() {
+            frame = null;
+            parseResult = null;
+        }
+
+    }
+
+}
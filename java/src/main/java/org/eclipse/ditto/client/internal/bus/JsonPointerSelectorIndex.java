@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+
+/**
+ * Immutable index of {@link JsonPointerSelector}s which finds the selectors matching a pointer in time proportional
+ * to the depth of the pointer instead of the number of selectors.
+ * <p>
+ * The templates of {@link DefaultJsonPointerSelector}s are kept in a trie of their segments, in which all placeholder
+ * segments like {@code {thingId}} of a level share one wildcard child. As a template matches each pointer it is a
+ * prefix of, the selectors of all nodes on the way down a pointer match it. Other selectors, e.g. predicate selectors,
+ * are tested one after the other.
+ * <p>
+ * Adding or removing a selector copies the nodes on the path to the selector's template only and shares all other
+ * nodes with the previous index.
+ *
+ * @param <V> the type of the values associated with the selectors.
+ * @since 3.2.0
+ */
+@Immutable
+final class JsonPointerSelectorIndex<V> {
+
+    private static final JsonPointerSelectorIndex<?> EMPTY =
+            new JsonPointerSelectorIndex<>(Node.empty(), Collections.emptyMap(), 0);
+
+    private final Node<V> root;
+    private final Map<JsonPointerSelector, V> unindexed;
+    private final int size;
+
+    private JsonPointerSelectorIndex(final Node<V> root, final Map<JsonPointerSelector, V> unindexed,
+            final int size) {
+        this.root = root;
+        this.unindexed = unindexed;
+        this.size = size;
+    }
+
+    /**
+     * Returns an index without selectors.
+     *
+     * @param <V> the type of the values associated with the selectors.
+     * @return the empty index.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> JsonPointerSelectorIndex<V> empty() {
+        return (JsonPointerSelectorIndex<V>) EMPTY;
+    }
+
+    /**
+     * Returns the value associated with a selector.
+     *
+     * @param selector the selector.
+     * @return the value or {@code null} if there is none.
+     */
+    @Nullable
+    V get(final JsonPointerSelector selector) {
+        if (selector instanceof DefaultJsonPointerSelector) {
+            Node<V> node = root;
+            for (final JsonKey key : selector.getPointer()) {
+                node = node.getChild(key);
+                if (null == node) {
+                    return null;
+                }
+            }
+            return node.selectors.get(selector);
+        }
+        return unindexed.get(selector);
+    }
+
+    /**
+     * Returns an index in which the value is associated with the selector.
+     *
+     * @param selector the selector.
+     * @param value the value.
+     * @return the new index.
+     */
+    JsonPointerSelectorIndex<V> put(final JsonPointerSelector selector, final V value) {
+        final int newSize = null == get(selector) ? size + 1 : size;
+        if (selector instanceof DefaultJsonPointerSelector) {
+            final Node<V> newRoot = put(root, selector.getPointer(), 0, selector, value);
+            return new JsonPointerSelectorIndex<>(newRoot, unindexed, newSize);
+        }
+        final Map<JsonPointerSelector, V> newUnindexed = new LinkedHashMap<>(unindexed);
+        newUnindexed.put(selector, value);
+        return new JsonPointerSelectorIndex<>(root, Collections.unmodifiableMap(newUnindexed), newSize);
+    }
+
+    private static <V> Node<V> put(final Node<V> node, final JsonPointer template, final int level,
+            final JsonPointerSelector selector, final V value) {
+        if (level == template.getLevelCount()) {
+            return node.withSelector(selector, value);
+        }
+        final JsonKey key = template.get(level).orElseThrow(IllegalStateException::new);
+        final Node<V> child = node.getChild(key);
+        return node.withChild(key, put(null != child ? child : Node.empty(), template, level + 1, selector, value));
+    }
+
+    /**
+     * Returns an index without the selector.
+     *
+     * @param selector the selector.
+     * @return the new index or this index if it does not contain the selector.
+     */
+    JsonPointerSelectorIndex<V> remove(final JsonPointerSelector selector) {
+        if (null == get(selector)) {
+            return this;
+        }
+        if (selector instanceof DefaultJsonPointerSelector) {
+            final Node<V> newRoot = remove(root, selector.getPointer(), 0, selector);
+            return new JsonPointerSelectorIndex<>(null != newRoot ? newRoot : Node.empty(), unindexed, size - 1);
+        }
+        final Map<JsonPointerSelector, V> newUnindexed = new LinkedHashMap<>(unindexed);
+        newUnindexed.remove(selector);
+        return new JsonPointerSelectorIndex<>(root, Collections.unmodifiableMap(newUnindexed), size - 1);
+    }
+
+    /**
+     * Removes the selector from the subtree of the node, which must contain it.
+     *
+     * @return the new node or {@code null} if it became empty.
+     */
+    @Nullable
+    private static <V> Node<V> remove(final Node<V> node, final JsonPointer template, final int level,
+            final JsonPointerSelector selector) {
+        final Node<V> newNode;
+        if (level == template.getLevelCount()) {
+            newNode = node.withoutSelector(selector);
+        } else {
+            final JsonKey key = template.get(level).orElseThrow(IllegalStateException::new);
+            final Node<V> child = node.getChild(key);
+            newNode = node.withChild(key, null != child ? remove(child, template, level + 1, selector) : null);
+        }
+        return newNode.isEmpty() ? null : newNode;
+    }
+
+    /**
+     * Passes each selector matching the pointer together with its value to the consumer, each selector once. A
+     * {@link JsonPointerWithChangePaths} is matched like by {@link DefaultJsonPointerSelector#matches(JsonPointer)},
+     * i.e. a selector matches if it matches its target path or the target path appended by one of its change paths.
+     * The changed object is walked only along the paths of the indexed templates.
+     *
+     * @param pointer the pointer.
+     * @param consumer the consumer of the matching selectors and their values.
+     */
+    void forEachMatch(final JsonPointer pointer, final BiConsumer<JsonPointerSelector, V> consumer) {
+        if (pointer instanceof JsonPointerWithChangePaths) {
+            forEachIndexedMatch((JsonPointerWithChangePaths) pointer, consumer);
+        } else if (pointer.isEmpty()) {
+            root.forEachSelector(consumer);
+        } else {
+            forEachIndexedMatch(pointer, consumer);
+        }
+        unindexed.forEach((selector, value) -> {
+            if (selector.matches(pointer)) {
+                consumer.accept(selector, value);
+            }
+        });
+    }
+
+    private void forEachIndexedMatch(final JsonPointer pointer, final BiConsumer<JsonPointerSelector, V> consumer) {
+        List<Node<V>> frontier = Collections.singletonList(root);
+        for (final JsonKey key : pointer) {
+            frontier = descend(frontier, key);
+            if (frontier.isEmpty()) {
+                return;
+            }
+            for (final Node<V> node : frontier) {
+                node.selectors.forEach(consumer);
+            }
+        }
+    }
+
+    private void forEachIndexedMatch(final JsonPointerWithChangePaths pointer,
+            final BiConsumer<JsonPointerSelector, V> consumer) {
+        final JsonPointer targetPath = pointer.getTargetPath();
+        if (targetPath.isEmpty()) {
+            // the target path itself is one of the matched pointers
+            root.forEachSelector(consumer);
+            return;
+        }
+        // wildcards lead to the same nodes along several fields, so nodes are visited more than once
+        final Set<Node<V>> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Node<V>> targetFrontier = Collections.singletonList(root);
+        for (final JsonKey key : targetPath) {
+            targetFrontier = descend(targetFrontier, key);
+            if (targetFrontier.isEmpty()) {
+                break;
+            }
+            matched.addAll(targetFrontier);
+        }
+        final JsonObject changedObject = pointer.getChangedObject().orElse(null);
+        if (null != changedObject) {
+            for (final Node<V> node : targetFrontier) {
+                collectChangedPaths(node, changedObject, matched);
+            }
+        }
+        for (final Node<V> node : matched) {
+            node.selectors.forEach(consumer);
+        }
+    }
+
+    /**
+     * Walks the changed object along the children of the node, i.e. only along paths some template continues with.
+     */
+    private static <V> void collectChangedPaths(final Node<V> node, final JsonObject changedObject,
+            final Set<Node<V>> matched) {
+        final Node<V> wildcard = node.wildcard;
+        if (null != wildcard && !changedObject.isEmpty()) {
+            matched.add(wildcard);
+            if (!wildcard.isLeaf()) {
+                for (final JsonField field : changedObject) {
+                    collectChangedPaths(wildcard, field.getValue(), matched);
+                }
+            }
+        }
+        if (node.children.size() <= changedObject.getSize()) {
+            node.children.forEach((key, child) -> changedObject.getValue(key).ifPresent(value -> {
+                matched.add(child);
+                collectChangedPaths(child, value, matched);
+            }));
+        } else {
+            for (final JsonField field : changedObject) {
+                final Node<V> child = node.children.get(field.getKey());
+                if (null != child) {
+                    matched.add(child);
+                    collectChangedPaths(child, field.getValue(), matched);
+                }
+            }
+        }
+    }
+
+    private static <V> void collectChangedPaths(final Node<V> node, final JsonValue changedValue,
+            final Set<Node<V>> matched) {
+        if (changedValue.isObject() && !node.isLeaf()) {
+            collectChangedPaths(node, changedValue.asObject(), matched);
+        }
+    }
+
+    private static <V> List<Node<V>> descend(final List<Node<V>> frontier, final JsonKey key) {
+        final List<Node<V>> next = new ArrayList<>(2);
+        for (final Node<V> node : frontier) {
+            final Node<V> child = node.children.get(key);
+            if (null != child) {
+                next.add(child);
+            }
+            if (null != node.wildcard) {
+                next.add(node.wildcard);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return all values.
+     */
+    Collection<V> values() {
+        final List<V> result = new ArrayList<>(size);
+        root.forEachSelector((selector, value) -> result.add(value));
+        result.addAll(unindexed.values());
+        return result;
+    }
+
+    /**
+     * @return the number of selectors.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether a segment of a template is a placeholder like {@code {thingId}}, which matches any segment.
+     */
+    static boolean isPlaceholder(final CharSequence segment) {
+        final int length = segment.length();
+        return length >= 2 && segment.charAt(0) == '{' && segment.charAt(length - 1) == '}';
+    }
+
+    @Immutable
+    private static final class Node<V> {
+
+        private static final Node<?> EMPTY = new Node<>(Collections.emptyMap(), null, Collections.emptyMap());
+
+        private final Map<JsonKey, Node<V>> children;
+        @Nullable private final Node<V> wildcard;
+        private final Map<JsonPointerSelector, V> selectors;
+
+        private Node(final Map<JsonKey, Node<V>> children, @Nullable final Node<V> wildcard,
+                final Map<JsonPointerSelector, V> selectors) {
+            this.children = children;
+            this.wildcard = wildcard;
+            this.selectors = selectors;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V> empty() {
+            return (Node<V>) EMPTY;
+        }
+
+        @Nullable
+        private Node<V> getChild(final JsonKey key) {
+            return isPlaceholder(key) ? wildcard : children.get(key);
+        }
+
+        /**
+         * Returns a copy of this node with the child replaced or, if the child is {@code null}, removed.
+         */
+        private Node<V> withChild(final JsonKey key, @Nullable final Node<V> child) {
+            if (isPlaceholder(key)) {
+                return new Node<>(children, child, selectors);
+            }
+            final Map<JsonKey, Node<V>> newChildren = new HashMap<>(children);
+            if (null != child) {
+                newChildren.put(key, child);
+            } else {
+                newChildren.remove(key);
+            }
+            return new Node<>(newChildren.isEmpty() ? Collections.emptyMap() :
+                    Collections.unmodifiableMap(newChildren), wildcard, selectors);
+        }
+
+        private Node<V> withSelector(final JsonPointerSelector selector, final V value) {
+            final Map<JsonPointerSelector, V> newSelectors = new LinkedHashMap<>(selectors);
+            newSelectors.put(selector, value);
+            return new Node<>(children, wildcard, Collections.unmodifiableMap(newSelectors));
+        }
+
+        private Node<V> withoutSelector(final JsonPointerSelector selector) {
+            final Map<JsonPointerSelector, V> newSelectors = new LinkedHashMap<>(selectors);
+            newSelectors.remove(selector);
+            return new Node<>(children, wildcard, newSelectors.isEmpty() ? Collections.emptyMap() :
+                    Collections.unmodifiableMap(newSelectors));
+        }
+
+        private boolean isEmpty() {
+            return selectors.isEmpty() && isLeaf();
+        }
+
+        private boolean isLeaf() {
+            return null == wildcard && children.isEmpty();
+        }
+
+        private void forEachSelector(final BiConsumer<JsonPointerSelector, V> consumer) {
+            selectors.forEach(consumer);
+            children.values().forEach(child -> child.forEachSelector(consumer));
+            if (null != wildcard) {
+                wildcard.forEachSelector(consumer);
+            }
+        }
+    }
+
+}
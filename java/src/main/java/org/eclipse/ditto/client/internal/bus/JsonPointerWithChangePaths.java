@@ -12,38 +12,43 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
 
 /**
- * Contains a {@code targetPath} where a Change was initially created and a list of changed paths relative to this base
- * {@code targetPath} containing information about which elements got changes together with the "root".
+ * Contains a {@code targetPath} where a Change was initially created and the changed value. The changed paths relative
+ * to the base {@code targetPath} are the paths of all fields nested in the changed value if it is an object. They are
+ * not enumerated up front but walked on demand along the templates they are matched against, so that the effort
+ * depends on the registered selectors rather than on the size of the changed value.
  *
  * @since 1.0.0
  */
 final class JsonPointerWithChangePaths implements JsonPointer {
 
     private final JsonPointer targetPath;
-    private final List<JsonPointer> changePaths;
+    @Nullable private final JsonObject changedObject;
 
     /**
      * Constructs a new {@code JsonPointerWithChangePaths}.
      *
      * @param targetPath the JsonPointer where a Change was initially created
-     * @param changePaths a list of changed paths relative to the {@code targetPath} which were also involved in a
-     * change
+     * @param changedValue the changed value whose nested fields were also involved in the change or {@code null} if
+     * there is none
      */
-    JsonPointerWithChangePaths(final JsonPointer targetPath, final List<JsonPointer> changePaths) {
+    JsonPointerWithChangePaths(final JsonPointer targetPath, @Nullable final JsonValue changedValue) {
         this.targetPath = targetPath;
-        this.changePaths = Collections.unmodifiableList(new ArrayList<>(changePaths));
+        changedObject = null != changedValue && changedValue.isObject() ? changedValue.asObject() : null;
     }
 
     /**
@@ -56,12 +61,99 @@ final class JsonPointerWithChangePaths implements JsonPointer {
     }
 
     /**
-     * Returns a list of changed paths relative to the {@code targetPath} which were also involved in a change.
+     * Returns the changed object whose nested fields are the changed paths relative to the {@code targetPath}.
+     *
+     * @return the changed object or an empty optional if the changed value is no object and the {@code targetPath} is
+     * the only changed path.
+     */
+    Optional<JsonObject> getChangedObject() {
+        return Optional.ofNullable(changedObject);
+    }
+
+    /**
+     * Indicates whether the template matches the {@code targetPath} or the {@code targetPath} appended by any changed
+     * path, see {@link JsonPointerSelector#doesTargetMatchTemplate(JsonPointer, JsonPointer)}.
+     *
+     * @param template the template, e.g. {@code /things/{thingId}/attributes/{attributePath}}.
+     * @return whether the template matches.
+     */
+    boolean isMatchedBy(final JsonPointer template) {
+        if (JsonPointerSelector.doesTargetMatchTemplate(targetPath, template)) {
+            return true;
+        }
+        final int targetLevels = targetPath.getLevelCount();
+        return null != changedObject && template.getLevelCount() > targetLevels &&
+                isTargetPathMatchedBy(template, targetLevels) && containsPath(changedObject, template, targetLevels);
+    }
+
+    /**
+     * Passes the {@code targetPath} appended by each changed path the template matches to the consumer, in the order
+     * of the fields of the changed object. Only the fields along the template and the fields nested below them are
+     * visited.
      *
-     * @return a list of changed paths relative to the {@code targetPath} which were also involved in a change.
+     * @param template the template, e.g. {@code /things/{thingId}/attributes/{attributePath}}.
+     * @param consumer the consumer of the matched paths.
      */
-    List<JsonPointer> getChangePaths() {
-        return changePaths;
+    void forEachChangedPathMatchedBy(final JsonPointer template, final Consumer<JsonPointer> consumer) {
+        if (null == changedObject) {
+            // the only changed path is the empty one
+            if (JsonPointerSelector.doesTargetMatchTemplate(targetPath, template)) {
+                consumer.accept(targetPath);
+            }
+        } else if (!template.isEmpty() &&
+                isTargetPathMatchedBy(template, Math.min(targetPath.getLevelCount(), template.getLevelCount()))) {
+            forEachPathMatchedBy(changedObject, targetPath, template, consumer);
+        }
+    }
+
+    private boolean isTargetPathMatchedBy(final JsonPointer template, final int levels) {
+        for (int i = 0; i < levels; i++) {
+            if (!isKeyMatchedBy(targetPath.get(i).orElseThrow(IllegalStateException::new), template, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isKeyMatchedBy(final JsonKey key, final JsonPointer template, final int level) {
+        final JsonKey templateKey = template.get(level).orElseThrow(IllegalStateException::new);
+        return JsonPointerSelectorIndex.isPlaceholder(templateKey) || templateKey.equals(key);
+    }
+
+    private static boolean containsPath(final JsonObject object, final JsonPointer template, final int level) {
+        final JsonKey templateKey = template.get(level).orElseThrow(IllegalStateException::new);
+        final boolean lastLevel = level + 1 == template.getLevelCount();
+        if (JsonPointerSelectorIndex.isPlaceholder(templateKey)) {
+            for (final JsonField field : object) {
+                final JsonValue value = field.getValue();
+                if (lastLevel || value.isObject() && containsPath(value.asObject(), template, level + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return object.getValue(templateKey)
+                .filter(value -> lastLevel || value.isObject() && containsPath(value.asObject(), template, level + 1))
+                .isPresent();
+    }
+
+    private static void forEachPathMatchedBy(final JsonObject object, final JsonPointer parentPath,
+            final JsonPointer template, final Consumer<JsonPointer> consumer) {
+        final int level = parentPath.getLevelCount();
+        final boolean belowTemplate = level >= template.getLevelCount();
+        for (final JsonField field : object) {
+            final JsonKey key = field.getKey();
+            if (belowTemplate || isKeyMatchedBy(key, template, level)) {
+                final JsonPointer path = parentPath.addLeaf(key);
+                if (level + 1 >= template.getLevelCount()) {
+                    consumer.accept(path);
+                }
+                final JsonValue value = field.getValue();
+                if (value.isObject()) {
+                    forEachPathMatchedBy(value.asObject(), path, template, consumer);
+                }
+            }
+        }
     }
 
     public static JsonPointer empty() {return JsonPointer.empty();}
@@ -127,16 +219,16 @@ final class JsonPointerWithChangePaths implements JsonPointer {
             return false;
         }
         final JsonPointerWithChangePaths that = (JsonPointerWithChangePaths) o;
-        return Objects.equals(targetPath, that.targetPath) && Objects.equals(changePaths, that.changePaths);
+        return Objects.equals(targetPath, that.targetPath) && Objects.equals(changedObject, that.changedObject);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(targetPath, changePaths);
+        return Objects.hash(targetPath, changedObject);
     }
 
     @Override
     public String toString() {
-        return targetPath + " + " + changePaths;
+        return targetPath + " + " + changedObject;
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor running the tasks of the same key one after another in submission order and the tasks of different keys
+ * in parallel, all on a shared executor.
+ * <p>
+ * Each key with submitted tasks has a lock-free queue. The first task submitted to an idle queue submits a drain of
+ * the queue to the shared executor, so that at most one thread runs the tasks of a key at any time. A drain runs a
+ * limited batch of tasks before it resubmits itself, so that a busy key does not keep a thread from the other keys.
+ * Queues are removed once they ran empty.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class KeyedExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyedExecutor.class);
+
+    static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final Executor executor;
+    private final int batchSize;
+    private final Map<Object, KeyQueue> queues;
+
+    KeyedExecutor(final Executor executor, final int batchSize) {
+        this.executor = executor;
+        this.batchSize = batchSize;
+        queues = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Runs a task after all tasks submitted before for the same key.
+     *
+     * @param key the key, e.g. the ID of the entity the task is about.
+     * @param task the task.
+     */
+    void execute(final Object key, final Runnable task) {
+        while (true) {
+            final KeyQueue queue = queues.computeIfAbsent(key, KeyQueue::new);
+            if (queue.offer(task)) {
+                return;
+            }
+            // the queue ran empty and was retired concurrently; remove it unless its drain already did
+            queues.remove(key, queue);
+        }
+    }
+
+    /**
+     * @return the number of keys with queued or running tasks.
+     */
+    int getActiveKeys() {
+        return queues.size();
+    }
+
+    private final class KeyQueue implements Runnable {
+
+        private static final int RETIRED = -1;
+
+        private final Object key;
+        private final Queue<Runnable> tasks;
+        // the number of submitted tasks which did not complete yet, or RETIRED once the queue must not be used
+        private final AtomicInteger pending;
+
+        private KeyQueue(final Object key) {
+            this.key = key;
+            tasks = new ConcurrentLinkedQueue<>();
+            pending = new AtomicInteger();
+        }
+
+        private boolean offer(final Runnable task) {
+            int current;
+            do {
+                current = pending.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!pending.compareAndSet(current, current + 1));
+            tasks.offer(task);
+            if (current == 0) {
+                executor.execute(this);
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < batchSize; i++) {
+                runNextTask();
+                if (pending.decrementAndGet() == 0) {
+                    if (pending.compareAndSet(0, RETIRED)) {
+                        queues.remove(key, this);
+                    }
+                    // else a task was offered meanwhile and its submitter submitted a new drain
+                    return;
+                }
+            }
+            executor.execute(this);
+        }
+
+        private void runNextTask() {
+            Runnable task = tasks.poll();
+            while (task == null) {
+                // the task was counted but is not yet in the queue
+                Thread.yield();
+                task = tasks.poll();
+            }
+            try {
+                task.run();
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Task for key <{}> failed.", key, e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.management.MailboxStatistics;
+import org.eclipse.ditto.client.options.OverflowPolicy;
+
+/**
+ * Bounded mailbox of a persistent subscription, holding the deliveries of messages which were published but not yet
+ * handed to the consumer of the subscription.
+ * <p>
+ * A delivery is offered to the mailbox on publication and then submitted to an executor like any task. It leaves
+ * the mailbox when it starts running; a delivery dropped from the mailbox before does not call the consumer. A
+ * closed mailbox drops all deliveries and wakes up the threads waiting for room in it.
+ * <p>
+ * Deliveries mostly start in the order they were offered in, so started deliveries are only marked as such and
+ * removed once they reach the head of the queue. Deliveries which started ahead of older ones, e.g. those of
+ * another entity, are purged in one pass once they make up most of the queue.
+ * <p>
+ * Messages dropped because the mailbox was full are counted and reported via {@link #pollDropsToReport()} at most
+ * once per {@link #DROP_REPORT_INTERVAL}, so that they can be logged without flooding the log.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class Mailbox implements MailboxStatistics {
+
+    /**
+     * How long {@link OverflowPolicy#BLOCK} waits for room in the mailbox before dropping the message.
+     */
+    static final Duration MAX_BLOCK_TIME = Duration.ofSeconds(10L);
+
+    /**
+     * The minimum time between two reports of dropped messages.
+     */
+    static final Duration DROP_REPORT_INTERVAL = Duration.ofSeconds(10L);
+
+    private static final int MIN_PURGE_SIZE = 64;
+
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long maxBlockNanos;
+    private final ReentrantLock lock;
+    private final Condition notFull;
+    @GuardedBy("lock") private final Deque<Delivery> deliveries;
+    @GuardedBy("lock") private int waitingCount;
+    @GuardedBy("lock") private long unreportedDropCount;
+    @GuardedBy("lock") private long nextDropReportNanos;
+    private final LongAdder deliveredCount;
+    private final LongAdder droppedCount;
+    private final LongAdder blockedCount;
+    private volatile int queueDepth;
+    private volatile boolean dropsUnreported;
+    private volatile boolean failed;
+    private volatile boolean closed;
+
+    Mailbox(final int capacity, final OverflowPolicy overflowPolicy) {
+        this(capacity, overflowPolicy, MAX_BLOCK_TIME);
+    }
+
+    Mailbox(final int capacity, final OverflowPolicy overflowPolicy, final Duration maxBlockTime) {
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        maxBlockNanos = maxBlockTime.toNanos();
+        lock = new ReentrantLock();
+        notFull = lock.newCondition();
+        deliveries = new ArrayDeque<>(Math.min(capacity, 16));
+        waitingCount = 0;
+        unreportedDropCount = 0L;
+        nextDropReportNanos = System.nanoTime();
+        deliveredCount = new LongAdder();
+        droppedCount = new LongAdder();
+        blockedCount = new LongAdder();
+        queueDepth = 0;
+        dropsUnreported = false;
+        failed = false;
+        closed = false;
+    }
+
+    /**
+     * Offers the delivery of a message to this mailbox, applying the overflow policy if it is full.
+     *
+     * @param consumerCall calls the consumer with the message.
+     * @return the delivery to run, or {@code null} if the message was dropped.
+     */
+    @Nullable
+    Runnable offer(final Runnable consumerCall) {
+        lock.lock();
+        try {
+            if (failed || closed) {
+                droppedCount.increment();
+                return null;
+            }
+            if (waitingCount >= capacity && !makeRoom()) {
+                countDrop();
+                return null;
+            }
+            final Delivery delivery = new Delivery(consumerCall);
+            deliveries.addLast(delivery);
+            queueDepth = ++waitingCount;
+            return delivery;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean makeRoom() {
+        switch (overflowPolicy) {
+            case BLOCK:
+                blockedCount.increment();
+                try {
+                    long remainingNanos = maxBlockNanos;
+                    while (waitingCount >= capacity) {
+                        if (closed || remainingNanos <= 0L) {
+                            return false;
+                        }
+                        remainingNanos = notFull.awaitNanos(remainingNanos);
+                    }
+                    // closing empties the mailbox
+                    return !closed;
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            case DROP_OLDEST:
+                Delivery oldest;
+                do {
+                    oldest = deliveries.pollFirst();
+                } while (!oldest.waiting);
+                oldest.waiting = false;
+                queueDepth = --waitingCount;
+                countDrop();
+                return true;
+            case FAIL:
+                failed = true;
+                dropWaitingDeliveries();
+                return false;
+            case DROP_NEWEST:
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Closes this mailbox when its subscription ended: the waiting deliveries are dropped, further messages are
+     * rejected and threads waiting for room are woken up.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            dropWaitingDeliveries();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void dropWaitingDeliveries() {
+        droppedCount.add(waitingCount);
+        deliveries.forEach(delivery -> delivery.waiting = false);
+        deliveries.clear();
+        waitingCount = 0;
+        queueDepth = 0;
+    }
+
+    @GuardedBy("lock")
+    private void countDrop() {
+        droppedCount.increment();
+        // a failed or closed subscription is reported by whoever ended it
+        if (!failed && !closed) {
+            unreportedDropCount++;
+            dropsUnreported = true;
+        }
+    }
+
+    /**
+     * Returns the number of messages dropped because the mailbox was full since the last report, if there are any
+     * and the last report is at least {@link #DROP_REPORT_INTERVAL} ago.
+     *
+     * @return the number of dropped messages to report, or 0 if no report is due.
+     */
+    long pollDropsToReport() {
+        if (!dropsUnreported) {
+            return 0L;
+        }
+        final long now = System.nanoTime();
+        lock.lock();
+        try {
+            if (now - nextDropReportNanos < 0L) {
+                return 0L;
+            }
+            nextDropReportNanos = now + DROP_REPORT_INTERVAL.toNanos();
+            dropsUnreported = false;
+            final long dropCount = unreportedDropCount;
+            unreportedDropCount = 0L;
+            return dropCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean start(final Delivery delivery) {
+        lock.lock();
+        try {
+            if (!delivery.waiting) {
+                // dropped meanwhile
+                return false;
+            }
+            delivery.waiting = false;
+            queueDepth = --waitingCount;
+            removeStartedDeliveries();
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+        deliveredCount.increment();
+        return true;
+    }
+
+    @GuardedBy("lock")
+    private void removeStartedDeliveries() {
+        Delivery head;
+        while (null != (head = deliveries.peekFirst()) && !head.waiting) {
+            deliveries.pollFirst();
+        }
+        if (deliveries.size() > MIN_PURGE_SIZE && deliveries.size() > 2 * waitingCount) {
+            deliveries.removeIf(started -> !started.waiting);
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    @Override
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    @Override
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    @Override
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "capacity=" + capacity +
+                ", overflowPolicy=" + overflowPolicy +
+                ", queueDepth=" + queueDepth +
+                ", deliveredCount=" + deliveredCount +
+                ", droppedCount=" + droppedCount +
+                ", blockedCount=" + blockedCount +
+                ", failed=" + failed +
+                ", closed=" + closed +
+                "]";
+    }
+
+    private final class Delivery implements Runnable {
+
+        private final Runnable consumerCall;
+        @GuardedBy("lock") private boolean waiting;
+
+        private Delivery(final Runnable consumerCall) {
+            this.consumerCall = consumerCall;
+            waiting = true;
+        }
+
+        @Override
+        public void run() {
+            if (start(this)) {
+                consumerCall.run();
+            }
+        }
+
+    }
+
+}
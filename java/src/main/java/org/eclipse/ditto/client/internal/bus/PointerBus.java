@@ -12,9 +12,11 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
+import org.eclipse.ditto.client.management.HandlerCacheStatistics;
 import org.eclipse.ditto.json.JsonPointer;
 
 /**
@@ -71,6 +73,15 @@ public interface PointerBus {
      */
     ExecutorService getExecutor();
 
+    /**
+     * @return the statistics of the cache of the consumers selected for notified pointers or an empty optional if
+     * they are not cached.
+     * @since 3.2.0
+     */
+    default Optional<HandlerCacheStatistics> getHandlerCacheStatistics() {
+        return Optional.empty();
+    }
+
     /**
      * Closes the Bus.
      */
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.management.HandlerCacheStatistics;
+import org.eclipse.ditto.json.JsonPointer;
+
+/**
+ * Cache of the values selected for pointers which holds at most a maximum number of pointers.
+ * <p>
+ * Lookups don't lock. Each hit raises the frequency of its entry up to {@value #MAX_FREQUENCY}. When the cache is
+ * full, a clock hand sweeps over the entries, lowering their frequency, and evicts the first entry whose frequency is
+ * down to zero. Pointers which are seen once, like the paths of a single change, are therefore evicted before
+ * pointers which are hit over and over again.
+ *
+ * @param <V> the type of the cached values.
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class PointerCache<V> implements HandlerCacheStatistics {
+
+    private static final int MAX_FREQUENCY = 3;
+
+    private final int maximumSize;
+    private final ConcurrentHashMap<JsonPointer, Entry<V>> entries;
+    @GuardedBy("this") private final Entry<?>[] clock;
+    @GuardedBy("this") private int used;
+    @GuardedBy("this") private int hand;
+
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder evictionCount;
+    private final LongAdder invalidationCount;
+
+    /**
+     * Constructs a new {@code PointerCache}.
+     *
+     * @param maximumSize the maximum number of cached pointers.
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+     */
+    PointerCache(final int maximumSize) {
+        checkArgument(maximumSize, size -> size > 0, () -> "The maximum size must be positive!");
+        this.maximumSize = maximumSize;
+        entries = new ConcurrentHashMap<>();
+        clock = new Entry<?>[maximumSize];
+        used = 0;
+        hand = 0;
+        hitCount = new LongAdder();
+        missCount = new LongAdder();
+        evictionCount = new LongAdder();
+        invalidationCount = new LongAdder();
+    }
+
+    /**
+     * Returns the value cached for a pointer.
+     *
+     * @param pointer the pointer.
+     * @return the value or {@code null} if none is cached.
+     */
+    @Nullable
+    V get(final JsonPointer pointer) {
+        final Entry<V> entry = entries.get(pointer);
+        if (null == entry) {
+            missCount.increment();
+            return null;
+        }
+        // racy increments may get lost, which is fine for an estimate
+        if (entry.frequency < MAX_FREQUENCY) {
+            entry.frequency++;
+        }
+        hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * Caches the value for a pointer, evicting the entry of another pointer if the cache is full. If a value is
+     * cached for the pointer already, it is kept.
+     *
+     * @param pointer the pointer.
+     * @param value the value.
+     * @return the cached value.
+     */
+    synchronized V put(final JsonPointer pointer, final V value) {
+        final Entry<V> existing = entries.get(pointer);
+        if (null != existing) {
+            return existing.value;
+        }
+        final Entry<V> entry = new Entry<>(pointer, value);
+        clock[nextFreeSlot()] = entry;
+        entries.put(pointer, entry);
+        return value;
+    }
+
+    @GuardedBy("this")
+    private int nextFreeSlot() {
+        if (used < maximumSize) {
+            return used++;
+        }
+        while (true) {
+            final int slot = hand;
+            hand = (hand + 1) % maximumSize;
+            final Entry<?> entry = clock[slot];
+            if (entry.removed) {
+                return slot;
+            } else if (entry.frequency <= 0) {
+                entry.removed = true;
+                entries.remove(entry.pointer, entry);
+                evictionCount.increment();
+                return slot;
+            }
+            entry.frequency--;
+        }
+    }
+
+    /**
+     * Removes the entry of the pointer if it still holds the value.
+     *
+     * @param pointer the pointer.
+     * @param value the value.
+     */
+    void remove(final JsonPointer pointer, final V value) {
+        final Entry<V> entry = entries.get(pointer);
+        if (null != entry && entry.value == value && entries.remove(pointer, entry)) {
+            entry.removed = true;
+        }
+    }
+
+    /**
+     * Removes the entries of all pointers matching the predicate, e.g. those a new selector matches.
+     *
+     * @param predicate the predicate.
+     */
+    void invalidate(final Predicate<JsonPointer> predicate) {
+        entries.values().removeIf(entry -> {
+            if (predicate.test(entry.pointer)) {
+                entry.removed = true;
+                invalidationCount.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void clear() {
+        entries.clear();
+        Arrays.fill(clock, null);
+        used = 0;
+        hand = 0;
+    }
+
+    @Override
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "maximumSize=" + maximumSize +
+                ", size=" + getSize() +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", evictionCount=" + getEvictionCount() +
+                ", invalidationCount=" + getInvalidationCount() +
+                "]";
+    }
+
+    private static final class Entry<V> {
+
+        private final JsonPointer pointer;
+        private final V value;
+        private volatile int frequency;
+        private volatile boolean removed;
+
+        private Entry(final JsonPointer pointer, final V value) {
+            this.pointer = pointer;
+            this.value = value;
+            frequency = 0;
+            removed = false;
+        }
+    }
+
+}
@@ -13,7 +13,9 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.eclipse.ditto.client.management.HandlerCacheStatistics;
 import org.eclipse.ditto.json.JsonPointer;
 
 /**
@@ -57,4 +59,14 @@ public interface Registry<T> extends Iterable<Registration<T>> {
      * Registration}.
      */
     void clear();
+
+    /**
+     * Returns the statistics of the cache of the registrations selected for pointers.
+     *
+     * @return the statistics or an empty optional if selected registrations are not cached.
+     * @since 3.2.0
+     */
+    default Optional<HandlerCacheStatistics> getCacheStatistics() {
+        return Optional.empty();
+    }
 }
@@ -15,13 +15,8 @@ package org.eclipse.ditto.client.internal.bus;
 import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
 
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -32,14 +27,12 @@ import java.util.regex.Pattern;
 
 import org.eclipse.ditto.base.model.signals.events.Event;
 import org.eclipse.ditto.client.changes.Change;
+import org.eclipse.ditto.client.changes.ConflatingChangeHandler;
 import org.eclipse.ditto.client.internal.HandlerRegistry;
 import org.eclipse.ditto.client.internal.SpecificChangeBuilderFunction;
-import org.eclipse.ditto.json.JsonField;
-import org.eclipse.ditto.json.JsonKey;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
 import org.eclipse.ditto.json.JsonValue;
-import org.eclipse.ditto.json.JsonValueContainer;
 import org.eclipse.ditto.messages.model.Message;
 import org.slf4j.Logger;
 
@@ -136,59 +129,16 @@ public final class SelectorUtil {
 
             final Change change = changeBuilderFunction.apply(event, message.getExtra().orElse(null));
 
-            final List<JsonPointer> jsonPointers = change.getValue()
-                    .filter(JsonValue::isObject)
-                    .map(JsonValue::asObject)
-                    .map(obj -> calculateJsonPointerHierarchy(JsonPointer.empty(), obj))
-                    .orElse(Collections.singletonList(JsonPointer.empty()));
-
             // notify the address where the Change actually happened:
             String address = addressBuilderFunction.apply(event);
             final JsonPointer jsonPointer = JsonPointer.of(address);
-            final JsonPointerWithChangePaths
-                    jsonPointerWithChangePaths = new JsonPointerWithChangePaths(jsonPointer, jsonPointers);
+            final JsonPointerWithChangePaths jsonPointerWithChangePaths =
+                    new JsonPointerWithChangePaths(jsonPointer, change.getValue().orElse(null));
             logger.trace("Notifying bus at address '{}' with obj: {}", jsonPointerWithChangePaths, change);
             in.notify(jsonPointerWithChangePaths, change);
         });
     }
 
-    /**
-     * Calculates a List of JsonPointers based on the passed {@code entryPointer} and the passed {@code fromJsonObject}.
-     * The hierarchy of the {@code fromJsonObject} will be "mapped" to the returned List of JsonPointers.
-     * <p>
-     * Example: If a {@code entryPointer} of "/things/my:thing1/attributes" is given and a {@code fromJsonObject} of
-     * {@code { "foo": { "sub": 1, "misc": "hello" }, "bar": { "other": false } } } the resulting List of JsonPointers
-     * would be:
-     * <ul>
-     * <li>/things/my:thing1/attributes/foo</li>
-     * <li>/things/my:thing1/attributes/bar/other</li>
-     * </ul>
-     */
-    private static List<JsonPointer> calculateJsonPointerHierarchy(final JsonPointer entryPointer,
-            final JsonValueContainer<JsonField> fromJsonObject) {
-
-        return fromJsonObject.stream()
-                .map(jsonField -> {
-                    final JsonValue value = jsonField.getValue();
-                    final JsonPointer pointerOnLevel = entryPointer.addLeaf(jsonField.getKey());
-                    if (value.isObject()) {
-                        final List<JsonPointer> pointersOnLevel = new ArrayList<>();
-                        final JsonObject objectOnLevel = value.asObject();
-                        pointersOnLevel.add(pointerOnLevel);
-
-                        // recurse further "down":
-                        pointersOnLevel.addAll(calculateJsonPointerHierarchy(pointerOnLevel, objectOnLevel));
-                        return pointersOnLevel;
-                    } else {
-                        return Collections.singletonList(pointerOnLevel);
-                    }
-                })
-                .reduce(new ArrayList<>(), (a, b) -> {
-                    a.addAll(b);
-                    return a;
-                });
-    }
-
     /**
      * Registers for the passed {@code selector} and {@code changeClass} the specified {@code handler} which will get a
      * Change of type {@code <T>} when a messages on the bus matches the passed {@link DefaultJsonPointerSelector
@@ -210,9 +160,8 @@ public final class SelectorUtil {
             final Consumer<T> handler,
             final SpecificChangeBuilderFunction<T> changeBuilderFunction) {
 
-        // everything after /things/{thingId}:
-        final Optional<JsonPointer> subPath = selector.getPointer().getSubPointer(2);
-        final JsonPointer selectorTemplatePath = subPath.orElse(JsonPointer.empty());
+        // compile the template once instead of parsing it for each change:
+        final TemplateMatcher templateMatcher = TemplateMatcher.compile(selector.getPointer());
 
         // get the configured Dispatcher for the Thing Client
         final Executor busDispatcher = inHandlerRegistry.getBusExecutor();
@@ -229,26 +178,22 @@ public final class SelectorUtil {
                     final JsonPointer targetPointer = jsonPointerWithChangePaths.getTargetPath();
                     // only of the rootChange defines the passed in "changeClass" directly as interface (not inherited)
                     if (Arrays.asList(rootChange.getClass().getInterfaces()).contains(changeClass) &&
-                            JsonPointerSelector.doesTargetMatchTemplate(targetPointer, selector.getPointer())) {
+                            templateMatcher.matches(targetPointer)) {
                         // the change is directly accepted
                         handler.accept(changeClass.cast(rootChange));
                     }
                     // if already the targetPointer matches the selector
-                    else if (JsonPointerSelector.doesTargetMatchTemplate(targetPointer, selector.getPointer())) {
+                    else if (templateMatcher.matches(targetPointer)) {
                         // we can directly invoke the handler
                         resolveTemplateParametersAndPassChangeToHandler(targetPointer, targetPointer,
-                                selectorTemplatePath, rootChange, changeBuilderFunction, handler, busDispatcher);
+                                templateMatcher, rootChange, changeBuilderFunction, handler, busDispatcher);
                     } else {
-                        // otherwise, we iterate over all "changePaths", find the matching paths and invoke the handler
-                        // for them:
-                        jsonPointerWithChangePaths.getChangePaths().stream() // for each change path
-                                .map(targetPointer::append) // append the changePath to the targetPointer
-                                // filter only matching combined paths:
-                                .filter(combinedPath -> JsonPointerSelector.doesTargetMatchTemplate(combinedPath,
-                                        selector.getPointer()))
+                        // otherwise, we walk the "changePaths" along the selector, find the matching paths and
+                        // invoke the handler for them:
+                        jsonPointerWithChangePaths.forEachChangedPathMatchedBy(selector.getPointer(),
                                 // for each matching combinedPath, resolve its template parameters and pass it to the handler:
-                                .forEach(combinedPath -> resolveTemplateParametersAndPassChangeToHandler(targetPointer,
-                                        combinedPath, selectorTemplatePath, rootChange, changeBuilderFunction, handler,
+                                combinedPath -> resolveTemplateParametersAndPassChangeToHandler(targetPointer,
+                                        combinedPath, templateMatcher, rootChange, changeBuilderFunction, handler,
                                         busDispatcher));
                     }
                 } else {
@@ -259,7 +204,7 @@ public final class SelectorUtil {
                     } else {
                         final JsonPointer startPointer = JsonPointer.of(event.getPointer().toString());
                         resolveTemplateParametersAndPassChangeToHandler(startPointer, startPointer,
-                                selectorTemplatePath, rootChange, changeBuilderFunction, handler, busDispatcher);
+                                templateMatcher, rootChange, changeBuilderFunction, handler, busDispatcher);
                     }
                 }
             }
@@ -267,49 +212,46 @@ public final class SelectorUtil {
     }
 
     /**
-     * Resolves template parameters in the passed {@code selectorTemplatePath} with the matching values in {@code
-     * targetPath}, builds the specific change with the passed {@code changeBuilderFunction} and invokes the passed
+     * Resolves template parameters of the passed {@code templateMatcher} with the matching values in {@code
+     * combinedPath}, builds the specific change with the passed {@code changeBuilderFunction} and invokes the passed
      * {@code handler} with the resulting Change wrapping the execution with the passed {@code busDispatcher}.
      */
     private static <T extends Change> void resolveTemplateParametersAndPassChangeToHandler(final JsonPointer targetPath,
             final JsonPointer combinedPath,
-            final JsonPointer selectorTemplatePath,
+            final TemplateMatcher templateMatcher,
             final Change rootChange,
             final SpecificChangeBuilderFunction<T> changeBuilderFunction,
             final Consumer<T> handler,
             final Executor busDispatcher) {
 
-        // only select everything after /things/{thingId}:
-        final JsonPointer thingRelativePointer = combinedPath.getSubPointer(2).orElse(JsonPointer.empty());
-
-        final Map<String, String> templateParams = new HashMap<>();
-        JsonPointer pathRelativePointer = thingRelativePointer;
-        JsonPointer tmpResolvedSelectorTemplatePath = JsonPointer.empty();
-        for (int i = 0; i < selectorTemplatePath.getLevelCount(); i++) {
-            final Optional<JsonKey> trKey = thingRelativePointer.get(i);
-            final Optional<JsonKey> pKey = selectorTemplatePath.get(i);
-            if (trKey.equals(pKey)) {
-                pathRelativePointer = pathRelativePointer.nextLevel();
-                if (trKey.isPresent()) {
-                    tmpResolvedSelectorTemplatePath = tmpResolvedSelectorTemplatePath.addLeaf(trKey.get());
-                }
-            } else if (trKey.isPresent() && pKey.isPresent() && pKey.get().toString().matches("^\\{.*}$")) {
-                // matches a template, e.g. {featureId}
-                final String s = pKey.get().toString();
-                templateParams.put(s, trKey.get().toString());
-                pathRelativePointer = pathRelativePointer.nextLevel();
-                tmpResolvedSelectorTemplatePath = tmpResolvedSelectorTemplatePath.addLeaf(trKey.get());
-            }
-        }
-
-        final JsonPointer diff = JsonPointer.of(combinedPath.toString().replace(targetPath.toString(), ""));
-
-
-        final JsonPointer parsedPath = pathRelativePointer;
-        if (!diff.isEmpty() && !diff.toString().startsWith(parsedPath.toString())) {
+        final TemplateMatcher.Resolution resolution = templateMatcher.resolve(targetPath, combinedPath);
+        if (null == resolution) {
             // this change is not propagated as it was not subscribed for
             return;
         }
+        final JsonPointer diff = resolution.getDiff();
+        final JsonPointer parsedPath = resolution.getParsedPath();
+        final Map<String, String> templateParams = resolution.getTemplateParams();
+
+        if (handler instanceof ConflatingChangeHandler) {
+            // only build the change if it is not superseded before its handler is free:
+            @SuppressWarnings("unchecked") final ConflatingChangeHandler<T> conflatingHandler =
+                    (ConflatingChangeHandler<T>) handler;
+            busDispatcher.execute(() -> conflatingHandler.offer(combinedPath, () ->
+                    buildSpecificChange(rootChange, diff, parsedPath, templateParams, changeBuilderFunction)));
+        } else {
+            final T desiredChange =
+                    buildSpecificChange(rootChange, diff, parsedPath, templateParams, changeBuilderFunction);
+            // use the configured Dispatcher of the Thing Client for responding to the handlers:
+            busDispatcher.execute(() -> handler.accept(desiredChange));
+        }
+    }
+
+    private static <T extends Change> T buildSpecificChange(final Change rootChange,
+            final JsonPointer diff,
+            final JsonPointer parsedPath,
+            final Map<String, String> templateParams,
+            final SpecificChangeBuilderFunction<T> changeBuilderFunction) {
 
         final JsonValue jsonValue = rootChange.getValue()
                 .map(value -> {
@@ -328,10 +270,7 @@ public final class SelectorUtil {
                     }
                 }).orElse(null);
 
-        final T desiredChange =
-                changeBuilderFunction.buildSpecificChange(rootChange, jsonValue, pathRelativePointer, templateParams);
-        // use the configured Dispatcher of the Thing Client for responding to the handlers:
-        busDispatcher.execute(() -> handler.accept(desiredChange));
+        return changeBuilderFunction.buildSpecificChange(rootChange, jsonValue, parsedPath, templateParams);
     }
 
     /**
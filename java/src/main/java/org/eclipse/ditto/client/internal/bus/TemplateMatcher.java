@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonPointer;
+
+/**
+ * The template of a change handler's selector like {@code /things/{thingId}/features/{featureId}/properties}
+ * compiled once when the handler is registered. It knows the levels of its placeholders, so that matching a path and
+ * resolving the placeholders below {@code /things/{thingId}} needs neither regular expressions nor string operations.
+ *
+ * @since 3.2.0
+ */
+@Immutable
+final class TemplateMatcher {
+
+    /**
+     * The number of levels of {@code /things/{thingId}} which the placeholders are resolved below.
+     */
+    private static final int THING_LEVELS = 2;
+
+    private final JsonPointer template;
+    private final JsonKey[] keys;
+    private final boolean[] placeholders;
+    private final int[] parameterSlots;
+    private final String[] parameterNames;
+
+    private TemplateMatcher(final JsonPointer template, final JsonKey[] keys, final boolean[] placeholders,
+            final int[] parameterSlots, final String[] parameterNames) {
+        this.template = template;
+        this.keys = keys;
+        this.placeholders = placeholders;
+        this.parameterSlots = parameterSlots;
+        this.parameterNames = parameterNames;
+    }
+
+    /**
+     * Compiles the template of a selector.
+     *
+     * @param template the template, e.g. {@code /things/{thingId}/features/{featureId}/properties}.
+     * @return the matcher.
+     */
+    static TemplateMatcher compile(final JsonPointer template) {
+        final int levels = template.getLevelCount();
+        final JsonKey[] keys = new JsonKey[levels];
+        final boolean[] placeholders = new boolean[levels];
+        final int[] parameterSlots = new int[Math.max(0, levels - THING_LEVELS)];
+        final String[] names = new String[parameterSlots.length];
+        int parameterCount = 0;
+        for (int i = 0; i < levels; i++) {
+            keys[i] = template.get(i).orElseThrow(IllegalStateException::new);
+            placeholders[i] = JsonPointerSelectorIndex.isPlaceholder(keys[i]);
+            if (i >= THING_LEVELS) {
+                final int slot;
+                if (placeholders[i]) {
+                    // a placeholder occurring twice keeps one slot, which the deeper level overwrites
+                    final int existingSlot = indexOf(names, parameterCount, keys[i].toString());
+                    slot = existingSlot >= 0 ? existingSlot : parameterCount++;
+                    names[slot] = keys[i].toString();
+                } else {
+                    slot = -1;
+                }
+                parameterSlots[i - THING_LEVELS] = slot;
+            }
+        }
+        final String[] parameterNames = new String[parameterCount];
+        System.arraycopy(names, 0, parameterNames, 0, parameterCount);
+        return new TemplateMatcher(template, keys, placeholders, parameterSlots, parameterNames);
+    }
+
+    private static int indexOf(final String[] names, final int count, final String name) {
+        for (int i = 0; i < count; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the compiled template.
+     */
+    JsonPointer getTemplate() {
+        return template;
+    }
+
+    /**
+     * Indicates whether the template matches the target like
+     * {@link JsonPointerSelector#doesTargetMatchTemplate(JsonPointer, JsonPointer)}.
+     *
+     * @param target the target.
+     * @return whether the template matches.
+     */
+    boolean matches(final JsonPointer target) {
+        if (target.isEmpty()) {
+            return true;
+        }
+        if (keys.length == 0 || target.getLevelCount() < keys.length) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (!placeholders[i] && !keys[i].equals(target.get(i).orElse(null))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the placeholders below {@code /things/{thingId}} with the keys of a changed path.
+     *
+     * @param targetPath the path where the change happened.
+     * @param combinedPath the changed path, i.e. the {@code targetPath} or the {@code targetPath} appended by a
+     * changed path.
+     * @return the resolution or {@code null} if the handler of the template did not subscribe for the change.
+     */
+    @Nullable
+    Resolution resolve(final JsonPointer targetPath, final JsonPointer combinedPath) {
+        final int combinedLevels = combinedPath.getLevelCount();
+        final int thingRelativeLevels = Math.max(0, combinedLevels - THING_LEVELS);
+        final String[] parameterValues = new String[parameterNames.length];
+        int resolvedLevels = 0;
+        for (int i = 0; i < Math.min(parameterSlots.length, thingRelativeLevels); i++) {
+            final JsonKey key = combinedPath.get(THING_LEVELS + i).orElseThrow(IllegalStateException::new);
+            final int slot = parameterSlots[i];
+            if (key.equals(keys[THING_LEVELS + i])) {
+                resolvedLevels++;
+            } else if (slot >= 0) {
+                parameterValues[slot] = key.toString();
+                resolvedLevels++;
+            }
+        }
+
+        // the path below the resolved template and the path relative to the target path, both suffixes of the
+        // combined path:
+        final int parsedPathStart = Math.min(combinedLevels, THING_LEVELS + resolvedLevels);
+        final int diffStart = Math.min(combinedLevels, targetPath.getLevelCount());
+        if (diffStart < combinedLevels && !isPrefix(combinedPath, parsedPathStart, diffStart)) {
+            // this change is not propagated as it was not subscribed for
+            return null;
+        }
+        return new Resolution(subPointer(combinedPath, diffStart), subPointer(combinedPath, parsedPathStart),
+                parameterNames.length == 0 ? Collections.emptyMap() :
+                        new TemplateParameters(parameterNames, parameterValues));
+    }
+
+    /**
+     * Indicates whether the levels of the path from {@code prefixStart} on are a prefix of its levels from
+     * {@code start} on.
+     */
+    private static boolean isPrefix(final JsonPointer path, final int prefixStart, final int start) {
+        final int levels = path.getLevelCount();
+        if (levels - prefixStart > levels - start) {
+            return false;
+        }
+        for (int i = 0; prefixStart + i < levels; i++) {
+            if (!path.get(prefixStart + i).equals(path.get(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static JsonPointer subPointer(final JsonPointer path, final int start) {
+        if (start == 0) {
+            return path;
+        }
+        return start < path.getLevelCount() ? path.getSubPointer(start).orElseGet(JsonPointer::empty) :
+                JsonPointer.empty();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "template=" + template +
+                "]";
+    }
+
+    /**
+     * The result of resolving a template with a changed path.
+     */
+    static final class Resolution {
+
+        private final JsonPointer diff;
+        private final JsonPointer parsedPath;
+        private final Map<String, String> templateParams;
+
+        private Resolution(final JsonPointer diff, final JsonPointer parsedPath,
+                final Map<String, String> templateParams) {
+            this.diff = diff;
+            this.parsedPath = parsedPath;
+            this.templateParams = templateParams;
+        }
+
+        /**
+         * @return the changed path relative to the target path.
+         */
+        JsonPointer getDiff() {
+            return diff;
+        }
+
+        /**
+         * @return the changed path below the resolved template.
+         */
+        JsonPointer getParsedPath() {
+            return parsedPath;
+        }
+
+        /**
+         * @return the resolved placeholders, e.g. {@code {featureId}}, and their values.
+         */
+        Map<String, String> getTemplateParams() {
+            return templateParams;
+        }
+    }
+
+    /**
+     * Unmodifiable map of the resolved placeholders sharing the placeholder names of the compiled template.
+     */
+    private static final class TemplateParameters extends AbstractMap<String, String> {
+
+        private final String[] names;
+        private final String[] values;
+
+        private TemplateParameters(final String[] names, final String[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        @Override
+        @Nullable
+        public String get(final Object key) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(key)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return null != get(key);
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int next = advance(0);
+
+                        private int advance(final int from) {
+                            int i = from;
+                            while (i < values.length && null == values[i]) {
+                                i++;
+                            }
+                            return i;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < values.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final Entry<String, String> entry = new SimpleImmutableEntry<>(names[next], values[next]);
+                            next = advance(next + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (final String value : values) {
+                        if (null != value) {
+                            size++;
+                        }
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.time.Duration;
+
+/**
+ * Scheduler of the timeouts of the subscriptions of an {@link AdaptableBus}, e.g. of the responses to commands.
+ * Most timeouts are cancelled because the awaited message arrived in time.
+ *
+ * @since 3.2.0
+ */
+public interface TimeoutScheduler {
+
+    /**
+     * Schedule a task to run once after a delay. The task never runs before the delay elapsed.
+     *
+     * @param task the task to run on timeout.
+     * @param delay the delay.
+     * @return the scheduled timeout.
+     */
+    Timeout schedule(Runnable task, Duration delay);
+
+    /**
+     * A scheduled timeout.
+     */
+    interface Timeout {
+
+        /**
+         * Cancel the timeout so that its task does not run.
+         *
+         * @return {@code true} if the timeout was cancelled, {@code false} if its task ran already or the timeout
+         * was cancelled before.
+         */
+        boolean cancel();
+
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory class for timeout schedulers.
+ *
+ * @since 3.2.0
+ */
+public final class TimeoutSchedulers {
+
+    /**
+     * The default duration of a tick of a hashed wheel.
+     */
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10L);
+
+    /**
+     * The default number of buckets of a hashed wheel.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private TimeoutSchedulers() {}
+
+    /**
+     * Create a timeout scheduler which schedules each timeout on the passed executor.
+     *
+     * @param scheduledExecutor the executor.
+     * @return the timeout scheduler.
+     * @throws NullPointerException if {@code scheduledExecutor} is {@code null}.
+     */
+    public static TimeoutScheduler scheduledExecutor(final ScheduledExecutorService scheduledExecutor) {
+        checkNotNull(scheduledExecutor, "scheduledExecutor");
+        return (task, delay) -> {
+            final ScheduledFuture<?> future = scheduledExecutor.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+            return () -> future.cancel(false);
+        };
+    }
+
+    /**
+     * Create a hashed-wheel timeout scheduler with the default tick duration and wheel size, whose ticks run on the
+     * passed executor.
+     *
+     * @param scheduledExecutor the executor.
+     * @return the timeout scheduler.
+     * @throws NullPointerException if {@code scheduledExecutor} is {@code null}.
+     */
+    public static TimeoutScheduler hashedWheel(final ScheduledExecutorService scheduledExecutor) {
+        return hashedWheel(scheduledExecutor, DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Create a hashed-wheel timeout scheduler. Timeouts are inserted into and cancelled from the wheel in constant
+     * time, and all timeouts of a tick expire together, so that many outstanding timeouts are cheap. Timeouts expire
+     * up to one tick late.
+     *
+     * @param scheduledExecutor the executor to run the ticks and the tasks of the expired timeouts on.
+     * @param tickDuration the duration of a tick.
+     * @param wheelSize the number of buckets of the wheel.
+     * @return the timeout scheduler.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code tickDuration} is not positive or if {@code wheelSize} is not
+     * positive.
+     */
+    public static TimeoutScheduler hashedWheel(final ScheduledExecutorService scheduledExecutor,
+            final Duration tickDuration, final int wheelSize) {
+        checkNotNull(scheduledExecutor, "scheduledExecutor");
+        checkNotNull(tickDuration, "tickDuration");
+        checkArgument(tickDuration, d -> !d.isNegative() && !d.isZero(),
+                () -> "The tickDuration must be positive but was " + tickDuration + ".");
+        checkArgument(wheelSize, size -> size > 0, () -> "The wheelSize must be positive but was " + wheelSize + ".");
+        return new HashedWheelTimeoutScheduler(scheduledExecutor, tickDuration.toNanos(), wheelSize, System::nanoTime);
+    }
+
+}
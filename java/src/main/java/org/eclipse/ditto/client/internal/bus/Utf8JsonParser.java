@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonArrayBuilder;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonValue;
+
+/**
+ * Single-pass parser of UTF-8 encoded JSON which builds the JSON values directly from the bytes of a WebSocket
+ * frame, without decoding the whole frame into a {@code String} first. Only string tokens are decoded; strings
+ * without escape sequences are decoded straight from the frame.
+ *
+ * @since 3.2.0
+ */
+@NotThreadSafe
+final class Utf8JsonParser {
+
+    private final byte[] bytes;
+    private int position;
+    private StringBuilder escapeBuffer;
+
+    private Utf8JsonParser(final byte[] bytes) {
+        this.bytes = bytes;
+        position = 0;
+        escapeBuffer = null;
+    }
+
+    /**
+     * Parses a JSON object.
+     *
+     * @param utf8Json the UTF-8 encoded JSON.
+     * @return the JSON object.
+     * @throws JsonParseException if {@code utf8Json} is no valid JSON object.
+     */
+    static JsonObject parseObject(final byte[] utf8Json) {
+        final Utf8JsonParser parser = new Utf8JsonParser(utf8Json);
+        parser.skipWhitespace();
+        if (parser.peek() != '{') {
+            throw parser.error("Expected a JSON object");
+        }
+        final JsonValue value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.position != utf8Json.length) {
+            throw parser.error("Unexpected trailing characters");
+        }
+        return value.asObject();
+    }
+
+    /**
+     * Tests whether the first non-whitespace character of the passed UTF-8 encoded text opens a JSON object.
+     *
+     * @param utf8Text the UTF-8 encoded text.
+     * @return whether the text is possibly a JSON object.
+     */
+    static boolean startsWithObject(final byte[] utf8Text) {
+        for (final byte b : utf8Text) {
+            if (!isWhitespace(b)) {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+
+    private JsonValue readValue() {
+        skipWhitespace();
+        final int c = peek();
+        switch (c) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return JsonValue.of(readString());
+            case 't':
+                readLiteral("true");
+                return JsonValue.of(true);
+            case 'f':
+                readLiteral("false");
+                return JsonValue.of(false);
+            case 'n':
+                readLiteral("null");
+                return JsonValue.nullLiteral();
+            default:
+                if (c == '-' || isDigit(c)) {
+                    return readNumber();
+                }
+                throw error("Unexpected character");
+        }
+    }
+
+    private JsonValue readObject() {
+        position++;
+        final JsonObjectBuilder builder = JsonObject.newBuilder();
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return builder.build();
+        }
+        do {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected a field name");
+            }
+            final String key = readString();
+            skipWhitespace();
+            expect(':');
+            // a field keeps keys containing slashes as they are instead of interpreting them as pointers
+            builder.set(JsonField.newInstance(key, readValue()));
+            skipWhitespace();
+        } while (consume(','));
+        expect('}');
+        return builder.build();
+    }
+
+    private JsonValue readArray() {
+        position++;
+        final JsonArrayBuilder builder = JsonArray.newBuilder();
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return builder.build();
+        }
+        do {
+            builder.add(readValue());
+            skipWhitespace();
+        } while (consume(','));
+        expect(']');
+        return builder.build();
+    }
+
+    private String readString() {
+        final int start = ++position;
+        while (position < bytes.length) {
+            final byte b = bytes[position];
+            if (b == '"') {
+                return new String(bytes, start, position++ - start, StandardCharsets.UTF_8);
+            } else if (b == '\\') {
+                return readEscapedString(start);
+            } else if ((b & 0xff) < 0x20) {
+                throw error("Unescaped control character in string");
+            }
+            position++;
+        }
+        throw error("Unterminated string");
+    }
+
+    private String readEscapedString(final int start) {
+        if (null == escapeBuffer) {
+            escapeBuffer = new StringBuilder();
+        }
+        final StringBuilder builder = escapeBuffer;
+        builder.setLength(0);
+        int chunkStart = start;
+        while (position < bytes.length) {
+            final byte b = bytes[position];
+            if (b == '"') {
+                builder.append(new String(bytes, chunkStart, position++ - chunkStart, StandardCharsets.UTF_8));
+                return builder.toString();
+            } else if (b == '\\') {
+                builder.append(new String(bytes, chunkStart, position - chunkStart, StandardCharsets.UTF_8));
+                position++;
+                builder.append(readEscape());
+                chunkStart = position;
+            } else if ((b & 0xff) < 0x20) {
+                throw error("Unescaped control character in string");
+            } else {
+                position++;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private char readEscape() {
+        final int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int codeUnit = 0;
+                for (int i = 0; i < 4; i++) {
+                    final int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw error("Invalid unicode escape");
+                    }
+                    codeUnit = (codeUnit << 4) | digit;
+                }
+                return (char) codeUnit;
+            default:
+                throw error("Invalid escape sequence");
+        }
+    }
+
+    private JsonValue readNumber() {
+        final int start = position;
+        boolean integral = true;
+        consume('-');
+        if (!consume('0')) {
+            readDigits();
+        }
+        if (consume('.')) {
+            integral = false;
+            readDigits();
+        }
+        if (peek() == 'e' || peek() == 'E') {
+            integral = false;
+            position++;
+            if (!consume('+')) {
+                consume('-');
+            }
+            readDigits();
+        }
+        final int length = position - start;
+        // up to 18 digits always fit into a long
+        if (integral && length <= 18) {
+            long value = 0L;
+            final boolean negative = bytes[start] == '-';
+            for (int i = negative ? start + 1 : start; i < position; i++) {
+                value = value * 10 + (bytes[i] - '0');
+            }
+            value = negative ? -value : value;
+            return value == (int) value ? JsonValue.of((int) value) : JsonValue.of(value);
+        }
+        final String number = new String(bytes, start, length, StandardCharsets.US_ASCII);
+        if (integral) {
+            try {
+                return JsonValue.of(Long.parseLong(number));
+            } catch (final NumberFormatException e) {
+                // exceeds the range of a long
+            }
+        }
+        return JsonValue.of(Double.parseDouble(number));
+    }
+
+    private void readDigits() {
+        if (!isDigit(peek())) {
+            throw error("Expected a digit");
+        }
+        do {
+            position++;
+        } while (isDigit(peek()));
+    }
+
+    private void readLiteral(final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("Expected '" + literal + "'");
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < bytes.length && isWhitespace(bytes[position])) {
+            position++;
+        }
+    }
+
+    private boolean consume(final char c) {
+        if (peek() == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final char c) {
+        if (!consume(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private int peek() {
+        return position < bytes.length ? bytes[position] & 0xff : -1;
+    }
+
+    private int read() {
+        if (position >= bytes.length) {
+            throw error("Unexpected end of input");
+        }
+        return bytes[position++] & 0xff;
+    }
+
+    private JsonParseException error(final String description) {
+        return new JsonParseException(description + " at byte offset " + position + ".");
+    }
+
+    private static boolean isWhitespace(final int b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static boolean isDigit(final int c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
@@ -12,7 +12,9 @@
  */
 package org.eclipse.ditto.client.management;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
@@ -133,6 +135,43 @@ public interface CommonManagement<T extends ThingHandle<F>, F extends FeatureHan
      */
     CompletionStage<Void> suspendConsumption();
 
+    /**
+     * Returns the statistics of the mailboxes of the active consumptions, keyed by the kind of consumed signals, e.g.
+     * {@code TWIN_EVENT} or {@code LIVE_MESSAGE}. The mailboxes hold the received signals not yet handed to the
+     * registered handlers; their capacity and overflow policy are set via
+     * {@link org.eclipse.ditto.client.options.Options.Consumption#mailboxCapacity(int)} and
+     * {@link org.eclipse.ditto.client.options.Options.Consumption#overflowPolicy(
+     * org.eclipse.ditto.client.options.OverflowPolicy)}.
+     *
+     * @return the mailbox statistics of the active consumptions.
+     * @since 3.2.0
+     */
+    default Map<String, MailboxStatistics> getMailboxStatistics() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Returns the statistics of the suppression of duplicate twin events if it was enabled via
+     * {@link org.eclipse.ditto.client.options.Options.Consumption#suppressDuplicateEvents(int)} when starting the
+     * consumption.
+     *
+     * @return the statistics or an empty optional if duplicate events are not suppressed.
+     * @since 3.2.0
+     */
+    default Optional<DuplicateSuppressionStatistics> getDuplicateSuppressionStatistics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the statistics of the cache of the change handlers selected for the paths of received changes.
+     *
+     * @return the statistics or an empty optional if the handlers are not cached.
+     * @since 3.2.0
+     */
+    default Optional<HandlerCacheStatistics> getHandlerCacheStatistics() {
+        return Optional.empty();
+    }
+
     /**
      * Creates an empty {@link Thing} with an auto-generated identifier.
      *
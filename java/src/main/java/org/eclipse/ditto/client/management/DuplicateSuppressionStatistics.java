@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management;
+
+/**
+ * Statistics of the suppression of duplicate twin events. The suppression remembers the last revision of a bounded
+ * number of Things and drops events whose revision is not newer.
+ *
+ * @see org.eclipse.ditto.client.options.Options.Consumption#suppressDuplicateEvents(int)
+ * @since 3.2.0
+ */
+public interface DuplicateSuppressionStatistics {
+
+    /**
+     * Returns the maximum number of Things whose last revision is remembered.
+     *
+     * @return the capacity.
+     */
+    int getCapacity();
+
+    /**
+     * Returns the number of Things whose last revision is currently remembered.
+     *
+     * @return the number of remembered Things.
+     */
+    int getSize();
+
+    /**
+     * Returns the number of events dropped because their revision was not newer than the remembered one.
+     *
+     * @return the number of suppressed duplicates.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of events passed on because their revision was newer or their Thing was not remembered.
+     *
+     * @return the number of passed events.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of Things forgotten to make room for other Things. The next event of a forgotten Thing is
+     * passed on in any case.
+     *
+     * @return the number of evictions.
+     */
+    long getEvictionCount();
+
+}
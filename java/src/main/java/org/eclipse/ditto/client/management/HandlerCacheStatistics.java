@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management;
+
+/**
+ * Statistics of the cache of the change handlers selected for the paths of received changes. The cache holds a
+ * bounded number of paths and prefers keeping frequently changed paths. Registering or deregistering a handler only
+ * removes the paths the handler applies to.
+ *
+ * @see CommonManagement#getHandlerCacheStatistics()
+ * @since 3.2.0
+ */
+public interface HandlerCacheStatistics {
+
+    /**
+     * Returns the maximum number of paths whose handlers are cached.
+     *
+     * @return the maximum size.
+     */
+    int getMaximumSize();
+
+    /**
+     * Returns the number of paths whose handlers are currently cached.
+     *
+     * @return the size.
+     */
+    int getSize();
+
+    /**
+     * Returns the number of changes whose handlers were found in the cache.
+     *
+     * @return the number of hits.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of changes whose handlers had to be selected from all registered handlers.
+     *
+     * @return the number of misses.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of paths removed from the cache to make room for other paths.
+     *
+     * @return the number of evictions.
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns the number of paths removed from the cache because a handler applying to them was registered or
+     * deregistered.
+     *
+     * @return the number of invalidations.
+     */
+    long getInvalidationCount();
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management;
+
+import org.eclipse.ditto.client.options.OverflowPolicy;
+
+/**
+ * Statistics of the mailbox of a consumption subscription. The mailbox holds the received messages which were not
+ * yet handed to the handlers of the subscription.
+ *
+ * @see org.eclipse.ditto.client.options.Options.Consumption#mailboxCapacity(int)
+ * @since 3.2.0
+ */
+public interface MailboxStatistics {
+
+    /**
+     * Returns the maximum number of messages in the mailbox.
+     *
+     * @return the capacity.
+     */
+    int getCapacity();
+
+    /**
+     * Returns what happens to a message if the mailbox is full.
+     *
+     * @return the overflow policy.
+     */
+    OverflowPolicy getOverflowPolicy();
+
+    /**
+     * Returns the number of messages currently in the mailbox.
+     *
+     * @return the queue depth.
+     */
+    int getQueueDepth();
+
+    /**
+     * Returns the number of messages handed to the handlers of the subscription.
+     *
+     * @return the number of delivered messages.
+     */
+    long getDeliveredCount();
+
+    /**
+     * Returns the number of messages dropped because the mailbox was full.
+     *
+     * @return the number of dropped messages.
+     */
+    long getDroppedCount();
+
+    /**
+     * Returns the number of times the thread receiving the messages waited for room in the mailbox.
+     *
+     * @return the number of blocked offers.
+     */
+    long getBlockedCount();
+
+    /**
+     * Indicates whether the subscription ended because its mailbox overflowed with {@link OverflowPolicy#FAIL}.
+     *
+     * @return whether the subscription failed.
+     */
+    boolean isFailed();
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * This exception is thrown in the Ditto client if a message could not be queued for sending because the send queue
+ * of the connection is full, or if a queued message was discarded in favour of a newer one.
+ *
+ * @see org.eclipse.ditto.client.configuration.SendQueueOverflowPolicy
+ * @since 3.2.0
+ */
+@Immutable
+public class SendQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 2374591820743601256L;
+
+    private static final String REJECTED_MESSAGE_TEMPLATE = "Message could not be sent, because the send queue " +
+            "reached its capacity of <%d> messages.";
+
+    private static final String DISCARDED_MESSAGE_TEMPLATE = "Message was discarded, because the send queue " +
+            "reached its capacity of <%d> messages.";
+
+    private SendQueueFullException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Creates an exception for a message which was rejected.
+     *
+     * @param capacity the capacity of the send queue.
+     * @return the exception.
+     */
+    public static SendQueueFullException rejected(final int capacity) {
+        return new SendQueueFullException(String.format(REJECTED_MESSAGE_TEMPLATE, capacity));
+    }
+
+    /**
+     * Creates an exception for a queued message which was discarded in favour of a newer one.
+     *
+     * @param capacity the capacity of the send queue.
+     * @return the exception.
+     */
+    public static SendQueueFullException discarded(final int capacity) {
+        return new SendQueueFullException(String.format(DISCARDED_MESSAGE_TEMPLATE, capacity));
+    }
+
+}
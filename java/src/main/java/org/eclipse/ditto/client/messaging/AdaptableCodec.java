@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import org.eclipse.ditto.protocol.Adaptable;
+
+/**
+ * Encodes Ditto protocol messages into binary WebSocket frames and decodes them again.
+ * <p>
+ * The codec is offered to the backend during the WebSocket handshake by its {@link #getName() name}. Binary frames
+ * are only sent over connections whose backend accepted the codec; otherwise the client falls back to JSON text
+ * frames.
+ *
+ * @see AdaptableCodecs
+ * @since 3.2.0
+ */
+public interface AdaptableCodec {
+
+    /**
+     * Returns the name the codec is negotiated with, e.g. {@code cbor}.
+     *
+     * @return the name of the codec.
+     */
+    String getName();
+
+    /**
+     * Encodes the passed adaptable.
+     *
+     * @param adaptable the adaptable to encode.
+     * @return the payload of the binary frame.
+     * @throws NullPointerException if {@code adaptable} is {@code null}.
+     */
+    byte[] encode(Adaptable adaptable);
+
+    /**
+     * Decodes the payload of a binary frame.
+     *
+     * @param bytes the payload of the binary frame.
+     * @return the decoded adaptable.
+     * @throws NullPointerException if {@code bytes} is {@code null}.
+     * @throws IllegalArgumentException if {@code bytes} is not a valid encoding of an adaptable.
+     */
+    Adaptable decode(byte[] bytes);
+
+}
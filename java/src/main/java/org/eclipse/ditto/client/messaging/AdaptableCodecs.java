@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import org.eclipse.ditto.client.messaging.internal.CborAdaptableCodec;
+
+/**
+ * Factory for creating {@link AdaptableCodec} instances.
+ *
+ * @since 3.2.0
+ */
+public final class AdaptableCodecs {
+
+    private AdaptableCodecs() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns a codec encoding the JSON representation of Ditto protocol messages as CBOR (RFC 8949), negotiated
+     * with the name {@code cbor}.
+     *
+     * @return the instance.
+     */
+    public static AdaptableCodec cbor() {
+        return CborAdaptableCodec.getInstance();
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.eclipse.ditto.protocol.TopicPath;
+
+/**
+ * Statistics of the admission control of a client, which limits the number of requests waiting for their response
+ * and queues further requests per channel until a response arrives.
+ *
+ * @see org.eclipse.ditto.client.configuration.MessagingConfiguration#getMaxInFlightRequests()
+ * @since 3.2.0
+ */
+public interface AdmissionStatistics {
+
+    /**
+     * Returns the maximum number of requests waiting for their response at the same time.
+     *
+     * @return the limit of in-flight requests.
+     */
+    int getMaxInFlightRequests();
+
+    /**
+     * Returns the number of requests currently waiting for their response.
+     *
+     * @return the number of in-flight requests.
+     */
+    int getInFlightRequests();
+
+    /**
+     * Returns the number of requests currently waiting for being sent.
+     *
+     * @return the queue length.
+     */
+    int getQueueLength();
+
+    /**
+     * Returns the number of requests currently waiting for being sent per channel. Requests of the policies handle
+     * use channel {@link TopicPath.Channel#NONE}.
+     *
+     * @return the queue length per channel with a non-empty queue.
+     */
+    Map<TopicPath.Channel, Integer> getQueueLengthPerChannel();
+
+    /**
+     * Returns the number of requests which were sent.
+     *
+     * @return the number of admitted requests.
+     */
+    long getAdmittedCount();
+
+    /**
+     * Returns the number of requests which had to wait before being sent.
+     *
+     * @return the number of queued requests.
+     */
+    long getQueuedCount();
+
+    /**
+     * Returns the number of requests which failed because they could not be sent within the maximum admission wait.
+     *
+     * @return the number of rejected requests.
+     */
+    long getRejectedCount();
+
+    /**
+     * Returns the total time the admitted requests waited before being sent.
+     *
+     * @return the total wait time.
+     */
+    Duration getTotalWaitTime();
+
+    /**
+     * Returns the longest time an admitted request waited before being sent.
+     *
+     * @return the maximum wait time.
+     */
+    Duration getMaxWaitTime();
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+/**
+ * Counters of the outgoing messages sent over connections which negotiated the permessage-deflate extension. The
+ * counters are cumulative over all connections and reconnections of the client; the ratio of
+ * {@link #getBytesAfterCompression()} to {@link #getBytesBeforeCompression()} is the achieved compression ratio.
+ *
+ * @see org.eclipse.ditto.client.configuration.CompressionConfiguration
+ * @since 3.2.0
+ */
+public interface CompressionStatistics {
+
+    /**
+     * Returns the summed up payload size of all outgoing messages before compression.
+     *
+     * @return the number of bytes.
+     */
+    long getBytesBeforeCompression();
+
+    /**
+     * Returns the summed up payload size of all outgoing messages as sent, including the messages which were not
+     * compressed because deflating did not shrink them.
+     *
+     * @return the number of bytes.
+     */
+    long getBytesAfterCompression();
+
+    /**
+     * Returns the number of outgoing messages which were sent compressed.
+     *
+     * @return the number of messages.
+     */
+    long getCompressedMessages();
+
+    /**
+     * Returns the number of outgoing messages which were sent uncompressed because deflating did not shrink them.
+     *
+     * @return the number of messages.
+     */
+    long getUncompressedMessages();
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The health of one of the endpoints a client connects to, as observed by the client. The latencies are
+ * exponentially weighted moving averages which favour the most recent observations.
+ *
+ * @see org.eclipse.ditto.client.configuration.MessagingConfiguration#getEndpointUris()
+ * @since 3.2.0
+ */
+public interface EndpointHealth {
+
+    /**
+     * Returns the URI of the endpoint.
+     *
+     * @return the URI.
+     */
+    URI getEndpointUri();
+
+    /**
+     * Indicates whether the last connection attempt to the endpoint succeeded and the connection was not lost
+     * since.
+     *
+     * @return {@code true} if the endpoint is healthy.
+     */
+    boolean isHealthy();
+
+    /**
+     * Returns the number of connection attempts and connections which failed since the last successful connection
+     * attempt.
+     *
+     * @return the number of consecutive failures.
+     */
+    int getConsecutiveFailures();
+
+    /**
+     * Returns the number of successful connection attempts to the endpoint.
+     *
+     * @return the number of connections.
+     */
+    long getConnectionCount();
+
+    /**
+     * Returns the number of failed connection attempts and lost connections of the endpoint.
+     *
+     * @return the number of failures.
+     */
+    long getFailureCount();
+
+    /**
+     * Returns the average time it took to connect to the endpoint, including the WebSocket handshake.
+     *
+     * @return the connect time or an empty optional if no connection attempt succeeded yet.
+     */
+    Optional<Duration> getConnectTime();
+
+    /**
+     * Returns the average round-trip time of the pings sent to the endpoint.
+     *
+     * @return the round-trip time or an empty optional if no pong was received yet.
+     */
+    Optional<Duration> getRoundTripTime();
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.time.Duration;
+
+/**
+ * A request whose response the client is still waiting for.
+ *
+ * @see MessagingProvider#getInFlightRequests()
+ * @since 3.2.0
+ */
+public interface InFlightRequest {
+
+    /**
+     * Returns the correlation ID of the awaited response.
+     *
+     * @return the correlation ID.
+     */
+    String getCorrelationId();
+
+    /**
+     * Returns how long the client has been waiting for the response.
+     *
+     * @return the age of the request.
+     */
+    Duration getAge();
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.time.Duration;
+
+/**
+ * Statistics of the lanes in which a client sends and receives frames. Control frames, e.g. protocol commands like
+ * {@code START-SEND-EVENTS}, their {@code :ACK} replies, acknowledgements and the demand of search subscriptions, are
+ * sent ahead of the queued data frames and are received without queuing behind data frames, so that they are not
+ * delayed by bulk traffic.
+ *
+ * @since 3.2.0
+ */
+public interface LaneStatistics {
+
+    /**
+     * Returns the number of frames of a lane handed to the connections.
+     *
+     * @param lane the lane.
+     * @return the number of sent frames.
+     */
+    long getSentCount(Lane lane);
+
+    /**
+     * Returns the number of frames of a lane currently waiting for being sent.
+     *
+     * @param lane the lane.
+     * @return the number of queued frames.
+     */
+    int getQueueSize(Lane lane);
+
+    /**
+     * Returns the total time the sent frames of a lane waited in the send queues.
+     *
+     * @param lane the lane.
+     * @return the total queue time.
+     */
+    Duration getTotalQueueTime(Lane lane);
+
+    /**
+     * Returns the longest time a sent frame of a lane waited in the send queues.
+     *
+     * @param lane the lane.
+     * @return the maximum queue time.
+     */
+    Duration getMaxQueueTime(Lane lane);
+
+    /**
+     * Returns the number of received frames of a lane.
+     *
+     * @param lane the lane.
+     * @return the number of received frames.
+     */
+    long getReceivedCount(Lane lane);
+
+    /**
+     * Returns how often data frames were sent although control frames were waiting, because control frames had
+     * filled their share of a batch of frames. This guards the data lane against starvation by a flood of control
+     * frames.
+     *
+     * @return the number of times the starvation guard let data frames pass.
+     */
+    long getStarvationGuardCount();
+
+    /**
+     * The lanes of frames.
+     */
+    enum Lane {
+
+        /**
+         * Protocol commands and their replies, acknowledgements and the demand of search subscriptions.
+         */
+        CONTROL,
+
+        /**
+         * All other frames, e.g. commands, events and messages.
+         */
+        DATA
+
+    }
+
+}
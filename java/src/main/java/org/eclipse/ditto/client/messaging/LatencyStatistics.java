@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * Round-trip times of the WebSocket pings of a client, measured from sending a ping until receiving its pong. The
+ * counters are cumulative over all connections and reconnections of the client; the percentiles and the histogram
+ * cover the most recent {@value #WINDOW_SIZE} round trips.
+ *
+ * @see org.eclipse.ditto.client.configuration.MessagingConfiguration#getPingInterval()
+ * @since 3.2.0
+ */
+public interface LatencyStatistics {
+
+    /**
+     * The number of most recent round trips the percentiles and the histogram are computed of.
+     */
+    int WINDOW_SIZE = 1024;
+
+    /**
+     * Returns the number of pongs received in response to pings of the client.
+     *
+     * @return the number of pongs.
+     */
+    long getPongCount();
+
+    /**
+     * Returns the number of pings whose pong did not arrive before the next ping was sent.
+     *
+     * @return the number of missed pongs.
+     */
+    long getMissedPongCount();
+
+    /**
+     * Returns the round-trip time of the most recent pong.
+     *
+     * @return the round-trip time or an empty optional if no pong was received yet.
+     */
+    Optional<Duration> getLatestRoundTripTime();
+
+    /**
+     * Returns a percentile of the most recent round-trip times.
+     *
+     * @param percentile the percentile, greater than 0.0 and at most 100.0, e.g. 99.0.
+     * @return the round-trip time or an empty optional if no pong was received yet.
+     * @throws IllegalArgumentException if {@code percentile} is out of range.
+     */
+    Optional<Duration> getPercentile(double percentile);
+
+    /**
+     * Returns a histogram of the most recent round-trip times. The keys are the inclusive upper bounds of the
+     * buckets, which double from 1 millisecond up to 16384 milliseconds; the last bucket also counts all longer
+     * round trips.
+     *
+     * @return the number of round trips per bucket.
+     */
+    SortedMap<Duration, Long> getHistogram();
+
+}
@@ -13,18 +13,24 @@
 package org.eclipse.ditto.client.messaging;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
 import org.eclipse.ditto.client.internal.bus.AdaptableBus;
 import org.eclipse.ditto.client.internal.bus.Classification;
 import org.eclipse.ditto.client.management.ClientReconnectingException;
+import org.eclipse.ditto.client.management.SendQueueFullException;
 import org.eclipse.ditto.protocol.Adaptable;
 import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.TopicPath;
 
 /**
  * Interface to be used when implementing a messaging provider for the Things client.
@@ -102,6 +108,31 @@ public interface MessagingProvider {
      */
     void emit(String message);
 
+    /**
+     * Send a message into the channel provided by this provider and signal when it was handed to the channel.
+     * <p>
+     * Messages which can not be sent immediately are queued. If the queue is full, the message is handled according
+     * to the configured {@link org.eclipse.ditto.client.configuration.SendQueueOverflowPolicy}; with
+     * {@code BLOCK} the calling thread is blocked until the queue accepts the message.
+     *
+     * @param message the message to emit.
+     * @return a CompletionStage which completes once the message was handed to the channel or which fails with a
+     * {@link org.eclipse.ditto.client.management.SendQueueFullException} if the message was rejected or discarded
+     * because the queue is full, or with a {@link org.eclipse.ditto.client.management.ClientReconnectingException}
+     * if the client is reconnecting.
+     * @since 3.2.0
+     */
+    default CompletionStage<Void> emitAsync(final String message) {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            emit(message);
+            result.complete(null);
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     /**
      * Emit an adaptable message in a fire-and-forget manner.
      *
@@ -120,10 +151,10 @@ public interface MessagingProvider {
      * @param adaptable the adaptable to be sent
      * @return a CompletionStage containing the correlated response to the sent {@code dittoProtocolAdaptable} or is
      * failed with a {@link org.eclipse.ditto.client.management.ClientReconnectingException}, when the client is in a
-     * reconnecting state.
+     * reconnecting state, or with a {@link SendQueueFullException}, when the send queue did not accept the adaptable.
      */
     default CompletionStage<Adaptable> sendAdaptable(final Adaptable adaptable) {
-        try {
+        return admit(adaptable.getTopicPath().getChannel(), () -> {
             final String correlationId = adaptable.getDittoHeaders()
                     .getCorrelationId()
                     .orElseGet(() -> UUID.randomUUID().toString());
@@ -136,13 +167,97 @@ public interface MessagingProvider {
             final Duration timeout = getMessagingConfiguration().getTimeout();
             final CompletionStage<Adaptable> result = getAdaptableBus()
                     .subscribeOnceForAdaptable(Classification.forCorrelationId(correlationId), timeout);
-            emitAdaptable(adaptableToSend);
-            return result;
-        } catch (final ClientReconnectingException cre) {
-            return CompletableFuture.supplyAsync(() -> {
-                throw cre;
-            });
-        }
+            try {
+                emitAdaptable(adaptableToSend);
+                return result;
+            } catch (final ClientReconnectingException | SendQueueFullException e) {
+                // no response is coming, so free the subscription for it right away
+                result.toCompletableFuture().cancel(false);
+                return CompletableFuture.supplyAsync(() -> {
+                    throw e;
+                });
+            }
+        });
+    }
+
+    /**
+     * Sends a request which expects a response once the admission control of this provider admits it.
+     *
+     * @param channel the channel of the request.
+     * @param request sends the request and returns the stage of its response; invoked once the request is admitted.
+     * @param <T> the type of the response.
+     * @return the stage of the response or a stage failed with a {@link java.util.concurrent.TimeoutException} if
+     * the request could not be sent within the configured maximum admission wait.
+     * @see MessagingConfiguration#getMaxInFlightRequests()
+     * @since 3.2.0
+     */
+    default <T> CompletionStage<T> admit(final TopicPath.Channel channel,
+            final Supplier<CompletionStage<T>> request) {
+        return request.get();
+    }
+
+    /**
+     * Returns the counters of the permessage-deflate compression of outgoing messages.
+     *
+     * @return the statistics or an empty optional if compression is not configured or not supported by this
+     * provider.
+     * @since 3.2.0
+     */
+    default Optional<CompressionStatistics> getCompressionStatistics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the round-trip times of the pings sent on the connections of this provider.
+     *
+     * @return the statistics or an empty optional if not supported by this provider.
+     * @since 3.2.0
+     */
+    default Optional<LatencyStatistics> getLatencyStatistics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the in-flight requests and queue lengths of the admission control of this provider.
+     *
+     * @return the statistics or an empty optional if the number of in-flight requests is not limited or not supported
+     * by this provider.
+     * @since 3.2.0
+     */
+    default Optional<AdmissionStatistics> getAdmissionStatistics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the number of frames and the queue times of the control and the data lane of this provider.
+     *
+     * @return the statistics or an empty optional if not supported by this provider.
+     * @since 3.2.0
+     */
+    default Optional<LaneStatistics> getLaneStatistics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the requests whose responses this provider is still waiting for, e.g. to find requests whose responses
+     * never arrive. Requests whose returned future was cancelled are not waited for anymore.
+     *
+     * @return the waiting requests, the oldest first.
+     * @since 3.2.0
+     */
+    default List<InFlightRequest> getInFlightRequests() {
+        return getAdaptableBus().getInFlightRequests();
+    }
+
+    /**
+     * Returns the health of each of the endpoints this provider connects to.
+     *
+     * @return the health of the endpoints in the order they were configured or an empty list if not supported by
+     * this provider.
+     * @since 3.2.0
+     */
+    default List<EndpointHealth> getEndpointHealth() {
+        return Collections.emptyList();
     }
 
     /**
@@ -17,11 +17,15 @@ import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
@@ -32,6 +36,7 @@ import org.eclipse.ditto.client.messaging.JsonWebTokenSupplier;
 import org.eclipse.ditto.jwt.model.JsonWebToken;
 
 import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketState;
 
 /**
  * Common base implementation for authentication providers based on {@link org.eclipse.ditto.jwt.model.JsonWebToken}.
@@ -63,15 +68,32 @@ abstract class AbstractTokenAuthenticationProvider implements AuthenticationProv
 
     @Override
     public void prepareAuthentication(final WebSocket webSocket) {
+        prepareAuthentication(webSocket, webSocket, () -> webSocket);
+    }
+
+    /**
+     * Prepares the authentication of a WebSocket of a connection whose WebSocket is replaced when reconnecting. The
+     * JWT of the connection is refreshed by a single task which replaces the one scheduled for a previous WebSocket
+     * of the connection and which sends each fresh JWT to the current WebSocket until that is closed.
+     *
+     * @param webSocket the WebSocket to prepare.
+     * @param connection identifies the connection the WebSocket belongs to.
+     * @param currentWebSocket supplies the WebSocket the connection currently uses.
+     * @since 3.2.0
+     */
+    void prepareAuthentication(final WebSocket webSocket, final Object connection,
+            final Supplier<WebSocket> currentWebSocket) {
+
         final JsonWebToken jwt = jsonWebTokenSupplier.get();
         final String authorizationHeader = String.format("Bearer %s", jwt.getToken());
         webSocket.addHeader("Authorization", authorizationHeader);
         additionalHeaders.forEach(webSocket::addHeader);
-        jwtRefreshScheduler.scheduleRefresh(jwt.getExpirationTime(), newJwt -> sendJwt(webSocket, newJwt));
+        jwtRefreshScheduler.scheduleRefresh(connection, jwt.getExpirationTime(), currentWebSocket);
     }
 
-    private void sendJwt(final WebSocket webSocket, final JsonWebToken jsonWebToken) {
+    private static void sendJwt(final WebSocket webSocket, final JsonWebToken jsonWebToken) {
         webSocket.sendText(String.format(PROTOCOL_CMD_JWT_TOKEN_TEMPLATE, jsonWebToken.getToken()));
+        webSocket.flush();
     }
 
     @Override
@@ -85,6 +107,7 @@ abstract class AbstractTokenAuthenticationProvider implements AuthenticationProv
         private final JsonWebTokenSupplier jsonWebTokenSupplier;
         private final Duration expiryGracePeriod;
         private final ScheduledExecutorService executorService;
+        private final Map<Object, Refresh> refreshes;
 
         private JwtRefreshScheduler(final JsonWebTokenSupplier jsonWebTokenSupplier, final Duration expiryGracePeriod,
                 final String sessionId) {
@@ -92,6 +115,7 @@ abstract class AbstractTokenAuthenticationProvider implements AuthenticationProv
             this.expiryGracePeriod = expiryGracePeriod;
             executorService = Executors.newSingleThreadScheduledExecutor(
                     new DefaultThreadFactory("ditto-client-jwt-refresh-" + sessionId));
+            refreshes = new ConcurrentHashMap<>();
         }
 
         /**
@@ -113,28 +137,75 @@ abstract class AbstractTokenAuthenticationProvider implements AuthenticationProv
         }
 
         /**
-         * Schedules a fresh {@code JsonWebToken} from the configured {@code JsonWebTokenSupplier}.
+         * Schedules a fresh {@code JsonWebToken} from the configured {@code JsonWebTokenSupplier} for a connection
+         * and cancels the refresh previously scheduled for it.
          *
+         * @param connection identifies the connection.
          * @param due the instant when the fresh token is due.
-         * @param consumer provides the fresh token.
+         * @param currentWebSocket supplies the WebSocket to send the fresh token to.
          */
-        void scheduleRefresh(final Instant due, final Consumer<JsonWebToken> consumer) {
-            final Instant expiration = due.minus(expiryGracePeriod);
-            final Instant now = Instant.now();
-            if (now.isBefore(expiration)) {
-                final long delay = Duration.between(now, expiration).toMillis();
-                executorService.schedule(() -> doRefresh(consumer), delay, TimeUnit.MILLISECONDS);
-            }
-        }
+        void scheduleRefresh(final Object connection, final Instant due,
+                final Supplier<WebSocket> currentWebSocket) {
 
-        private void doRefresh(final Consumer<JsonWebToken> consumer) {
-            final JsonWebToken jsonWebToken = jsonWebTokenSupplier.get();
-            consumer.accept(jsonWebToken);
-            scheduleRefresh(jsonWebToken.getExpirationTime(), consumer);
+            final Refresh refresh = new Refresh(connection, currentWebSocket);
+            final Refresh previousRefresh = refreshes.put(connection, refresh);
+            if (null != previousRefresh) {
+                previousRefresh.cancel();
+            }
+            refresh.schedule(due);
         }
 
         void destroy() {
             executorService.shutdownNow();
+            refreshes.clear();
+        }
+
+        /**
+         * Refreshes the token of one connection until it is cancelled or the connection is closed.
+         */
+        private final class Refresh {
+
+            private final Object connection;
+            private final Supplier<WebSocket> currentWebSocket;
+            @GuardedBy("this") @Nullable private ScheduledFuture<?> scheduledRefresh;
+            @GuardedBy("this") private boolean cancelled;
+
+            private Refresh(final Object connection, final Supplier<WebSocket> currentWebSocket) {
+                this.connection = connection;
+                this.currentWebSocket = currentWebSocket;
+                scheduledRefresh = null;
+                cancelled = false;
+            }
+
+            synchronized void schedule(final Instant due) {
+                final Instant expiration = due.minus(expiryGracePeriod);
+                final Instant now = Instant.now();
+                if (!cancelled && now.isBefore(expiration)) {
+                    final long delay = Duration.between(now, expiration).toMillis();
+                    scheduledRefresh = executorService.schedule(this::refresh, delay, TimeUnit.MILLISECONDS);
+                } else {
+                    refreshes.remove(connection, this);
+                }
+            }
+
+            synchronized void cancel() {
+                cancelled = true;
+                if (null != scheduledRefresh) {
+                    scheduledRefresh.cancel(false);
+                }
+            }
+
+            private void refresh() {
+                final WebSocket webSocket = currentWebSocket.get();
+                if (null == webSocket || webSocket.getState() == WebSocketState.CLOSED) {
+                    refreshes.remove(connection, this);
+                    return;
+                }
+                final JsonWebToken jsonWebToken = jsonWebTokenSupplier.get();
+                sendJwt(webSocket, jsonWebToken);
+                schedule(jsonWebToken.getExpirationTime());
+            }
+
         }
 
     }
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.internal.bus.TimeoutScheduler;
+import org.eclipse.ditto.client.messaging.AdmissionStatistics;
+import org.eclipse.ditto.protocol.TopicPath;
+
+/**
+ * Limits the number of requests waiting for their response. A request is sent right away while fewer than the
+ * maximum are in flight and nothing is queued; otherwise it is queued in the lane of its channel. Whenever an
+ * in-flight request completes, its permit is handed to the head of the next non-empty lane in round-robin order, so
+ * that each channel gets its share of the capacity regardless of how many requests the others queue. A queued request
+ * fails with a {@link TimeoutException} if it is not admitted within the maximum admission wait.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class AdmissionController implements AdmissionStatistics {
+
+    private static final TopicPath.Channel[] CHANNELS = TopicPath.Channel.values();
+
+    private final int maxInFlightRequests;
+    private final Duration maxAdmissionWait;
+    private final TimeoutScheduler timeoutScheduler;
+    private final Executor executor;
+    private final LongSupplier nanoClock;
+
+    @GuardedBy("this") private final ArrayDeque<Pending<?>>[] lanes;
+    @GuardedBy("this") private int inFlightRequests;
+    @GuardedBy("this") private int queueLength;
+    @GuardedBy("this") private int nextLane;
+    @GuardedBy("this") private long maxWaitNanos;
+
+    private final LongAdder admittedCount;
+    private final LongAdder queuedCount;
+    private final LongAdder rejectedCount;
+    private final LongAdder totalWaitNanos;
+
+    /**
+     * Creates an admission controller.
+     *
+     * @param maxInFlightRequests the maximum number of requests waiting for their response.
+     * @param maxAdmissionWait how long a request may be queued.
+     * @param timeoutScheduler the scheduler of the admission timeouts.
+     * @param executor the executor to send queued requests with once they are admitted.
+     * @param nanoClock the source of the wait times.
+     */
+    @SuppressWarnings("unchecked")
+    AdmissionController(final int maxInFlightRequests,
+            final Duration maxAdmissionWait,
+            final TimeoutScheduler timeoutScheduler,
+            final Executor executor,
+            final LongSupplier nanoClock) {
+
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.maxAdmissionWait = maxAdmissionWait;
+        this.timeoutScheduler = timeoutScheduler;
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+        lanes = new ArrayDeque[CHANNELS.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+        inFlightRequests = 0;
+        queueLength = 0;
+        nextLane = 0;
+        maxWaitNanos = 0L;
+        admittedCount = new LongAdder();
+        queuedCount = new LongAdder();
+        rejectedCount = new LongAdder();
+        totalWaitNanos = new LongAdder();
+    }
+
+    /**
+     * Sends a request once it is admitted. The permit of the request is held until the stage returned by the request
+     * completes. Cancelling the returned stage removes a queued request from its lane or cancels the stage returned
+     * by the sent request.
+     *
+     * @param channel the channel of the request.
+     * @param request sends the request and returns the stage of its response; it is invoked only once the request is
+     * admitted, so that any response timeout started by it excludes the admission wait.
+     * @param <T> the type of the response.
+     * @return the stage of the response or a stage failed with a {@link TimeoutException} if the request was not
+     * admitted in time.
+     */
+    <T> CompletionStage<T> admit(final TopicPath.Channel channel, final Supplier<CompletionStage<T>> request) {
+        final Pending<T> pending;
+        synchronized (this) {
+            if (inFlightRequests < maxInFlightRequests && queueLength == 0) {
+                inFlightRequests++;
+                pending = null;
+            } else {
+                pending = new Pending<>(channel, request, nanoClock.getAsLong());
+                lanes[channel.ordinal()].addLast(pending);
+                queueLength++;
+            }
+        }
+        if (null == pending) {
+            return send(request);
+        }
+        queuedCount.increment();
+        pending.timeout = timeoutScheduler.schedule(() -> reject(pending), maxAdmissionWait);
+        pending.result.whenComplete((result, error) -> {
+            if (pending.result.isCancelled() && dequeue(pending)) {
+                pending.cancelTimeout();
+            }
+        });
+        return pending.result;
+    }
+
+    private <T> CompletionStage<T> send(final Supplier<CompletionStage<T>> request) {
+        admittedCount.increment();
+        final CompletionStage<T> response;
+        try {
+            response = request.get();
+        } catch (final RuntimeException e) {
+            release();
+            final CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        response.whenComplete((result, error) -> release());
+        return response;
+    }
+
+    private void release() {
+        final Pending<?> next;
+        synchronized (this) {
+            next = pollNextLane();
+            if (null == next) {
+                inFlightRequests--;
+                return;
+            }
+            // the permit passes to the next request, the number of in-flight requests stays the same
+            queueLength--;
+            final long waitNanos = nanoClock.getAsLong() - next.enqueuedNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+            totalWaitNanos.add(waitNanos);
+        }
+        // send on the executor so that requests which complete immediately do not recurse through the queue
+        try {
+            executor.execute(next::sendAdmitted);
+        } catch (final RejectedExecutionException e) {
+            next.sendAdmitted();
+        }
+    }
+
+    @GuardedBy("this")
+    @Nullable
+    private Pending<?> pollNextLane() {
+        if (queueLength == 0) {
+            return null;
+        }
+        for (int i = 0; i < lanes.length; i++) {
+            final int lane = (nextLane + i) % lanes.length;
+            final Pending<?> head = lanes[lane].pollFirst();
+            if (null != head) {
+                nextLane = (lane + 1) % lanes.length;
+                return head;
+            }
+        }
+        return null;
+    }
+
+    private synchronized boolean dequeue(final Pending<?> pending) {
+        if (lanes[pending.channel.ordinal()].remove(pending)) {
+            queueLength--;
+            return true;
+        }
+        // admitted in the meantime
+        return false;
+    }
+
+    private void reject(final Pending<?> pending) {
+        if (!dequeue(pending)) {
+            return;
+        }
+        rejectedCount.increment();
+        pending.result.completeExceptionally(new TimeoutException("The request on channel <" + pending.channel +
+                "> was not sent within <" + maxAdmissionWait + "> because <" + maxInFlightRequests +
+                "> requests were in flight."));
+    }
+
+    @Override
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    @Override
+    public synchronized int getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    @Override
+    public synchronized int getQueueLength() {
+        return queueLength;
+    }
+
+    @Override
+    public synchronized Map<TopicPath.Channel, Integer> getQueueLengthPerChannel() {
+        final Map<TopicPath.Channel, Integer> result = new EnumMap<>(TopicPath.Channel.class);
+        for (int i = 0; i < lanes.length; i++) {
+            if (!lanes[i].isEmpty()) {
+                result.put(CHANNELS[i], lanes[i].size());
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public long getAdmittedCount() {
+        return admittedCount.sum();
+    }
+
+    @Override
+    public long getQueuedCount() {
+        return queuedCount.sum();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(totalWaitNanos.sum());
+    }
+
+    @Override
+    public synchronized Duration getMaxWaitTime() {
+        return Duration.ofNanos(maxWaitNanos);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "maxInFlightRequests=" + maxInFlightRequests +
+                ", maxAdmissionWait=" + maxAdmissionWait +
+                ", admittedCount=" + admittedCount +
+                ", queuedCount=" + queuedCount +
+                ", rejectedCount=" + rejectedCount +
+                "]";
+    }
+
+    private final class Pending<T> {
+
+        private final TopicPath.Channel channel;
+        private final Supplier<CompletionStage<T>> request;
+        private final long enqueuedNanos;
+        private final CompletableFuture<T> result;
+        @Nullable private volatile TimeoutScheduler.Timeout timeout;
+
+        private Pending(final TopicPath.Channel channel, final Supplier<CompletionStage<T>> request,
+                final long enqueuedNanos) {
+            this.channel = channel;
+            this.request = request;
+            this.enqueuedNanos = enqueuedNanos;
+            result = new CompletableFuture<>();
+        }
+
+        private void sendAdmitted() {
+            cancelTimeout();
+            if (result.isDone()) {
+                // cancelled while being admitted; pass the permit on
+                release();
+                return;
+            }
+            final CompletionStage<T> response = send(request);
+            response.whenComplete((value, error) -> {
+                if (null != error) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    response.toCompletableFuture().cancel(false);
+                }
+            });
+        }
+
+        private void cancelTimeout() {
+            final TimeoutScheduler.Timeout scheduledTimeout = timeout;
+            if (null != scheduledTimeout) {
+                scheduledTimeout.cancel();
+            }
+        }
+
+    }
+
+}
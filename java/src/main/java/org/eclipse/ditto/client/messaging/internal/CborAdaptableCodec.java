@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.client.messaging.AdaptableCodec;
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonArrayBuilder;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+
+/**
+ * Codec encoding the JSON representation of an {@link Adaptable} as CBOR (RFC 8949).
+ * <p>
+ * Only the subset of CBOR needed to represent JSON is written: integers, double precision floats, text strings,
+ * definite-length arrays and maps, booleans and null. Half and single precision floats are accepted when decoding.
+ *
+ * @since 3.2.0
+ */
+@Immutable
+public final class CborAdaptableCodec implements AdaptableCodec {
+
+    private static final CborAdaptableCodec INSTANCE = new CborAdaptableCodec();
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int FALSE = 0xf4;
+    private static final int TRUE = 0xf5;
+    private static final int NULL = 0xf6;
+    private static final int FLOAT16 = 0xf9;
+    private static final int FLOAT32 = 0xfa;
+    private static final int FLOAT64 = 0xfb;
+
+    // the deepest nesting of arrays and maps to decode, which keeps malicious data from overflowing the stack
+    private static final int MAX_NESTING_DEPTH = 64;
+
+    private CborAdaptableCodec() {
+        super();
+    }
+
+    /**
+     * @return the instance of the CBOR codec.
+     */
+    public static CborAdaptableCodec getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String getName() {
+        return "cbor";
+    }
+
+    @Override
+    public byte[] encode(final Adaptable adaptable) {
+        checkNotNull(adaptable, "adaptable");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        writeValue(ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable).toJson(), out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Adaptable decode(final byte[] bytes) {
+        checkNotNull(bytes, "bytes");
+        final Reader reader = new Reader(bytes);
+        final JsonValue value = reader.readValue(0);
+        if (reader.position != bytes.length) {
+            throw new IllegalArgumentException("Unexpected trailing bytes after CBOR data item.");
+        }
+        if (!value.isObject()) {
+            throw new IllegalArgumentException("The CBOR data item is not a map.");
+        }
+        return ProtocolFactory.jsonifiableAdaptableFromJson(value.asObject());
+    }
+
+    private static void writeValue(final JsonValue value, final ByteArrayOutputStream out) {
+        if (value.isNull()) {
+            out.write(NULL);
+        } else if (value.isBoolean()) {
+            out.write(value.asBoolean() ? TRUE : FALSE);
+        } else if (value.isLong()) {
+            final long number = value.asLong();
+            if (number >= 0) {
+                writeHead(MAJOR_UNSIGNED, number, out);
+            } else {
+                writeHead(MAJOR_NEGATIVE, -1L - number, out);
+            }
+        } else if (value.isNumber()) {
+            out.write(FLOAT64);
+            writeBytes(Double.doubleToLongBits(value.asDouble()), 8, out);
+        } else if (value.isString()) {
+            final byte[] utf8 = value.asString().getBytes(StandardCharsets.UTF_8);
+            writeHead(MAJOR_TEXT, utf8.length, out);
+            out.write(utf8, 0, utf8.length);
+        } else if (value.isArray()) {
+            final JsonArray array = value.asArray();
+            writeHead(MAJOR_ARRAY, array.getSize(), out);
+            for (final JsonValue element : array) {
+                writeValue(element, out);
+            }
+        } else {
+            final JsonObject object = value.asObject();
+            writeHead(MAJOR_MAP, object.getSize(), out);
+            for (final JsonField field : object) {
+                final byte[] key = field.getKeyName().getBytes(StandardCharsets.UTF_8);
+                writeHead(MAJOR_TEXT, key.length, out);
+                out.write(key, 0, key.length);
+                writeValue(field.getValue(), out);
+            }
+        }
+    }
+
+    /**
+     * Writes the initial byte of a data item with the shortest encoding of its argument.
+     */
+    private static void writeHead(final int majorType, final long argument, final ByteArrayOutputStream out) {
+        final int major = majorType << 5;
+        if (argument < 24) {
+            out.write(major | (int) argument);
+        } else if (argument <= 0xffL) {
+            out.write(major | 24);
+            writeBytes(argument, 1, out);
+        } else if (argument <= 0xffffL) {
+            out.write(major | 25);
+            writeBytes(argument, 2, out);
+        } else if (argument <= 0xffffffffL) {
+            out.write(major | 26);
+            writeBytes(argument, 4, out);
+        } else {
+            out.write(major | 27);
+            writeBytes(argument, 8, out);
+        }
+    }
+
+    private static void writeBytes(final long value, final int count, final ByteArrayOutputStream out) {
+        for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(final byte[] bytes) {
+            this.bytes = bytes;
+            position = 0;
+        }
+
+        private JsonValue readValue(final int depth) {
+            final int initialByte = readUnsignedByte();
+            final int majorType = initialByte >>> 5;
+            final int additionalInfo = initialByte & 0x1f;
+            switch (majorType) {
+                case MAJOR_UNSIGNED:
+                    return JsonValue.of(readArgument(additionalInfo, true));
+                case MAJOR_NEGATIVE:
+                    return JsonValue.of(-1L - readArgument(additionalInfo, true));
+                case MAJOR_TEXT:
+                    return JsonValue.of(readText(additionalInfo));
+                case MAJOR_ARRAY:
+                    return readArray(readLength(additionalInfo), nested(depth));
+                case MAJOR_MAP:
+                    return readMap(readLength(additionalInfo), nested(depth));
+                case MAJOR_SIMPLE:
+                    return readSimple(initialByte);
+                default:
+                    throw new IllegalArgumentException("Unsupported CBOR major type <" + majorType + ">.");
+            }
+        }
+
+        private static int nested(final int depth) {
+            if (depth >= MAX_NESTING_DEPTH) {
+                throw new IllegalArgumentException(
+                        "CBOR arrays and maps are nested deeper than <" + MAX_NESTING_DEPTH + "> levels.");
+            }
+            return depth + 1;
+        }
+
+        private JsonValue readArray(final int size, final int depth) {
+            final JsonArrayBuilder builder = JsonArray.newBuilder();
+            for (int i = 0; i < size; i++) {
+                builder.add(readValue(depth));
+            }
+            return builder.build();
+        }
+
+        private JsonValue readMap(final int size, final int depth) {
+            final JsonObjectBuilder builder = JsonObject.newBuilder();
+            for (int i = 0; i < size; i++) {
+                final int initialByte = readUnsignedByte();
+                if (initialByte >>> 5 != MAJOR_TEXT) {
+                    throw new IllegalArgumentException("CBOR map keys must be text strings.");
+                }
+                final String key = readText(initialByte & 0x1f);
+                // a field keeps keys containing slashes as they are instead of interpreting them as pointers
+                builder.set(JsonField.newInstance(key, readValue(depth)));
+            }
+            return builder.build();
+        }
+
+        private JsonValue readSimple(final int initialByte) {
+            switch (initialByte) {
+                case FALSE:
+                    return JsonValue.of(false);
+                case TRUE:
+                    return JsonValue.of(true);
+                case NULL:
+                    return JsonValue.nullLiteral();
+                case FLOAT16:
+                    return JsonValue.of(halfToDouble((int) readBytes(2)));
+                case FLOAT32:
+                    return JsonValue.of((double) Float.intBitsToFloat((int) readBytes(4)));
+                case FLOAT64:
+                    return JsonValue.of(Double.longBitsToDouble(readBytes(8)));
+                default:
+                    throw new IllegalArgumentException("Unsupported CBOR simple value <" + initialByte + ">.");
+            }
+        }
+
+        private String readText(final int additionalInfo) {
+            final int length = readLength(additionalInfo);
+            final String text = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return text;
+        }
+
+        private int readLength(final int additionalInfo) {
+            final long length = readArgument(additionalInfo, false);
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("CBOR length <" + length + "> exceeds the remaining data.");
+            }
+            return (int) length;
+        }
+
+        private long readArgument(final int additionalInfo, final boolean signedRangeRequired) {
+            final long argument;
+            if (additionalInfo < 24) {
+                argument = additionalInfo;
+            } else if (additionalInfo <= 27) {
+                argument = readBytes(1 << (additionalInfo - 24));
+            } else {
+                throw new IllegalArgumentException("Indefinite or reserved CBOR lengths are not supported.");
+            }
+            if (signedRangeRequired && argument < 0) {
+                throw new IllegalArgumentException("CBOR integer exceeds the range of a long.");
+            }
+            return argument;
+        }
+
+        private long readBytes(final int count) {
+            if (count > bytes.length - position) {
+                throw new IllegalArgumentException("Unexpected end of CBOR data.");
+            }
+            long result = 0L;
+            for (int i = 0; i < count; i++) {
+                result = (result << 8) | (bytes[position++] & 0xffL);
+            }
+            return result;
+        }
+
+        private int readUnsignedByte() {
+            return (int) readBytes(1);
+        }
+
+        private static double halfToDouble(final int half) {
+            final int exponent = (half >>> 10) & 0x1f;
+            final int mantissa = half & 0x3ff;
+            final double magnitude;
+            if (exponent == 0) {
+                magnitude = Math.scalb((double) mantissa, -24);
+            } else if (exponent == 31) {
+                magnitude = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+            } else {
+                magnitude = Math.scalb((double) (mantissa + 1024), exponent - 25);
+            }
+            return (half & 0x8000) == 0 ? magnitude : -magnitude;
+        }
+
+    }
+
+}
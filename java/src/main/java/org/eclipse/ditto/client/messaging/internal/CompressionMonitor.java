@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.CompressionConfiguration;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketAdapter;
+import com.neovisionaries.ws.client.WebSocketExtension;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Measures the compression of the outgoing messages of one WebSocket which offered permessage-deflate (RFC 7692).
+ * <p>
+ * Once the backend accepted the extension, the WebSocket library compresses the messages itself: it deflates each
+ * complete text or binary frame right before writing it and sends the frame uncompressed if deflating does not
+ * shrink it. This listener remembers the payload size of each message handed over to the WebSocket and compares it
+ * with the payload which is actually written.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class CompressionMonitor extends WebSocketAdapter {
+
+    private static final String CLIENT_NO_CONTEXT_TAKEOVER = "client_no_context_takeover";
+    private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+
+    private final WebSocket webSocket;
+    private final DefaultCompressionStatistics statistics;
+
+    // WebSocketFrame does not override equals, so the frames handed over are looked up by identity
+    private final Map<WebSocketFrame, Integer> payloadSizes;
+    @Nullable private volatile Boolean compressing;
+
+    private CompressionMonitor(final WebSocket webSocket, final DefaultCompressionStatistics statistics) {
+        this.webSocket = webSocket;
+        this.statistics = statistics;
+        payloadSizes = new ConcurrentHashMap<>();
+        compressing = null;
+    }
+
+    /**
+     * Creates a monitor for a WebSocket which is not connected yet. The monitor has to be added as listener to the
+     * WebSocket.
+     *
+     * @param webSocket the WebSocket to monitor.
+     * @param statistics the counters to update.
+     * @return the monitor.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static CompressionMonitor newInstance(final WebSocket webSocket, final DefaultCompressionStatistics statistics) {
+        return new CompressionMonitor(checkNotNull(webSocket, "webSocket"), checkNotNull(statistics, "statistics"));
+    }
+
+    /**
+     * Creates the permessage-deflate extension to offer in the WebSocket handshake. The library compresses every
+     * message on its own, so {@code client_no_context_takeover} is always offered to spare the backend its window.
+     *
+     * @param configuration the compression configuration.
+     * @return the extension offer.
+     */
+    static WebSocketExtension toExtensionOffer(final CompressionConfiguration configuration) {
+        final WebSocketExtension extension = new WebSocketExtension(WebSocketExtension.PERMESSAGE_DEFLATE);
+        extension.setParameter(CLIENT_NO_CONTEXT_TAKEOVER, null);
+        if (!configuration.isServerContextTakeover()) {
+            extension.setParameter(SERVER_NO_CONTEXT_TAKEOVER, null);
+        }
+        return extension;
+    }
+
+    /**
+     * Remembers the payload size of a frame before it is handed over to the WebSocket.
+     *
+     * @param ws the WebSocket the frame is sent with, which may already be replaced by another one.
+     * @param frame the frame.
+     */
+    void beforeSending(final WebSocket ws, final WebSocketFrame frame) {
+        if (ws == webSocket && (frame.isTextFrame() || frame.isBinaryFrame()) && isCompressing()) {
+            payloadSizes.put(frame, frame.getPayloadLength());
+        }
+    }
+
+    /**
+     * @return whether the backend accepted the extension; only known once the WebSocket is connected.
+     */
+    boolean isCompressing() {
+        Boolean result = compressing;
+        if (null == result) {
+            if (!webSocket.isOpen()) {
+                return false;
+            }
+            result = webSocket.getAgreedExtensions()
+                    .stream()
+                    .anyMatch(extension -> WebSocketExtension.PERMESSAGE_DEFLATE.equals(extension.getName()));
+            compressing = result;
+        }
+        return result;
+    }
+
+    @Override
+    public void onSendingFrame(final WebSocket websocket, final WebSocketFrame frame) {
+        if (frame.isContinuationFrame()) {
+            // only messages larger than the maximum payload size of a frame are split into continuation frames
+            if (isCompressing()) {
+                statistics.recordContinuation(frame.getPayloadLength());
+            }
+        } else {
+            final Integer payloadSize = payloadSizes.remove(frame);
+            if (null != payloadSize) {
+                statistics.recordMessage(payloadSize, frame.getPayloadLength(), frame.getRsv1());
+            }
+        }
+    }
+
+    @Override
+    public void onFrameUnsent(final WebSocket websocket, final WebSocketFrame frame) {
+        payloadSizes.remove(frame);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "compressing=" + compressing +
+                ", pendingFrames=" + payloadSizes.size() +
+                "]";
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.messaging.CompressionStatistics;
+
+/**
+ * Counters of the outgoing messages of all connections of a client which negotiated permessage-deflate.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class DefaultCompressionStatistics implements CompressionStatistics {
+
+    private final LongAdder bytesBeforeCompression = new LongAdder();
+    private final LongAdder bytesAfterCompression = new LongAdder();
+    private final LongAdder compressedMessages = new LongAdder();
+    private final LongAdder uncompressedMessages = new LongAdder();
+
+    /**
+     * Counts a message by its first frame.
+     *
+     * @param payloadSize the size of the payload of the message before compression.
+     * @param sentSize the size of the payload of the first frame as sent.
+     * @param compressed whether the message was sent compressed.
+     */
+    void recordMessage(final int payloadSize, final int sentSize, final boolean compressed) {
+        bytesBeforeCompression.add(payloadSize);
+        bytesAfterCompression.add(sentSize);
+        if (compressed) {
+            compressedMessages.increment();
+        } else {
+            uncompressedMessages.increment();
+        }
+    }
+
+    /**
+     * Counts a continuation frame of a message which the WebSocket split into several frames.
+     *
+     * @param sentSize the size of the payload of the frame as sent.
+     */
+    void recordContinuation(final int sentSize) {
+        bytesAfterCompression.add(sentSize);
+    }
+
+    @Override
+    public long getBytesBeforeCompression() {
+        return bytesBeforeCompression.sum();
+    }
+
+    @Override
+    public long getBytesAfterCompression() {
+        return bytesAfterCompression.sum();
+    }
+
+    @Override
+    public long getCompressedMessages() {
+        return compressedMessages.sum();
+    }
+
+    @Override
+    public long getUncompressedMessages() {
+        return uncompressedMessages.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "bytesBeforeCompression=" + bytesBeforeCompression +
+                ", bytesAfterCompression=" + bytesAfterCompression +
+                ", compressedMessages=" + compressedMessages +
+                ", uncompressedMessages=" + uncompressedMessages +
+                "]";
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.internal.bus.AdaptableBus;
+import org.eclipse.ditto.client.messaging.LaneStatistics;
+
+/**
+ * Lane statistics summed up over the send queues of all connections of a client and its adaptable bus.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class DefaultLaneStatistics implements LaneStatistics {
+
+    private final List<? extends SendQueue<?>> sendQueues;
+    private final AdaptableBus adaptableBus;
+
+    DefaultLaneStatistics(final List<? extends SendQueue<?>> sendQueues, final AdaptableBus adaptableBus) {
+        this.sendQueues = sendQueues;
+        this.adaptableBus = adaptableBus;
+    }
+
+    @Override
+    public long getSentCount(final Lane lane) {
+        long sum = 0L;
+        for (final SendQueue<?> sendQueue : sendQueues) {
+            sum += sendQueue.getSentCount(lane);
+        }
+        return sum;
+    }
+
+    @Override
+    public int getQueueSize(final Lane lane) {
+        int sum = 0;
+        for (final SendQueue<?> sendQueue : sendQueues) {
+            sum += sendQueue.size(lane);
+        }
+        return sum;
+    }
+
+    @Override
+    public Duration getTotalQueueTime(final Lane lane) {
+        long sum = 0L;
+        for (final SendQueue<?> sendQueue : sendQueues) {
+            sum += sendQueue.getTotalQueueNanos(lane);
+        }
+        return Duration.ofNanos(sum);
+    }
+
+    @Override
+    public Duration getMaxQueueTime(final Lane lane) {
+        long max = 0L;
+        for (final SendQueue<?> sendQueue : sendQueues) {
+            max = Math.max(max, sendQueue.getMaxQueueNanos(lane));
+        }
+        return Duration.ofNanos(max);
+    }
+
+    @Override
+    public long getReceivedCount(final Lane lane) {
+        return adaptableBus.getReceivedCount(lane);
+    }
+
+    @Override
+    public long getStarvationGuardCount() {
+        long sum = 0L;
+        for (final SendQueue<?> sendQueue : sendQueues) {
+            sum += sendQueue.getStarvationGuardCount();
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "sentControlCount=" + getSentCount(Lane.CONTROL) +
+                ", sentDataCount=" + getSentCount(Lane.DATA) +
+                ", receivedControlCount=" + getReceivedCount(Lane.CONTROL) +
+                ", receivedDataCount=" + getReceivedCount(Lane.DATA) +
+                ", starvationGuardCount=" + getStarvationGuardCount() +
+                "]";
+    }
+
+}
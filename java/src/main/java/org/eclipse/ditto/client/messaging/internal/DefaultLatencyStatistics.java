@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.messaging.LatencyStatistics;
+
+/**
+ * Round-trip times of the pings of all connections of a client, kept in a ring buffer of the most recent
+ * {@value LatencyStatistics#WINDOW_SIZE} round trips.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class DefaultLatencyStatistics implements LatencyStatistics {
+
+    private static final int HISTOGRAM_BUCKETS = 15;
+
+    private final LongAdder pongCount = new LongAdder();
+    private final LongAdder missedPongCount = new LongAdder();
+
+    private final long[] window = new long[WINDOW_SIZE];
+    private int windowSize = 0;
+    private int nextIndex = 0;
+
+    /**
+     * Records the round-trip time of a pong.
+     *
+     * @param roundTripNanos the round-trip time in nanoseconds.
+     */
+    void recordRoundTrip(final long roundTripNanos) {
+        pongCount.increment();
+        synchronized (this) {
+            window[nextIndex] = roundTripNanos;
+            nextIndex = (nextIndex + 1) % WINDOW_SIZE;
+            windowSize = Math.min(windowSize + 1, WINDOW_SIZE);
+        }
+    }
+
+    /**
+     * Counts a pong which did not arrive before the next ping was sent.
+     */
+    void recordMissedPong() {
+        missedPongCount.increment();
+    }
+
+    @Override
+    public long getPongCount() {
+        return pongCount.sum();
+    }
+
+    @Override
+    public long getMissedPongCount() {
+        return missedPongCount.sum();
+    }
+
+    @Override
+    public synchronized Optional<Duration> getLatestRoundTripTime() {
+        if (windowSize == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(window[(nextIndex + WINDOW_SIZE - 1) % WINDOW_SIZE]));
+    }
+
+    @Override
+    public Optional<Duration> getPercentile(final double percentile) {
+        checkArgument(percentile, p -> p > 0.0 && p <= 100.0,
+                () -> "The percentile must be greater than 0.0 and at most 100.0 but was " + percentile + ".");
+        final long[] samples = copyWindow();
+        if (samples.length == 0) {
+            return Optional.empty();
+        }
+        Arrays.sort(samples);
+        // nearest-rank method
+        final int rank = (int) Math.ceil(percentile / 100.0 * samples.length);
+        return Optional.of(Duration.ofNanos(samples[Math.max(rank, 1) - 1]));
+    }
+
+    @Override
+    public SortedMap<Duration, Long> getHistogram() {
+        final long[] counts = new long[HISTOGRAM_BUCKETS];
+        for (final long sample : copyWindow()) {
+            counts[bucketOf(sample)]++;
+        }
+        final SortedMap<Duration, Long> histogram = new TreeMap<>();
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            histogram.put(Duration.ofMillis(1L << i), counts[i]);
+        }
+        return Collections.unmodifiableSortedMap(histogram);
+    }
+
+    private static int bucketOf(final long roundTripNanos) {
+        final long micros = roundTripNanos / 1_000L;
+        if (micros <= 1_000L) {
+            return 0;
+        }
+        // the smallest i with 2^i milliseconds >= the round-trip time
+        final long millisRoundedUp = (micros + 999L) / 1_000L;
+        final int bucket = 64 - Long.numberOfLeadingZeros(millisRoundedUp - 1);
+        return Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+    }
+
+    private synchronized long[] copyWindow() {
+        return Arrays.copyOf(window, windowSize);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "pongCount=" + pongCount +
+                ", missedPongCount=" + missedPongCount +
+                ", latestRoundTripTime=" + getLatestRoundTripTime().orElse(null) +
+                "]";
+    }
+
+}
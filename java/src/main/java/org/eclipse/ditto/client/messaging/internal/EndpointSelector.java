@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.EndpointSelectionStrategy;
+import org.eclipse.ditto.client.messaging.EndpointHealth;
+
+import com.neovisionaries.ws.client.WebSocket;
+
+/**
+ * Chooses the endpoint for each WebSocket connection of a client and keeps track of the health of the endpoints.
+ * <p>
+ * An endpoint is healthy until a connection attempt to it fails or a connection to it is lost. Healthy endpoints
+ * are chosen according to the {@link EndpointSelectionStrategy}. If no endpoint is healthy, the unhealthy endpoints
+ * whose ejection time expired are chosen from; the ejection time doubles with each consecutive failure. If all
+ * endpoints are ejected, the one whose ejection expires first is chosen, so that there is always an endpoint to
+ * retry.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class EndpointSelector {
+
+    private static final long MIN_EJECTION_NANOS = Duration.ofSeconds(1L).toNanos();
+    private static final long MAX_EJECTION_NANOS = Duration.ofSeconds(30L).toNanos();
+    private static final long MIN_LATENCY_NANOS = Duration.ofMillis(1L).toNanos();
+    // weight of a new observation in the moving averages
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final List<Endpoint> endpoints;
+    private final EndpointSelectionStrategy strategy;
+    private final Map<WebSocket, Endpoint> webSocketEndpoints;
+
+    private EndpointSelector(final List<Endpoint> endpoints, final EndpointSelectionStrategy strategy) {
+        this.endpoints = endpoints;
+        this.strategy = strategy;
+        // weak keys as the WebSockets of a client are replaced on each reconnection
+        webSocketEndpoints = Collections.synchronizedMap(new WeakHashMap<>());
+    }
+
+    /**
+     * Creates a selector for the passed endpoints.
+     *
+     * @param endpointUris the URIs of the endpoints.
+     * @param strategy the strategy to choose among the healthy endpoints.
+     * @param nanoClock the source of the current time in nanoseconds, usually {@link System#nanoTime()}.
+     * @return the selector.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code endpointUris} is empty.
+     */
+    static EndpointSelector newInstance(final List<URI> endpointUris, final EndpointSelectionStrategy strategy,
+            final LongSupplier nanoClock) {
+        checkNotNull(endpointUris, "endpointUris");
+        checkArgument(endpointUris, uris -> !uris.isEmpty(), () -> "The endpointUris must not be empty.");
+        checkNotNull(nanoClock, "nanoClock");
+        final List<Endpoint> endpoints = new ArrayList<>(endpointUris.size());
+        for (final URI endpointUri : endpointUris) {
+            endpoints.add(new Endpoint(endpointUri, nanoClock));
+        }
+        return new EndpointSelector(Collections.unmodifiableList(endpoints), checkNotNull(strategy, "strategy"));
+    }
+
+    /**
+     * Chooses the endpoint for the next connection attempt.
+     *
+     * @return the endpoint.
+     */
+    Endpoint select() {
+        final List<Endpoint> healthy = new ArrayList<>(endpoints.size());
+        final List<Endpoint> notEjected = new ArrayList<>(endpoints.size());
+        Endpoint firstToReturn = endpoints.get(0);
+        for (final Endpoint endpoint : endpoints) {
+            final long ejectedForNanos = endpoint.getRemainingEjectionNanos();
+            if (endpoint.isHealthy()) {
+                healthy.add(endpoint);
+            } else if (ejectedForNanos <= 0L) {
+                notEjected.add(endpoint);
+            } else if (ejectedForNanos < firstToReturn.getRemainingEjectionNanos()) {
+                firstToReturn = endpoint;
+            }
+        }
+        final List<Endpoint> candidates = !healthy.isEmpty() ? healthy : notEjected;
+        if (candidates.isEmpty()) {
+            return firstToReturn;
+        } else if (candidates.size() == 1) {
+            return candidates.get(0);
+        } else if (EndpointSelectionStrategy.WEIGHTED_RANDOM == strategy) {
+            return selectWeightedRandom(candidates);
+        } else {
+            return selectLeastLatency(candidates);
+        }
+    }
+
+    private static Endpoint selectLeastLatency(final List<Endpoint> candidates) {
+        Endpoint result = candidates.get(0);
+        double leastLatency = result.getLatencyNanos();
+        for (final Endpoint candidate : candidates) {
+            final double latency = candidate.getLatencyNanos();
+            if (latency < leastLatency) {
+                result = candidate;
+                leastLatency = latency;
+            }
+        }
+        return result;
+    }
+
+    private static Endpoint selectWeightedRandom(final List<Endpoint> candidates) {
+        final double[] weights = new double[candidates.size()];
+        double totalWeight = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1.0 / Math.max(candidates.get(i).getLatencyNanos(), MIN_LATENCY_NANOS);
+            totalWeight += weights[i];
+        }
+        double remaining = ThreadLocalRandom.current().nextDouble(totalWeight);
+        for (int i = 0; i < weights.length; i++) {
+            remaining -= weights[i];
+            if (remaining < 0.0) {
+                return candidates.get(i);
+            }
+        }
+        // only reached through rounding errors
+        return candidates.get(candidates.size() - 1);
+    }
+
+    /**
+     * Remembers the endpoint the passed WebSocket connects to.
+     *
+     * @param webSocket the WebSocket.
+     * @param endpoint the endpoint of the WebSocket.
+     */
+    void assign(final WebSocket webSocket, final Endpoint endpoint) {
+        webSocketEndpoints.put(webSocket, endpoint);
+    }
+
+    /**
+     * Returns the endpoint the passed WebSocket connects to.
+     *
+     * @param webSocket the WebSocket.
+     * @return the endpoint or an empty optional if the WebSocket was not created for one of the endpoints.
+     */
+    Optional<Endpoint> endpointOf(final WebSocket webSocket) {
+        return Optional.ofNullable(webSocketEndpoints.get(webSocket));
+    }
+
+    /**
+     * @return the health of all endpoints in the order they were configured.
+     */
+    List<EndpointHealth> getEndpointHealth() {
+        return Collections.unmodifiableList(endpoints);
+    }
+
+    /**
+     * One endpoint along with its observed health.
+     */
+    @ThreadSafe
+    static final class Endpoint implements EndpointHealth {
+
+        private final URI endpointUri;
+        private final LongSupplier nanoClock;
+
+        private int consecutiveFailures = 0;
+        private long connectionCount = 0L;
+        private long failureCount = 0L;
+        private long ejectedUntil = 0L;
+        private double connectNanos = Double.NaN;
+        private double roundTripNanos = Double.NaN;
+
+        private Endpoint(final URI endpointUri, final LongSupplier nanoClock) {
+            this.endpointUri = endpointUri;
+            this.nanoClock = nanoClock;
+        }
+
+        /**
+         * Records a successful connection attempt which makes the endpoint healthy.
+         *
+         * @param connectNanos the time the connection attempt took in nanoseconds.
+         */
+        synchronized void recordConnected(final long connectNanos) {
+            consecutiveFailures = 0;
+            connectionCount++;
+            this.connectNanos = movingAverage(this.connectNanos, connectNanos);
+        }
+
+        /**
+         * Records the round-trip time of a ping.
+         *
+         * @param roundTripNanos the round-trip time in nanoseconds.
+         */
+        synchronized void recordRoundTrip(final long roundTripNanos) {
+            this.roundTripNanos = movingAverage(this.roundTripNanos, roundTripNanos);
+        }
+
+        /**
+         * Records a failed connection attempt or a lost connection which makes the endpoint unhealthy and ejects it
+         * for a while.
+         */
+        synchronized void recordFailure() {
+            consecutiveFailures++;
+            failureCount++;
+            // the ejection time doubles up to its maximum, which is less than 2^5 times the minimum
+            final long ejectionNanos =
+                    Math.min(MIN_EJECTION_NANOS << Math.min(consecutiveFailures - 1, 5), MAX_EJECTION_NANOS);
+            ejectedUntil = nanoClock.getAsLong() + ejectionNanos;
+        }
+
+        private static double movingAverage(final double average, final long observation) {
+            return Double.isNaN(average)
+                    ? observation
+                    : SMOOTHING_FACTOR * observation + (1.0 - SMOOTHING_FACTOR) * average;
+        }
+
+        private synchronized long getRemainingEjectionNanos() {
+            return 0 == consecutiveFailures ? 0L : ejectedUntil - nanoClock.getAsLong();
+        }
+
+        /**
+         * @return the sum of the average connect time and round-trip time, both counting as 0 if not observed yet.
+         */
+        private synchronized double getLatencyNanos() {
+            return (Double.isNaN(connectNanos) ? 0.0 : connectNanos) +
+                    (Double.isNaN(roundTripNanos) ? 0.0 : roundTripNanos);
+        }
+
+        @Override
+        public URI getEndpointUri() {
+            return endpointUri;
+        }
+
+        @Override
+        public synchronized boolean isHealthy() {
+            return 0 == consecutiveFailures;
+        }
+
+        @Override
+        public synchronized int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        @Override
+        public synchronized long getConnectionCount() {
+            return connectionCount;
+        }
+
+        @Override
+        public synchronized long getFailureCount() {
+            return failureCount;
+        }
+
+        @Override
+        public synchronized Optional<Duration> getConnectTime() {
+            return toDuration(connectNanos);
+        }
+
+        @Override
+        public synchronized Optional<Duration> getRoundTripTime() {
+            return toDuration(roundTripNanos);
+        }
+
+        private static Optional<Duration> toDuration(final double nanos) {
+            return Double.isNaN(nanos) ? Optional.empty() : Optional.of(Duration.ofNanos((long) nanos));
+        }
+
+        @Override
+        public synchronized String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "endpointUri=" + endpointUri +
+                    ", consecutiveFailures=" + consecutiveFailures +
+                    ", connectionCount=" + connectionCount +
+                    ", failureCount=" + failureCount +
+                    ", connectTime=" + toDuration(connectNanos).orElse(null) +
+                    ", roundTripTime=" + toDuration(roundTripNanos).orElse(null) +
+                    "]";
+        }
+
+    }
+
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.OutboxConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal of messages which could not be sent because the WebSocket connection was down.
+ * <p>
+ * The journal is a sequence of memory-mapped segment files of a fixed size. Each record consists of a 4 byte length,
+ * an 8 byte expiry timestamp in epoch milliseconds and the UTF-8 encoded message. The length is written last, so a
+ * record torn by a crash ends the segment like the zero-filled remainder of the file. Polled records stay in the
+ * journal until they are acknowledged after being sent; acknowledged records are marked as consumed by negating their
+ * length and segments without unconsumed records are deleted. On opening, the segments of the directory are scanned
+ * record header by record header to restore the read and write positions.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class Outbox implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Outbox.class);
+
+    private static final String SEGMENT_PREFIX = "outbox-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final Consumer<MappedByteBuffer> UNMAPPER = findUnmapper();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+    private final Deque<Segment> segments;
+    private int messageCount;
+
+    private Outbox(final OutboxConfiguration configuration, final Clock clock) {
+        directory = configuration.getDirectory();
+        segmentSize = configuration.getSegmentSize();
+        maxSegments = (int) Math.max(1L, configuration.getMaxSize() / segmentSize);
+        timeToLiveMillis = configuration.getMessageTimeToLive().toMillis();
+        this.clock = clock;
+        segments = new ArrayDeque<>();
+        messageCount = 0;
+    }
+
+    /**
+     * Opens the outbox in the configured directory and restores the messages of a previous process.
+     *
+     * @param configuration the outbox configuration.
+     * @param clock the clock to determine the expiry of messages with.
+     * @return the outbox.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IOException if the directory or its segments could not be read.
+     */
+    static Outbox open(final OutboxConfiguration configuration, final Clock clock) throws IOException {
+        final Outbox outbox = new Outbox(checkNotNull(configuration, "configuration"), checkNotNull(clock, "clock"));
+        outbox.restore();
+        return outbox;
+    }
+
+    /**
+     * Appends a message to the journal.
+     *
+     * @param message the message.
+     * @return {@code true} if the message was appended, {@code false} if the outbox is full or the message does not
+     * fit into a segment.
+     * @throws IOException if a new segment could not be created.
+     */
+    synchronized boolean append(final String message) throws IOException {
+        final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        final int recordSize = HEADER_SIZE + bytes.length;
+        if (recordSize > segmentSize) {
+            return false;
+        }
+        Segment tail = segments.peekLast();
+        // a restored tail may have been created with a different segment size
+        if (null == tail || tail.writePosition + recordSize > tail.buffer.capacity()) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            tail = Segment.create(directory, null == tail ? 0L : tail.sequence + 1, segmentSize);
+            segments.addLast(tail);
+        }
+        tail.append(bytes, clock.millis() + timeToLiveMillis);
+        messageCount++;
+        return true;
+    }
+
+    /**
+     * Hands out the oldest message which was neither handed out nor expired yet. The message stays in the journal
+     * until it is {@link #acknowledge(Record) acknowledged}.
+     *
+     * @return the record of the message or {@code null} if there is no message to hand out.
+     */
+    @Nullable
+    synchronized Record poll() {
+        final long now = clock.millis();
+        final Iterator<Segment> iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            final Segment segment = iterator.next();
+            Record record;
+            while (null != (record = segment.read())) {
+                if (record.expiry >= now) {
+                    return record;
+                }
+                if (segment.consume(record.position)) {
+                    messageCount--;
+                }
+            }
+            if (segment.unconsumedRecords == 0 && segment != segments.peekLast()) {
+                iterator.remove();
+                segment.delete();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a message handed out by {@link #poll()} from the journal once it was sent.
+     *
+     * @param record the record of the message.
+     */
+    synchronized void acknowledge(final Record record) {
+        consume(checkNotNull(record, "record"));
+    }
+
+    /**
+     * Hands out the messages which were handed out but not acknowledged again, e.g. because sending them failed.
+     */
+    synchronized void rewind() {
+        segments.forEach(Segment::rewind);
+    }
+
+    private void consume(final Record record) {
+        final Segment segment = record.segment;
+        // the segment of the record is closed if it was deleted or the outbox was closed in the meantime
+        if (!segment.closed && segment.consume(record.position)) {
+            messageCount--;
+            if (segment.unconsumedRecords == 0 && segment != segments.peekLast()) {
+                segments.remove(segment);
+                segment.delete();
+            }
+        }
+    }
+
+    /**
+     * @return whether the outbox holds no messages which were not acknowledged.
+     */
+    synchronized boolean isEmpty() {
+        return messageCount == 0;
+    }
+
+    /**
+     * @return the number of messages in the outbox which were not acknowledged, including expired ones not polled
+     * yet.
+     */
+    synchronized int size() {
+        return messageCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (final Segment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private void restore() throws IOException {
+        Files.createDirectories(directory);
+        final List<Path> segmentFiles = new ArrayList<>();
+        try (final DirectoryStream<Path> stream =
+                     Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segmentFiles::add);
+        }
+        segmentFiles.sort(null);
+        for (final Path segmentFile : segmentFiles) {
+            final Segment segment = Segment.restore(segmentFile, sequenceOf(segmentFile));
+            if (segment.unconsumedRecords == 0) {
+                segment.delete();
+            } else {
+                segments.addLast(segment);
+                messageCount += segment.unconsumedRecords;
+            }
+        }
+        if (messageCount > 0) {
+            LOGGER.info("Restored <{}> messages in <{}> segments of outbox <{}>.", messageCount, segments.size(),
+                    directory);
+        }
+    }
+
+    private static long sequenceOf(final Path segmentFile) {
+        final String fileName = segmentFile.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Finds the way of this runtime to release the mapping of a buffer before the buffer is garbage collected. Java 9
+     * and later offer {@code Unsafe.invokeCleaner}, Java 8 exposes the cleaner of the buffer.
+     */
+    private static Consumer<MappedByteBuffer> findUnmapper() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return buffer -> {
+                try {
+                    final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    final Object cleaner = cleanerMethod.invoke(buffer);
+                    if (null != cleaner) {
+                        invoke(cleaner.getClass().getMethod("clean"), cleaner);
+                    }
+                } catch (final ReflectiveOperationException | RuntimeException e2) {
+                    LOGGER.debug("Could not release mapped outbox segment - it is released once garbage collected: {}",
+                            e2.getMessage());
+                }
+            };
+        }
+    }
+
+    private static void invoke(final Method method, final Object target, final Object... arguments) {
+        try {
+            method.invoke(target, arguments);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Could not release mapped outbox segment - it is released once garbage collected: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * A message handed out by the outbox.
+     */
+    static final class Record {
+
+        private final Segment segment;
+        private final int position;
+        private final String message;
+        private final long expiry;
+
+        private Record(final Segment segment, final int position, final String message, final long expiry) {
+            this.segment = segment;
+            this.position = position;
+            this.message = message;
+            this.expiry = expiry;
+        }
+
+        /**
+         * @return the message.
+         */
+        String getMessage() {
+            return message;
+        }
+
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long sequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int readPosition;
+        private int unconsumedRecords;
+        private boolean closed;
+
+        private Segment(final Path path, final long sequence, final FileChannel channel,
+                final MappedByteBuffer buffer) {
+            this.path = path;
+            this.sequence = sequence;
+            this.channel = channel;
+            this.buffer = buffer;
+            writePosition = 0;
+            readPosition = 0;
+            unconsumedRecords = 0;
+            closed = false;
+        }
+
+        private static Segment create(final Path directory, final long sequence, final int size) throws IOException {
+            // zero padding keeps the lexicographic order of the file names equal to their sequence order
+            final Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, sequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0L, size));
+        }
+
+        private static Segment restore(final Path path, final long sequence) throws IOException {
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            final Segment segment =
+                    new Segment(path, sequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0L,
+                            channel.size()));
+            segment.scan();
+            return segment;
+        }
+
+        private void scan() {
+            int position = 0;
+            int firstUnconsumed = -1;
+            while (position + HEADER_SIZE <= buffer.capacity()) {
+                final int length = buffer.getInt(position);
+                final int recordEnd = position + HEADER_SIZE + Math.abs(length);
+                if (length == 0 || recordEnd > buffer.capacity()) {
+                    break;
+                }
+                if (length > 0) {
+                    unconsumedRecords++;
+                    if (firstUnconsumed < 0) {
+                        firstUnconsumed = position;
+                    }
+                }
+                position = recordEnd;
+            }
+            writePosition = position;
+            readPosition = firstUnconsumed < 0 ? position : firstUnconsumed;
+        }
+
+        private void append(final byte[] bytes, final long expiry) {
+            buffer.putLong(writePosition + Integer.BYTES, expiry);
+            final ByteBuffer payload = buffer.duplicate();
+            ((Buffer) payload).position(writePosition + HEADER_SIZE);
+            payload.put(bytes);
+            // the length is written last and marks the record as complete
+            buffer.putInt(writePosition, bytes.length);
+            writePosition += HEADER_SIZE + bytes.length;
+            unconsumedRecords++;
+        }
+
+        @Nullable
+        private Record read() {
+            while (readPosition < writePosition) {
+                final int length = buffer.getInt(readPosition);
+                final int recordPosition = readPosition;
+                readPosition += HEADER_SIZE + Math.abs(length);
+                if (length > 0) {
+                    final long expiry = buffer.getLong(recordPosition + Integer.BYTES);
+                    final byte[] bytes = new byte[length];
+                    final ByteBuffer payload = buffer.duplicate();
+                    ((Buffer) payload).position(recordPosition + HEADER_SIZE);
+                    payload.get(bytes);
+                    return new Record(this, recordPosition, new String(bytes, StandardCharsets.UTF_8), expiry);
+                }
+            }
+            return null;
+        }
+
+        private boolean consume(final int recordPosition) {
+            final int length = buffer.getInt(recordPosition);
+            if (length <= 0) {
+                return false;
+            }
+            buffer.putInt(recordPosition, -length);
+            unconsumedRecords--;
+            return true;
+        }
+
+        private void rewind() {
+            int position = 0;
+            while (position < readPosition) {
+                final int length = buffer.getInt(position);
+                if (length > 0) {
+                    readPosition = position;
+                    return;
+                }
+                position += HEADER_SIZE - length;
+            }
+        }
+
+        private void close() throws IOException {
+            release();
+            channel.close();
+        }
+
+        private void delete() {
+            try {
+                close();
+                Files.deleteIfExists(path);
+            } catch (final IOException e) {
+                LOGGER.warn("Could not delete outbox segment <{}>: {}", path, e.getMessage());
+            }
+        }
+
+        /**
+         * Releases the mapping of the segment, which otherwise stays until the buffer is garbage collected and
+         * prevents deleting the file on Windows.
+         */
+        private void release() {
+            if (!closed) {
+                closed = true;
+                UNMAPPER.accept(buffer);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.neovisionaries.ws.client.PayloadGenerator;
+
+/**
+ * Generates the payloads of the periodic pings of one WebSocket and evaluates the pongs answering them. Each ping
+ * carries its sequence number and the time it was sent, which the peer echoes in its pong, so that the round-trip
+ * time can be measured without keeping track of the pings in flight.
+ * <p>
+ * A pong is missed if it did not arrive before the next ping is sent. Once the configured number of consecutive
+ * pongs was missed, the connection is considered half-open and the passed callback is run once.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class PingPongMonitor implements PayloadGenerator {
+
+    private static final int PAYLOAD_LENGTH = 2 * Long.BYTES;
+
+    private final int maxMissedPongs;
+    private final DefaultLatencyStatistics statistics;
+    private final LongConsumer roundTripListener;
+    private final Runnable onHalfOpen;
+    private final LongSupplier nanoClock;
+
+    private long sentPings = 0L;
+    private long lastAnsweredPing = 0L;
+    private boolean halfOpen = false;
+
+    private PingPongMonitor(final int maxMissedPongs, final DefaultLatencyStatistics statistics,
+            final LongConsumer roundTripListener, final Runnable onHalfOpen, final LongSupplier nanoClock) {
+        this.maxMissedPongs = maxMissedPongs;
+        this.statistics = statistics;
+        this.roundTripListener = roundTripListener;
+        this.onHalfOpen = onHalfOpen;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Creates a monitor for one WebSocket.
+     *
+     * @param maxMissedPongs the number of consecutive missed pongs after which the connection is considered
+     * half-open or 0 to never consider it half-open.
+     * @param statistics the statistics to record the round-trip times in.
+     * @param roundTripListener receives each round-trip time in nanoseconds in addition to the statistics.
+     * @param onHalfOpen the callback to run once the connection is considered half-open.
+     * @param nanoClock the source of the current time in nanoseconds, usually {@link System#nanoTime()}.
+     * @return the monitor.
+     */
+    static PingPongMonitor newInstance(final int maxMissedPongs, final DefaultLatencyStatistics statistics,
+            final LongConsumer roundTripListener, final Runnable onHalfOpen, final LongSupplier nanoClock) {
+        return new PingPongMonitor(maxMissedPongs, statistics, roundTripListener, onHalfOpen, nanoClock);
+    }
+
+    /**
+     * Called right before each ping is sent.
+     *
+     * @return the payload of the ping.
+     */
+    @Override
+    public byte[] generate() {
+        final boolean becameHalfOpen;
+        final long sequenceNumber;
+        synchronized (this) {
+            // the pongs of all pings since the last answered one were missed
+            final long missedPongs = sentPings - lastAnsweredPing;
+            if (missedPongs > 0) {
+                statistics.recordMissedPong();
+            }
+            becameHalfOpen = maxMissedPongs > 0 && !halfOpen && missedPongs >= maxMissedPongs;
+            halfOpen |= becameHalfOpen;
+            sequenceNumber = ++sentPings;
+        }
+        if (becameHalfOpen) {
+            onHalfOpen.run();
+        }
+        return ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .putLong(sequenceNumber)
+                .putLong(nanoClock.getAsLong())
+                .array();
+    }
+
+    /**
+     * Evaluates a pong received by the WebSocket. Pongs which do not answer a ping of this monitor are ignored.
+     *
+     * @param payload the payload of the pong.
+     */
+    void onPong(final byte[] payload) {
+        final long receivedAt = nanoClock.getAsLong();
+        if (null == payload || payload.length != PAYLOAD_LENGTH) {
+            return;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(payload);
+        final long sequenceNumber = buffer.getLong();
+        final long sentAt = buffer.getLong();
+        synchronized (this) {
+            if (sequenceNumber <= lastAnsweredPing || sequenceNumber > sentPings) {
+                return;
+            }
+            lastAnsweredPing = sequenceNumber;
+        }
+        statistics.recordRoundTrip(receivedAt - sentAt);
+        roundTripListener.accept(receivedAt - sentAt);
+    }
+
+}
@@ -14,6 +14,7 @@ package org.eclipse.ditto.client.messaging.internal;
 
 import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
@@ -26,6 +27,7 @@ import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
+import org.eclipse.ditto.client.configuration.ReconnectDelayPolicy;
 import org.eclipse.ditto.client.messaging.MessagingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +51,7 @@ final class Retry<T> {
     private final ExecutorService callbackExecutor;
     @Nullable private final Consumer<Throwable> errorConsumer;
     private final Predicate<Throwable> isRecoverable;
+    @Nullable private final ReconnectDelayPolicy delayPolicy;
 
     private Retry(final String nameOfAction,
             final String sessionId,
@@ -56,7 +59,8 @@ final class Retry<T> {
             final ScheduledExecutorService reconnectExecutor,
             final ExecutorService callbackExecutor,
             @Nullable final Consumer<Throwable> errorConsumer,
-            final Predicate<Throwable> isRecoverable) {
+            final Predicate<Throwable> isRecoverable,
+            @Nullable final ReconnectDelayPolicy delayPolicy) {
 
         this.sessionId = sessionId;
         this.nameOfAction = nameOfAction;
@@ -65,6 +69,7 @@ final class Retry<T> {
         this.callbackExecutor = callbackExecutor;
         this.errorConsumer = errorConsumer;
         this.isRecoverable = isRecoverable;
+        this.delayPolicy = delayPolicy;
     }
 
     private static int ensureIndexIntoTimeToWaitBounds(final int index) {
@@ -109,12 +114,12 @@ final class Retry<T> {
             if (isRecoverable.test(cause)) {
                 LOGGER.error("Client <{}>: Failed to <{}>: {}", sessionId, nameOfAction, error.getMessage());
                 notifyErrorConsumer(cause);
-                final int timeToWaitInSeconds = getTimeToWaitInSecondsForAttempt(attempt);
-                LOGGER.info("Client <{}>: Waiting for <{}> second(s) before retrying to <{}>.",
-                        sessionId, timeToWaitInSeconds, nameOfAction);
+                final Duration timeToWait = getTimeToWaitForAttempt(attempt);
+                LOGGER.info("Client <{}>: Waiting for <{}> ms before retrying to <{}>.",
+                        sessionId, timeToWait.toMillis(), nameOfAction);
                 reconnectExecutor.schedule(() -> this.completeFutureEventually(attempt + 1, resultToComplete),
-                        timeToWaitInSeconds,
-                        TimeUnit.SECONDS);
+                        timeToWait.toMillis(),
+                        TimeUnit.MILLISECONDS);
             } else {
                 LOGGER.error("Client <{}>: Permanently failed to {}: {}", sessionId, nameOfAction, error.getMessage());
                 notifyErrorConsumer(cause);
@@ -145,9 +150,13 @@ final class Retry<T> {
         }
     }
 
-    private int getTimeToWaitInSecondsForAttempt(final int attempt) {
+    private Duration getTimeToWaitForAttempt(final int attempt) {
+        if (null != delayPolicy) {
+            // the first attempt was made without delay or was delayed by the caller
+            return delayPolicy.getDelay(attempt + 1);
+        }
         final int attemptIndex = ensureIndexIntoTimeToWaitBounds(attempt - 1);
-        return TIME_TO_WAIT_BETWEEN_RETRIES_IN_SECONDS[attemptIndex];
+        return Duration.ofSeconds(TIME_TO_WAIT_BETWEEN_RETRIES_IN_SECONDS[attemptIndex]);
     }
 
     /**
@@ -225,6 +234,15 @@ final class Retry<T> {
          */
         RetryBuilderFinal<T> isRecoverable(Predicate<Throwable> isRecoverable);
 
+        /**
+         * Sets the policy determining the delays between the attempts. The delay before the n-th retry is the
+         * delay of attempt n + 1 of the policy. A fixed backoff from 1 up to 13 seconds is used when not set.
+         *
+         * @param delayPolicy the policy or {@code null} to use the fixed backoff.
+         * @return this builder.
+         */
+        RetryBuilderFinal<T> withDelayPolicy(@Nullable ReconnectDelayPolicy delayPolicy);
+
         /**
          * Executes the provided supplier unit the supplier returns a result.
          *
@@ -248,10 +266,11 @@ final class Retry<T> {
         @Nullable private final ScheduledExecutorService reconnectExecutor;
         @Nullable private final ExecutorService callbackExecutor;
         private final Predicate<Throwable> isRecoverable;
+        @Nullable private final ReconnectDelayPolicy delayPolicy;
 
         private RetryBuilder(final String nameOfAction, final Supplier<CompletionStage<T>> retriedSupplier) {
             this(nameOfAction, retriedSupplier, "", null, null, null,
-                    Exception.class::isInstance);
+                    Exception.class::isInstance, null);
         }
 
         private RetryBuilder(final String nameOfAction,
@@ -260,7 +279,8 @@ final class Retry<T> {
                 @Nullable final ScheduledExecutorService reconnectExecutor,
                 @Nullable final ExecutorService callbackExecutor,
                 @Nullable final Consumer<Throwable> errorConsumer,
-                final Predicate<Throwable> isRecoverable) {
+                final Predicate<Throwable> isRecoverable,
+                @Nullable final ReconnectDelayPolicy delayPolicy) {
 
             this.nameOfAction = nameOfAction;
             this.retriedSupplier = retriedSupplier;
@@ -269,32 +289,38 @@ final class Retry<T> {
             this.reconnectExecutor = reconnectExecutor;
             this.callbackExecutor = callbackExecutor;
             this.errorConsumer = errorConsumer;
+            this.delayPolicy = delayPolicy;
         }
 
         @Override
         public RetryBuilderStep2<T> inClientSession(final String sessionId) {
             return new RetryBuilder<>(nameOfAction, retriedSupplier, sessionId, reconnectExecutor, callbackExecutor,
-                    errorConsumer, isRecoverable
-            );
+                    errorConsumer, isRecoverable, delayPolicy);
         }
 
         @Override
         public RetryBuilderFinal<T> withExecutors(final ScheduledExecutorService reconnectExecutor,
                 final ExecutorService callbackExecutor) {
             return new RetryBuilder<>(nameOfAction, retriedSupplier, sessionId, reconnectExecutor, callbackExecutor,
-                    errorConsumer, isRecoverable);
+                    errorConsumer, isRecoverable, delayPolicy);
         }
 
         @Override
         public RetryBuilderFinal<T> notifyOnError(@Nullable final Consumer<Throwable> errorConsumer) {
             return new RetryBuilder<>(nameOfAction, retriedSupplier, sessionId, reconnectExecutor, callbackExecutor,
-                    errorConsumer, isRecoverable);
+                    errorConsumer, isRecoverable, delayPolicy);
         }
 
         @Override
         public RetryBuilderFinal<T> isRecoverable(final Predicate<Throwable> isRecoverable) {
             return new RetryBuilder<>(nameOfAction, retriedSupplier, sessionId, reconnectExecutor, callbackExecutor,
-                    errorConsumer, isRecoverable);
+                    errorConsumer, isRecoverable, delayPolicy);
+        }
+
+        @Override
+        public RetryBuilderFinal<T> withDelayPolicy(@Nullable final ReconnectDelayPolicy delayPolicy) {
+            return new RetryBuilder<>(nameOfAction, retriedSupplier, sessionId, reconnectExecutor, callbackExecutor,
+                    errorConsumer, isRecoverable, delayPolicy);
         }
 
         @Override
@@ -302,7 +328,7 @@ final class Retry<T> {
             return new Retry<>(nameOfAction, sessionId, retriedSupplier,
                     checkNotNull(reconnectExecutor, "reconnectExecutor"),
                     checkNotNull(callbackExecutor, "callbackExecutor"),
-                    errorConsumer, isRecoverable).completeFutureEventually(future);
+                    errorConsumer, isRecoverable, delayPolicy).completeFutureEventually(future);
         }
 
     }
@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.client.configuration.SendQueueOverflowPolicy;
+import org.eclipse.ditto.client.management.SendQueueFullException;
+import org.eclipse.ditto.client.messaging.LaneStatistics;
+
+/**
+ * Bounded queue of outgoing messages of one WebSocket connection.
+ * <p>
+ * Messages are written to a {@link Sink} in batches by a single drain task running on the passed executor, so that
+ * the sink can flush several frames at once. The queue is full once it holds {@code highWatermark} messages and
+ * stays full until it was drained down to {@code lowWatermark} messages; messages offered meanwhile are handled
+ * according to the {@link SendQueueOverflowPolicy}.
+ * <p>
+ * {@link SendQueueOverflowPolicy#BLOCK} parks the offering thread until the drain task made room, so the executor of
+ * the drain task must not share its threads with whoever offers messages. The drain task itself is never parked:
+ * messages it offers while the queue is full, e.g. in a callback of a future it completed, are rejected.
+ * <p>
+ * Control messages are kept in a separate lane which is not subject to the watermarks and which is written ahead of
+ * the data messages. While data messages are waiting, control messages fill at most
+ * {@value #MAX_CONTROL_MESSAGES_PER_BATCH} places of a batch so that a flood of control messages cannot starve them.
+ * <p>
+ * If the sink fails to write a batch, the data messages of the batch which were offered with {@link #offer(Object)}
+ * are handed to a {@link Keeper} which may keep them for sending them later. Control messages and messages offered
+ * with {@link #offerAccepted(Object)} are never kept: their futures fail, so that whoever offered them can keep them
+ * in their original place.
+ *
+ * @param <T> the type of the messages.
+ * @since 3.2.0
+ */
+final class SendQueue<T> {
+
+    /**
+     * The maximum number of messages written to the sink at once.
+     */
+    static final int MAX_BATCH_SIZE = 64;
+
+    /**
+     * The maximum number of control messages written at once while data messages are waiting.
+     */
+    static final int MAX_CONTROL_MESSAGES_PER_BATCH = MAX_BATCH_SIZE * 3 / 4;
+
+    private static final int CONTROL = LaneStatistics.Lane.CONTROL.ordinal();
+    private static final int DATA = LaneStatistics.Lane.DATA.ordinal();
+
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final SendQueueOverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final Sink<T> sink;
+    private final Keeper<T> keeper;
+    private final Executor drainExecutor;
+
+    private final ReentrantLock lock;
+    private final Condition drained;
+    private final Queue<Entry<T>> entries;
+    private final Queue<Entry<T>> controlEntries;
+    private boolean full;
+    private boolean draining;
+    @Nullable private Thread drainThread;
+    private final long[] sentCounts;
+    private final long[] totalQueueNanos;
+    private final long[] maxQueueNanos;
+    private long starvationGuardCount;
+
+    private SendQueue(final int highWatermark,
+            final int lowWatermark,
+            final SendQueueOverflowPolicy overflowPolicy,
+            final Duration blockTimeout,
+            final Sink<T> sink,
+            final Keeper<T> keeper,
+            final Executor drainExecutor) {
+
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.sink = sink;
+        this.keeper = keeper;
+        this.drainExecutor = drainExecutor;
+        lock = new ReentrantLock();
+        drained = lock.newCondition();
+        entries = new ArrayDeque<>();
+        controlEntries = new ArrayDeque<>();
+        full = false;
+        draining = false;
+        drainThread = null;
+        final int lanes = LaneStatistics.Lane.values().length;
+        sentCounts = new long[lanes];
+        totalQueueNanos = new long[lanes];
+        maxQueueNanos = new long[lanes];
+        starvationGuardCount = 0L;
+    }
+
+    /**
+     * Creates a new send queue.
+     *
+     * @param highWatermark the number of messages at which the queue is full.
+     * @param lowWatermark the number of messages a full queue has to be drained down to before it accepts messages
+     * again.
+     * @param overflowPolicy what happens to messages offered while the queue is full.
+     * @param blockTimeout how long {@link SendQueueOverflowPolicy#BLOCK} blocks at most.
+     * @param sink the sink to write the messages to.
+     * @param keeper takes over the data messages the sink failed to write.
+     * @param drainExecutor the executor to run the drain task with; it must not run the threads which offer
+     * messages.
+     * @param <T> the type of the messages.
+     * @return the queue.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if the watermarks are invalid.
+     */
+    static <T> SendQueue<T> newInstance(final int highWatermark,
+            final int lowWatermark,
+            final SendQueueOverflowPolicy overflowPolicy,
+            final Duration blockTimeout,
+            final Sink<T> sink,
+            final Keeper<T> keeper,
+            final Executor drainExecutor) {
+
+        checkArgument(lowWatermark, low -> low >= 0 && low < highWatermark,
+                () -> "The low watermark must be between 0 and the high watermark <" + highWatermark +
+                        "> but was " + lowWatermark + ".");
+        return new SendQueue<>(highWatermark, lowWatermark, checkNotNull(overflowPolicy, "overflowPolicy"),
+                checkNotNull(blockTimeout, "blockTimeout"), checkNotNull(sink, "sink"),
+                checkNotNull(keeper, "keeper"), checkNotNull(drainExecutor, "drainExecutor"));
+    }
+
+    /**
+     * Queues a message for sending.
+     *
+     * @param message the message.
+     * @return a future which completes once the message was handed to the sink or to the keeper, or which fails with
+     * a {@link SendQueueFullException} if the queue was full, or with the exception of the sink.
+     */
+    CompletableFuture<Void> offer(final T message) {
+        return offer(message, true);
+    }
+
+    /**
+     * Queues a message for sending which was already accepted elsewhere, e.g. by the outbox, and must not be lost.
+     * The message is never rejected or discarded because of the watermarks but counts towards them.
+     *
+     * @param message the message.
+     * @return a future which completes once the message was handed to the sink or which fails with the exception of
+     * the sink.
+     */
+    CompletableFuture<Void> offerAccepted(final T message) {
+        return offer(message, false);
+    }
+
+    private CompletableFuture<Void> offer(final T message, final boolean applyOverflowPolicy) {
+        final Entry<T> entry = new Entry<>(message, applyOverflowPolicy);
+        final List<Entry<T>> discarded;
+        final boolean startDrain;
+        lock.lock();
+        try {
+            discarded = applyOverflowPolicy ? makeRoom() : Collections.emptyList();
+            if (null == discarded) {
+                entry.future.completeExceptionally(SendQueueFullException.rejected(highWatermark));
+                return entry.future;
+            }
+            entries.add(entry);
+            if (entries.size() >= highWatermark) {
+                full = true;
+            }
+            startDrain = !draining;
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+        discarded.forEach(e -> e.future.completeExceptionally(SendQueueFullException.discarded(highWatermark)));
+        if (startDrain) {
+            drainExecutor.execute(this::drain);
+        }
+        return entry.future;
+    }
+
+    /**
+     * Queues a control message for sending ahead of the data messages. Control messages are never rejected or
+     * discarded because of the watermarks.
+     *
+     * @param message the control message.
+     * @return a future which completes once the message was handed to the sink or which fails with the exception of
+     * the sink.
+     */
+    CompletableFuture<Void> offerControl(final T message) {
+        final Entry<T> entry = new Entry<>(message, false);
+        final boolean startDrain;
+        lock.lock();
+        try {
+            controlEntries.add(entry);
+            startDrain = !draining;
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+        if (startDrain) {
+            drainExecutor.execute(this::drain);
+        }
+        return entry.future;
+    }
+
+    /**
+     * @return the number of data messages currently queued.
+     */
+    int size() {
+        return size(LaneStatistics.Lane.DATA);
+    }
+
+    /**
+     * @param lane the lane.
+     * @return the number of messages of the lane currently queued.
+     */
+    int size(final LaneStatistics.Lane lane) {
+        lock.lock();
+        try {
+            return lane == LaneStatistics.Lane.CONTROL ? controlEntries.size() : entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param lane the lane.
+     * @return the number of messages of the lane handed to the sink.
+     */
+    long getSentCount(final LaneStatistics.Lane lane) {
+        lock.lock();
+        try {
+            return sentCounts[lane.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param lane the lane.
+     * @return the total time in nanoseconds the messages of the lane handed to the sink were queued.
+     */
+    long getTotalQueueNanos(final LaneStatistics.Lane lane) {
+        lock.lock();
+        try {
+            return totalQueueNanos[lane.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param lane the lane.
+     * @return the longest time in nanoseconds a message of the lane handed to the sink was queued.
+     */
+    long getMaxQueueNanos(final LaneStatistics.Lane lane) {
+        lock.lock();
+        try {
+            return maxQueueNanos[lane.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return how often data messages were written although control messages were waiting.
+     */
+    long getStarvationGuardCount() {
+        lock.lock();
+        try {
+            return starvationGuardCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the overflow policy while holding the lock.
+     *
+     * @return the entries discarded to make room, or {@code null} if the new message has to be rejected.
+     */
+    @Nullable
+    private List<Entry<T>> makeRoom() {
+        if (!full) {
+            return Collections.emptyList();
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                final List<Entry<T>> discarded = new ArrayList<>(1);
+                while (entries.size() >= highWatermark) {
+                    discarded.add(entries.poll());
+                }
+                return discarded;
+            case BLOCK:
+                return awaitDrained() ? Collections.emptyList() : null;
+            case FAIL_FAST:
+            default:
+                return null;
+        }
+    }
+
+    private boolean awaitDrained() {
+        if (Thread.currentThread() == drainThread) {
+            // the drain task would wait for itself
+            return false;
+        }
+        long remainingNanos = blockTimeout.toNanos();
+        try {
+            while (full) {
+                if (remainingNanos <= 0L) {
+                    return false;
+                }
+                remainingNanos = drained.awaitNanos(remainingNanos);
+            }
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            final List<Entry<T>> batch = pollBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            final List<T> messages = new ArrayList<>(batch.size());
+            batch.forEach(entry -> messages.add(entry.message));
+            try {
+                sink.write(messages);
+                batch.forEach(entry -> entry.future.complete(null));
+            } catch (final RuntimeException e) {
+                keepOrFail(batch, e);
+            }
+        }
+    }
+
+    private void keepOrFail(final List<Entry<T>> batch, final RuntimeException error) {
+        final List<T> keepable = new ArrayList<>(batch.size());
+        batch.stream().filter(entry -> entry.keepable).forEach(entry -> keepable.add(entry.message));
+        final boolean kept = !keepable.isEmpty() && keeper.keep(keepable);
+        for (final Entry<T> entry : batch) {
+            if (kept && entry.keepable) {
+                entry.future.complete(null);
+            } else {
+                entry.future.completeExceptionally(error);
+            }
+        }
+    }
+
+    private List<Entry<T>> pollBatch() {
+        lock.lock();
+        try {
+            final int maxControlMessages = entries.isEmpty() ? MAX_BATCH_SIZE : MAX_CONTROL_MESSAGES_PER_BATCH;
+            final int controlBatchSize = Math.min(controlEntries.size(), maxControlMessages);
+            if (controlBatchSize < controlEntries.size() && !entries.isEmpty()) {
+                starvationGuardCount++;
+            }
+            final int dataBatchSize = Math.min(entries.size(), MAX_BATCH_SIZE - controlBatchSize);
+            final List<Entry<T>> batch = new ArrayList<>(controlBatchSize + dataBatchSize);
+            final long now = System.nanoTime();
+            for (int i = 0; i < controlBatchSize; i++) {
+                batch.add(recordSent(CONTROL, controlEntries.poll(), now));
+            }
+            for (int i = 0; i < dataBatchSize; i++) {
+                batch.add(recordSent(DATA, entries.poll(), now));
+            }
+            if (full && entries.size() <= lowWatermark) {
+                full = false;
+                drained.signalAll();
+            }
+            if (batch.isEmpty()) {
+                draining = false;
+                drainThread = null;
+            } else {
+                drainThread = Thread.currentThread();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry<T> recordSent(final int lane, final Entry<T> entry, final long now) {
+        final long queueNanos = now - entry.enqueuedNanos;
+        sentCounts[lane]++;
+        totalQueueNanos[lane] += queueNanos;
+        maxQueueNanos[lane] = Math.max(maxQueueNanos[lane], queueNanos);
+        return entry;
+    }
+
+    /**
+     * Receives batches of queued messages.
+     *
+     * @param <T> the type of the messages.
+     */
+    @FunctionalInterface
+    interface Sink<T> {
+
+        /**
+         * Writes the messages and flushes them afterwards. May block to apply backpressure.
+         *
+         * @param messages the messages in the order they were queued.
+         * @throws RuntimeException if the messages could not be written.
+         */
+        void write(List<T> messages);
+
+    }
+
+    /**
+     * Takes over the data messages of a batch which the sink failed to write.
+     *
+     * @param <T> the type of the messages.
+     */
+    @FunctionalInterface
+    interface Keeper<T> {
+
+        /**
+         * Keeps the messages for sending them later.
+         *
+         * @param messages the messages in the order they were queued.
+         * @return whether the messages were kept; if not, their futures fail with the exception of the sink.
+         */
+        boolean keep(List<T> messages);
+
+    }
+
+    private static final class Entry<T> {
+
+        private final T message;
+        private final boolean keepable;
+        private final CompletableFuture<Void> future;
+        private final long enqueuedNanos;
+
+        private Entry(final T message, final boolean keepable) {
+            this.message = message;
+            this.keepable = keepable;
+            future = new CompletableFuture<>();
+            enqueuedNanos = System.nanoTime();
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Validates the UTF-8 encoding of text frames which the WebSocket hands over as bytes without decoding them.
+ * Follows RFC 3629: overlong encodings, surrogates and code points above U+10FFFF are invalid.
+ *
+ * @since 3.2.0
+ */
+@Immutable
+final class Utf8Validator {
+
+    private Utf8Validator() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Tests whether the passed bytes are valid UTF-8.
+     *
+     * @param bytes the bytes.
+     * @return whether the bytes are valid UTF-8.
+     */
+    static boolean isValid(final byte[] bytes) {
+        int i = 0;
+        final int length = bytes.length;
+        while (i < length) {
+            final int b = bytes[i];
+            if (b >= 0) {
+                // ASCII, which makes up nearly all of the Ditto protocol
+                i++;
+                continue;
+            }
+            final int lead = b & 0xff;
+            final int continuations;
+            final int min;
+            final int max;
+            if (lead >= 0xc2 && lead <= 0xdf) {
+                continuations = 1;
+                min = 0x80;
+                max = 0xbf;
+            } else if (lead >= 0xe0 && lead <= 0xef) {
+                continuations = 2;
+                // excludes overlong encodings after 0xe0 and surrogates after 0xed
+                min = lead == 0xe0 ? 0xa0 : 0x80;
+                max = lead == 0xed ? 0x9f : 0xbf;
+            } else if (lead >= 0xf0 && lead <= 0xf4) {
+                continuations = 3;
+                // excludes overlong encodings after 0xf0 and code points above U+10FFFF after 0xf4
+                min = lead == 0xf0 ? 0x90 : 0x80;
+                max = lead == 0xf4 ? 0x8f : 0xbf;
+            } else {
+                return false;
+            }
+            if (i + continuations >= length) {
+                return false;
+            }
+            final int second = bytes[i + 1] & 0xff;
+            if (second < min || second > max) {
+                return false;
+            }
+            for (int k = 2; k <= continuations; k++) {
+                if ((bytes[i + k] & 0xc0) != 0x80) {
+                    return false;
+                }
+            }
+            i += continuations + 1;
+        }
+        return true;
+    }
+
+}
@@ -15,9 +15,13 @@ package org.eclipse.ditto.client.messaging.internal;
 import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,11 +34,14 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -44,28 +51,45 @@ import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.common.HttpStatus;
 import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
 import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.CompressionConfiguration;
 import org.eclipse.ditto.client.configuration.DisconnectedContext;
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.configuration.OutboxConfiguration;
+import org.eclipse.ditto.client.configuration.ReconnectDelayPolicy;
 import org.eclipse.ditto.client.internal.DefaultThreadFactory;
 import org.eclipse.ditto.client.internal.VersionReader;
 import org.eclipse.ditto.client.internal.bus.AdaptableBus;
 import org.eclipse.ditto.client.internal.bus.BusFactory;
+import org.eclipse.ditto.client.internal.bus.TimeoutSchedulers;
 import org.eclipse.ditto.client.management.ClientReconnectingException;
+import org.eclipse.ditto.client.management.SendQueueFullException;
+import org.eclipse.ditto.client.messaging.AdaptableCodec;
+import org.eclipse.ditto.client.messaging.AdmissionStatistics;
 import org.eclipse.ditto.client.messaging.AuthenticationException;
 import org.eclipse.ditto.client.messaging.AuthenticationProvider;
+import org.eclipse.ditto.client.messaging.CompressionStatistics;
+import org.eclipse.ditto.client.messaging.EndpointHealth;
+import org.eclipse.ditto.client.messaging.LaneStatistics;
+import org.eclipse.ditto.client.messaging.LatencyStatistics;
 import org.eclipse.ditto.client.messaging.MessagingException;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.json.JsonCollectors;
 import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.TopicPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.neovisionaries.ws.client.OpeningHandshakeException;
+import com.neovisionaries.ws.client.PayloadGenerator;
 import com.neovisionaries.ws.client.StatusLine;
 import com.neovisionaries.ws.client.WebSocket;
 import com.neovisionaries.ws.client.WebSocketAdapter;
+import com.neovisionaries.ws.client.WebSocketCloseCode;
 import com.neovisionaries.ws.client.WebSocketError;
 import com.neovisionaries.ws.client.WebSocketException;
+import com.neovisionaries.ws.client.WebSocketExtension;
 import com.neovisionaries.ws.client.WebSocketFactory;
 import com.neovisionaries.ws.client.WebSocketFrame;
 
@@ -82,7 +106,9 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     private static final String DITTO_CLIENT_USER_AGENT = "DittoClient/" + VersionReader.determineClientVersion();
     private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketMessagingProvider.class);
     private static final int CONNECTION_TIMEOUT_MS = 5000;
-    private static final int RECONNECTION_TIMEOUT_SECONDS = 5;
+    private static final Duration DEFAULT_RECONNECT_DELAY = Duration.ofSeconds(5L);
+    private static final String BINARY_CODEC_HEADER = "ditto-binary-codec";
+    private static final int MAX_PAYLOAD_SIZE = 256 * 1024; // 256 KiB
 
     private final AdaptableBus adaptableBus;
     private final MessagingConfiguration messagingConfiguration;
@@ -91,12 +117,23 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     private final String sessionId;
     private final ScheduledExecutorService connectExecutor;
     private final Map<Object, String> subscriptionMessages;
-    private final AtomicBoolean reconnecting = new AtomicBoolean(false);
     private final AtomicBoolean initializing = new AtomicBoolean(false);
     private final AtomicBoolean explicitlyClosing = new AtomicBoolean(false);
-    private final CompletableFuture<WebSocket> initializationFuture = new CompletableFuture<>();
-
-    private final AtomicReference<WebSocket> webSocket;
+    private final CompletableFuture<Void> initializationFuture = new CompletableFuture<>();
+
+    private final WebSocketPool webSocketPool;
+    private final List<SendQueue<WebSocketFrame>> sendQueues;
+    private final List<ExecutorService> sendExecutors;
+    @Nullable private final Outbox outbox;
+    @Nullable private final AdaptableCodec binaryCodec;
+    @Nullable private final CompressionConfiguration compressionConfiguration;
+    private final DefaultCompressionStatistics compressionStatistics;
+    private final DefaultLatencyStatistics latencyStatistics;
+    private final DefaultLaneStatistics laneStatistics;
+    @Nullable private final AdmissionController admissionController;
+    private final EndpointSelector endpointSelector;
+    @Nullable private final ReconnectDelayPolicy reconnectDelayPolicy;
+    private final AtomicBoolean replayingOutbox = new AtomicBoolean(false);
 
     private final DisconnectedContext.DisconnectionHandler disconnectionHandler;
 
@@ -127,7 +164,36 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         sessionId = authenticationProvider.getConfiguration().getSessionId();
         connectExecutor = createConnectExecutor(sessionId);
         subscriptionMessages = new ConcurrentHashMap<>();
-        webSocket = new AtomicReference<>();
+        webSocketPool = WebSocketPool.newInstance(messagingConfiguration.getConnectionPoolSize());
+        sendQueues = new ArrayList<>(webSocketPool.size());
+        sendExecutors = new ArrayList<>(webSocketPool.size());
+        for (final WebSocketPool.Slot slot : webSocketPool.getSlots()) {
+            // the send queues drain on threads of their own as the overflow policy BLOCK may park all callback threads
+            final ExecutorService sendExecutor = createSendExecutor(sessionId, slot);
+            sendExecutors.add(sendExecutor);
+            sendQueues.add(SendQueue.newInstance(messagingConfiguration.getSendQueueHighWatermark(),
+                    messagingConfiguration.getSendQueueLowWatermark(),
+                    messagingConfiguration.getSendQueueOverflowPolicy(),
+                    messagingConfiguration.getTimeout(),
+                    messages -> sendToWebsocket(slot, messages),
+                    this::keepInOutbox,
+                    sendExecutor));
+        }
+        outbox = messagingConfiguration.getOutboxConfiguration().map(this::openOutbox).orElse(null);
+        binaryCodec = messagingConfiguration.getBinaryCodec().orElse(null);
+        compressionConfiguration = messagingConfiguration.getCompressionConfiguration().orElse(null);
+        compressionStatistics = new DefaultCompressionStatistics();
+        latencyStatistics = new DefaultLatencyStatistics();
+        laneStatistics = new DefaultLaneStatistics(sendQueues, adaptableBus);
+        admissionController = messagingConfiguration.getMaxInFlightRequests() > 0
+                ? new AdmissionController(messagingConfiguration.getMaxInFlightRequests(),
+                messagingConfiguration.getMaxAdmissionWait(),
+                TimeoutSchedulers.hashedWheel(adaptableBus.getScheduledExecutor()), callbackExecutor,
+                System::nanoTime)
+                : null;
+        endpointSelector = EndpointSelector.newInstance(messagingConfiguration.getEndpointUris(),
+                messagingConfiguration.getEndpointSelectionStrategy(), System::nanoTime);
+        reconnectDelayPolicy = messagingConfiguration.getReconnectDelayPolicy().orElse(null);
 
         channelCloser = () -> {};
         disconnectionHandler = new DisconnectedContext.DisconnectionHandler() {
@@ -147,7 +213,11 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             @Override
             public DisconnectedContext.DisconnectionHandler performReconnect() {
                 manuallyPerformReconnect.set(true);
-                doReconnect();
+                for (final WebSocketPool.Slot slot : webSocketPool.getSlots()) {
+                    if (!slot.isOpen()) {
+                        doReconnect(slot);
+                    }
+                }
                 return this;
             }
         };
@@ -166,6 +236,23 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                 new DefaultThreadFactory("ditto-client-reconnect-" + sessionId));
     }
 
+    private static ExecutorService createSendExecutor(final String sessionId, final WebSocketPool.Slot slot) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new DefaultThreadFactory("ditto-client-send-" + sessionId + "-" + slot.getIndex() + "-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private Outbox openOutbox(final OutboxConfiguration outboxConfiguration) {
+        try {
+            return Outbox.open(outboxConfiguration, Clock.systemUTC());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not open the outbox in <" + outboxConfiguration.getDirectory() +
+                    ">.", e);
+        }
+    }
+
     /**
      * Returns a new {@code WebSocketMessagingProvider}.
      *
@@ -184,7 +271,8 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         checkNotNull(defaultExecutor, "defaultExecutor");
         checkNotNull(scheduledExecutor, "scheduledExecutor");
 
-        final AdaptableBus adaptableBus = BusFactory.createAdaptableBus(defaultExecutor, scheduledExecutor);
+        final AdaptableBus adaptableBus = BusFactory.createAdaptableBus(defaultExecutor, scheduledExecutor,
+                messagingConfiguration.getInboundParsingParallelism());
         return new WebSocketMessagingProvider(adaptableBus, messagingConfiguration, authenticationProvider,
                 defaultExecutor);
     }
@@ -218,6 +306,37 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         return adaptableBus;
     }
 
+    @Override
+    public Optional<CompressionStatistics> getCompressionStatistics() {
+        return null != compressionConfiguration ? Optional.of(compressionStatistics) : Optional.empty();
+    }
+
+    @Override
+    public Optional<LatencyStatistics> getLatencyStatistics() {
+        return Optional.of(latencyStatistics);
+    }
+
+    @Override
+    public <T> CompletionStage<T> admit(final TopicPath.Channel channel,
+            final Supplier<CompletionStage<T>> request) {
+        return null != admissionController ? admissionController.admit(channel, request) : request.get();
+    }
+
+    @Override
+    public Optional<AdmissionStatistics> getAdmissionStatistics() {
+        return Optional.ofNullable(admissionController);
+    }
+
+    @Override
+    public Optional<LaneStatistics> getLaneStatistics() {
+        return Optional.of(laneStatistics);
+    }
+
+    @Override
+    public List<EndpointHealth> getEndpointHealth() {
+        return endpointSelector.getEndpointHealth();
+    }
+
     @Override
     public MessagingProvider registerSubscriptionMessage(final Object key, final String message) {
         subscriptionMessages.put(key, message);
@@ -233,21 +352,35 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     @Override
     public CompletionStage<?> initializeAsync() {
         // this method may be called multiple times.
-        if (!initializing.getAndSet(true) && webSocket.get() == null) {
-            return connectWithPotentialRetries("initialize WebSocket",
-                    this::createWebsocket,
-                    initializationFuture,
-                    messagingConfiguration.isInitialConnectRetryEnabled())
-                    .thenApply(ws -> {
-                        setWebSocket(ws);
-                        return this;
-                    });
+        if (!initializing.getAndSet(true) && !webSocketPool.hasWebSocket()) {
+            final CompletableFuture<?>[] connectedSlots = webSocketPool.getSlots()
+                    .stream()
+                    .map(slot -> connectWithPotentialRetries("initialize WebSocket",
+                            slot,
+                            this::createWebsocket,
+                            slot.getInitializationFuture(),
+                            messagingConfiguration.isInitialConnectRetryEnabled(),
+                            null)
+                            .thenAccept(ws -> explicitlyClosing.set(false))
+                            .toCompletableFuture())
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(connectedSlots).whenComplete((result, error) -> {
+                if (null != error) {
+                    initializationFuture.completeExceptionally(error);
+                } else {
+                    initializationFuture.complete(null);
+                }
+            });
         }
         // no need to set flags for subsequent calls of this method
         return initializationFuture.thenApply(ws -> this);
     }
 
     private WebSocket createWebsocket() {
+        return createWebsocket(endpointSelector.select());
+    }
+
+    private WebSocket createWebsocket(final EndpointSelector.Endpoint endpoint) {
         final WebSocketFactory webSocketFactory = WebSocketFactoryFactory.newWebSocketFactory(messagingConfiguration);
         final WebSocket ws;
         try {
@@ -257,11 +390,12 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                     .map(JsonValue::of)
                     .collect(JsonCollectors.valuesToArray())
                     .toString();
-            ws = webSocketFactory.createSocket(messagingConfiguration.getEndpointUri())
+            ws = webSocketFactory.createSocket(endpoint.getEndpointUri())
                     .addHeader(DittoHeaderDefinition.DECLARED_ACKS.getKey(), declaredAcksJsonArrayString);
         } catch (final IOException e) {
             throw MessagingException.connectFailed(sessionId, e);
         }
+        endpointSelector.assign(ws, endpoint);
         return ws;
     }
 
@@ -269,28 +403,82 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
      * Initiates the connection to the web socket by using the provided {@code ws} and applying the passed
      * {@code webSocketListener} for web socket handling and incoming messages.
      *
+     * @param slot the slot of the pool the WebSocket belongs to.
      * @param ws the WebSocket instance to use for connecting.
      * @return The connected websocket.
      * be empty.
      * @throws NullPointerException if any argument is {@code null}.
      */
-    private CompletionStage<WebSocket> initiateConnection(final WebSocket ws) {
+    private CompletionStage<WebSocket> initiateConnection(final WebSocketPool.Slot slot, final WebSocket ws) {
         checkNotNull(ws, "ws");
 
+        prepareWebSocket(slot, ws);
+        ws.addListener(this);
+        // install the WebSocket before connecting so that the listener callbacks can find its slot
+        setWebSocket(slot, ws);
+
+        LOGGER.info("Connecting WebSocket <{}> on endpoint <{}>.", slot.getIndex(), ws.getURI());
+        return connect(ws);
+    }
+
+    private void prepareWebSocket(final WebSocketPool.Slot slot, final WebSocket ws) {
         ws.addHeader("User-Agent", DITTO_CLIENT_USER_AGENT);
-        ws.setMaxPayloadSize(256 * 1024); // 256 KiB
+        ws.setMaxPayloadSize(MAX_PAYLOAD_SIZE);
         ws.setMissingCloseFrameAllowed(true);
-        ws.setFrameQueueSize(0);
-        ws.setPingInterval(CONNECTION_TIMEOUT_MS);
-        authenticationProvider.prepareAuthentication(ws);
-        ws.addListener(this);
+        // text messages are handed over as UTF-8 bytes which the adaptable bus parses without decoding them first
+        ws.setDirectTextMessage(true);
+        // the send queues buffer outgoing messages; blocking on a small frame queue propagates backpressure to them
+        ws.setFrameQueueSize(SendQueue.MAX_BATCH_SIZE);
+        // the send queues flush after each batch of frames
+        ws.setAutoFlush(false);
+        ws.setPingInterval(messagingConfiguration.getPingInterval().toMillis());
+        final LongConsumer roundTripListener = endpointSelector.endpointOf(ws)
+                .<LongConsumer>map(endpoint -> endpoint::recordRoundTrip)
+                .orElse(roundTripNanos -> {});
+        ws.setPingPayloadGenerator(PingPongMonitor.newInstance(messagingConfiguration.getMaxMissedPongs(),
+                latencyStatistics, roundTripListener, () -> disconnectHalfOpen(ws), System::nanoTime));
+        if (authenticationProvider instanceof AbstractTokenAuthenticationProvider) {
+            // standby and recreated WebSockets of the slot share the refresh of its JWT
+            ((AbstractTokenAuthenticationProvider) authenticationProvider).prepareAuthentication(ws, slot,
+                    slot::getWebSocket);
+        } else {
+            authenticationProvider.prepareAuthentication(ws);
+        }
+        if (null != binaryCodec) {
+            ws.addHeader(BINARY_CODEC_HEADER, binaryCodec.getName());
+        }
+        if (null != compressionConfiguration) {
+            // a recreated WebSocket keeps the extensions of the previous one
+            ws.removeExtensions(WebSocketExtension.PERMESSAGE_DEFLATE);
+            ws.addExtension(CompressionMonitor.toExtensionOffer(compressionConfiguration));
+        }
+    }
+
+    private void disconnectHalfOpen(final WebSocket ws) {
+        LOGGER.warn("Client <{}>: WebSocket on endpoint <{}> missed <{}> pongs - closing it as half-open.",
+                sessionId, ws.getURI(), messagingConfiguration.getMaxMissedPongs());
+        // the peer does not answer anymore, so do not wait for its close frame
+        ws.disconnect(WebSocketCloseCode.AWAY, "Missed pongs", 0L);
+    }
 
-        LOGGER.info("Connecting WebSocket on endpoint <{}>.", ws.getURI());
+    private static void evaluatePong(final WebSocket ws, final WebSocketFrame frame) {
+        final PayloadGenerator pingPayloadGenerator = ws.getPingPayloadGenerator();
+        if (pingPayloadGenerator instanceof PingPongMonitor) {
+            ((PingPongMonitor) pingPayloadGenerator).onPong(frame.getPayload());
+        }
+    }
+
+    private CompletableFuture<WebSocket> connect(final WebSocket ws) {
+        final Optional<EndpointSelector.Endpoint> endpoint = endpointSelector.endpointOf(ws);
         final Callable<WebSocket> connectCallable = ws.connectable();
         return CompletableFuture.supplyAsync(() -> {
+            final long startedAt = System.nanoTime();
             try {
-                return connectCallable.call();
+                final WebSocket connected = connectCallable.call();
+                endpoint.ifPresent(e -> e.recordConnected(System.nanoTime() - startedAt));
+                return connected;
             } catch (final Throwable e) {
+                endpoint.ifPresent(EndpointSelector.Endpoint::recordFailure);
                 throw mapConnectError(e);
             }
         }, connectExecutor);
@@ -298,22 +486,200 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public void emit(final String message) {
-        if (reconnecting.get()) {
-            throw ClientReconnectingException.newInstance();
+        throwIfFailed(enqueue(message, isControlMessage(message)));
+    }
+
+    @Override
+    public CompletionStage<Void> emitAsync(final String message) {
+        return enqueue(message, isControlMessage(message));
+    }
+
+    @Override
+    public void emitAdaptable(final Adaptable message) {
+        final boolean control = isControlAdaptable(message);
+        if (null != binaryCodec) {
+            final WebSocketPool.Slot slot = webSocketPool.forAdaptable(message);
+            if (slot.isBinaryFramesNegotiated() && !slot.isReconnecting() &&
+                    (control || null == outbox || outbox.isEmpty())) {
+                final WebSocketFrame frame = WebSocketFrame.createBinaryFrame(binaryCodec.encode(message));
+                final SendQueue<WebSocketFrame> sendQueue = sendQueues.get(slot.getIndex());
+                throwIfFailed(control ? sendQueue.offerControl(frame) : sendQueue.offer(frame));
+                return;
+            }
+        }
+        throwIfFailed(enqueue(ProtocolFactory.wrapAsJsonifiableAdaptable(message).toJsonString(), control));
+    }
+
+    /**
+     * Protocol commands like {@code START-SEND-EVENTS} are the only messages which are not JSON objects.
+     */
+    private static boolean isControlMessage(final String message) {
+        return !message.startsWith("{");
+    }
+
+    private static boolean isControlAdaptable(final Adaptable adaptable) {
+        final TopicPath topicPath = adaptable.getTopicPath();
+        return topicPath.getCriterion() == TopicPath.Criterion.ACKS || topicPath.getSearchAction()
+                .filter(action -> action == TopicPath.SearchAction.REQUEST || action == TopicPath.SearchAction.CANCEL)
+                .isPresent();
+    }
+
+    private static void throwIfFailed(final CompletableFuture<Void> queued) {
+        if (queued.isCompletedExceptionally()) {
+            try {
+                queued.join();
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof ClientReconnectingException ||
+                        e.getCause() instanceof SendQueueFullException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(final String message, final boolean control) {
+        final WebSocketPool.Slot slot = webSocketPool.forMessage(message);
+        final CompletableFuture<Void> result;
+        if (control && slot.isReconnecting()) {
+            // control messages are not kept in the outbox: subscriptions are sent again once reconnected anyway
+            result = new CompletableFuture<>();
+            result.completeExceptionally(ClientReconnectingException.newInstance());
+        } else if (control) {
+            // control messages need not wait for the outbox being replayed
+            result = sendQueues.get(slot.getIndex()).offerControl(WebSocketFrame.createTextFrame(message));
+        } else if (null != outbox && (slot.isReconnecting() || !outbox.isEmpty())) {
+            // messages are kept in the outbox while it is replayed in order not to overtake older messages
+            result = new CompletableFuture<>();
+            if (appendToOutbox(Collections.singletonList(message))) {
+                result.complete(null);
+                if (!slot.isReconnecting()) {
+                    replayOutbox(slot);
+                }
+            } else {
+                result.completeExceptionally(ClientReconnectingException.newInstance());
+            }
+        } else if (slot.isReconnecting()) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(ClientReconnectingException.newInstance());
         } else {
-            sendToWebsocket(message);
+            result = sendQueues.get(slot.getIndex()).offer(WebSocketFrame.createTextFrame(message));
         }
+        return result;
     }
 
-    private void sendToWebsocket(final String stringMessage) {
-        final WebSocket ws = webSocket.get();
+    private void sendToWebsocket(final WebSocketPool.Slot slot, final List<WebSocketFrame> frames) {
+        if (!writeToWebsocket(slot, frames)) {
+            throw ClientReconnectingException.newInstance();
+        }
+    }
+
+    /**
+     * Keeps the data messages the send queue failed to write in the outbox. Replayed messages of the outbox are not
+     * passed here: they fail, so that the outbox keeps them in their original place.
+     */
+    private boolean keepInOutbox(final List<WebSocketFrame> frames) {
+        final List<String> stringMessages = new ArrayList<>(frames.size());
+        frames.forEach(frame -> stringMessages.add(toText(frame)));
+        if (appendToOutbox(stringMessages)) {
+            LOGGER.info("Client <{}>: WebSocket is not connected - kept <{}> messages in the outbox",
+                    sessionId, stringMessages.size());
+            return true;
+        }
+        LOGGER.error("Client <{}>: WebSocket is not connected - going to discard messages '{}'",
+                sessionId, stringMessages);
+        return false;
+    }
+
+    private boolean writeToWebsocket(final WebSocketPool.Slot slot, final List<WebSocketFrame> frames) {
+        final WebSocket ws = slot.getWebSocket();
         if (ws != null && ws.isOpen()) {
-            LOGGER.debug("Client <{}>: Sending: {}", sessionId, stringMessage);
-            ws.sendText(stringMessage);
-        } else {
-            LOGGER.error("Client <{}>: WebSocket is not connected - going to discard message '{}'",
-                    sessionId, stringMessage);
+            // the library compresses the frames; the monitor of a new WebSocket is set before the WebSocket
+            final CompressionMonitor compressionMonitor = slot.getCompressionMonitor();
+            for (final WebSocketFrame frame : frames) {
+                if (frame.isTextFrame()) {
+                    LOGGER.debug("Client <{}>: Sending: {}", sessionId, frame.getPayloadText());
+                } else {
+                    LOGGER.debug("Client <{}>: Sending binary frame of <{}> bytes", sessionId,
+                            frame.getPayloadLength());
+                }
+                if (null != compressionMonitor) {
+                    compressionMonitor.beforeSending(ws, frame);
+                }
+                ws.sendFrame(frame);
+            }
+            ws.flush();
+            return true;
+        }
+        return false;
+    }
+
+    private String toText(final WebSocketFrame frame) {
+        if (frame.isTextFrame() || null == binaryCodec) {
+            return frame.getPayloadText();
+        }
+        return ProtocolFactory.wrapAsJsonifiableAdaptable(binaryCodec.decode(frame.getPayload())).toJsonString();
+    }
+
+    private boolean appendToOutbox(final List<String> stringMessages) {
+        if (null == outbox) {
+            return false;
+        }
+        try {
+            for (final String stringMessage : stringMessages) {
+                if (!outbox.append(stringMessage)) {
+                    LOGGER.warn("Client <{}>: Outbox is full - going to discard message '{}'", sessionId,
+                            stringMessage);
+                    return false;
+                }
+            }
+            return true;
+        } catch (final IOException e) {
+            LOGGER.error("Client <{}>: Could not append to the outbox: {}", sessionId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Hands the messages of the outbox to the send queues. Messages whose pinned connection is still reconnecting
+     * are sent via the passed connected slot instead. The messages are replayed in batches and removed from the
+     * outbox only once they were written to the WebSocket; if writing a batch fails, its messages are kept for the
+     * next reconnect.
+     */
+    private void replayOutbox(final WebSocketPool.Slot connectedSlot) {
+        if (null != outbox && !outbox.isEmpty() && replayingOutbox.compareAndSet(false, true)) {
+            replayOutboxBatch(outbox, connectedSlot);
+        }
+    }
+
+    private void replayOutboxBatch(final Outbox outbox, final WebSocketPool.Slot connectedSlot) {
+        final List<CompletableFuture<Void>> sent = new ArrayList<>(SendQueue.MAX_BATCH_SIZE);
+        Outbox.Record record;
+        while (sent.size() < SendQueue.MAX_BATCH_SIZE && null != (record = outbox.poll())) {
+            final Outbox.Record polled = record;
+            final WebSocketPool.Slot preferredSlot = webSocketPool.forMessage(polled.getMessage());
+            final WebSocketPool.Slot slot = preferredSlot.isReconnecting() ? connectedSlot : preferredSlot;
+            // the messages were accepted when they were kept in the outbox, so the overflow policy does not apply
+            sent.add(sendQueues.get(slot.getIndex())
+                    .offerAccepted(WebSocketFrame.createTextFrame(polled.getMessage()))
+                    .thenRun(() -> outbox.acknowledge(polled)));
         }
+        if (sent.isEmpty()) {
+            replayingOutbox.set(false);
+            // replay messages which were kept after the last poll, but before the replay was finished
+            replayOutbox(connectedSlot);
+            return;
+        }
+        CompletableFuture.allOf(sent.toArray(new CompletableFuture[0])).whenComplete((result, error) -> {
+            if (null != error) {
+                LOGGER.warn("Client <{}>: Could not send messages of the outbox - keeping them for the next " +
+                        "reconnect: {}", sessionId, error.getMessage());
+                outbox.rewind();
+                replayingOutbox.set(false);
+            } else {
+                replayOutboxBatch(outbox, connectedSlot);
+            }
+        });
     }
 
     @Override
@@ -329,22 +695,37 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             // Scheduled tasks obtained from "shutdownNow" are useless because they overrides Runnable.run()
             // to NOT run when the parent executor was shut down.
             connectExecutor.shutdownNow();
+            sendExecutors.forEach(ExecutorService::shutdown);
             authenticationProvider.destroy();
             adaptableBus.shutdownExecutors();
-            final WebSocket ws = webSocket.get();
-            if (ws != null) {
-                ws.disconnect();
+            if (null != outbox) {
+                outbox.close();
+            }
+            for (final WebSocketPool.Slot slot : webSocketPool.getSlots()) {
+                final WebSocket ws = slot.getWebSocket();
+                if (ws != null) {
+                    ws.disconnect();
+                }
+                final WebSocketPool.Standby standby = slot.takeStandby();
+                if (null != standby) {
+                    standby.getWebSocket().disconnect();
+                }
             }
 
             LOGGER.info("Client <{}>: WebSocket destroyed.", sessionId);
-            initializationFuture.completeExceptionally(MessagingException.connectFailed(sessionId,
+            failInitialization(MessagingException.connectFailed(sessionId,
                     new IllegalStateException("The client was destroyed.")));
         } catch (final Exception e) {
             LOGGER.info("Client <{}>: Exception occurred while trying to shutdown http client.", sessionId, e);
-            initializationFuture.completeExceptionally(MessagingException.connectFailed(sessionId, e));
+            failInitialization(MessagingException.connectFailed(sessionId, e));
         }
     }
 
+    private void failInitialization(final Throwable cause) {
+        initializationFuture.completeExceptionally(cause);
+        webSocketPool.getSlots().forEach(slot -> slot.getInitializationFuture().completeExceptionally(cause));
+    }
+
     @Override
     public void registerChannelCloser(final Runnable channelCloser) {
         this.channelCloser = channelCloser;
@@ -358,44 +739,111 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public void onConnected(final WebSocket websocket, final Map<String, List<String>> headers) {
+        final WebSocketPool.Slot slot = webSocketPool.slotOf(websocket);
+        if (null == slot) {
+            LOGGER.debug("Client <{}>: Ignoring connection of a WebSocket which is no longer used", sessionId);
+            return;
+        }
+        activate(slot, websocket, headers);
+    }
+
+    /**
+     * Prepares the connected WebSocket of the passed slot for sending and replays the subscriptions and the outbox
+     * on it.
+     */
+    private void activate(final WebSocketPool.Slot slot, final WebSocket websocket,
+            final Map<String, List<String>> headers) {
+
+        slot.resetReconnectAttempts();
+        slot.setBinaryFramesNegotiated(isBinaryCodecAccepted(headers));
+        logCompression(slot, websocket);
         callbackExecutor.execute(() -> {
-            LOGGER.info("Client <{}>: WebSocket connection is established", sessionId);
+            LOGGER.info("Client <{}>: WebSocket connection <{}> is established", sessionId, slot.getIndex());
 
             if (!subscriptionMessages.isEmpty()) {
                 LOGGER.info("Client <{}>: Subscribing again for messages from backend after reconnection",
                         sessionId);
-                subscriptionMessages.values().forEach(this::emit);
+                final List<WebSocketFrame> messagesOfSlot = new ArrayList<>();
+                subscriptionMessages.forEach((key, message) -> {
+                    if (webSocketPool.forSubscriptionKey(key) == slot) {
+                        messagesOfSlot.add(WebSocketFrame.createTextFrame(message));
+                    }
+                });
+                if (!writeToWebsocket(slot, messagesOfSlot)) {
+                    LOGGER.debug("Client <{}>: WebSocket closed before subscribing again", sessionId);
+                }
+            }
+            if (null != outbox && !outbox.isEmpty()) {
+                LOGGER.info("Client <{}>: Sending <{}> messages kept in the outbox", sessionId, outbox.size());
+                replayOutbox(slot);
             }
+            connectStandby(slot);
         });
     }
 
+    private boolean isBinaryCodecAccepted(final Map<String, List<String>> headers) {
+        if (null == binaryCodec) {
+            return false;
+        }
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (BINARY_CODEC_HEADER.equalsIgnoreCase(header.getKey()) &&
+                    header.getValue().stream().anyMatch(binaryCodec.getName()::equalsIgnoreCase)) {
+                LOGGER.info("Client <{}>: Using binary frames with codec <{}>", sessionId, binaryCodec.getName());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void logCompression(final WebSocketPool.Slot slot, final WebSocket websocket) {
+        final CompressionMonitor compressionMonitor = slot.getCompressionMonitor();
+        if (null == compressionMonitor) {
+            return;
+        }
+        if (compressionMonitor.isCompressing()) {
+            LOGGER.info("Client <{}>: Using permessage-deflate with extension <{}>", sessionId,
+                    websocket.getAgreedExtensions());
+        } else {
+            LOGGER.info("Client <{}>: Backend did not accept permessage-deflate - sending uncompressed messages",
+                    sessionId);
+        }
+    }
+
     @Override
     public void onDisconnected(final WebSocket websocket, final WebSocketFrame serverCloseFrame,
             final WebSocketFrame clientCloseFrame,
             final boolean closedByServer) {
 
+        final WebSocketPool.Slot slot = webSocketPool.slotOf(websocket);
+        if (null == slot) {
+            LOGGER.debug("Client <{}>: Ignoring disconnection of a WebSocket which is no longer used", sessionId);
+            return;
+        }
+        if (!explicitlyClosing.get()) {
+            endpointSelector.endpointOf(websocket).ifPresent(EndpointSelector.Endpoint::recordFailure);
+        }
         callbackExecutor.execute(() -> {
             if (closedByServer) {
                 LOGGER.info(
                         "Client <{}>: WebSocket connection to endpoint <{}> was closed by Server with code <{}> and " +
-                                "reason <{}>.", sessionId, messagingConfiguration.getEndpointUri(),
+                                "reason <{}>.", sessionId, websocket.getURI(),
                         serverCloseFrame.getCloseCode(),
                         serverCloseFrame.getCloseReason());
                 awaitLastReceivedDittoProtocolError();
-                handleReconnectionIfEnabled(DisconnectedContext.Source.SERVER, lastReceivedDittoProtocolError);
+                handleReconnectionIfEnabled(slot, DisconnectedContext.Source.SERVER, lastReceivedDittoProtocolError);
             } else if (!explicitlyClosing.get()) {
                 // client closed connection because of a connection interruption or something similar
                 LOGGER.info("Client <{}>: WebSocket connection to endpoint <{}> was unintentionally closed by client " +
                                 "- client will try to reconnect if enabled!",
-                        sessionId, messagingConfiguration.getEndpointUri());
+                        sessionId, websocket.getURI());
                 awaitLastReceivedDittoProtocolError();
-                handleReconnectionIfEnabled(DisconnectedContext.Source.CLIENT, lastReceivedDittoProtocolError);
+                handleReconnectionIfEnabled(slot, DisconnectedContext.Source.CLIENT, lastReceivedDittoProtocolError);
             }
             else {
                 // only when close() was called we should end here
                 LOGGER.info("Client <{}>: WebSocket connection to endpoint <{}> was closed by user",
-                        sessionId, messagingConfiguration.getEndpointUri());
-                handleReconnectionIfEnabled(DisconnectedContext.Source.USER_CODE, null);
+                        sessionId, websocket.getURI());
+                handleReconnectionIfEnabled(slot, DisconnectedContext.Source.USER_CODE, null);
             }
         });
     }
@@ -413,6 +861,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public void onError(final WebSocket websocket, final WebSocketException cause) {
+        final WebSocketPool.Slot slot = webSocketPool.slotOf(websocket);
         callbackExecutor.execute(() -> {
             final String msgPattern = "Client <{}>: Error in WebSocket: {}";
             final String errorMsg; // avoids cluttering the log
@@ -422,24 +871,29 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                 errorMsg = "-";
             }
             LOGGER.error(msgPattern, sessionId, errorMsg);
-            handleReconnectionIfEnabled(DisconnectedContext.Source.CLIENT, cause);
+            if (null != slot) {
+                handleReconnectionIfEnabled(slot, DisconnectedContext.Source.CLIENT, cause);
+            }
         });
     }
 
     private CompletionStage<WebSocket> connectWithPotentialRetries(final String actionName,
+            final WebSocketPool.Slot slot,
             final Supplier<WebSocket> webSocket,
             final CompletableFuture<WebSocket> future,
-            final boolean retry) {
+            final boolean retry,
+            @Nullable final ReconnectDelayPolicy delayPolicy) {
 
         try {
             final Predicate<Throwable> isRecoverable =
                     retry ? WebSocketMessagingProvider::isRecoverable : exception -> false;
             return Retry.retryTo(actionName,
-                    () -> initiateConnection(webSocket.get()))
+                    () -> initiateConnection(slot, webSocket.get()))
                     .inClientSession(sessionId)
                     .withExecutors(connectExecutor, callbackExecutor)
                     .notifyOnError(messagingConfiguration.getConnectionErrorHandler().orElse(null))
                     .isRecoverable(isRecoverable)
+                    .withDelayPolicy(delayPolicy)
                     .completeFutureEventually(future);
         } catch (final Exception exception) {
             future.completeExceptionally(exception);
@@ -447,7 +901,8 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         }
     }
 
-    private void handleReconnectionIfEnabled(final DisconnectedContext.Source disconnectionSource,
+    private void handleReconnectionIfEnabled(final WebSocketPool.Slot slot,
+            final DisconnectedContext.Source disconnectionSource,
             @Nullable final Throwable throwableSupplier) {
 
         final Optional<Consumer<DisconnectedContext>> disconnectedListener =
@@ -468,7 +923,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             } else {
                 // reconnect in a while if client was initially connected and we are not reconnecting already
                 LOGGER.info("Client <{}>: Reconnection is enabled", sessionId);
-                doReconnect();
+                doReconnect(slot);
             }
         } else {
             if (manuallyPerformReconnect.get()) {
@@ -483,28 +938,113 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         }
     }
 
-    private void doReconnect() {
-        if (reconnecting.compareAndSet(false, true)) {
-            LOGGER.info("Client <{}>: Reconnecting in <{}> seconds ...", sessionId, RECONNECTION_TIMEOUT_SECONDS);
-            connectExecutor.schedule(this::reconnectWithRetries, RECONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    private void doReconnect(final WebSocketPool.Slot slot) {
+        if (slot.startReconnecting() && !takeOverByStandby(slot)) {
+            final int attempt = slot.nextReconnectAttempt();
+            final Duration delay =
+                    null != reconnectDelayPolicy ? reconnectDelayPolicy.getDelay(attempt) : DEFAULT_RECONNECT_DELAY;
+            LOGGER.info("Client <{}>: Reconnecting WebSocket <{}> in <{}> ms ...", sessionId, slot.getIndex(),
+                    delay.toMillis());
+            connectExecutor.schedule(() -> reconnectWithRetries(slot), delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Lets the standby WebSocket of the passed reconnecting slot take over its connection.
+     *
+     * @return whether the slot had a standby WebSocket.
+     */
+    private boolean takeOverByStandby(final WebSocketPool.Slot slot) {
+        final WebSocketPool.Standby standby = slot.takeStandby();
+        if (null == standby) {
+            return false;
+        }
+        final WebSocket ws = standby.getWebSocket();
+        setWebSocket(slot, ws);
+        ws.addListener(this);
+        ws.removeListener(standby.getListener());
+        explicitlyClosing.set(false);
+        manuallyPerformReconnect.set(false);
+        slot.stopReconnecting();
+        // a standby WebSocket closed before this provider started listening to it went unnoticed
+        if (ws.isOpen()) {
+            LOGGER.info("Client <{}>: Standby WebSocket took over connection <{}>", sessionId, slot.getIndex());
+            activate(slot, ws, standby.getHandshakeHeaders());
+        } else {
+            LOGGER.info("Client <{}>: Standby WebSocket of connection <{}> was closed as well", sessionId,
+                    slot.getIndex());
+            doReconnect(slot);
+        }
+        return true;
+    }
+
+    private void connectStandby(final WebSocketPool.Slot slot) {
+        if (!messagingConfiguration.isHotStandbyEnabled() || !slot.startConnectingStandby()) {
+            return;
         }
+        try {
+            Retry.retryTo("connect standby WebSocket", () -> initiateStandbyConnection(slot))
+                    .inClientSession(sessionId)
+                    .withExecutors(connectExecutor, callbackExecutor)
+                    .withDelayPolicy(reconnectDelayPolicy)
+                    .completeFutureEventually(new CompletableFuture<>())
+                    .whenComplete((ws, error) -> {
+                        // on success, connecting ends once the standby WebSocket was installed by its listener
+                        if (null != error) {
+                            slot.stopConnectingStandby();
+                        }
+                    });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Client <{}>: Not connecting a standby WebSocket as the client is closed", sessionId);
+            slot.stopConnectingStandby();
+        }
+    }
+
+    private CompletionStage<WebSocket> initiateStandbyConnection(final WebSocketPool.Slot slot) {
+        final WebSocket ws = createWebsocket();
+        prepareWebSocket(slot, ws);
+        ws.addListener(new StandbyListener(slot));
+        LOGGER.info("Connecting standby WebSocket <{}> on endpoint <{}>.", slot.getIndex(), ws.getURI());
+        return connect(ws);
     }
 
-    private void reconnectWithRetries() {
-        this.connectWithPotentialRetries("reconnect WebSocket", this::recreateWebSocket, new CompletableFuture<>(),
-                messagingConfiguration.isReconnectEnabled() || manuallyPerformReconnect.get())
+    private void reconnectWithRetries(final WebSocketPool.Slot slot) {
+        this.connectWithPotentialRetries("reconnect WebSocket", slot, () -> recreateWebSocket(slot),
+                new CompletableFuture<>(),
+                messagingConfiguration.isReconnectEnabled() || manuallyPerformReconnect.get(),
+                reconnectDelayPolicyOf(slot))
                 .thenAccept(reconnectedWebSocket -> {
-                    setWebSocket(reconnectedWebSocket);
-                    reconnecting.set(false);
+                    explicitlyClosing.set(false); // reset potential explicit close request by the user
+                    slot.stopReconnecting();
                     manuallyPerformReconnect.set(false);
                 });
     }
 
-    private void setWebSocket(final WebSocket webSocket) {
-        explicitlyClosing.set(false); // reset potential explicit close request by the user
-        synchronized (this.webSocket) {
-            final WebSocket oldWebSocket = this.webSocket.get();
-            this.webSocket.set(webSocket);
+    /**
+     * @return a policy which passes the attempts to reconnect the slot since it was last connected to the
+     * configured policy.
+     */
+    @Nullable
+    private ReconnectDelayPolicy reconnectDelayPolicyOf(final WebSocketPool.Slot slot) {
+        if (null == reconnectDelayPolicy) {
+            return null;
+        }
+        return retryAttempt -> reconnectDelayPolicy.getDelay(slot.nextReconnectAttempt());
+    }
+
+    private void setWebSocket(final WebSocketPool.Slot slot, final WebSocket webSocket) {
+        synchronized (slot) {
+            // the monitor is in place before the WebSocket can be written to
+            final CompressionMonitor oldMonitor = slot.setCompressionMonitor(newCompressionMonitor(webSocket));
+            if (null != oldMonitor) {
+                // a recreated WebSocket keeps the listeners of the previous one
+                webSocket.removeListener(oldMonitor);
+            }
+            final WebSocket oldWebSocket = slot.setWebSocket(webSocket);
+            if (oldWebSocket != null && oldWebSocket != webSocket) {
+                // the backend discarded the search subscriptions and pending replies of the previous session
+                webSocketPool.forgetSession(slot);
+            }
             try {
                 if (oldWebSocket != null && oldWebSocket != webSocket) {
                     oldWebSocket.disconnect();
@@ -515,14 +1055,32 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         }
     }
 
-    private WebSocket recreateWebSocket() {
-        LOGGER.info("Recreating Websocket..");
-        final WebSocket ws = webSocket.get();
+    @Nullable
+    private CompressionMonitor newCompressionMonitor(final WebSocket webSocket) {
+        if (null == compressionConfiguration) {
+            return null;
+        }
+        final CompressionMonitor compressionMonitor =
+                CompressionMonitor.newInstance(webSocket, compressionStatistics);
+        webSocket.addListener(compressionMonitor);
+        return compressionMonitor;
+    }
+
+    private WebSocket recreateWebSocket(final WebSocketPool.Slot slot) {
+        LOGGER.info("Recreating Websocket <{}>..", slot.getIndex());
+        final WebSocket ws = slot.getWebSocket();
         if (ws == null) {
             LOGGER.error("Client <{}>: attempt to recreate a null websocket", sessionId);
             throw new IllegalStateException("Cannot recreate a null websocket. This method should not have been " +
                     "called without having created a WebSocket before.");
         }
+        final EndpointSelector.Endpoint endpoint = endpointSelector.select();
+        if (!endpointSelector.endpointOf(ws).filter(endpoint::equals).isPresent()) {
+            LOGGER.info("Client <{}>: Failing over Websocket <{}> to endpoint <{}>", sessionId, slot.getIndex(),
+                    endpoint.getEndpointUri());
+            ws.clearListeners();
+            return createWebsocket(endpoint);
+        }
         ws.clearHeaders();
         ws.clearListeners();
 
@@ -534,28 +1092,69 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                     .collect(JsonCollectors.valuesToArray())
                     .toString();
 
-            return ws.recreate(CONNECTION_TIMEOUT_MS)
+            final WebSocket recreated = ws.recreate(CONNECTION_TIMEOUT_MS)
                     .addHeader(DittoHeaderDefinition.DECLARED_ACKS.getKey(), declaredAcksJsonArrayString);
+            endpointSelector.assign(recreated, endpoint);
+            return recreated;
         } catch (IOException e) {
             throw MessagingException.recreateFailed(sessionId, e);
         }
     }
 
+    @Override
+    public void onPongFrame(final WebSocket websocket, final WebSocketFrame frame) {
+        evaluatePong(websocket, frame);
+    }
+
     @Override
     public void onBinaryMessage(final WebSocket websocket, final byte[] binary) {
-        final String stringMessage = new String(binary, StandardCharsets.UTF_8);
-        LOGGER.debug("Client <{}>: Received WebSocket byte array message <{}>, as string <{}> - don't know what to do" +
-                " with it!.", sessionId, binary, stringMessage);
+        if (null != binaryCodec) {
+            LOGGER.debug("Client <{}>: Received WebSocket binary message of <{}> bytes", sessionId, binary.length);
+            try {
+                final Adaptable adaptable = binaryCodec.decode(binary);
+                final WebSocketPool.Slot slot = inboundSlotOf(websocket);
+                if (null != slot) {
+                    webSocketPool.recordInbound(slot, adaptable);
+                }
+                adaptableBus.publishAdaptable(adaptable);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Client <{}>: Could not decode binary message with codec <{}>: {}", sessionId,
+                        binaryCodec.getName(), e.getMessage());
+            }
+        } else {
+            final String stringMessage = new String(binary, StandardCharsets.UTF_8);
+            LOGGER.debug("Client <{}>: Received WebSocket byte array message <{}>, as string <{}> - don't know " +
+                    "what to do with it!.", sessionId, binary, stringMessage);
+        }
     }
 
     @Override
-    public void onTextMessage(final WebSocket websocket, final String text) {
-        LOGGER.debug("Client <{}>: Received WebSocket string message <{}>", sessionId, text);
-        handleIncomingMessage(text);
+    public void onTextMessage(final WebSocket websocket, final byte[] data) {
+        // the WebSocket hands over text messages undecoded, see prepareWebSocket
+        if (!Utf8Validator.isValid(data)) {
+            LOGGER.warn("Client <{}>: Received text message which is no valid UTF-8 - closing the WebSocket",
+                    sessionId);
+            websocket.disconnect(WebSocketCloseCode.INCONSISTENT, "Invalid UTF-8 in text message");
+            return;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Client <{}>: Received WebSocket string message <{}>", sessionId,
+                    new String(data, StandardCharsets.UTF_8));
+        }
+        final WebSocketPool.Slot slot = inboundSlotOf(websocket);
+        if (null != slot) {
+            webSocketPool.recordInbound(slot, data);
+        }
+        adaptableBus.publish(data);
     }
 
-    private void handleIncomingMessage(final String message) {
-        adaptableBus.publish(message);
+    /**
+     * @return the slot whose connection has to carry the replies to messages received on the passed WebSocket, or
+     * {@code null} if the pool has a single connection only.
+     */
+    @Nullable
+    private WebSocketPool.Slot inboundSlotOf(final WebSocket websocket) {
+        return webSocketPool.size() > 1 ? webSocketPool.slotOf(websocket) : null;
     }
 
     private RuntimeException mapConnectError(final Throwable e) {
@@ -611,4 +1210,54 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         return e instanceof CompletionException || e instanceof ExecutionException ? getRootCause(e.getCause()) : e;
     }
 
+    /**
+     * Observes a standby WebSocket until it takes over the connection of its slot. The standby WebSocket does not
+     * subscribe for any messages before; a lost standby WebSocket is replaced by a new one.
+     */
+    private final class StandbyListener extends WebSocketAdapter {
+
+        private final WebSocketPool.Slot slot;
+
+        private StandbyListener(final WebSocketPool.Slot slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public void onConnected(final WebSocket websocket, final Map<String, List<String>> headers) {
+            if (connectExecutor.isShutdown()) {
+                websocket.disconnect();
+            } else {
+                LOGGER.info("Client <{}>: Standby WebSocket <{}> is established", sessionId, slot.getIndex());
+                slot.setStandby(new WebSocketPool.Standby(websocket, this, headers));
+            }
+            slot.stopConnectingStandby();
+        }
+
+        @Override
+        public void onDisconnected(final WebSocket websocket, final WebSocketFrame serverCloseFrame,
+                final WebSocketFrame clientCloseFrame, final boolean closedByServer) {
+            replace(websocket);
+        }
+
+        @Override
+        public void onPongFrame(final WebSocket websocket, final WebSocketFrame frame) {
+            evaluatePong(websocket, frame);
+        }
+
+        @Override
+        public void onError(final WebSocket websocket, final WebSocketException cause) {
+            LOGGER.debug("Client <{}>: Error in standby WebSocket: {}", sessionId, cause.getMessage());
+            replace(websocket);
+        }
+
+        private void replace(final WebSocket websocket) {
+            if (slot.removeStandby(websocket)) {
+                LOGGER.info("Client <{}>: Standby WebSocket <{}> was closed", sessionId, slot.getIndex());
+                websocket.disconnect();
+                callbackExecutor.execute(() -> connectStandby(slot));
+            }
+        }
+
+    }
+
 }
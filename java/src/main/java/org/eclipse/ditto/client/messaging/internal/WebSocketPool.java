@@ -0,0 +1,664 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.client.internal.bus.Classification;
+import org.eclipse.ditto.client.internal.bus.HeaderSniffer;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.JsonifiableAdaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.TopicPath;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketListener;
+
+/**
+ * Holds the WebSocket connections of one {@link WebSocketMessagingProvider} and decides which connection carries
+ * an outgoing message:
+ * <ul>
+ * <li>Requests for and cancellations of a search subscription are sent on the connection the subscription was
+ * created on, since the backend keeps the subscription per connection.</li>
+ * <li>Acknowledgements and live responses are sent on the connection the signal they answer arrived on, since the
+ * backend waits for them per connection. See {@link #recordInbound(Slot, byte[])}.</li>
+ * <li>Other Ditto protocol messages with a correlation ID are spread across the connections by the correlation ID,
+ * so that a response arrives on the connection its request was sent on.</li>
+ * <li>Ditto protocol messages without correlation ID are routed by the thing in their topic.</li>
+ * <li>Protocol commands starting or stopping a subscription, and the subscription messages replayed after a
+ * reconnect, are pinned to one connection per subscription key, so that all events of a subscription and therefore
+ * all events of a thing arrive in order on the same connection.</li>
+ * <li>All other protocol commands use the first connection.</li>
+ * </ul>
+ * The routing fields of JSON messages are read by the {@link HeaderSniffer}, which only looks at the envelope of a
+ * message and never into its payload.
+ * <p>
+ * Since the backend pushes the events of a subscription on the connection the subscription was started on, inbound
+ * events are spread across at most one connection per {@link Classification.StreamingType streaming type}.
+ *
+ * @since 3.2.0
+ */
+final class WebSocketPool {
+
+    /**
+     * The maximum number of inbound signals whose acknowledgements and responses are routed to the connection the
+     * signal arrived on. The routes of the oldest signals are forgotten first.
+     */
+    static final int MAX_REPLY_ROUTES = 10_000;
+
+    private static final String SUBSCRIPTION_ID = "subscriptionId";
+    private static final String VALUE_SUBSCRIPTION_ID = "value/" + SUBSCRIPTION_ID;
+
+    private final List<Slot> slots;
+    private final Map<String, Slot> subscriptionSlots;
+
+    // guarded by itself
+    private final LinkedHashMap<String, Slot> replySlots;
+
+    private WebSocketPool(final List<Slot> slots) {
+        this.slots = slots;
+        subscriptionSlots = new ConcurrentHashMap<>();
+        replySlots = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a pool with the given number of empty slots.
+     *
+     * @param size the number of WebSocket connections.
+     * @return the pool.
+     * @throws IllegalArgumentException if {@code size} is less than 1.
+     */
+    static WebSocketPool newInstance(final int size) {
+        checkArgument(size, s -> s >= 1, () -> "The pool size must be at least 1 but was " + size + ".");
+        final List<Slot> slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new Slot(i));
+        }
+        return new WebSocketPool(Collections.unmodifiableList(slots));
+    }
+
+    /**
+     * @return all slots of this pool ordered by their index.
+     */
+    List<Slot> getSlots() {
+        return slots;
+    }
+
+    /**
+     * @return the number of slots of this pool.
+     */
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * @return whether any slot holds a WebSocket.
+     */
+    boolean hasWebSocket() {
+        for (final Slot slot : slots) {
+            if (slot.getWebSocket() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the slot currently holding the passed WebSocket.
+     *
+     * @param webSocket the WebSocket.
+     * @return the slot or {@code null} if the WebSocket is not (or no longer) part of this pool.
+     */
+    @Nullable
+    Slot slotOf(final WebSocket webSocket) {
+        for (final Slot slot : slots) {
+            if (slot.getWebSocket() == webSocket) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the slot a subscription registered with the passed key is pinned to.
+     *
+     * @param subscriptionKey the key of the subscription, usually a {@link Classification.StreamingType}.
+     * @return the slot.
+     */
+    Slot forSubscriptionKey(final Object subscriptionKey) {
+        final int hash;
+        if (subscriptionKey instanceof Enum) {
+            // ordinals spread the few streaming types evenly and independent of the identity hash code
+            hash = ((Enum<?>) subscriptionKey).ordinal();
+        } else {
+            hash = subscriptionKey.hashCode();
+        }
+        return slots.get(Math.floorMod(hash, slots.size()));
+    }
+
+    /**
+     * Selects the slot to send the passed message with.
+     *
+     * @param message the message to send.
+     * @return the slot.
+     */
+    Slot forMessage(final String message) {
+        if (slots.size() == 1) {
+            return slots.get(0);
+        }
+        if (message.startsWith("{")) {
+            final Optional<HeaderSniffer.Headers> headers = HeaderSniffer.sniff(message);
+            if (headers.isPresent()) {
+                final Optional<String> searchAction = headers.get().getSearchAction();
+                if (searchAction.isPresent() && isSubscriptionCommand(searchAction.get())) {
+                    final boolean cancel = isCancel(searchAction.get());
+                    final Slot subscriptionSlot = subscriptionIdOf(message)
+                            .map(subscriptionId -> forSubscriptionCommand(cancel, subscriptionId))
+                            .orElse(null);
+                    if (null != subscriptionSlot) {
+                        return subscriptionSlot;
+                    }
+                }
+                final Optional<String> correlationId = headers.get().getCorrelationId();
+                return correlationId.isPresent()
+                        ? forCorrelationId(correlationId.get())
+                        : forThing(thingOfTopic(headers.get().getTopic()));
+            }
+            return forUnsniffableMessage(message);
+        }
+        for (final Classification.StreamingType streamingType : Classification.StreamingType.values()) {
+            if (message.startsWith(streamingType.start()) || message.startsWith(streamingType.stop())) {
+                return forSubscriptionKey(streamingType);
+            }
+        }
+        return slots.get(0);
+    }
+
+    /**
+     * Selects the slot to send the passed adaptable with. Equivalent to {@link #forMessage(String)} with the JSON
+     * representation of the adaptable.
+     *
+     * @param adaptable the adaptable to send.
+     * @return the slot.
+     */
+    Slot forAdaptable(final Adaptable adaptable) {
+        if (slots.size() == 1) {
+            return slots.get(0);
+        }
+        final TopicPath topicPath = adaptable.getTopicPath();
+        final Optional<TopicPath.SearchAction> searchAction = topicPath.getSearchAction();
+        if (searchAction.isPresent() && (searchAction.get() == TopicPath.SearchAction.REQUEST ||
+                searchAction.get() == TopicPath.SearchAction.CANCEL)) {
+            final boolean cancel = searchAction.get() == TopicPath.SearchAction.CANCEL;
+            final Slot subscriptionSlot = subscriptionIdOf(adaptable)
+                    .map(subscriptionId -> forSubscriptionCommand(cancel, subscriptionId))
+                    .orElse(null);
+            if (null != subscriptionSlot) {
+                return subscriptionSlot;
+            }
+        }
+        final Optional<String> correlationId = adaptable.getDittoHeaders().getCorrelationId();
+        if (correlationId.isPresent()) {
+            return forCorrelationId(correlationId.get());
+        }
+        return forThing(topicPath.getNamespace() + "/" + topicPath.getEntityName());
+    }
+
+    /**
+     * Routes a message whose envelope the sniffer could not read with certainty, e.g. because of escape sequences,
+     * by its fully parsed adaptable.
+     */
+    private Slot forUnsniffableMessage(final String message) {
+        final JsonifiableAdaptable adaptable;
+        try {
+            adaptable = ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(message));
+        } catch (final RuntimeException e) {
+            // not a Ditto protocol message, so there is nothing to keep in order with
+            return slots.get(0);
+        }
+        return forAdaptable(adaptable);
+    }
+
+    /**
+     * Remembers the connection an inbound text message arrived on if the backend expects messages referring to it on
+     * the same connection:
+     * <ul>
+     * <li>the connection a search subscription was created on until the subscription completed or failed,</li>
+     * <li>the connection a signal with requested acknowledgements, a live command or a live message arrived on, so
+     * that the acknowledgements and responses with the same correlation ID are sent on it.</li>
+     * </ul>
+     *
+     * @param slot the slot holding the WebSocket the message arrived on.
+     * @param utf8Message the UTF-8 encoded message.
+     */
+    void recordInbound(final Slot slot, final byte[] utf8Message) {
+        if (slots.size() == 1) {
+            return;
+        }
+        final Optional<HeaderSniffer.Headers> sniffed = HeaderSniffer.sniff(utf8Message);
+        if (sniffed.isPresent()) {
+            final HeaderSniffer.Headers headers = sniffed.get();
+            final Optional<String> searchAction = headers.getSearchAction();
+            if (searchAction.isPresent()) {
+                // pages are never parsed here, only the small messages starting and ending a subscription
+                final String action = searchAction.get();
+                if (action.equals(TopicPath.SearchAction.CREATED.getName()) || isTermination(action)) {
+                    subscriptionIdOf(new String(utf8Message, StandardCharsets.UTF_8))
+                            .ifPresent(subscriptionId -> recordSearchEvent(slot, !isTermination(action),
+                                    subscriptionId));
+                }
+            } else if (headers.isAcknowledgementRequested() || isLiveRequest(headers.getStreamingType())) {
+                headers.getCorrelationId().ifPresent(correlationId -> recordReply(correlationId, slot));
+            }
+        }
+    }
+
+    /**
+     * Remembers the connection an inbound binary message arrived on like {@link #recordInbound(Slot, byte[])}.
+     *
+     * @param slot the slot holding the WebSocket the message arrived on.
+     * @param adaptable the decoded message.
+     */
+    void recordInbound(final Slot slot, final Adaptable adaptable) {
+        if (slots.size() == 1) {
+            return;
+        }
+        final TopicPath topicPath = adaptable.getTopicPath();
+        final Optional<TopicPath.SearchAction> searchAction = topicPath.getSearchAction();
+        if (searchAction.isPresent()) {
+            final TopicPath.SearchAction action = searchAction.get();
+            if (action == TopicPath.SearchAction.CREATED || action == TopicPath.SearchAction.COMPLETE ||
+                    action == TopicPath.SearchAction.FAILED) {
+                subscriptionIdOf(adaptable).ifPresent(subscriptionId ->
+                        recordSearchEvent(slot, action == TopicPath.SearchAction.CREATED, subscriptionId));
+            }
+        } else if (!adaptable.getDittoHeaders().getAcknowledgementRequests().isEmpty() ||
+                topicPath.getChannel() == TopicPath.Channel.LIVE &&
+                        (topicPath.getCriterion() == TopicPath.Criterion.COMMANDS ||
+                                topicPath.getCriterion() == TopicPath.Criterion.MESSAGES)) {
+            adaptable.getDittoHeaders().getCorrelationId().ifPresent(correlationId -> recordReply(correlationId, slot));
+        }
+    }
+
+    /**
+     * Forgets the search subscriptions and the pending replies of the WebSocket of a slot, e.g. because the
+     * WebSocket was replaced and the backend discarded its session.
+     *
+     * @param slot the slot.
+     */
+    void forgetSession(final Slot slot) {
+        subscriptionSlots.values().removeIf(subscriptionSlot -> subscriptionSlot == slot);
+        synchronized (replySlots) {
+            replySlots.values().removeIf(replySlot -> replySlot == slot);
+        }
+    }
+
+    private void recordSearchEvent(final Slot slot, final boolean created, final String subscriptionId) {
+        if (created) {
+            subscriptionSlots.put(subscriptionId, slot);
+        } else {
+            subscriptionSlots.remove(subscriptionId);
+        }
+    }
+
+    private void recordReply(final String correlationId, final Slot slot) {
+        synchronized (replySlots) {
+            replySlots.put(correlationId, slot);
+            if (replySlots.size() > MAX_REPLY_ROUTES) {
+                final Iterator<Slot> eldest = replySlots.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    @Nullable
+    private Slot forSubscriptionCommand(final boolean cancel, final String subscriptionId) {
+        return cancel ? subscriptionSlots.remove(subscriptionId) : subscriptionSlots.get(subscriptionId);
+    }
+
+    private Slot forCorrelationId(final String correlationId) {
+        final Slot replySlot;
+        synchronized (replySlots) {
+            replySlot = replySlots.isEmpty() ? null : replySlots.get(correlationId);
+        }
+        if (null != replySlot) {
+            return replySlot;
+        }
+        return firstNotReconnecting(Math.floorMod(correlationId.hashCode(), slots.size()));
+    }
+
+    private Slot forThing(final String thing) {
+        return slots.get(Math.floorMod(thing.hashCode(), slots.size()));
+    }
+
+    private Slot firstNotReconnecting(final int preferredIndex) {
+        for (int i = 0; i < slots.size(); i++) {
+            final Slot slot = slots.get((preferredIndex + i) % slots.size());
+            if (!slot.isReconnecting()) {
+                return slot;
+            }
+        }
+        return slots.get(preferredIndex);
+    }
+
+    private static boolean isSubscriptionCommand(final String searchAction) {
+        return searchAction.equals(TopicPath.SearchAction.REQUEST.getName()) || isCancel(searchAction);
+    }
+
+    private static boolean isCancel(final String searchAction) {
+        return searchAction.equals(TopicPath.SearchAction.CANCEL.getName());
+    }
+
+    private static boolean isTermination(final String searchAction) {
+        return searchAction.equals(TopicPath.SearchAction.COMPLETE.getName()) ||
+                searchAction.equals(TopicPath.SearchAction.FAILED.getName());
+    }
+
+    private static boolean isLiveRequest(final Optional<Classification> streamingType) {
+        return streamingType.filter(type -> type == Classification.StreamingType.LIVE_COMMAND ||
+                type == Classification.StreamingType.LIVE_MESSAGE).isPresent();
+    }
+
+    private static Optional<String> subscriptionIdOf(final String message) {
+        try {
+            return JsonObject.of(message).getValue(VALUE_SUBSCRIPTION_ID)
+                    .filter(JsonValue::isString)
+                    .map(JsonValue::asString);
+        } catch (final RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> subscriptionIdOf(final Adaptable adaptable) {
+        return adaptable.getPayload()
+                .getValue()
+                .filter(JsonValue::isObject)
+                .flatMap(value -> value.asObject().getValue(SUBSCRIPTION_ID))
+                .filter(JsonValue::isString)
+                .map(JsonValue::asString);
+    }
+
+    private static String thingOfTopic(final String topic) {
+        final int namespaceEnd = topic.indexOf('/');
+        final int nameEnd = namespaceEnd < 0 ? -1 : topic.indexOf('/', namespaceEnd + 1);
+        return nameEnd < 0 ? topic : topic.substring(0, nameEnd);
+    }
+
+    /**
+     * One WebSocket connection of the pool together with its connection state.
+     */
+    static final class Slot {
+
+        private final int index;
+        private final AtomicReference<WebSocket> webSocket;
+        private final AtomicBoolean reconnecting;
+        private final AtomicInteger reconnectAttempts;
+        private final AtomicBoolean binaryFramesNegotiated;
+        private final AtomicReference<CompressionMonitor> compressionMonitor;
+        private final AtomicReference<Standby> standby;
+        private final AtomicBoolean connectingStandby;
+        private final CompletableFuture<WebSocket> initializationFuture;
+
+        private Slot(final int index) {
+            this.index = index;
+            webSocket = new AtomicReference<>();
+            reconnecting = new AtomicBoolean(false);
+            reconnectAttempts = new AtomicInteger(0);
+            binaryFramesNegotiated = new AtomicBoolean(false);
+            compressionMonitor = new AtomicReference<>();
+            standby = new AtomicReference<>();
+            connectingStandby = new AtomicBoolean(false);
+            initializationFuture = new CompletableFuture<>();
+        }
+
+        /**
+         * @return the index of this slot in the pool.
+         */
+        int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the current WebSocket of this slot or {@code null} if none was created yet.
+         */
+        @Nullable
+        WebSocket getWebSocket() {
+            return webSocket.get();
+        }
+
+        /**
+         * Replaces the WebSocket of this slot.
+         *
+         * @param newWebSocket the new WebSocket.
+         * @return the previous WebSocket or {@code null}.
+         */
+        @Nullable
+        WebSocket setWebSocket(final WebSocket newWebSocket) {
+            return webSocket.getAndSet(newWebSocket);
+        }
+
+        /**
+         * @return whether the WebSocket of this slot is currently open.
+         */
+        boolean isOpen() {
+            final WebSocket ws = webSocket.get();
+            return ws != null && ws.isOpen();
+        }
+
+        /**
+         * @return whether this slot is reconnecting.
+         */
+        boolean isReconnecting() {
+            return reconnecting.get();
+        }
+
+        /**
+         * Marks this slot as reconnecting.
+         *
+         * @return {@code true} if this slot was not reconnecting before.
+         */
+        boolean startReconnecting() {
+            return reconnecting.compareAndSet(false, true);
+        }
+
+        /**
+         * Marks the reconnection of this slot as finished.
+         */
+        void stopReconnecting() {
+            reconnecting.set(false);
+        }
+
+        /**
+         * Counts an attempt to reconnect this slot.
+         *
+         * @return the number of attempts since this slot was last connected, starting with 1.
+         */
+        int nextReconnectAttempt() {
+            return reconnectAttempts.incrementAndGet();
+        }
+
+        /**
+         * Resets the attempts to reconnect this slot once it is connected.
+         */
+        void resetReconnectAttempts() {
+            reconnectAttempts.set(0);
+        }
+
+        /**
+         * @return whether the peer of the current WebSocket accepted binary frames.
+         */
+        boolean isBinaryFramesNegotiated() {
+            return binaryFramesNegotiated.get();
+        }
+
+        /**
+         * Sets whether the peer of the current WebSocket accepted binary frames.
+         *
+         * @param negotiated whether binary frames were negotiated.
+         */
+        void setBinaryFramesNegotiated(final boolean negotiated) {
+            binaryFramesNegotiated.set(negotiated);
+        }
+
+        /**
+         * @return the compression monitor of the current WebSocket or {@code null} if compression is not offered.
+         */
+        @Nullable
+        CompressionMonitor getCompressionMonitor() {
+            return compressionMonitor.get();
+        }
+
+        /**
+         * Sets the compression monitor of the WebSocket which is about to become the current one.
+         *
+         * @param newCompressionMonitor the monitor or {@code null} if compression is not offered.
+         * @return the previous monitor or {@code null}.
+         */
+        @Nullable
+        CompressionMonitor setCompressionMonitor(@Nullable final CompressionMonitor newCompressionMonitor) {
+            return compressionMonitor.getAndSet(newCompressionMonitor);
+        }
+
+        /**
+         * Sets the connected standby WebSocket of this slot.
+         *
+         * @param newStandby the standby WebSocket.
+         */
+        void setStandby(final Standby newStandby) {
+            standby.set(newStandby);
+        }
+
+        /**
+         * Removes the standby WebSocket from this slot in order to let it take over the connection.
+         *
+         * @return the standby WebSocket or {@code null} if this slot has none.
+         */
+        @Nullable
+        Standby takeStandby() {
+            return standby.getAndSet(null);
+        }
+
+        /**
+         * Removes the passed standby WebSocket from this slot if it was not taken over in the meantime.
+         *
+         * @param standbyWebSocket the standby WebSocket.
+         * @return whether the WebSocket was the standby WebSocket of this slot.
+         */
+        boolean removeStandby(final WebSocket standbyWebSocket) {
+            final Standby current = standby.get();
+            return null != current && current.getWebSocket() == standbyWebSocket &&
+                    standby.compareAndSet(current, null);
+        }
+
+        /**
+         * Marks this slot as connecting a standby WebSocket.
+         *
+         * @return {@code true} if this slot has no standby WebSocket and was not connecting one before.
+         */
+        boolean startConnectingStandby() {
+            return null == standby.get() && connectingStandby.compareAndSet(false, true);
+        }
+
+        /**
+         * Marks the connection attempts of the standby WebSocket as finished.
+         */
+        void stopConnectingStandby() {
+            connectingStandby.set(false);
+        }
+
+        /**
+         * @return the future completed by the initial connection of this slot.
+         */
+        CompletableFuture<WebSocket> getInitializationFuture() {
+            return initializationFuture;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "index=" + index +
+                    ", webSocket=" + webSocket.get() +
+                    ", reconnecting=" + reconnecting.get() +
+                    ", standby=" + standby.get() +
+                    "]";
+        }
+
+    }
+
+    /**
+     * A connected WebSocket kept in reserve to take over the connection of a slot, together with the listener it
+     * is observed by until then and the headers of its handshake response.
+     */
+    static final class Standby {
+
+        private final WebSocket webSocket;
+        private final WebSocketListener listener;
+        private final Map<String, List<String>> handshakeHeaders;
+
+        Standby(final WebSocket webSocket, final WebSocketListener listener,
+                final Map<String, List<String>> handshakeHeaders) {
+            this.webSocket = webSocket;
+            this.listener = listener;
+            this.handshakeHeaders = handshakeHeaders;
+        }
+
+        /**
+         * @return the standby WebSocket.
+         */
+        WebSocket getWebSocket() {
+            return webSocket;
+        }
+
+        /**
+         * @return the listener observing the WebSocket while it is in reserve.
+         */
+        WebSocketListener getListener() {
+            return listener;
+        }
+
+        /**
+         * @return the headers of the handshake response of the WebSocket.
+         */
+        Map<String, List<String>> getHandshakeHeaders() {
+            return handshakeHeaders;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "webSocket=" + webSocket +
+                    "]";
+        }
+
+    }
+
+}
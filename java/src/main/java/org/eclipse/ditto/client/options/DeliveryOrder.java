@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.options;
+
+/**
+ * The order in which the messages, events and commands of a consumption are delivered to the registered handlers.
+ *
+ * @since 3.2.0
+ */
+public enum DeliveryOrder {
+
+    /**
+     * Deliver each message as soon as possible, in parallel to the other messages. Messages may reach the handlers
+     * in another order than the one they were received in. This is the default.
+     */
+    UNORDERED,
+
+    /**
+     * Deliver the messages about the same entity, e.g. the same thing, one after another in the order they were
+     * received in. Messages about different entities are delivered in parallel.
+     */
+    PER_ENTITY,
+
+    /**
+     * Deliver all messages one after another in the order they were received in.
+     */
+    SEQUENTIAL
+
+}
@@ -127,7 +127,37 @@ public interface OptionName extends Predicate<Object> {
         /**
          * Name of the option for selecting extra fields for events to be delivered to this client.
          */
-        EXTRA_FIELDS
+        EXTRA_FIELDS,
+
+        /**
+         * Name of the option for defining the order in which the consumed messages are delivered to the handlers.
+         *
+         * @since 3.2.0
+         */
+        DELIVERY_ORDER,
+
+        /**
+         * Name of the option for defining the capacity of the mailbox of consumed messages not yet delivered to the
+         * handlers.
+         *
+         * @since 3.2.0
+         */
+        MAILBOX_CAPACITY,
+
+        /**
+         * Name of the option for defining what to do with a consumed message if the mailbox is full.
+         *
+         * @since 3.2.0
+         */
+        OVERFLOW_POLICY,
+
+        /**
+         * Name of the option for suppressing twin events whose revision is not newer than the last one of their
+         * Thing.
+         *
+         * @since 3.2.0
+         */
+        SUPPRESS_DUPLICATE_EVENTS
 
     }
 
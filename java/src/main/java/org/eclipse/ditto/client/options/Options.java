@@ -240,6 +240,100 @@ public final class Options {
             return DefaultOption.newInstance(OptionName.Consumption.EXTRA_FIELDS, jsonFieldSelector);
         }
 
+        /**
+         * Creates an option for specifying the order in which the consumed messages, events and live commands are
+         * delivered to the registered handlers.
+         * <p>
+         * This option is only applied by the client and not sent to the backend.
+         * </p>
+         * <p>
+         * If this Option is not specified, messages are delivered in parallel as soon as possible, see
+         * {@link DeliveryOrder#UNORDERED}.
+         * </p>
+         *
+         * @param deliveryOrder the order in which to deliver the consumed messages.
+         * @return the new option.
+         * @since 3.2.0
+         */
+        public static Option<DeliveryOrder> deliveryOrder(final DeliveryOrder deliveryOrder) {
+            return DefaultOption.newInstance(OptionName.Consumption.DELIVERY_ORDER, deliveryOrder);
+        }
+
+        /**
+         * Creates an option for specifying how many consumed messages, events and live commands may wait for being
+         * delivered to the registered handlers. Each consumption subscription, e.g. the one for live messages, has a
+         * mailbox of this capacity.
+         * <p>
+         * This option is only applied by the client and not sent to the backend.
+         * </p>
+         * <p>
+         * If this Option is not specified, the mailbox is unbounded and no message is dropped. Messages dropped from a
+         * bounded mailbox are counted in the {@link org.eclipse.ditto.client.management.MailboxStatistics} and logged
+         * as a warning at most every 10 seconds.
+         * </p>
+         *
+         * @param mailboxCapacity the capacity of the mailbox.
+         * @return the new option.
+         * @throws IllegalArgumentException if {@code mailboxCapacity} is not positive.
+         * @see #overflowPolicy(OverflowPolicy)
+         * @since 3.2.0
+         */
+        public static Option<Integer> mailboxCapacity(final int mailboxCapacity) {
+            ConditionChecker.checkArgument(mailboxCapacity, capacity -> capacity > 0,
+                    () -> "The mailboxCapacity must be positive but was " + mailboxCapacity + ".");
+            return DefaultOption.newInstance(OptionName.Consumption.MAILBOX_CAPACITY, mailboxCapacity);
+        }
+
+        /**
+         * Creates an option for specifying what to do with a consumed message if the mailbox of its subscription is
+         * full.
+         * <p>
+         * This option is only applied by the client and not sent to the backend.
+         * </p>
+         * <p>
+         * The policy only applies to mailboxes whose capacity was specified via {@link #mailboxCapacity(int)}. If this
+         * Option is not specified, the oldest message in the mailbox is dropped, see {@link OverflowPolicy#DROP_OLDEST}.
+         * </p>
+         *
+         * @param overflowPolicy the overflow policy.
+         * @return the new option.
+         * @see #mailboxCapacity(int)
+         * @since 3.2.0
+         */
+        public static Option<OverflowPolicy> overflowPolicy(final OverflowPolicy overflowPolicy) {
+            return DefaultOption.newInstance(OptionName.Consumption.OVERFLOW_POLICY, overflowPolicy);
+        }
+
+        /**
+         * Creates an option for dropping twin events whose revision is not newer than the last event received for
+         * their Thing, e.g. events received twice because of overlapping consumption filters or because they were
+         * replayed after a reconnect.
+         * <p>
+         * This option is only applied by the client and not sent to the backend.
+         * </p>
+         * <p>
+         * The last revisions of at most {@code thingCapacity} Things are remembered in a table of fixed size. If it
+         * is full, the least recently seen Things are forgotten, and their next events are passed on in any case.
+         * If this Option is not specified, no events are dropped.
+         * </p>
+         * <p>
+         * The revisions are checked in the order the events were received in, so the twin events of the same Thing
+         * are delivered one after another: {@link DeliveryOrder#UNORDERED} is replaced by
+         * {@link DeliveryOrder#PER_ENTITY} for twin events while this Option is set.
+         * </p>
+         *
+         * @param thingCapacity the maximum number of Things whose last revision is remembered.
+         * @return the new option.
+         * @throws IllegalArgumentException if {@code thingCapacity} is not positive or greater than 2^30.
+         * @see org.eclipse.ditto.client.management.CommonManagement#getDuplicateSuppressionStatistics()
+         * @since 3.2.0
+         */
+        public static Option<Integer> suppressDuplicateEvents(final int thingCapacity) {
+            ConditionChecker.checkArgument(thingCapacity, capacity -> capacity > 0 && capacity <= 1 << 30,
+                    () -> "The thingCapacity must be between 1 and 2^30 but was " + thingCapacity + ".");
+            return DefaultOption.newInstance(OptionName.Consumption.SUPPRESS_DUPLICATE_EVENTS, thingCapacity);
+        }
+
     }
 
 }
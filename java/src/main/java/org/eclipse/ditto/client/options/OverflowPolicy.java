@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.options;
+
+/**
+ * What to do with a consumed message if the mailbox of its subscription is full, i.e. if the handlers did not keep
+ * up with the messages received before.
+ *
+ * @since 3.2.0
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Wait until the handlers took a message from the mailbox, but at most 10 seconds before dropping the message.
+     * This blocks the thread receiving the messages of the client and therefore slows down all subscriptions.
+     */
+    BLOCK,
+
+    /**
+     * Drop the message which did not fit into the mailbox anymore.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Drop the oldest message in the mailbox to make room for the new one. This is the default for mailboxes with a
+     * capacity.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Drop the message and end the subscription, so that no further messages are delivered to its handlers.
+     */
+    FAIL
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.options.internal;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.options.DeliveryOrder;
+import org.eclipse.ditto.client.options.Option;
+import org.eclipse.ditto.client.options.OptionName;
+
+/**
+ * This visitor fetches and provides the value as {@code DeliveryOrder} for the option with name {@link
+ * OptionName.Consumption#DELIVERY_ORDER} from the user provided options.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class DeliveryOrderOptionVisitor extends AbstractOptionVisitor<DeliveryOrder> {
+
+    /**
+     * Constructs a new {@code DeliveryOrderOptionVisitor} object.
+     */
+    DeliveryOrderOptionVisitor() {
+        super(OptionName.Consumption.DELIVERY_ORDER);
+    }
+
+    @Override
+    protected DeliveryOrder getValueFromOption(final Option<?> option) {
+        return option.getValueAs(DeliveryOrder.class);
+    }
+
+}
@@ -17,7 +17,9 @@ import java.util.Optional;
 import javax.annotation.concurrent.Immutable;
 
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.client.options.DeliveryOrder;
 import org.eclipse.ditto.client.options.Option;
+import org.eclipse.ditto.client.options.OverflowPolicy;
 import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.policies.model.PolicyId;
 import org.eclipse.ditto.things.model.ThingId;
@@ -226,6 +228,46 @@ public final class OptionsEvaluator {
             return getValue(new ExtraFieldsOptionVisitor());
         }
 
+        /**
+         * Returns the order in which the consumed messages are delivered to the handlers.
+         *
+         * @return the order in which the consumed messages are delivered to the handlers.
+         * @since 3.2.0
+         */
+        public Optional<DeliveryOrder> getDeliveryOrder() {
+            return getValue(new DeliveryOrderOptionVisitor());
+        }
+
+        /**
+         * Returns the capacity of the mailbox of consumed messages not yet delivered to the handlers.
+         *
+         * @return the capacity of the mailbox.
+         * @since 3.2.0
+         */
+        public Optional<Integer> getMailboxCapacity() {
+            return getValue(new MailboxCapacityOptionVisitor());
+        }
+
+        /**
+         * Returns what to do with a consumed message if the mailbox is full.
+         *
+         * @return the overflow policy.
+         * @since 3.2.0
+         */
+        public Optional<OverflowPolicy> getOverflowPolicy() {
+            return getValue(new OverflowPolicyOptionVisitor());
+        }
+
+        /**
+         * Returns the maximum number of Things whose last revision is remembered for suppressing duplicate events.
+         *
+         * @return the capacity of the duplicate suppression.
+         * @since 3.2.0
+         */
+        public Optional<Integer> getDuplicateSuppressionCapacity() {
+            return getValue(new SuppressDuplicateEventsOptionVisitor());
+        }
+
     }
 
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.options.internal;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.options.Option;
+import org.eclipse.ditto.client.options.OptionName;
+import org.eclipse.ditto.client.options.OverflowPolicy;
+
+/**
+ * This visitor fetches and provides the value as {@code OverflowPolicy} for the option with name {@link
+ * OptionName.Consumption#OVERFLOW_POLICY} from the user provided options.
+ *
+ * @since 3.2.0
+ */
+@ThreadSafe
+final class OverflowPolicyOptionVisitor extends AbstractOptionVisitor<OverflowPolicy> {
+
+    /**
+     * Constructs a new {@code OverflowPolicyOptionVisitor} object.
+     */
+    OverflowPolicyOptionVisitor() {
+        super(OptionName.Consumption.OVERFLOW_POLICY);
+    }
+
+    @Override
+    protected OverflowPolicy getValueFromOption(final Option<?> option) {
+        return option.getValueAs(OverflowPolicy.class);
+    }
+
+}
@@ -24,7 +24,9 @@ import static org.eclipse.ditto.client.assertions.ClientAssertions.assertThat;
 
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
 
@@ -302,12 +304,39 @@ public final class DittoClientThingTest extends AbstractDittoClientThingsTest {
         assertThat(latch.await(TIMEOUT, TIME_UNIT)).isTrue();
     }
 
+    @Test
+    public void duplicateSuppressionDeliversEveryNewerRevisionOfEventsReceivedInOrder() throws Exception {
+        final int eventCount = 1000;
+        final List<Long> revisions = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(eventCount);
+
+        getManagement().startConsumption(Options.Consumption.suppressDuplicateEvents(100));
+        getManagement().registerForThingChanges("test", change -> {
+            revisions.add(change.getRevision());
+            latch.countDown();
+        });
+
+        // the events of the Thing are handed to the parallel threads of the bus one right after the other
+        for (int revision = 1; revision <= eventCount; revision++) {
+            messaging.receiveEvent(createThingDeletedMessage(revision));
+        }
+
+        assertThat(latch.await(TIMEOUT * 10L, TIME_UNIT)).isTrue();
+        assertThat(revisions).hasSize(eventCount).isSorted();
+        assertThat(getManagement().getDuplicateSuppressionStatistics())
+                .hasValueSatisfying(statistics -> assertThat(statistics.getHitCount()).isZero());
+    }
+
     private Message<ThingEvent> createThingDeletedMessage() {
+        return createThingDeletedMessage(1L);
+    }
+
+    private Message<ThingEvent> createThingDeletedMessage(final long revision) {
         final MessageHeaders messageHeaders =
                 MessageHeaders.newBuilder(MessageDirection.FROM, THING_ID, ThingDeleted.TYPE).build();
 
         return MessagesModelFactory.<ThingEvent>newMessageBuilder(messageHeaders)
-                .payload(ThingDeleted.of(THING_ID, 1, Instant.now(), headersWithChannel(), null))
+                .payload(ThingDeleted.of(THING_ID, revision, Instant.now(), headersWithChannel(), null))
                 .build();
     }
 
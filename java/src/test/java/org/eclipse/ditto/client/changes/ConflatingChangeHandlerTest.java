@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.things.model.ThingId;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ConflatingChangeHandler}.
+ */
+public final class ConflatingChangeHandlerTest {
+
+    private static final JsonPointer DENSITY =
+            JsonPointer.of("/things/org.eclipse.ditto:thing/features/smokeDetector/properties/density");
+    private static final JsonPointer TEMPERATURE =
+            JsonPointer.of("/things/org.eclipse.ditto:thing/features/smokeDetector/properties/temperature");
+
+    @Test
+    public void deliversOnCallingThreadIfHandlerIsFree() {
+        final List<Change> delivered = new ArrayList<>();
+        final ConflatingChangeHandler<Change> underTest = ConflatingChangeHandler.latestValue(delivered::add);
+        final Change change = mockChange("/features/smokeDetector/properties/density");
+
+        underTest.accept(change);
+
+        assertThat(delivered).containsExactly(change);
+        assertThat(underTest.getDeliveredCount()).isEqualTo(1L);
+        assertThat(underTest.getConflatedCount()).isZero();
+        assertThat(underTest.getPendingCount()).isZero();
+    }
+
+    @Test
+    public void keepsOnlyLatestPendingChangePerLocationWhileHandlerIsBusy() throws InterruptedException {
+        final CountDownLatch handlerBusy = new CountDownLatch(1);
+        final CountDownLatch releaseHandler = new CountDownLatch(1);
+        final List<Change> delivered = new ArrayList<>();
+        final ConflatingChangeHandler<Change> underTest = ConflatingChangeHandler.latestValue(change -> {
+            delivered.add(change);
+            handlerBusy.countDown();
+            try {
+                releaseHandler.await(10L, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final Change first = mock(Change.class);
+        final Change latestDensity = mock(Change.class);
+        final Change latestTemperature = mock(Change.class);
+        final AtomicInteger builtChanges = new AtomicInteger();
+
+        final Thread deliveringThread = new Thread(() -> underTest.offer(DENSITY, () -> first));
+        deliveringThread.start();
+        assertThat(handlerBusy.await(10L, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 10; i++) {
+            underTest.offer(DENSITY, () -> {
+                builtChanges.incrementAndGet();
+                return mock(Change.class);
+            });
+        }
+        underTest.offer(TEMPERATURE, () -> latestTemperature);
+        underTest.offer(DENSITY, () -> latestDensity);
+        assertThat(underTest.getPendingCount()).isEqualTo(2);
+
+        releaseHandler.countDown();
+        deliveringThread.join(10_000L);
+
+        assertThat(delivered).containsExactly(first, latestDensity, latestTemperature);
+        assertThat(builtChanges).hasValue(0);
+        assertThat(underTest.getDeliveredCount()).isEqualTo(3L);
+        assertThat(underTest.getConflatedCount()).isEqualTo(10L);
+        assertThat(underTest.getPendingCount()).isZero();
+    }
+
+    @Test
+    public void failingHandlerDoesNotStopDelivery() {
+        final List<Change> delivered = new ArrayList<>();
+        final ConflatingChangeHandler<Change> underTest = ConflatingChangeHandler.latestValue(change -> {
+            if (delivered.isEmpty()) {
+                delivered.add(change);
+                throw new IllegalStateException("handler failed");
+            }
+            delivered.add(change);
+        });
+        final Change first = mock(Change.class);
+        final Change second = mock(Change.class);
+
+        underTest.offer(DENSITY, () -> first);
+        underTest.offer(DENSITY, () -> second);
+
+        assertThat(delivered).containsExactly(first, second);
+        assertThat(underTest.getDeliveredCount()).isEqualTo(2L);
+    }
+
+    private static Change mockChange(final String path) {
+        final Change change = mock(Change.class);
+        when(change.getEntityId()).thenReturn(ThingId.of("org.eclipse.ditto:thing"));
+        when(change.getPath()).thenReturn(JsonPointer.of(path));
+        return change;
+    }
+
+}
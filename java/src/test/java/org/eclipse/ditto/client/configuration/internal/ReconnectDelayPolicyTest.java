@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import org.eclipse.ditto.client.configuration.ReconnectDelayPolicy;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link org.eclipse.ditto.client.configuration.ReconnectDelayPolicy}.
+ */
+public final class ReconnectDelayPolicyTest {
+
+    @Test
+    public void fixedPolicyAlwaysReturnsTheSameDelay() {
+        final ReconnectDelayPolicy underTest = ReconnectDelayPolicy.fixed(Duration.ofSeconds(5L));
+
+        assertThat(underTest.getDelay(1)).isEqualTo(Duration.ofSeconds(5L));
+        assertThat(underTest.getDelay(100)).isEqualTo(Duration.ofSeconds(5L));
+    }
+
+    @Test
+    public void exponentialBackoffWithoutJitterDoublesUpToTheMaximum() {
+        final ReconnectDelayPolicy underTest =
+                ReconnectDelayPolicy.exponentialBackoff(Duration.ofMillis(100L), Duration.ofSeconds(1L), 0.0);
+
+        assertThat(underTest.getDelay(1)).isEqualTo(Duration.ofMillis(100L));
+        assertThat(underTest.getDelay(2)).isEqualTo(Duration.ofMillis(200L));
+        assertThat(underTest.getDelay(4)).isEqualTo(Duration.ofMillis(800L));
+        assertThat(underTest.getDelay(5)).isEqualTo(Duration.ofSeconds(1L));
+        assertThat(underTest.getDelay(Integer.MAX_VALUE)).isEqualTo(Duration.ofSeconds(1L));
+    }
+
+    @Test
+    public void jitterShortensTheDelaysByAtMostTheJitterFraction() {
+        final ReconnectDelayPolicy underTest =
+                ReconnectDelayPolicy.exponentialBackoff(Duration.ofSeconds(1L), Duration.ofSeconds(1L), 0.5);
+
+        final long distinctDelays = IntStream.range(0, 100)
+                .mapToObj(i -> underTest.getDelay(1))
+                .peek(delay -> assertThat(delay).isBetween(Duration.ofMillis(500L), Duration.ofSeconds(1L)))
+                .distinct()
+                .count();
+        assertThat(distinctDelays).isGreaterThan(1L);
+    }
+
+    @Test
+    public void invalidArgumentsAreRejected() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ReconnectDelayPolicy.fixed(Duration.ofSeconds(-1L)));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ReconnectDelayPolicy.exponentialBackoff(Duration.ofSeconds(2L),
+                        Duration.ofSeconds(1L), 0.0));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ReconnectDelayPolicy.exponentialBackoff(Duration.ofSeconds(1L),
+                        Duration.ofSeconds(2L), 1.5));
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RevisionDeduplicator}.
+ */
+public final class RevisionDeduplicatorTest {
+
+    private static final String NAMESPACE = "org.eclipse.ditto";
+
+    @Test
+    public void dropsEventsWhoseRevisionIsNotNewer() {
+        final RevisionDeduplicator underTest = new RevisionDeduplicator(16);
+
+        assertThat(underTest.isNew(NAMESPACE, "thing-1", 1L)).isTrue();
+        assertThat(underTest.isNew(NAMESPACE, "thing-1", 2L)).isTrue();
+        assertThat(underTest.isNew(NAMESPACE, "thing-1", 2L)).isFalse();
+        assertThat(underTest.isNew(NAMESPACE, "thing-1", 1L)).isFalse();
+        assertThat(underTest.isNew(NAMESPACE, "thing-2", 1L)).isTrue();
+
+        assertThat(underTest.getHitCount()).isEqualTo(2L);
+        assertThat(underTest.getMissCount()).isEqualTo(3L);
+        assertThat(underTest.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void hashesThingIdsWithoutCollidingOnSimilarIds() {
+        assertThat(RevisionDeduplicator.hash(NAMESPACE, "thing-1"))
+                .isNotEqualTo(RevisionDeduplicator.hash(NAMESPACE, "thing-2"));
+        assertThat(RevisionDeduplicator.hash("org.eclipse", "ditto:thing-1"))
+                .isNotEqualTo(RevisionDeduplicator.hash(NAMESPACE, "thing-1"));
+    }
+
+    @Test
+    public void thingsWithCollidingHashesDoNotShareARevision() {
+        final RevisionDeduplicator underTest = new RevisionDeduplicator(16);
+        final long collidingHash = 42L;
+
+        assertThat(underTest.isNew(collidingHash, NAMESPACE, "thing-1", 5L)).isTrue();
+        assertThat(underTest.isNew(collidingHash, NAMESPACE, "thing-2", 3L)).isTrue();
+        assertThat(underTest.isNew(collidingHash, "org.eclipse", "thing-1", 1L)).isTrue();
+        assertThat(underTest.isNew(collidingHash, NAMESPACE, "thing-1", 5L)).isFalse();
+
+        assertThat(underTest.getSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void staysBoundedAndForgetsLeastRecentlySeenThings() {
+        final RevisionDeduplicator underTest = new RevisionDeduplicator(1_000);
+        for (int i = 0; i < 100_000; i++) {
+            underTest.isNew(NAMESPACE, "thing-" + i, 1L);
+        }
+
+        assertThat(underTest.getCapacity()).isEqualTo(1_024);
+        assertThat(underTest.getSize()).isEqualTo(1_024);
+        assertThat(underTest.getEvictionCount()).isEqualTo(100_000L - 1_024L);
+        assertThat(underTest.getMissCount()).isEqualTo(100_000L);
+        // a forgotten thing's event is passed on, a recently seen thing's duplicate is not
+        assertThat(underTest.isNew(NAMESPACE, "thing-0", 1L)).isTrue();
+        assertThat(underTest.isNew(NAMESPACE, "thing-99999", 1L)).isFalse();
+    }
+
+    @Test
+    public void remembersRecentlySeenThingsWhileOthersAreEvicted() {
+        final RevisionDeduplicator underTest = new RevisionDeduplicator(64);
+        underTest.isNew(NAMESPACE, "hot", 1L);
+        for (int i = 0; i < 10_000; i++) {
+            underTest.isNew(NAMESPACE, "cold-" + i, 1L);
+            underTest.isNew(NAMESPACE, "hot", 1L);
+        }
+
+        assertThat(underTest.isNew(NAMESPACE, "hot", 1L)).isFalse();
+        assertThat(underTest.getHitCount()).isEqualTo(10_001L);
+    }
+
+    @Test
+    public void passesEachRevisionOnceWhenThingsAreUpdatedConcurrently() throws InterruptedException {
+        final RevisionDeduplicator underTest = new RevisionDeduplicator(1_024);
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                // every thread publishes the same events, so each one has to be passed on exactly once
+                for (long revision = 1L; revision <= 100L; revision++) {
+                    for (int i = 0; i < 100; i++) {
+                        underTest.isNew(NAMESPACE, "thing-" + i, revision);
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10L, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(underTest.getMissCount()).isEqualTo(100L * 100L);
+        assertThat(underTest.getHitCount()).isEqualTo((threads - 1L) * 100L * 100L);
+    }
+
+}
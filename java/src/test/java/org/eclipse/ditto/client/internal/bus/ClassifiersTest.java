@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link Classifiers} and the {@link Classification}s they create.
+ */
+public final class ClassifiersTest {
+
+    private static final Adaptable TWIN_EVENT = adaptable("{\"topic\":\"org.eclipse.ditto/thing-1/things/twin/" +
+            "events/modified\",\"headers\":{\"correlation-id\":\"cid-1\"},\"path\":\"/attributes/a\",\"value\":1}");
+    private static final Adaptable LIVE_MESSAGE = adaptable("{\"topic\":\"org.eclipse.ditto/thing-2/things/live/" +
+            "messages/hello\",\"headers\":{\"Correlation-ID\":\"cid-2\"},\"path\":\"/inbox/messages/hello\"," +
+            "\"value\":\"hi\"}");
+    private static final Adaptable SEARCH_NEXT = adaptable("{\"topic\":\"_/_/things/twin/search/next\"," +
+            "\"headers\":{},\"path\":\"/\",\"value\":{\"subscriptionId\":\"sub-1\",\"items\":[]}}");
+    private static final Adaptable ERROR = adaptable("{\"topic\":\"org.eclipse.ditto/thing-3/things/twin/errors\"," +
+            "\"headers\":{\"correlation-id\":\"cid-3\"},\"path\":\"/\"," +
+            "\"value\":{\"status\":404,\"error\":\"things:thing.notfound\"},\"status\":404}");
+
+    @Test
+    public void classifyOrNullAgreesWithClassify() {
+        final List<Classifier<Adaptable>> classifiers = Arrays.asList(Classifiers.correlationId(),
+                Classifiers.streamingType(), Classifiers.thingsSearch(), Classifiers.errors(),
+                Classifiers.errorCode());
+        for (final Adaptable adaptable : Arrays.asList(TWIN_EVENT, LIVE_MESSAGE, SEARCH_NEXT, ERROR)) {
+            for (final Classifier<Adaptable> classifier : classifiers) {
+                assertThat(classifier.classify(adaptable)).as(adaptable.toString())
+                        .isEqualTo(Optional.ofNullable(classifier.classifyOrNull(adaptable)));
+            }
+        }
+    }
+
+    @Test
+    public void classifiesBuiltInTags() {
+        assertThat(Classifiers.correlationId().classifyOrNull(LIVE_MESSAGE))
+                .isEqualTo(Classification.forCorrelationId("cid-2"));
+        assertThat(Classifiers.correlationId().classifyOrNull(SEARCH_NEXT)).isNull();
+        assertThat(Classifiers.streamingType().classifyOrNull(TWIN_EVENT))
+                .isEqualTo(Classification.StreamingType.TWIN_EVENT);
+        assertThat(Classifiers.thingsSearch().classifyOrNull(SEARCH_NEXT))
+                .isEqualTo(Classification.forThingsSearch("sub-1"));
+        assertThat(Classifiers.errors().classifyOrNull(ERROR)).isSameAs(Classification.forErrors());
+        assertThat(Classifiers.errorCode().classifyOrNull(ERROR))
+                .isEqualTo(Classification.forErrorCode("things:thing.notfound"));
+    }
+
+    @Test
+    public void literalsOfSameKindAndValueAreEqual() {
+        assertThat(Classification.forCorrelationId("x")).isEqualTo(Classification.forCorrelationId("x"))
+                .hasSameHashCodeAs(Classification.forCorrelationId("x"))
+                .isNotEqualTo(Classification.forThingsSearch("x"))
+                .isNotEqualTo(Classification.forCorrelationId("y"));
+        assertThat(Classification.forErrors()).isSameAs(Classification.forErrors());
+    }
+
+    private static Adaptable adaptable(final String json) {
+        return ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(json));
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of classifying inbound messages in {@link DefaultAdaptableBus}. The messages have no subscriber, so that
+ * the benchmark measures classification and subscriber lookup only. Run {@link #main(String[])} after
+ * {@code mvn test-compile} to get the allocated bytes per message as {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultAdaptableBusBenchmark {
+
+    private static final String TWIN_EVENT = "{\"topic\":\"org.eclipse.ditto/thing-1/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"cid-1\",\"content-type\":\"application/json\"}," +
+            "\"path\":\"/attributes/location\",\"value\":{\"lat\":47.68,\"lon\":9.38},\"revision\":3}";
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+    private AdaptableBus adaptableBus;
+    private Adaptable twinEvent;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        adaptableBus = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        // a pending command and a live message subscription, neither of which matches the twin event
+        adaptableBus.subscribeOnceForAdaptable(Classification.forCorrelationId("pending-command"),
+                Duration.ofHours(1L));
+        adaptableBus.subscribeForAdaptable(Classification.StreamingType.LIVE_MESSAGE, adaptable -> {});
+        twinEvent = ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(TWIN_EVENT));
+    }
+
+    @TearDown
+    public void tearDown() {
+        adaptableBus.shutdownExecutors();
+    }
+
+    @Benchmark
+    public void publishAdaptableWithoutSubscriber() {
+        adaptableBus.publishAdaptable(twinEvent);
+    }
+
+    @Benchmark
+    public Classification classifyCorrelationId() {
+        return Classifiers.correlationId().classifyOrNull(twinEvent);
+    }
+
+    @Benchmark
+    public Classification classifyStreamingType() {
+        return Classifiers.streamingType().classifyOrNull(twinEvent);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DefaultAdaptableBusBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ditto.client.messaging.InFlightRequest;
+import org.eclipse.ditto.client.options.DeliveryOrder;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link DefaultAdaptableBus}.
+ */
+public final class DefaultAdaptableBusTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(1L);
+
+    private final AtomicInteger scheduledTimeouts = new AtomicInteger();
+    private final AtomicInteger cancelledTimeouts = new AtomicInteger();
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+    private AdaptableBus underTest;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        final TimeoutScheduler countingTimeoutScheduler = (task, delay) -> {
+            scheduledTimeouts.incrementAndGet();
+            return () -> {
+                cancelledTimeouts.incrementAndGet();
+                return true;
+            };
+        };
+        underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor, countingTimeoutScheduler);
+    }
+
+    @After
+    public void tearDown() {
+        underTest.shutdownExecutors();
+    }
+
+    @Test
+    public void listsWaitingRequestsByCorrelationId() throws InterruptedException {
+        underTest.subscribeOnceForAdaptable(Classification.forCorrelationId("cid-1"), TIMEOUT);
+        TimeUnit.MILLISECONDS.sleep(2L);
+        underTest.subscribeOnceForAdaptable(Classification.forCorrelationId("cid-2"), TIMEOUT);
+        underTest.subscribeOnceForString(Classification.forString("START-SEND-EVENTS:ACK"), TIMEOUT);
+
+        assertThat(underTest.getInFlightRequests())
+                .extracting(InFlightRequest::getCorrelationId)
+                .containsExactly("cid-1", "cid-2");
+        assertThat(underTest.getInFlightRequests().get(0).getAge())
+                .isGreaterThanOrEqualTo(underTest.getInFlightRequests().get(1).getAge());
+    }
+
+    @Test
+    public void subscriptionsWithoutMailboxCapacityAreUnbounded() {
+        final AdaptableBus.SubscriptionId withoutOrder =
+                underTest.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, adaptable -> {});
+        final AdaptableBus.SubscriptionId withOrder = underTest.subscribeForAdaptable(
+                Classification.StreamingType.LIVE_EVENT, DeliveryOrder.PER_ENTITY, adaptable -> {});
+
+        assertThat(underTest.getMailboxStatistics(withoutOrder)).isEmpty();
+        assertThat(underTest.getMailboxStatistics(withOrder))
+                .hasValueSatisfying(mailbox -> assertThat(mailbox.getCapacity()).isEqualTo(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void cancellingTheFutureFreesTheSubscriptionAndItsTimeout() {
+        final CompletableFuture<Adaptable> response =
+                underTest.subscribeOnceForAdaptable(Classification.forCorrelationId("cid-1"), TIMEOUT)
+                        .toCompletableFuture();
+        underTest.subscribeOnceForAdaptable(Classification.forCorrelationId("cid-2"), TIMEOUT);
+
+        response.cancel(false);
+
+        assertThat(underTest.getInFlightRequests())
+                .extracting(InFlightRequest::getCorrelationId)
+                .containsExactly("cid-2");
+        assertThat(cancelledTimeouts).hasValue(1);
+    }
+
+    @Test
+    public void receivingTheAwaitedMessageCancelsItsTimeout() throws Exception {
+        underTest.addStringClassifier(Classifiers.identity());
+        final CompletableFuture<String> ack =
+                underTest.subscribeOnceForString(Classification.forString("START-SEND-EVENTS:ACK"), TIMEOUT)
+                        .toCompletableFuture();
+
+        underTest.publish("START-SEND-EVENTS:ACK");
+
+        assertThat(ack.get(5L, TimeUnit.SECONDS)).isEqualTo("START-SEND-EVENTS:ACK");
+        assertThat(scheduledTimeouts).hasValue(1);
+        assertThat(cancelledTimeouts).hasValue(1);
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of selecting the registrations of a pointer in {@link DefaultRegistry} with its pointer cache disabled,
+ * i.e. of the lookup done on each cache miss. Most registrations are for single things like those of thing handles,
+ * the rest use placeholders like global change handlers. The {@code Concurrently} benchmarks select from several
+ * threads at once, with and without a thread registering and cancelling at the same time, to show how lookups scale
+ * with the number of threads. Run {@link #main(String[])} after {@code mvn test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultRegistryBenchmark {
+
+    private static final List<String> THING_TEMPLATES = Arrays.asList(
+            "/things/%s",
+            "/things/%s/attributes/{attributePath}",
+            "/things/%s/features/{featureId}/properties/{propertyPath}",
+            "/things/%s/features/lamp/properties/on"
+    );
+
+    private static final List<String> GLOBAL_TEMPLATES = Arrays.asList(
+            "/things/{thingId}",
+            "/things/{thingId}/attributes",
+            "/things/{thingId}/features/{featureId}/properties"
+    );
+
+    @Param({"10000"})
+    public int registrations;
+
+    private DefaultRegistry<Object> registry;
+    private JsonPointer propertyPointer;
+    private JsonPointer unknownThingPointer;
+    private JsonPointer pointerWithChangePaths;
+    private JsonPointerSelector churnSelector;
+
+    @Setup
+    public void setUp() {
+        registry = new DefaultRegistry<>(0);
+        final Object handler = new Object();
+        for (final String template : GLOBAL_TEMPLATES) {
+            registry.register(JsonPointerSelectors.jsonPointer(template), handler);
+        }
+        for (int i = GLOBAL_TEMPLATES.size(); i < registrations; i++) {
+            final String thingId = "org.eclipse.ditto:thing-" + i / THING_TEMPLATES.size();
+            final String template = THING_TEMPLATES.get(i % THING_TEMPLATES.size());
+            registry.register(JsonPointerSelectors.jsonPointer(String.format(template, thingId)), handler);
+        }
+        propertyPointer = JsonPointer.of("/things/org.eclipse.ditto:thing-1234/features/lamp/properties/on");
+        unknownThingPointer = JsonPointer.of("/things/org.eclipse.ditto:unknown/attributes/location");
+        pointerWithChangePaths = new JsonPointerWithChangePaths(JsonPointer.of("/things/org.eclipse.ditto:thing-42"),
+                JsonObject.of("{\"attributes\":{\"location\":{\"lat\":47.68,\"lon\":9.38}," +
+                        "\"manufacturer\":\"ACME\"},\"features\":{\"lamp\":{\"properties\":{\"on\":true}}}}"));
+        churnSelector = JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing-1234/attributes/churn");
+    }
+
+    @Benchmark
+    public List<Registration<Object>> selectProperty() {
+        return registry.select(propertyPointer);
+    }
+
+    @Benchmark
+    public List<Registration<Object>> selectUnknownThing() {
+        return registry.select(unknownThingPointer);
+    }
+
+    @Benchmark
+    public List<Registration<Object>> selectWithChangePaths() {
+        return registry.select(pointerWithChangePaths);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Registration<Object>> selectPropertyConcurrently() {
+        return registry.select(propertyPointer);
+    }
+
+    @Benchmark
+    @Group("selectWhileRegistering")
+    @GroupThreads(3)
+    public List<Registration<Object>> selectPropertyConcurrentlyWhileRegistering() {
+        return registry.select(propertyPointer);
+    }
+
+    @Benchmark
+    @Group("selectWhileRegistering")
+    @GroupThreads(1)
+    public void registerAndCancel() {
+        registry.register(churnSelector, this).cancel();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DefaultRegistryBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+}
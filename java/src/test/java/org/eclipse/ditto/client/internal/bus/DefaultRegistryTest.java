@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.List;
 import java.util.function.Consumer;
 
+import org.eclipse.ditto.client.management.HandlerCacheStatistics;
 import org.eclipse.ditto.json.JsonPointer;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -49,6 +50,49 @@ public final class DefaultRegistryTest {
         selectionShouldContain(registry.select(pointer), consumerB);
     }
 
+    @Test
+    public void keepsSelectionsOfEarlierRegistrationsUnchanged() {
+        final JsonPointer pointer = JsonPointer.of("/things/org.eclipse.ditto:thing-1/attributes");
+        final Consumer consumerA = Mockito.mock(Consumer.class);
+        final Consumer consumerB = Mockito.mock(Consumer.class);
+        registry.register(DefaultJsonPointerSelector.jsonPointerSelector("/things/{thingId}"), consumerA);
+        final List<Registration<Consumer>> selection = registry.select(pointer);
+
+        final Registration<Consumer> registrationB =
+                registry.register(DefaultJsonPointerSelector.jsonPointerSelector("/things/{thingId}/attributes"),
+                        consumerB);
+
+        selectionShouldContain(selection, consumerA);
+        selectionShouldContain(registry.select(pointer), consumerA, consumerB);
+        registrationB.cancel();
+        selectionShouldContain(registry.select(pointer), consumerA);
+        assertThat(registry.unregister(pointer)).isTrue();
+        assertThat(registry.select(pointer)).isEmpty();
+        assertThat(registry).isEmpty();
+    }
+
+    @Test
+    public void registeringKeepsCachedSelectionsOfUnaffectedPointers() {
+        final JsonPointer pointer1 = JsonPointer.of("/things/org.eclipse.ditto:thing-1/attributes");
+        final JsonPointer pointer2 = JsonPointer.of("/things/org.eclipse.ditto:thing-2/attributes");
+        final Consumer consumerA = Mockito.mock(Consumer.class);
+        final Consumer consumerB = Mockito.mock(Consumer.class);
+        registry.register(DefaultJsonPointerSelector.jsonPointerSelector("/things/{thingId}"), consumerA);
+        registry.select(pointer1);
+        registry.select(pointer2);
+
+        registry.register(DefaultJsonPointerSelector.jsonPointerSelector("/things/org.eclipse.ditto:thing-2"),
+                consumerB);
+
+        selectionShouldContain(registry.select(pointer1), consumerA);
+        selectionShouldContain(registry.select(pointer2), consumerA, consumerB);
+        final HandlerCacheStatistics statistics = registry.getCacheStatistics().orElseThrow(AssertionError::new);
+        assertThat(statistics.getHitCount()).isEqualTo(1L);
+        assertThat(statistics.getMissCount()).isEqualTo(3L);
+        assertThat(statistics.getInvalidationCount()).isEqualTo(1L);
+        assertThat(statistics.getSize()).isEqualTo(2);
+    }
+
     @SafeVarargs
     private final <T> void selectionShouldContain(final List<Registration<T>> selection,
             final T... objects) {
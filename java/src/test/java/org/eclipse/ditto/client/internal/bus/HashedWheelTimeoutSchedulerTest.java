@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link HashedWheelTimeoutScheduler}.
+ */
+public final class HashedWheelTimeoutSchedulerTest {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+
+    private final ScheduledExecutorService scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final AtomicInteger expirations = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void expiresNotBeforeDeadline() {
+        final HashedWheelTimeoutScheduler underTest = scheduler(8);
+        advanceMillis(3L);
+        underTest.schedule(expirations::incrementAndGet, Duration.ofMillis(100L));
+
+        advanceMillis(100L);
+        underTest.expireTimeouts();
+        assertThat(expirations).hasValue(0);
+
+        // the deadline is rounded up to the next tick
+        advanceMillis(7L);
+        underTest.expireTimeouts();
+        assertThat(expirations).hasValue(1);
+        assertThat(underTest.getPendingTimeouts()).isZero();
+    }
+
+    @Test
+    public void expiresTimeoutsBeyondOneRevolutionInTheirRound() {
+        final HashedWheelTimeoutScheduler underTest = scheduler(4);
+        underTest.schedule(expirations::incrementAndGet, Duration.ofMillis(100L));
+        underTest.schedule(expirations::incrementAndGet, Duration.ofMillis(20L));
+
+        for (int i = 0; i < 9; i++) {
+            advanceMillis(10L);
+            underTest.expireTimeouts();
+        }
+        assertThat(expirations).hasValue(1);
+
+        advanceMillis(10L);
+        underTest.expireTimeouts();
+        assertThat(expirations).hasValue(2);
+    }
+
+    @Test
+    public void cancelledTimeoutDoesNotExpire() {
+        final HashedWheelTimeoutScheduler underTest = scheduler(8);
+        final TimeoutScheduler.Timeout timeout =
+                underTest.schedule(expirations::incrementAndGet, Duration.ofMillis(50L));
+        final TimeoutScheduler.Timeout otherTimeout =
+                underTest.schedule(expirations::incrementAndGet, Duration.ofMillis(50L));
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        advanceMillis(50L);
+        underTest.expireTimeouts();
+
+        assertThat(expirations).hasValue(1);
+        assertThat(otherTimeout.cancel()).isFalse();
+        assertThat(underTest.getPendingTimeouts()).isZero();
+    }
+
+    @Test
+    public void expiresAllDueTimeoutsOnceAfterLaggingBehind() {
+        final HashedWheelTimeoutScheduler underTest = scheduler(4);
+        for (long millis = 10L; millis <= 200L; millis += 10L) {
+            underTest.schedule(expirations::incrementAndGet, Duration.ofMillis(millis));
+        }
+        underTest.schedule(expirations::incrementAndGet, Duration.ofSeconds(2L));
+
+        advanceMillis(200L);
+        underTest.expireTimeouts();
+        underTest.expireTimeouts();
+
+        assertThat(expirations).hasValue(20);
+        assertThat(underTest.getPendingTimeouts()).isEqualTo(1L);
+    }
+
+    @Test
+    public void schedulesTimeoutsAfterProcessedTicksForTheNextTick() {
+        final HashedWheelTimeoutScheduler underTest = scheduler(8);
+        advanceMillis(30L);
+        underTest.expireTimeouts();
+
+        // due immediately, but the bucket of the current tick was processed already
+        underTest.schedule(expirations::incrementAndGet, Duration.ZERO);
+        underTest.expireTimeouts();
+        assertThat(expirations).hasValue(0);
+
+        advanceMillis(10L);
+        underTest.expireTimeouts();
+        assertThat(expirations).hasValue(1);
+    }
+
+    @Test
+    public void keepsTickingWhileTimeoutsArePending() throws InterruptedException {
+        final TimeoutScheduler underTest = TimeoutSchedulers.hashedWheel(scheduledExecutor);
+        final CountDownLatch latch = new CountDownLatch(2);
+        final long start = System.nanoTime();
+        underTest.schedule(latch::countDown, Duration.ofMillis(50L));
+        underTest.schedule(latch::countDown, Duration.ofMillis(150L));
+
+        assertThat(latch.await(5L, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(150L));
+
+        // ticking stopped without pending timeouts and starts again with the next one
+        Thread.sleep(50L);
+        final CountDownLatch nextLatch = new CountDownLatch(1);
+        underTest.schedule(nextLatch::countDown, Duration.ofMillis(20L));
+        assertThat(nextLatch.await(5L, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void concurrentlyScheduledAndCancelledTimeoutsAreNotLost() throws Exception {
+        final HashedWheelTimeoutScheduler underTest =
+                new HashedWheelTimeoutScheduler(scheduledExecutor, TICK_NANOS, 16, System::nanoTime);
+        final ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            final List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        final TimeoutScheduler.Timeout timeout =
+                                underTest.schedule(expirations::incrementAndGet, Duration.ofMillis(i % 30));
+                        if ((i + thread) % 2 == 0) {
+                            timeout.cancel();
+                        }
+                    }
+                }, threads));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10L, TimeUnit.SECONDS);
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+            while (underTest.getPendingTimeouts() > 0L && System.nanoTime() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertThat(underTest.getPendingTimeouts()).isZero();
+            // cancelling may lose against expiry, so that at least half of the timeouts expired
+            assertThat(expirations.get()).isBetween(20_000, 40_000);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    public void oneTimeSubscriptionOfBusFailsWithTimeoutException() {
+        final AdaptableBus adaptableBus =
+                BusFactory.createAdaptableBus(Executors.newSingleThreadExecutor(), scheduledExecutor);
+        try {
+            final CompletableFuture<String> response = adaptableBus.subscribeOnceForString(
+                    Classification.forCorrelationId("never-answered"), Duration.ofMillis(30L)).toCompletableFuture();
+
+            assertThatExceptionOfType(ExecutionException.class)
+                    .isThrownBy(() -> response.get(5L, TimeUnit.SECONDS))
+                    .withCauseInstanceOf(TimeoutException.class);
+        } finally {
+            adaptableBus.shutdownExecutors();
+        }
+    }
+
+    private HashedWheelTimeoutScheduler scheduler(final int wheelSize) {
+        return new HashedWheelTimeoutScheduler(scheduledExecutor, TICK_NANOS, wheelSize, nanoClock::get);
+    }
+
+    private void advanceMillis(final long millis) {
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+}
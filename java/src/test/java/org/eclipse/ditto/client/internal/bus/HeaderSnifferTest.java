@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link HeaderSniffer}.
+ */
+public final class HeaderSnifferTest {
+
+    private static final List<String> MESSAGES = Arrays.asList(
+            "{\"topic\":\"org.eclipse.ditto/thing-1/things/twin/events/modified\"," +
+                    "\"headers\":{\"correlation-id\":\"cid-1\",\"content-type\":\"application/json\"}," +
+                    "\"path\":\"/attributes/location\",\"value\":{\"lat\":47.68,\"tags\":[\"a\",{\"b\":[]}]}," +
+                    "\"revision\":3}",
+            "{\"headers\":{\"response-required\":false,\"correlation-id\":\"cid-2\"}," +
+                    "\"topic\":\"org.eclipse.ditto/thing-2/things/live/messages/hello\"," +
+                    "\"path\":\"/inbox/messages/hello\",\"value\":\"a \\\"quoted\\\" {value}\"}",
+            " {\n  \"topic\" : \"org.eclipse.ditto/thing-3/things/live/commands/modify\",\n" +
+                    "  \"headers\" : { \"Correlation-ID\" : \"cid-3\" },\n  \"path\" : \"/\",\n" +
+                    "  \"value\" : null\n}",
+            "{\"topic\":\"org.eclipse.ditto/thing-4/things/live/events/modified\",\"headers\":{}," +
+                    "\"path\":\"/features\",\"value\":{}}",
+            "{\"topic\":\"org.eclipse.ditto/thing-5/things/twin/commands/retrieve\"," +
+                    "\"headers\":{\"correlation-id\":\"c\u00f6rrelation-\u20ac\"},\"path\":\"/\",\"status\":200," +
+                    "\"value\":{\"thingId\":\"org.eclipse.ditto:thing-5\"}}",
+            "{\"topic\":\"org.eclipse.ditto/policy-1/policies/commands/retrieve\"," +
+                    "\"headers\":{\"correlation-id\":\"cid-6\"},\"path\":\"/\",\"status\":200,\"value\":{}}",
+            "{\"topic\":\"_/_/things/twin/search/next\",\"headers\":{\"correlation-id\":\"cid-7\"}," +
+                    "\"path\":\"/\",\"value\":{\"subscriptionId\":\"sub-1\",\"items\":[]}}",
+            "{\"topic\":\"org.eclipse.ditto/thing-8/things/twin/errors\",\"headers\":{\"correlation-id\":\"cid-8\"}," +
+                    "\"path\":\"/\",\"value\":{\"status\":404,\"error\":\"things:thing.notfound\"},\"status\":404}",
+            "{\"path\":\"/\",\"value\":1,\"topic\":\"org.eclipse.ditto/thing-9/things/twin/events/deleted\"," +
+                    "\"headers\":{\"correlation-id\":\"cid-9\"}}"
+    );
+
+    @Test
+    public void sniffedHeadersEqualTheOnesOfTheFullParser() {
+        for (final String message : MESSAGES) {
+            final Adaptable adaptable = ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(message));
+            final HeaderSniffer.Headers headers = HeaderSniffer.sniff(message).orElseThrow(AssertionError::new);
+
+            assertThat(headers.getTopic()).as(message).isEqualTo(adaptable.getTopicPath().getPath());
+            assertThat(headers.getCorrelationId()).as(message)
+                    .isEqualTo(adaptable.getDittoHeaders().getCorrelationId());
+            assertThat(headers.getStreamingType()).as(message)
+                    .isEqualTo(Classifiers.streamingType().classify(adaptable));
+            assertThat(HeaderSniffer.sniff(message.getBytes(StandardCharsets.UTF_8))).as(message)
+                    .hasValueSatisfying(utf8Headers -> {
+                        assertThat(utf8Headers.getTopic()).isEqualTo(headers.getTopic());
+                        assertThat(utf8Headers.getCorrelationId()).isEqualTo(headers.getCorrelationId());
+                    });
+        }
+    }
+
+    @Test
+    public void searchAndErrorsArePossiblyClassifiedByPayload() {
+        assertThat(sniff(MESSAGES.get(0)).isPossiblySearchOrError()).isFalse();
+        assertThat(sniff(MESSAGES.get(5)).isPossiblySearchOrError()).isFalse();
+        assertThat(sniff(MESSAGES.get(6)).isPossiblySearchOrError()).isTrue();
+        assertThat(sniff(MESSAGES.get(7)).isPossiblySearchOrError()).isTrue();
+    }
+
+    @Test
+    public void headersAreExtractedWithoutParsing() {
+        final HeaderSniffer.Headers headers = sniff(MESSAGES.get(1));
+
+        assertThat(headers.getTopic()).isEqualTo("org.eclipse.ditto/thing-2/things/live/messages/hello");
+        assertThat(headers.getCorrelationId()).contains("cid-2");
+        assertThat(headers.getStreamingType()).contains(Classification.StreamingType.LIVE_MESSAGE);
+        assertThat(sniff(MESSAGES.get(2)).getCorrelationId()).contains("cid-3");
+        assertThat(sniff(MESSAGES.get(3)).getCorrelationId()).isEmpty();
+        assertThat(sniff(MESSAGES.get(5)).getStreamingType()).isEmpty();
+    }
+
+    @Test
+    public void nonEmptyRequestedAcknowledgementsAreDetected() {
+        assertThat(sniff("{\"topic\":\"ns/thing/things/twin/events/modified\"," +
+                "\"headers\":{\"Requested-Acks\":[\"custom\"],\"correlation-id\":\"cid\"}}")
+                .isAcknowledgementRequested()).isTrue();
+        assertThat(sniff("{\"topic\":\"ns/thing/things/twin/events/modified\"," +
+                "\"headers\":{\"requested-acks\": [ ] ,\"correlation-id\":\"cid\"}}")
+                .isAcknowledgementRequested()).isFalse();
+        assertThat(sniff(MESSAGES.get(0)).isAcknowledgementRequested()).isFalse();
+    }
+
+    @Test
+    public void searchActionIsTakenFromTheTopic() {
+        assertThat(sniff(MESSAGES.get(6)).getSearchAction()).contains("next");
+        assertThat(sniff(MESSAGES.get(0)).getSearchAction()).isEmpty();
+        assertThat(sniff(MESSAGES.get(7)).getSearchAction()).isEmpty();
+    }
+
+    @Test
+    public void uncertainMessagesAreLeftToTheFullParser() {
+        final List<String> uncertain = Arrays.asList(
+                "START-SEND-EVENTS:ACK",
+                "{}",
+                "{\"headers\":{\"correlation-id\":\"cid\"}}",
+                "{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/modified\",\"headers\":{\"correlation-id\"",
+                "{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/modified\",\"headers\":null}",
+                "{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/modified\"," +
+                        "\"headers\":{\"correlation-id\":\"escaped\\u0020cid\"}}",
+                "{\"topic\":\"org.eclipse.ditto/thing/things/\\u0074win/events/modified\",\"headers\":{}}",
+                "{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/modified\"," +
+                        "\"headers\":{\"correlation-id\":\"a\",\"CORRELATION-ID\":\"b\"}}"
+        );
+        for (final String message : uncertain) {
+            assertThat(HeaderSniffer.sniff(message)).as(message).isEmpty();
+            assertThat(HeaderSniffer.sniff(message.getBytes(StandardCharsets.UTF_8))).as(message).isEmpty();
+        }
+    }
+
+    private static HeaderSniffer.Headers sniff(final String message) {
+        final Optional<HeaderSniffer.Headers> headers = HeaderSniffer.sniff(message);
+        assertThat(headers).as(message).isPresent();
+        return headers.get();
+    }
+
+}
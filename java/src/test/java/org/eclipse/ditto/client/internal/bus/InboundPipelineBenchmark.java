@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ditto.client.options.DeliveryOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the inbound pipeline of {@link DefaultAdaptableBus} against parsing on the publishing thread. Each
+ * invocation publishes a batch of twin events as a WebSocket reader would and waits until the subscriber got all of
+ * them. A {@code parsingParallelism} of 0 is the single-threaded path. Run {@link #main(String[])} after
+ * {@code mvn test-compile} on a machine with several cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InboundPipelineBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String TWIN_EVENT = "{\"topic\":\"org.eclipse.ditto/thing-%d/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"cid-%d\",\"content-type\":\"application/json\"}," +
+            "\"path\":\"/features/environment/properties\",\"value\":{\"temperature\":21.5,\"humidity\":43," +
+            "\"location\":{\"lat\":47.68,\"lon\":9.38},\"history\":[21.1,21.2,21.4,21.5]},\"revision\":%d}";
+
+    @Param({"0", "2", "4"})
+    public int parsingParallelism;
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+    private AdaptableBus adaptableBus;
+    private byte[][] frames;
+    private final AtomicInteger delivered = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        adaptableBus = BusFactory.createAdaptableBus(executor, scheduledExecutor, parsingParallelism);
+        adaptableBus.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, DeliveryOrder.UNORDERED,
+                adaptable -> delivered.incrementAndGet());
+        frames = new byte[BATCH_SIZE][];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            frames[i] = String.format(TWIN_EVENT, i % 64, i, i).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        adaptableBus.shutdownExecutors();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int publishBatch() {
+        final int expected = delivered.get() + BATCH_SIZE;
+        for (final byte[] frame : frames) {
+            adaptableBus.publish(frame);
+        }
+        while (delivered.get() < expected) {
+            Thread.yield();
+        }
+        return expected;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InboundPipelineBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InboundPipeline}.
+ */
+public final class InboundPipelineTest {
+
+    private final ExecutorService parserExecutor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        parserExecutor.shutdownNow();
+    }
+
+    @Test
+    public void dispatchesFramesInSubmissionOrderWithTheirParseResults() throws InterruptedException {
+        final int frames = 20_000;
+        final List<Integer> dispatched = new ArrayList<>(frames);
+        final AtomicInteger concurrentDispatches = new AtomicInteger();
+        final AtomicInteger maxConcurrentDispatches = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(frames);
+        final InboundPipeline<String, Integer> underTest = new InboundPipeline<>(64, parserExecutor, Integer::valueOf,
+                (frame, parseResult) -> {
+                    maxConcurrentDispatches.accumulateAndGet(concurrentDispatches.incrementAndGet(), Math::max);
+                    assertThat(parseResult).isEqualTo(Integer.valueOf(frame));
+                    dispatched.add(parseResult);
+                    concurrentDispatches.decrementAndGet();
+                    done.countDown();
+                });
+
+        for (int i = 0; i < frames; i++) {
+            underTest.submit(String.valueOf(i));
+        }
+
+        assertThat(done.await(10L, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxConcurrentDispatches).hasValue(1);
+        assertThat(dispatched).hasSize(frames).isSorted();
+        assertThat(underTest.getPendingFrames()).isZero();
+    }
+
+    @Test
+    public void parsesFramesInParallel() throws InterruptedException {
+        final CountDownLatch bothParsing = new CountDownLatch(2);
+        final CountDownLatch done = new CountDownLatch(2);
+        final InboundPipeline<String, Boolean> underTest = new InboundPipeline<>(8, parserExecutor, frame -> {
+            bothParsing.countDown();
+            try {
+                // only returns true if the other frame is parsed meanwhile
+                return bothParsing.await(10L, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }, (frame, parsedInParallel) -> {
+            if (parsedInParallel) {
+                done.countDown();
+            }
+        });
+
+        underTest.submit("first");
+        underTest.submit("second");
+
+        assertThat(done.await(10L, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void failingParserAndDispatcherDoNotStopThePipeline() throws InterruptedException {
+        final List<Integer> dispatched = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(3);
+        final InboundPipeline<String, Integer> underTest = new InboundPipeline<>(2, parserExecutor, Integer::valueOf,
+                (frame, parseResult) -> {
+                    done.countDown();
+                    if ("2".equals(frame)) {
+                        throw new IllegalStateException("dispatch failed");
+                    }
+                    dispatched.add(parseResult);
+                });
+
+        underTest.submit("no number");
+        underTest.submit("2");
+        underTest.submit("3");
+
+        assertThat(done.await(10L, TimeUnit.SECONDS)).isTrue();
+        assertThat(dispatched).containsExactly(null, 3);
+    }
+
+    @Test
+    public void tryToCreateWithCapacityWhichIsNoPowerOfTwo() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new InboundPipeline<String, String>(100, parserExecutor, frame -> frame,
+                        (frame, parseResult) -> {}));
+    }
+
+}
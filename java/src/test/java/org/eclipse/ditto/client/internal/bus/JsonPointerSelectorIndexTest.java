@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JsonPointerSelectorIndex}.
+ */
+public final class JsonPointerSelectorIndexTest {
+
+    private static final List<String> TEMPLATES = Arrays.asList(
+            "/things",
+            "/things/{thingId}",
+            "/things/{thingId}/attributes",
+            "/things/{thingId}/attributes/{attributePath}",
+            "/things/{thingId}/features/{featureId}/properties",
+            "/things/{thingId}/features/{featureId}/properties/{propertyPath}",
+            "/things/org.eclipse.ditto:thing-1",
+            "/things/org.eclipse.ditto:thing-1/attributes/location",
+            "/things/org.eclipse.ditto:thing-2/features/{featureId}",
+            "/things/org.eclipse.ditto:thing-2/features/lamp/properties",
+            "/policies/{policyId}",
+            "/{any}/org.eclipse.ditto:thing-1/attributes"
+    );
+
+    private static final List<String> POINTERS = Arrays.asList(
+            "",
+            "/things",
+            "/things/org.eclipse.ditto:thing-1",
+            "/things/org.eclipse.ditto:thing-1/attributes",
+            "/things/org.eclipse.ditto:thing-1/attributes/location",
+            "/things/org.eclipse.ditto:thing-1/attributes/location/lat",
+            "/things/org.eclipse.ditto:thing-2/features/lamp/properties/on",
+            "/things/org.eclipse.ditto:thing-3/features",
+            "/policies/org.eclipse.ditto:policy-1/entries",
+            "/messages/org.eclipse.ditto:thing-1/attributes",
+            "/attributes"
+    );
+
+    @Test
+    public void findsTheSameSelectorsAsMatchingEachOfThem() {
+        JsonPointerSelectorIndex<String> underTest = JsonPointerSelectorIndex.empty();
+        final List<JsonPointerSelector> selectors = new ArrayList<>();
+        for (final String template : TEMPLATES) {
+            final JsonPointerSelector selector = JsonPointerSelectors.jsonPointer(template);
+            selectors.add(selector);
+            underTest = underTest.put(selector, template);
+        }
+        final JsonPointerSelector predicateSelector =
+                JsonPointerSelectors.predicate(pointer -> pointer.getLevelCount() == 3);
+        selectors.add(predicateSelector);
+        underTest = underTest.put(predicateSelector, "predicate");
+
+        for (final String pointer : POINTERS) {
+            assertMatchesLikeSelectors(underTest, selectors, JsonPointer.of(pointer));
+        }
+        assertMatchesLikeSelectors(underTest, selectors, new JsonPointerWithChangePaths(
+                JsonPointer.of("/things/org.eclipse.ditto:thing-1"),
+                JsonObject.of("{\"attributes\":{\"location\":{\"lat\":47.68}}," +
+                        "\"features\":{\"lamp\":{\"properties\":{\"on\":true}}}}")));
+        assertMatchesLikeSelectors(underTest, selectors, new JsonPointerWithChangePaths(
+                JsonPointer.of("/things/org.eclipse.ditto:thing-2/features"),
+                JsonObject.of("{\"lamp\":{\"properties\":{}}}")));
+        assertMatchesLikeSelectors(underTest, selectors, new JsonPointerWithChangePaths(
+                JsonPointer.of("/things/org.eclipse.ditto:thing-3"), JsonObject.of("{\"attributes\":{}}")));
+        assertMatchesLikeSelectors(underTest, selectors, new JsonPointerWithChangePaths(
+                JsonPointer.of("/things/org.eclipse.ditto:thing-1/attributes/location"), JsonValue.of(47)));
+        assertMatchesLikeSelectors(underTest, selectors, new JsonPointerWithChangePaths(JsonPointer.empty(), null));
+    }
+
+    @Test
+    public void keepsSelectorsWithEqualTemplatesApart() {
+        final JsonPointerSelector first = JsonPointerSelectors.jsonPointer("/things/{thingId}");
+        final JsonPointerSelector second = JsonPointerSelectors.jsonPointer("/things/{id}");
+        final JsonPointerSelectorIndex<String> both =
+                JsonPointerSelectorIndex.<String>empty().put(first, "first").put(second, "second");
+
+        final JsonPointerSelectorIndex<String> underTest = both.remove(first);
+
+        assertThat(underTest.get(first)).isNull();
+        assertThat(underTest.get(second)).isEqualTo("second");
+        assertThat(matches(underTest, JsonPointer.of("/things/org.eclipse.ditto:thing-1")))
+                .containsExactly("second");
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void leavesPreviousIndexesUnchanged() {
+        final JsonPointerSelector selector =
+                JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing-1/attributes");
+        final JsonPointerSelectorIndex<String> withSelector =
+                JsonPointerSelectorIndex.<String>empty().put(selector, "thing-1");
+
+        final JsonPointerSelectorIndex<String> underTest = withSelector.remove(selector);
+
+        assertThat(underTest.size()).isZero();
+        assertThat(underTest.values()).isEmpty();
+        assertThat(underTest.remove(selector)).isSameAs(underTest);
+        assertThat(matches(underTest, JsonPointer.empty())).isEmpty();
+        assertThat(matches(withSelector, JsonPointer.of("/things/org.eclipse.ditto:thing-1/attributes/location")))
+                .containsExactly("thing-1");
+    }
+
+    private static void assertMatchesLikeSelectors(final JsonPointerSelectorIndex<String> underTest,
+            final List<JsonPointerSelector> selectors, final JsonPointer pointer) {
+        final List<JsonPointerSelector> expected = new ArrayList<>();
+        for (final JsonPointerSelector selector : selectors) {
+            if (selector.matches(pointer)) {
+                expected.add(selector);
+            }
+        }
+        final List<JsonPointerSelector> actual = new ArrayList<>();
+        underTest.forEachMatch(pointer, (selector, value) -> actual.add(selector));
+
+        assertThat(actual).as("selectors matching <%s>", pointer).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private static List<String> matches(final JsonPointerSelectorIndex<String> underTest, final JsonPointer pointer) {
+        final List<String> result = new ArrayList<>();
+        underTest.forEachMatch(pointer, (selector, value) -> result.add(value));
+        return result;
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JsonPointerWithChangePaths}.
+ */
+public final class JsonPointerWithChangePathsTest {
+
+    private static final JsonPointer TARGET_PATH = JsonPointer.of("/things/org.eclipse.ditto:thing-1");
+
+    private static final JsonObject CHANGED_THING = JsonObject.of("{" +
+            "\"attributes\":{\"location\":{\"lat\":47.68,\"lon\":9.38},\"manufacturer\":\"ACME\"}," +
+            "\"features\":{" +
+            "\"lamp\":{\"properties\":{\"on\":true,\"color\":{\"r\":255}}}," +
+            "\"sensor\":{\"properties\":{\"temperature\":21.5}}}}");
+
+    private static final List<String> TEMPLATES = Arrays.asList(
+            "",
+            "/things",
+            "/things/{thingId}",
+            "/things/org.eclipse.ditto:thing-2",
+            "/things/{thingId}/attributes",
+            "/things/{thingId}/attributes/{attributePath}",
+            "/things/{thingId}/attributes/location/lat",
+            "/things/{thingId}/features/{featureId}/properties/{propertyPath}",
+            "/things/{thingId}/features/{featureId}/properties/color/r",
+            "/things/{thingId}/features/sensor/properties/humidity",
+            "/things/{thingId}/policyId",
+            "/things/{thingId}/features/lamp/properties/on/{tooDeep}"
+    );
+
+    @Test
+    public void matchesTemplatesLikeTheEnumeratedChangePaths() {
+        final JsonPointerWithChangePaths underTest = new JsonPointerWithChangePaths(TARGET_PATH, CHANGED_THING);
+        final List<JsonPointer> allCombinedPaths = new ArrayList<>();
+        enumerateChangePaths(TARGET_PATH, CHANGED_THING, allCombinedPaths);
+
+        for (final String templateString : TEMPLATES) {
+            final JsonPointer template = JsonPointer.of(templateString);
+            final List<JsonPointer> expected = new ArrayList<>();
+            for (final JsonPointer combinedPath : allCombinedPaths) {
+                if (JsonPointerSelector.doesTargetMatchTemplate(combinedPath, template)) {
+                    expected.add(combinedPath);
+                }
+            }
+            final List<JsonPointer> actual = new ArrayList<>();
+            underTest.forEachChangedPathMatchedBy(template, actual::add);
+
+            assertThat(actual).as("changed paths matched by <%s>", template).containsExactlyElementsOf(expected);
+            assertThat(underTest.isMatchedBy(template)).as("matched by <%s>", template)
+                    .isEqualTo(!expected.isEmpty() || JsonPointerSelector.doesTargetMatchTemplate(TARGET_PATH,
+                            template));
+        }
+    }
+
+    @Test
+    public void onlyTheTargetPathChangedForValuesWhichAreNoObject() {
+        final JsonPointer targetPath = TARGET_PATH.append(JsonPointer.of("/attributes/manufacturer"));
+        final JsonPointerWithChangePaths underTest = new JsonPointerWithChangePaths(targetPath, null);
+        final List<JsonPointer> matched = new ArrayList<>();
+
+        underTest.forEachChangedPathMatchedBy(JsonPointer.of("/things/{thingId}/attributes/{attributePath}"),
+                matched::add);
+        underTest.forEachChangedPathMatchedBy(JsonPointer.of("/things/{thingId}/features"), matched::add);
+
+        assertThat(matched).containsExactly(targetPath);
+        assertThat(underTest.getChangedObject()).isEmpty();
+        assertThat(underTest.isMatchedBy(JsonPointer.of("/things/{thingId}/attributes/manufacturer/{below}")))
+                .isFalse();
+    }
+
+    /**
+     * Enumerates the changed paths of an object the way they were enumerated before they were walked on demand.
+     */
+    private static void enumerateChangePaths(final JsonPointer parentPath, final JsonObject changedObject,
+            final List<JsonPointer> result) {
+        for (final JsonField field : changedObject) {
+            final JsonPointer path = parentPath.addLeaf(field.getKey());
+            result.add(path);
+            if (field.getValue().isObject()) {
+                enumerateChangePaths(path, field.getValue().asObject(), result);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link KeyedExecutor}.
+ */
+public final class KeyedExecutorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void runsTasksOfSameKeyInSubmissionOrder() throws InterruptedException {
+        final KeyedExecutor underTest = new KeyedExecutor(executor, 8);
+        final Map<String, List<Integer>> delivered = new ConcurrentHashMap<>();
+        final AtomicInteger maxConcurrentlyRunningPerKey = new AtomicInteger();
+        final Map<String, AtomicInteger> runningPerKey = new ConcurrentHashMap<>();
+        final CountDownLatch done = new CountDownLatch(10 * 1_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            for (int thing = 0; thing < 10; thing++) {
+                final String key = "thing-" + thing;
+                final int sequenceNumber = i;
+                underTest.execute(key, () -> {
+                    final AtomicInteger running = runningPerKey.computeIfAbsent(key, k -> new AtomicInteger());
+                    maxConcurrentlyRunningPerKey.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    delivered.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(sequenceNumber);
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+
+        assertThat(done.await(10L, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxConcurrentlyRunningPerKey).hasValue(1);
+        assertThat(delivered).hasSize(10);
+        for (final List<Integer> sequenceNumbers : delivered.values()) {
+            assertThat(sequenceNumbers).hasSize(1_000).isSorted();
+        }
+    }
+
+    @Test
+    public void runsTasksOfDifferentKeysInParallel() throws InterruptedException {
+        final KeyedExecutor underTest = new KeyedExecutor(executor, KeyedExecutor.DEFAULT_BATCH_SIZE);
+        final CountDownLatch otherKeyRan = new CountDownLatch(1);
+        final CountDownLatch blockedKeyFinished = new CountDownLatch(1);
+
+        underTest.execute("blocked", () -> {
+            try {
+                // only returns if the task of the other key runs meanwhile
+                if (otherKeyRan.await(10L, TimeUnit.SECONDS)) {
+                    blockedKeyFinished.countDown();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        underTest.execute("other", otherKeyRan::countDown);
+
+        assertThat(blockedKeyFinished.await(10L, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void failingTaskDoesNotStopLaterTasksOfItsKey() throws InterruptedException {
+        final KeyedExecutor underTest = new KeyedExecutor(executor, KeyedExecutor.DEFAULT_BATCH_SIZE);
+        final CountDownLatch laterTaskRan = new CountDownLatch(1);
+
+        underTest.execute("thing", () -> {
+            throw new IllegalStateException("handler failed");
+        });
+        underTest.execute("thing", laterTaskRan::countDown);
+
+        assertThat(laterTaskRan.await(10L, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void forgetsKeysWithoutPendingTasks() throws InterruptedException {
+        final KeyedExecutor underTest = new KeyedExecutor(executor, 2);
+        final CountDownLatch done = new CountDownLatch(300);
+        for (int i = 0; i < 300; i++) {
+            underTest.execute("thing-" + (i % 30), done::countDown);
+        }
+
+        assertThat(done.await(10L, TimeUnit.SECONDS)).isTrue();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (underTest.getActiveKeys() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertThat(underTest.getActiveKeys()).isZero();
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.client.options.OverflowPolicy;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link Mailbox}.
+ */
+public final class MailboxTest {
+
+    @Test
+    public void deliversOfferedMessagesAndCountsThem() {
+        final Mailbox underTest = new Mailbox(2, OverflowPolicy.DROP_NEWEST);
+        final List<Integer> delivered = new ArrayList<>();
+
+        final Runnable first = underTest.offer(() -> delivered.add(1));
+        final Runnable second = underTest.offer(() -> delivered.add(2));
+        assertThat(underTest.getQueueDepth()).isEqualTo(2);
+
+        first.run();
+        second.run();
+
+        assertThat(delivered).containsExactly(1, 2);
+        assertThat(underTest.getQueueDepth()).isZero();
+        assertThat(underTest.getDeliveredCount()).isEqualTo(2L);
+        assertThat(underTest.getDroppedCount()).isZero();
+    }
+
+    @Test
+    public void dropNewestRejectsMessagesWhichDoNotFit() {
+        final Mailbox underTest = new Mailbox(1, OverflowPolicy.DROP_NEWEST);
+
+        assertThat(underTest.offer(() -> {})).isNotNull();
+        assertThat(underTest.offer(() -> {})).isNull();
+
+        assertThat(underTest.getQueueDepth()).isEqualTo(1);
+        assertThat(underTest.getDroppedCount()).isEqualTo(1L);
+        assertThat(underTest.isFailed()).isFalse();
+    }
+
+    @Test
+    public void dropOldestSkipsTheConsumerOfTheDroppedMessage() {
+        final Mailbox underTest = new Mailbox(1, OverflowPolicy.DROP_OLDEST);
+        final List<Integer> delivered = new ArrayList<>();
+
+        final Runnable oldest = underTest.offer(() -> delivered.add(1));
+        final Runnable newest = underTest.offer(() -> delivered.add(2));
+        oldest.run();
+        newest.run();
+
+        assertThat(delivered).containsExactly(2);
+        assertThat(underTest.getDroppedCount()).isEqualTo(1L);
+        assertThat(underTest.getDeliveredCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void dropOldestSkipsDeliveriesWhichStartedAheadOfOlderOnes() {
+        final Mailbox underTest = new Mailbox(2, OverflowPolicy.DROP_OLDEST);
+        final List<Integer> delivered = new ArrayList<>();
+
+        final Runnable first = underTest.offer(() -> delivered.add(1));
+        final Runnable second = underTest.offer(() -> delivered.add(2));
+        second.run();
+        final Runnable third = underTest.offer(() -> delivered.add(3));
+        final Runnable fourth = underTest.offer(() -> delivered.add(4));
+        first.run();
+        third.run();
+        fourth.run();
+
+        assertThat(delivered).containsExactly(2, 3, 4);
+        assertThat(underTest.getDroppedCount()).isEqualTo(1L);
+        assertThat(underTest.getQueueDepth()).isZero();
+    }
+
+    @Test
+    public void dropsAreReportedAtMostOncePerInterval() {
+        final Mailbox underTest = new Mailbox(1, OverflowPolicy.DROP_NEWEST);
+        assertThat(underTest.pollDropsToReport()).isZero();
+
+        underTest.offer(() -> {});
+        underTest.offer(() -> {});
+        underTest.offer(() -> {});
+        assertThat(underTest.pollDropsToReport()).isEqualTo(2L);
+
+        underTest.offer(() -> {});
+        assertThat(underTest.pollDropsToReport()).isZero();
+        assertThat(underTest.getDroppedCount()).isEqualTo(3L);
+    }
+
+    @Test
+    public void failDropsAllMessagesAndRejectsFurtherOnes() {
+        final Mailbox underTest = new Mailbox(2, OverflowPolicy.FAIL);
+        final List<Integer> delivered = new ArrayList<>();
+
+        final Runnable first = underTest.offer(() -> delivered.add(1));
+        underTest.offer(() -> delivered.add(2));
+        assertThat(underTest.offer(() -> delivered.add(3))).isNull();
+        first.run();
+
+        assertThat(underTest.isFailed()).isTrue();
+        assertThat(underTest.offer(() -> delivered.add(4))).isNull();
+        assertThat(delivered).isEmpty();
+        assertThat(underTest.getQueueDepth()).isZero();
+        assertThat(underTest.getDroppedCount()).isEqualTo(4L);
+    }
+
+    @Test
+    public void blockWaitsUntilADeliveryStarts() throws InterruptedException {
+        final Mailbox underTest = new Mailbox(1, OverflowPolicy.BLOCK);
+        final Runnable first = underTest.offer(() -> {});
+        final CountDownLatch offered = new CountDownLatch(1);
+
+        final Thread publisher = new Thread(() -> {
+            underTest.offer(() -> {});
+            offered.countDown();
+        });
+        publisher.start();
+
+        assertThat(offered.await(200L, TimeUnit.MILLISECONDS)).isFalse();
+        first.run();
+        assertThat(offered.await(10L, TimeUnit.SECONDS)).isTrue();
+        publisher.join();
+
+        assertThat(underTest.getBlockedCount()).isEqualTo(1L);
+        assertThat(underTest.getQueueDepth()).isEqualTo(1);
+        assertThat(underTest.getDroppedCount()).isZero();
+    }
+
+    @Test
+    public void blockDropsTheMessageAfterTheMaximumBlockTime() {
+        final Mailbox underTest = new Mailbox(1, OverflowPolicy.BLOCK, Duration.ofMillis(50L));
+        underTest.offer(() -> {});
+
+        assertThat(underTest.offer(() -> {})).isNull();
+
+        assertThat(underTest.getBlockedCount()).isEqualTo(1L);
+        assertThat(underTest.getDroppedCount()).isEqualTo(1L);
+        assertThat(underTest.getQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    public void closingWakesUpBlockedPublishers() throws InterruptedException {
+        final Mailbox underTest = new Mailbox(1, OverflowPolicy.BLOCK, Duration.ofMinutes(1L));
+        final Runnable first = underTest.offer(() -> {});
+        final CountDownLatch offered = new CountDownLatch(1);
+        final List<Runnable> results = new ArrayList<>();
+
+        final Thread publisher = new Thread(() -> {
+            results.add(underTest.offer(() -> {}));
+            offered.countDown();
+        });
+        publisher.start();
+        assertThat(offered.await(200L, TimeUnit.MILLISECONDS)).isFalse();
+
+        underTest.close();
+
+        assertThat(offered.await(10L, TimeUnit.SECONDS)).isTrue();
+        publisher.join();
+        first.run();
+        assertThat(results).containsOnlyNulls();
+        assertThat(underTest.getDeliveredCount()).isZero();
+        assertThat(underTest.getDroppedCount()).isEqualTo(2L);
+        assertThat(underTest.offer(() -> {})).isNull();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.ditto.json.JsonPointer;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PointerCache}.
+ */
+public final class PointerCacheTest {
+
+    private static final JsonPointer HOT = JsonPointer.of("/things/org.eclipse.ditto:hot-thing/attributes/location");
+
+    @Test
+    public void keepsFrequentlyHitPointersWhenFull() {
+        final PointerCache<String> underTest = new PointerCache<>(4);
+        underTest.put(HOT, "hot");
+
+        for (int i = 0; i < 20; i++) {
+            underTest.get(HOT);
+            underTest.put(thingPointer(i), "cold-" + i);
+        }
+
+        assertThat(underTest.getSize()).isEqualTo(4);
+        assertThat(underTest.get(HOT)).isEqualTo("hot");
+        assertThat(underTest.get(thingPointer(0))).isNull();
+        assertThat(underTest.get(thingPointer(19))).isEqualTo("cold-19");
+        assertThat(underTest.getEvictionCount()).isEqualTo(17L);
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        final PointerCache<String> underTest = new PointerCache<>(4);
+
+        assertThat(underTest.get(HOT)).isNull();
+        assertThat(underTest.put(HOT, "first")).isEqualTo("first");
+        assertThat(underTest.put(HOT, "second")).isEqualTo("first");
+        assertThat(underTest.get(HOT)).isEqualTo("first");
+
+        assertThat(underTest.getHitCount()).isEqualTo(1L);
+        assertThat(underTest.getMissCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void invalidatesOnlyMatchingPointers() {
+        final PointerCache<String> underTest = new PointerCache<>(4);
+        underTest.put(HOT, "hot-thing");
+        underTest.put(thingPointer(2), "thing-2");
+        final JsonPointerSelector selector =
+                JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:hot-thing/{path}");
+
+        underTest.invalidate(selector::matches);
+
+        assertThat(underTest.get(HOT)).isNull();
+        assertThat(underTest.get(thingPointer(2))).isEqualTo("thing-2");
+        assertThat(underTest.getInvalidationCount()).isEqualTo(1L);
+
+        // the slot of the invalidated pointer is reused without evicting another one
+        for (int i = 3; i < 6; i++) {
+            underTest.put(thingPointer(i), "thing-" + i);
+        }
+        assertThat(underTest.getSize()).isEqualTo(4);
+        assertThat(underTest.getEvictionCount()).isZero();
+    }
+
+    private static JsonPointer thingPointer(final int i) {
+        return JsonPointer.of("/things/org.eclipse.ditto:thing-" + i + "/attributes/location");
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonPointer;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TemplateMatcher}.
+ */
+public final class TemplateMatcherTest {
+
+    private static final JsonPointer THING_PATH = JsonPointer.of("/things/org.eclipse.ditto:thing-1");
+
+    private static final List<String> TEMPLATES = Arrays.asList(
+            "/things/{thingId}",
+            "/things/{thingId}/attributes",
+            "/things/{thingId}/attributes/{attributePath}",
+            "/things/{thingId}/features/{featureId}",
+            "/things/{thingId}/features/{featureId}/properties/{propertyPath}",
+            "/things/{thingId}/features/{featureId}/properties/color/r",
+            "/things/{thingId}/features/lamp/properties/{propertyPath}"
+    );
+
+    private static final List<String> CHANGED_PATHS = Arrays.asList(
+            "",
+            "/attributes",
+            "/attributes/location/lat",
+            "/features",
+            "/features/lamp",
+            "/features/lamp/properties/color",
+            "/features/lamp/properties/color/r",
+            "/features/sensor/properties/temperature"
+    );
+
+    @Test
+    public void resolvesLikeTheFormerStringBasedResolution() {
+        for (final String templateString : TEMPLATES) {
+            final JsonPointer template = JsonPointer.of(templateString);
+            final TemplateMatcher underTest = TemplateMatcher.compile(template);
+            for (final String targetString : CHANGED_PATHS) {
+                final JsonPointer targetPath = THING_PATH.append(JsonPointer.of(targetString));
+                for (final String changedString : CHANGED_PATHS) {
+                    final JsonPointer combinedPath = targetPath.append(JsonPointer.of(changedString));
+                    final String description = template + " resolving " + combinedPath + " at " + targetPath;
+                    final List<Object> expected = resolveByStrings(targetPath, combinedPath, template);
+
+                    final TemplateMatcher.Resolution actual = underTest.resolve(targetPath, combinedPath);
+
+                    if (null == expected) {
+                        assertThat(actual).as(description).isNull();
+                    } else {
+                        assertThat(actual).as(description).isNotNull();
+                        assertThat(Arrays.asList(actual.getDiff(), actual.getParsedPath(),
+                                actual.getTemplateParams())).as(description).isEqualTo(expected);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void resolvesPlaceholdersIntoUnmodifiableParameters() {
+        final TemplateMatcher underTest = TemplateMatcher.compile(
+                JsonPointer.of("/things/{thingId}/features/{featureId}/properties/{propertyPath}"));
+        final JsonPointer combinedPath = THING_PATH.append(JsonPointer.of("/features/lamp/properties/on"));
+
+        final TemplateMatcher.Resolution resolution = underTest.resolve(THING_PATH, combinedPath);
+
+        assertThat(resolution).isNotNull();
+        assertThat(resolution.getTemplateParams())
+                .containsOnly(entry("{featureId}", "lamp"), entry("{propertyPath}", "on"))
+                .doesNotContainKey("{thingId}");
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> resolution.getTemplateParams().put("{thingId}", "thing-1"));
+        assertThat(Arrays.asList(resolution.getDiff(), resolution.getParsedPath()))
+                .containsExactly(JsonPointer.of("/features/lamp/properties/on"), JsonPointer.empty());
+    }
+
+    @Test
+    public void matchesLikeTheSelectorTemplates() {
+        for (final String templateString : TEMPLATES) {
+            final JsonPointer template = JsonPointer.of(templateString);
+            final TemplateMatcher underTest = TemplateMatcher.compile(template);
+            for (final String changedString : CHANGED_PATHS) {
+                final JsonPointer target = THING_PATH.append(JsonPointer.of(changedString));
+
+                assertThat(underTest.matches(target)).as("%s matching %s", template, target)
+                        .isEqualTo(JsonPointerSelector.doesTargetMatchTemplate(target, template));
+            }
+        }
+        assertThat(TemplateMatcher.compile(JsonPointer.of("/things/{thingId}")).matches(JsonPointer.empty()))
+                .isTrue();
+    }
+
+    /**
+     * Resolves the template the way it was resolved before it was compiled.
+     *
+     * @return the diff, the parsed path and the template parameters or {@code null} if the change is not propagated.
+     */
+    private static List<Object> resolveByStrings(final JsonPointer targetPath, final JsonPointer combinedPath,
+            final JsonPointer template) {
+
+        final JsonPointer selectorTemplatePath = template.getSubPointer(2).orElse(JsonPointer.empty());
+        final JsonPointer thingRelativePointer = combinedPath.getSubPointer(2).orElse(JsonPointer.empty());
+        final Map<String, String> templateParams = new HashMap<>();
+        JsonPointer pathRelativePointer = thingRelativePointer;
+        for (int i = 0; i < selectorTemplatePath.getLevelCount(); i++) {
+            final Optional<JsonKey> trKey = thingRelativePointer.get(i);
+            final Optional<JsonKey> pKey = selectorTemplatePath.get(i);
+            if (trKey.equals(pKey)) {
+                pathRelativePointer = pathRelativePointer.nextLevel();
+            } else if (trKey.isPresent() && pKey.isPresent() && pKey.get().toString().matches("^\\{.*}$")) {
+                templateParams.put(pKey.get().toString(), trKey.get().toString());
+                pathRelativePointer = pathRelativePointer.nextLevel();
+            }
+        }
+        final JsonPointer diff = JsonPointer.of(combinedPath.toString().replace(targetPath.toString(), ""));
+        if (!diff.isEmpty() && !diff.toString().startsWith(pathRelativePointer.toString())) {
+            return null;
+        }
+        return Arrays.asList(diff, pathRelativePointer, templateParams);
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the {@link TimeoutScheduler}s with many outstanding commands. Each operation schedules the timeout of
+ * a command and cancels it again as the response arrived, which is what every {@code retrieve}, {@code put} etc.
+ * does. Run {@link #main(String[])} after {@code mvn test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TimeoutSchedulerBenchmark {
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(10L);
+    private static final Runnable NO_OP = () -> {};
+
+    @Param({"scheduledExecutor", "hashedWheel"})
+    public String scheduler;
+
+    @Param({"100000"})
+    public int outstandingCommands;
+
+    private ScheduledExecutorService scheduledExecutor;
+    private TimeoutScheduler timeoutScheduler;
+
+    @Setup
+    public void setUp() {
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        timeoutScheduler = "hashedWheel".equals(scheduler)
+                ? TimeoutSchedulers.hashedWheel(scheduledExecutor)
+                : TimeoutSchedulers.scheduledExecutor(scheduledExecutor);
+        // commands whose responses are still outstanding during the whole benchmark
+        for (int i = 0; i < outstandingCommands; i++) {
+            timeoutScheduler.schedule(NO_OP, Duration.ofHours(1L).plusMillis(i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        return timeoutScheduler.schedule(NO_OP, COMMAND_TIMEOUT).cancel();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TimeoutSchedulerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+}
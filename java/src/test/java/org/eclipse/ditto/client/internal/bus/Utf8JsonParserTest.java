@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseException;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link Utf8JsonParser}.
+ */
+public final class Utf8JsonParserTest {
+
+    private static final String THING_MODIFIED = "{" +
+            "\"topic\":\"org.eclipse.ditto/sensor-4711/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"4c8f2ea2-d4c5-4a7b-a7c6-2b1f0f5b6f0e\"," +
+            "\"content-type\":\"application/json\"}," +
+            "\"path\":\"/features/environment/properties\"," +
+            "\"value\":{\"temperature\":21.75,\"humidity\":48,\"pressure\":-1013250000000,\"big\":12345678901234567890," +
+            "\"online\":true,\"error\":null,\"tags\":[\"a/b\",\"\\u00fc\\n\\\"\",\"\u00e4\u20ac\",1.0E-300,-0.5,[]],\"empty\":{}}," +
+            "\"revision\":42}";
+
+    @Test
+    public void parsesLikeJsonObjectOf() {
+        assertThat(Utf8JsonParser.parseObject(utf8(THING_MODIFIED))).isEqualTo(JsonObject.of(THING_MODIFIED));
+    }
+
+    @Test
+    public void keysWithSlashesAreKeptAsFieldNames() {
+        final JsonObject parsed = Utf8JsonParser.parseObject(utf8("{\"a/b\":1}"));
+
+        assertThat(parsed.getKeys()).hasSize(1);
+        assertThat(parsed.getKeys().get(0).toString()).isEqualTo("a/b");
+    }
+
+    @Test
+    public void whitespaceAroundTokensIsSkipped() {
+        assertThat(Utf8JsonParser.parseObject(utf8(" {\n\t\"a\" : [ 1 , 2 ] }\r\n")))
+                .isEqualTo(JsonObject.of("{\"a\":[1,2]}"));
+    }
+
+    @Test
+    public void invalidJsonIsRejected() {
+        for (final String invalid : new String[]{"[]", "{", "{\"a\":}", "{\"a\":1,}", "{\"a\":01}", "{\"a\":tru}",
+                "{\"a\":\"\\x\"}", "{} {}", "{\"a\":-}"}) {
+            assertThatExceptionOfType(JsonParseException.class)
+                    .as(invalid)
+                    .isThrownBy(() -> Utf8JsonParser.parseObject(utf8(invalid)));
+        }
+    }
+
+    @Test
+    public void onlyJsonObjectsAreDetected() {
+        assertThat(Utf8JsonParser.startsWithObject(utf8("  {\"topic\":\"x\"}"))).isTrue();
+        assertThat(Utf8JsonParser.startsWithObject(utf8("START-SEND-EVENTS:ACK"))).isFalse();
+        assertThat(Utf8JsonParser.startsWithObject(utf8(" "))).isFalse();
+    }
+
+    private static byte[] utf8(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
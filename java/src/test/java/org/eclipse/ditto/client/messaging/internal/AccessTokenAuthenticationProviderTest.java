@@ -39,6 +39,9 @@ public final class AccessTokenAuthenticationProviderTest {
     @Mock
     private WebSocket webSocket;
 
+    @Mock
+    private WebSocket replacingWebSocket;
+
     @Test
     public void tokenRefreshIsCalledBeforeExpiry() {
         final AccessTokenAuthenticationProvider underTest = getAccessTokenAuthenticationProvider(6L);
@@ -50,6 +53,20 @@ public final class AccessTokenAuthenticationProviderTest {
         underTest.destroy();
     }
 
+    @Test
+    public void tokenRefreshOfAConnectionIsSentToItsCurrentWebSocket() {
+        final AccessTokenAuthenticationProvider underTest = getAccessTokenAuthenticationProvider(6L);
+        final Object connection = new Object();
+
+        underTest.prepareAuthentication(webSocket, connection, () -> webSocket);
+        underTest.prepareAuthentication(replacingWebSocket, connection, () -> replacingWebSocket);
+
+        verify(replacingWebSocket, timeout(10000L)).sendText(startsWith("JWT-TOKEN?jwtToken="));
+        verify(webSocket, never()).sendText(startsWith("JWT-TOKEN?jwtToken="));
+
+        underTest.destroy();
+    }
+
     @Test
     public void tokenRefreshIsNotCalledWithNegativeExpiry() {
         final AccessTokenAuthenticationProvider underTest = getAccessTokenAuthenticationProvider(0L);
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.ditto.client.internal.bus.TimeoutScheduler;
+import org.eclipse.ditto.protocol.TopicPath;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdmissionController}.
+ */
+public final class AdmissionControllerTest {
+
+    private final List<Runnable> scheduledTimeouts = new ArrayList<>();
+    private final List<String> sent = new ArrayList<>();
+    private final List<CompletableFuture<String>> responses = new ArrayList<>();
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private AdmissionController underTest;
+
+    @Before
+    public void setUp() {
+        final TimeoutScheduler timeoutScheduler = (task, delay) -> {
+            scheduledTimeouts.add(task);
+            return () -> scheduledTimeouts.remove(task);
+        };
+        underTest = new AdmissionController(2, Duration.ofSeconds(1L), timeoutScheduler, Runnable::run,
+                nanoTime::get);
+    }
+
+    @Test
+    public void sendsRequestsRightAwayBelowTheLimit() {
+        final CompletionStage<String> first = underTest.admit(TopicPath.Channel.TWIN, request("twin-1"));
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-2"));
+
+        assertThat(sent).containsExactly("twin-1", "twin-2");
+        assertThat(underTest.getInFlightRequests()).isEqualTo(2);
+        assertThat(underTest.getQueueLength()).isZero();
+
+        responses.get(0).complete("response-1");
+        assertThat(first.toCompletableFuture()).isCompletedWithValue("response-1");
+        assertThat(underTest.getInFlightRequests()).isEqualTo(1);
+        assertThat(underTest.getAdmittedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void sharesFreedCapacityBetweenChannels() {
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-1"));
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-2"));
+        for (int i = 3; i <= 6; i++) {
+            underTest.admit(TopicPath.Channel.TWIN, request("twin-" + i));
+        }
+        underTest.admit(TopicPath.Channel.LIVE, request("live-1"));
+        underTest.admit(TopicPath.Channel.NONE, request("policies-1"));
+
+        assertThat(underTest.getQueueLength()).isEqualTo(6);
+        assertThat(underTest.getQueueLengthPerChannel())
+                .containsEntry(TopicPath.Channel.TWIN, 4)
+                .containsEntry(TopicPath.Channel.LIVE, 1)
+                .containsEntry(TopicPath.Channel.NONE, 1);
+
+        for (int i = 0; i < 4; i++) {
+            responses.get(i).complete("response");
+        }
+
+        // each channel gets a turn although the twin channel queued first and most
+        assertThat(sent.subList(2, 6)).containsExactlyInAnyOrder("twin-3", "live-1", "policies-1", "twin-4");
+        assertThat(underTest.getInFlightRequests()).isEqualTo(2);
+        assertThat(underTest.getQueueLength()).isEqualTo(2);
+        assertThat(underTest.getQueuedCount()).isEqualTo(6L);
+    }
+
+    @Test
+    public void measuresTheWaitOfQueuedRequestsAndStartsThemWhenAdmitted() {
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-1"));
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-2"));
+        final CompletionStage<String> queued = underTest.admit(TopicPath.Channel.LIVE, request("live-1"));
+
+        assertThat(sent).doesNotContain("live-1");
+        nanoTime.addAndGet(Duration.ofMillis(250L).toNanos());
+        responses.get(0).complete("response-1");
+
+        assertThat(sent).contains("live-1");
+        assertThat(underTest.getMaxWaitTime()).isEqualTo(Duration.ofMillis(250L));
+        assertThat(underTest.getTotalWaitTime()).isEqualTo(Duration.ofMillis(250L));
+        assertThat(scheduledTimeouts).isEmpty();
+
+        responses.get(2).complete("response-3");
+        assertThat(queued.toCompletableFuture()).isCompletedWithValue("response-3");
+    }
+
+    @Test
+    public void rejectsQueuedRequestsAfterTheMaximumWaitWithoutSendingThem() throws InterruptedException {
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-1"));
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-2"));
+        final CompletionStage<String> queued = underTest.admit(TopicPath.Channel.LIVE, request("live-1"));
+
+        new ArrayList<>(scheduledTimeouts).forEach(Runnable::run);
+
+        try {
+            queued.toCompletableFuture().get();
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(TimeoutException.class);
+        }
+        assertThat(queued.toCompletableFuture()).isCompletedExceptionally();
+        assertThat(underTest.getRejectedCount()).isEqualTo(1L);
+        assertThat(underTest.getQueueLength()).isZero();
+
+        responses.get(0).complete("response-1");
+        assertThat(sent).containsExactly("twin-1", "twin-2");
+        assertThat(underTest.getInFlightRequests()).isEqualTo(1);
+    }
+
+    @Test
+    public void cancellingAQueuedRequestRemovesItWithoutSendingIt() {
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-1"));
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-2"));
+        final CompletionStage<String> queued = underTest.admit(TopicPath.Channel.LIVE, request("live-1"));
+
+        queued.toCompletableFuture().cancel(false);
+
+        assertThat(underTest.getQueueLength()).isZero();
+        assertThat(scheduledTimeouts).isEmpty();
+        responses.get(0).complete("response-1");
+        assertThat(sent).containsExactly("twin-1", "twin-2");
+        assertThat(underTest.getInFlightRequests()).isEqualTo(1);
+    }
+
+    @Test
+    public void cancellingAnAdmittedRequestCancelsItsResponse() {
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-1"));
+        underTest.admit(TopicPath.Channel.TWIN, request("twin-2"));
+        final CompletionStage<String> queued = underTest.admit(TopicPath.Channel.LIVE, request("live-1"));
+        responses.get(0).complete("response-1");
+
+        queued.toCompletableFuture().cancel(false);
+
+        assertThat(responses.get(2)).isCancelled();
+        assertThat(underTest.getInFlightRequests()).isEqualTo(1);
+    }
+
+    @Test
+    public void releasesThePermitOfRequestsFailingToBeSent() {
+        final CompletionStage<String> failed = underTest.admit(TopicPath.Channel.TWIN, () -> {
+            throw new IllegalStateException("not connected");
+        });
+
+        assertThat(failed.toCompletableFuture()).isCompletedExceptionally();
+        assertThat(underTest.getInFlightRequests()).isZero();
+    }
+
+    private Supplier<CompletionStage<String>> request(final String name) {
+        return () -> {
+            sent.add(name);
+            final CompletableFuture<String> response = new CompletableFuture<>();
+            responses.add(response);
+            return response;
+        };
+    }
+
+}
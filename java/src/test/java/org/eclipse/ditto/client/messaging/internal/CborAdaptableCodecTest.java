@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.JsonifiableAdaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CborAdaptableCodec}.
+ */
+public final class CborAdaptableCodecTest {
+
+    private static final String THING_MODIFIED = "{" +
+            "\"topic\":\"org.eclipse.ditto/sensor-4711/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"4c8f2ea2-d4c5-4a7b-a7c6-2b1f0f5b6f0e\"," +
+            "\"content-type\":\"application/json\"}," +
+            "\"path\":\"/features/environment/properties\"," +
+            "\"value\":{\"temperature\":21.75,\"humidity\":48,\"pressure\":-1013250000000," +
+            "\"online\":true,\"error\":null,\"tags\":[\"a/b\",\"\\u00fc\",1.0E-300]}," +
+            "\"revision\":42}";
+
+    private final CborAdaptableCodec underTest = CborAdaptableCodec.getInstance();
+
+    @Test
+    public void roundTripKeepsTheAdaptable() {
+        final JsonifiableAdaptable adaptable = adaptableOf(THING_MODIFIED);
+
+        final Adaptable decoded = underTest.decode(underTest.encode(adaptable));
+
+        assertThat(ProtocolFactory.wrapAsJsonifiableAdaptable(decoded).toJson()).isEqualTo(adaptable.toJson());
+    }
+
+    @Test
+    public void encodingIsSmallerThanJsonText() {
+        final JsonifiableAdaptable adaptable = adaptableOf(THING_MODIFIED);
+
+        final int jsonSize = adaptable.toJsonString().getBytes(StandardCharsets.UTF_8).length;
+
+        assertThat(underTest.encode(adaptable).length).isLessThan(jsonSize);
+    }
+
+    @Test
+    public void decodingTruncatedDataFails() {
+        final byte[] encoded = underTest.encode(adaptableOf(THING_MODIFIED));
+        final byte[] truncated = new byte[encoded.length - 1];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> underTest.decode(truncated));
+    }
+
+    @Test
+    public void decodingDeeplyNestedDataFailsInsteadOfOverflowingTheStack() {
+        final int depth = 100_000;
+        final byte[] nested = new byte[depth + 8];
+        // a map with the key "value" whose value is an array containing an array containing an array ...
+        nested[0] = (byte) 0xa1;
+        nested[1] = 0x65;
+        System.arraycopy("value".getBytes(StandardCharsets.US_ASCII), 0, nested, 2, 5);
+        for (int i = 7; i < nested.length - 1; i++) {
+            nested[i] = (byte) 0x81;
+        }
+        nested[nested.length - 1] = (byte) 0x80;
+
+        assertThatIllegalArgumentException().isThrownBy(() -> underTest.decode(nested))
+                .withMessageContaining("nested deeper");
+    }
+
+    @Test
+    public void decodingNonMapFails() {
+        // the CBOR text string "a"
+        assertThatIllegalArgumentException().isThrownBy(() -> underTest.decode(new byte[]{0x61, 0x61}));
+    }
+
+    private static JsonifiableAdaptable adaptableOf(final String json) {
+        return ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(json));
+    }
+
+}
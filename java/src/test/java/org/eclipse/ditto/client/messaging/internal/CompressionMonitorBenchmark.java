@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketExtension;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Benchmark of the permessage-deflate compression of a twin event. {@code deflateMessage} compresses the event like
+ * the WebSocket library does, with a new raw deflater per message as {@code client_no_context_takeover} is always
+ * negotiated. {@code monitorMessage} is the bookkeeping of {@link CompressionMonitor} which comes on top of it. Run
+ * {@link #main(String[])} after {@code mvn test-compile} to get the allocated bytes per message as
+ * {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionMonitorBenchmark {
+
+    private static final String TWIN_EVENT = "{\"topic\":\"org.eclipse.ditto/thing-1/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"cid-1\",\"content-type\":\"application/json\"}," +
+            "\"path\":\"/features/environment/properties\",\"value\":{\"temperature\":21.5,\"humidity\":43," +
+            "\"location\":{\"lat\":47.68,\"lon\":9.38},\"history\":[21.1,21.2,21.4,21.5]},\"revision\":3}";
+
+    private byte[] payload;
+    private WebSocket webSocket;
+    private CompressionMonitor monitor;
+
+    @Setup
+    public void setUp() {
+        payload = TWIN_EVENT.getBytes(StandardCharsets.UTF_8);
+        webSocket = mock(WebSocket.class);
+        when(webSocket.isOpen()).thenReturn(true);
+        when(webSocket.getAgreedExtensions())
+                .thenReturn(Collections.singletonList(new WebSocketExtension(WebSocketExtension.PERMESSAGE_DEFLATE)));
+        monitor = CompressionMonitor.newInstance(webSocket, new DefaultCompressionStatistics());
+    }
+
+    @Benchmark
+    public byte[] deflateMessage() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(payload, 0, payload.length);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public WebSocketFrame monitorMessage() {
+        final WebSocketFrame frame = WebSocketFrame.createBinaryFrame(payload);
+        monitor.beforeSending(webSocket, frame);
+        monitor.onSendingFrame(webSocket, frame);
+        return frame;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompressionMonitorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+}
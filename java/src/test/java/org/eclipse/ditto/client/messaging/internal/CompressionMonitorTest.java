@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.eclipse.ditto.client.configuration.CompressionConfiguration;
+import org.junit.Test;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketExtension;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Unit test for {@link CompressionMonitor}.
+ */
+public final class CompressionMonitorTest {
+
+    private static final String EVENT = "{\"topic\":\"org.eclipse.ditto/sensor-4711/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"4c8f2ea2-d4c5-4a7b-a7c6-2b1f0f5b6f0e\"," +
+            "\"content-type\":\"application/json\"},\"path\":\"/features/environment/properties/temperature\"," +
+            "\"value\":21.75,\"revision\":42}";
+
+    private final DefaultCompressionStatistics statistics = new DefaultCompressionStatistics();
+
+    @Test
+    public void compressedMessagesAreCountedWithTheirSizeAsSent() {
+        final WebSocket webSocket = connectedWebSocket(true);
+        final CompressionMonitor underTest = CompressionMonitor.newInstance(webSocket, statistics);
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(EVENT);
+
+        underTest.beforeSending(webSocket, frame);
+        // the library deflates the frame in place right before writing it
+        frame.setPayload(new byte[42]).setRsv1(true);
+        underTest.onSendingFrame(webSocket, frame);
+
+        assertThat(statistics.getCompressedMessages()).isEqualTo(1L);
+        assertThat(statistics.getUncompressedMessages()).isZero();
+        assertThat(statistics.getBytesBeforeCompression()).isEqualTo(EVENT.length());
+        assertThat(statistics.getBytesAfterCompression()).isEqualTo(42L);
+    }
+
+    @Test
+    public void messagesWhichDidNotShrinkAreCountedAsUncompressed() {
+        final WebSocket webSocket = connectedWebSocket(true);
+        final CompressionMonitor underTest = CompressionMonitor.newInstance(webSocket, statistics);
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame("{}");
+
+        underTest.beforeSending(webSocket, frame);
+        underTest.onSendingFrame(webSocket, frame);
+
+        assertThat(statistics.getUncompressedMessages()).isEqualTo(1L);
+        assertThat(statistics.getBytesAfterCompression()).isEqualTo(statistics.getBytesBeforeCompression())
+                .isEqualTo(2L);
+    }
+
+    @Test
+    public void continuationFramesOfSplitMessagesAreAddedToTheSizeAsSent() {
+        final WebSocket webSocket = connectedWebSocket(true);
+        final CompressionMonitor underTest = CompressionMonitor.newInstance(webSocket, statistics);
+        final WebSocketFrame frame = WebSocketFrame.createBinaryFrame(new byte[1000]);
+
+        underTest.beforeSending(webSocket, frame);
+        frame.setPayload(new byte[10]).setRsv1(true).setFin(false);
+        underTest.onSendingFrame(webSocket, frame);
+        underTest.onSendingFrame(webSocket, WebSocketFrame.createContinuationFrame(new byte[5]).setFin(true));
+
+        assertThat(statistics.getCompressedMessages()).isEqualTo(1L);
+        assertThat(statistics.getBytesBeforeCompression()).isEqualTo(1000L);
+        assertThat(statistics.getBytesAfterCompression()).isEqualTo(15L);
+    }
+
+    @Test
+    public void nothingIsCountedIfTheBackendDidNotAcceptTheExtension() {
+        final WebSocket webSocket = connectedWebSocket(false);
+        final CompressionMonitor underTest = CompressionMonitor.newInstance(webSocket, statistics);
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(EVENT);
+
+        underTest.beforeSending(webSocket, frame);
+        underTest.onSendingFrame(webSocket, frame);
+
+        assertThat(underTest.isCompressing()).isFalse();
+        assertThat(statistics.getBytesBeforeCompression()).isZero();
+        assertThat(statistics.getUncompressedMessages()).isZero();
+    }
+
+    @Test
+    public void framesOfOtherWebSocketsAndControlFramesAreIgnored() {
+        final WebSocket webSocket = connectedWebSocket(true);
+        final CompressionMonitor underTest = CompressionMonitor.newInstance(webSocket, statistics);
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(EVENT);
+        final WebSocketFrame ping = WebSocketFrame.createPingFrame();
+
+        underTest.beforeSending(connectedWebSocket(true), frame);
+        underTest.beforeSending(webSocket, ping);
+        underTest.onSendingFrame(webSocket, frame);
+        underTest.onSendingFrame(webSocket, ping);
+
+        assertThat(statistics.getBytesBeforeCompression()).isZero();
+        assertThat(statistics.getCompressedMessages() + statistics.getUncompressedMessages()).isZero();
+    }
+
+    @Test
+    public void unsentFramesAreForgotten() {
+        final WebSocket webSocket = connectedWebSocket(true);
+        final CompressionMonitor underTest = CompressionMonitor.newInstance(webSocket, statistics);
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(EVENT);
+
+        underTest.beforeSending(webSocket, frame);
+        underTest.onFrameUnsent(webSocket, frame);
+        underTest.onSendingFrame(webSocket, frame);
+
+        assertThat(statistics.getBytesBeforeCompression()).isZero();
+    }
+
+    @Test
+    public void extensionOfferAlwaysContainsClientNoContextTakeover() {
+        final WebSocketExtension offer = CompressionMonitor.toExtensionOffer(CompressionConfiguration.newBuilder()
+                .serverContextTakeover(false)
+                .build());
+
+        assertThat(offer.toString())
+                .isEqualTo("permessage-deflate; client_no_context_takeover; server_no_context_takeover");
+        assertThat(CompressionMonitor.toExtensionOffer(CompressionConfiguration.newBuilder().build()).toString())
+                .isEqualTo("permessage-deflate; client_no_context_takeover");
+    }
+
+    private static WebSocket connectedWebSocket(final boolean deflateAgreed) {
+        final WebSocket webSocket = mock(WebSocket.class);
+        when(webSocket.isOpen()).thenReturn(true);
+        when(webSocket.getAgreedExtensions()).thenReturn(deflateAgreed
+                ? Collections.singletonList(new WebSocketExtension(WebSocketExtension.PERMESSAGE_DEFLATE))
+                : Collections.emptyList());
+        return webSocket;
+    }
+
+}
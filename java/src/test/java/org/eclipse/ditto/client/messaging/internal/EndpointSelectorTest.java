@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.ditto.client.configuration.EndpointSelectionStrategy;
+import org.eclipse.ditto.client.messaging.EndpointHealth;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link EndpointSelector}.
+ */
+public final class EndpointSelectorTest {
+
+    private static final List<URI> ENDPOINTS = Arrays.asList(URI.create("ws://gateway-1/ws/2"),
+            URI.create("ws://gateway-2/ws/2"), URI.create("ws://gateway-3/ws/2"));
+
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    @Test
+    public void prefersEndpointsInConfiguredOrderWithoutObservations() {
+        final EndpointSelector underTest = selector(EndpointSelectionStrategy.LEAST_LATENCY);
+
+        assertThat(underTest.select().getEndpointUri()).isEqualTo(ENDPOINTS.get(0));
+    }
+
+    @Test
+    public void selectsEndpointWithLeastLatency() {
+        final EndpointSelector underTest = selector(EndpointSelectionStrategy.LEAST_LATENCY);
+        final List<EndpointHealth> health = underTest.getEndpointHealth();
+        endpoint(underTest, 0).recordConnected(millis(30L));
+        endpoint(underTest, 1).recordConnected(millis(10L));
+        endpoint(underTest, 1).recordRoundTrip(millis(15L));
+        endpoint(underTest, 2).recordConnected(millis(20L));
+
+        assertThat(underTest.select().getEndpointUri()).isEqualTo(ENDPOINTS.get(2));
+        assertThat(health.get(1).getConnectTime()).contains(Duration.ofMillis(10L));
+        assertThat(health.get(1).getRoundTripTime()).contains(Duration.ofMillis(15L));
+        assertThat(health.get(0).getRoundTripTime()).isEmpty();
+    }
+
+    @Test
+    public void failsOverToHealthyEndpoint() {
+        final EndpointSelector underTest = selector(EndpointSelectionStrategy.LEAST_LATENCY);
+
+        final EndpointSelector.Endpoint first = underTest.select();
+        first.recordFailure();
+        final EndpointSelector.Endpoint second = underTest.select();
+        second.recordFailure();
+        final EndpointSelector.Endpoint third = underTest.select();
+
+        assertThat(Arrays.asList(first.getEndpointUri(), second.getEndpointUri(), third.getEndpointUri()))
+                .containsExactlyElementsOf(ENDPOINTS);
+        assertThat(first.isHealthy()).isFalse();
+        assertThat(first.getConsecutiveFailures()).isEqualTo(1);
+        assertThat(third.isHealthy()).isTrue();
+    }
+
+    @Test
+    public void retriesEndpointWhoseEjectionExpiresFirstIfAllFailed() {
+        final EndpointSelector underTest = selector(EndpointSelectionStrategy.LEAST_LATENCY);
+        endpoint(underTest, 1).recordFailure();
+        endpoint(underTest, 1).recordFailure();
+        endpoint(underTest, 0).recordFailure();
+        endpoint(underTest, 0).recordFailure();
+        nanoClock.addAndGet(millis(100L));
+        endpoint(underTest, 2).recordFailure();
+
+        // the first two endpoints are ejected for 1.9 more seconds, the third one for 1 more second
+        assertThat(underTest.select().getEndpointUri()).isEqualTo(ENDPOINTS.get(2));
+
+        nanoClock.addAndGet(millis(2_000L));
+        endpoint(underTest, 2).recordFailure();
+        assertThat(underTest.select().getEndpointUri()).isEqualTo(ENDPOINTS.get(0));
+    }
+
+    @Test
+    public void successfulConnectionMakesEndpointHealthyAgain() {
+        final EndpointSelector underTest = selector(EndpointSelectionStrategy.LEAST_LATENCY);
+        final EndpointSelector.Endpoint endpoint = endpoint(underTest, 0);
+        endpoint.recordFailure();
+        endpoint.recordFailure();
+
+        endpoint.recordConnected(millis(5L));
+
+        assertThat(endpoint.isHealthy()).isTrue();
+        assertThat(endpoint.getConsecutiveFailures()).isZero();
+        assertThat(endpoint.getFailureCount()).isEqualTo(2L);
+        assertThat(endpoint.getConnectionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void weightedRandomFavoursFasterEndpoints() {
+        final EndpointSelector underTest = selector(EndpointSelectionStrategy.WEIGHTED_RANDOM);
+        endpoint(underTest, 0).recordConnected(millis(10L));
+        endpoint(underTest, 1).recordConnected(millis(40L));
+        endpoint(underTest, 2).recordFailure();
+
+        final Map<URI, Integer> selections = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            selections.merge(underTest.select().getEndpointUri(), 1, Integer::sum);
+        }
+
+        // weights 1/10 and 1/40 select the first endpoint in 80 percent of the cases
+        assertThat(selections.get(ENDPOINTS.get(0))).isBetween(7_500, 8_500);
+        assertThat(selections.get(ENDPOINTS.get(1))).isBetween(1_500, 2_500);
+        assertThat(selections).doesNotContainKey(ENDPOINTS.get(2));
+    }
+
+    @Test
+    public void rejectsEmptyEndpoints() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                EndpointSelector.newInstance(Collections.emptyList(), EndpointSelectionStrategy.LEAST_LATENCY,
+                        nanoClock::get));
+    }
+
+    private EndpointSelector selector(final EndpointSelectionStrategy strategy) {
+        return EndpointSelector.newInstance(ENDPOINTS, strategy, nanoClock::get);
+    }
+
+    private static EndpointSelector.Endpoint endpoint(final EndpointSelector selector, final int index) {
+        return (EndpointSelector.Endpoint) selector.getEndpointHealth().get(index);
+    }
+
+    private static long millis(final long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.client.configuration.OutboxConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link Outbox}.
+ */
+public final class OutboxTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void messagesArePolledInOrder() throws IOException {
+        try (final Outbox underTest = Outbox.open(config(1024, 4096), CLOCK)) {
+            assertThat(underTest.isEmpty()).isTrue();
+            assertThat(underTest.append("a")).isTrue();
+            assertThat(underTest.append("b")).isTrue();
+
+            assertThat(underTest.size()).isEqualTo(2);
+            assertThat(pollAndAcknowledge(underTest)).isEqualTo("a");
+            assertThat(pollAndAcknowledge(underTest)).isEqualTo("b");
+            assertThat(underTest.poll()).isNull();
+            assertThat(underTest.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    public void segmentsAreRotatedAndDeletedOnceConsumed() throws IOException {
+        try (final Outbox underTest = Outbox.open(config(1024, 4096), CLOCK)) {
+            final List<String> messages = appendMessagesOf100Bytes(underTest, 27);
+
+            assertThat(segmentFiles()).hasSize(3);
+            assertThat(pollAll(underTest)).isEqualTo(messages);
+            assertThat(segmentFiles()).hasSize(1);
+        }
+    }
+
+    @Test
+    public void appendFailsWhenMaxSizeIsReached() throws IOException {
+        try (final Outbox underTest = Outbox.open(config(1024, 2048), CLOCK)) {
+            final List<String> messages = appendMessagesOf100Bytes(underTest, 18);
+
+            assertThat(underTest.append(messages.get(0))).isFalse();
+            assertThat(underTest.append(repeat('x', 1024))).isFalse();
+            assertThat(underTest.size()).isEqualTo(18);
+        }
+    }
+
+    @Test
+    public void expiredMessagesAreSkipped() throws IOException {
+        final OutboxConfiguration config = config(1024, 4096);
+        try (final Outbox outbox = Outbox.open(config, CLOCK)) {
+            outbox.append("expired");
+        }
+        final Clock later = Clock.offset(CLOCK, Duration.ofMinutes(2L));
+        try (final Outbox underTest = Outbox.open(config, later)) {
+            underTest.append("fresh");
+
+            assertThat(pollAndAcknowledge(underTest)).isEqualTo("fresh");
+            assertThat(underTest.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    public void unconsumedMessagesAreRestoredAfterReopening() throws IOException {
+        final OutboxConfiguration config = config(1024, 4096);
+        final List<String> messages;
+        try (final Outbox outbox = Outbox.open(config, CLOCK)) {
+            messages = appendMessagesOf100Bytes(outbox, 15);
+            pollAndAcknowledge(outbox);
+            pollAndAcknowledge(outbox);
+            // polled, but not acknowledged
+            outbox.poll();
+        }
+
+        try (final Outbox underTest = Outbox.open(config, CLOCK)) {
+            assertThat(underTest.size()).isEqualTo(13);
+            underTest.append("appended after restart");
+
+            final List<String> expected = new ArrayList<>(messages.subList(2, messages.size()));
+            expected.add("appended after restart");
+            assertThat(pollAll(underTest)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void unacknowledgedMessagesAreHandedOutAgainAfterRewinding() throws IOException {
+        try (final Outbox underTest = Outbox.open(config(1024, 4096), CLOCK)) {
+            final List<String> messages = appendMessagesOf100Bytes(underTest, 12);
+            final Outbox.Record first = underTest.poll();
+            final Outbox.Record second = underTest.poll();
+            assertThat(first).isNotNull();
+            assertThat(second).isNotNull();
+
+            underTest.acknowledge(second);
+            underTest.rewind();
+
+            assertThat(underTest.size()).isEqualTo(11);
+            final List<String> expected = new ArrayList<>(messages);
+            expected.remove(1);
+            assertThat(pollAll(underTest)).isEqualTo(expected);
+            assertThat(underTest.isEmpty()).isTrue();
+            assertThat(segmentFiles()).hasSize(1);
+        }
+    }
+
+    @Test
+    public void restoredSegmentIsNotOverfilledWhenTheSegmentSizeWasRaised() throws IOException {
+        try (final Outbox outbox = Outbox.open(config(1024, 4096), CLOCK)) {
+            appendMessagesOf100Bytes(outbox, 5);
+        }
+
+        try (final Outbox underTest = Outbox.open(config(2048, 8192), CLOCK)) {
+            final List<String> messages = appendMessagesOf100Bytes(underTest, 10);
+
+            assertThat(segmentFiles()).hasSize(2);
+            assertThat(pollAll(underTest).subList(5, 15)).isEqualTo(messages);
+        }
+    }
+
+    private OutboxConfiguration config(final int segmentSize, final long maxSize) {
+        return OutboxConfiguration.newBuilder()
+                .directory(temporaryFolder.getRoot().toPath())
+                .segmentSize(segmentSize)
+                .maxSize(maxSize)
+                .messageTimeToLive(Duration.ofMinutes(1L))
+                .build();
+    }
+
+    private File[] segmentFiles() {
+        return temporaryFolder.getRoot().listFiles((dir, name) -> name.endsWith(".seg"));
+    }
+
+    /**
+     * Appends messages which take 100 bytes each plus the 12 byte record header, i.e. 9 messages fit into a
+     * segment of 1024 bytes.
+     */
+    private static List<String> appendMessagesOf100Bytes(final Outbox outbox, final int count) throws IOException {
+        final List<String> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final String message = String.format("%03d", i) + repeat('m', 97);
+            assertThat(outbox.append(message)).isTrue();
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static List<String> pollAll(final Outbox outbox) {
+        final List<String> polled = new ArrayList<>();
+        String message;
+        while (null != (message = pollAndAcknowledge(outbox))) {
+            polled.add(message);
+        }
+        return polled;
+    }
+
+    @Nullable
+    private static String pollAndAcknowledge(final Outbox outbox) {
+        final Outbox.Record record = outbox.poll();
+        if (null == record) {
+            return null;
+        }
+        outbox.acknowledge(record);
+        return record.getMessage();
+    }
+
+    private static String repeat(final char c, final int count) {
+        final StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+}
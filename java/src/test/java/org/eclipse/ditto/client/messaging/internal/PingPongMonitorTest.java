@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PingPongMonitor} and the {@link DefaultLatencyStatistics} it records in.
+ */
+public final class PingPongMonitorTest {
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final AtomicInteger halfOpenCalls = new AtomicInteger();
+
+    private DefaultLatencyStatistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = new DefaultLatencyStatistics();
+    }
+
+    @Test
+    public void recordsRoundTripTimeOfAnsweredPing() {
+        final PingPongMonitor underTest = monitor(2);
+
+        final byte[] ping = underTest.generate();
+        advanceMillis(42L);
+        underTest.onPong(ping);
+
+        assertThat(statistics.getPongCount()).isEqualTo(1L);
+        assertThat(statistics.getMissedPongCount()).isZero();
+        assertThat(statistics.getLatestRoundTripTime()).contains(Duration.ofMillis(42L));
+    }
+
+    @Test
+    public void countsMissedPongsAndCallsBackOnceWhenHalfOpen() {
+        final PingPongMonitor underTest = monitor(2);
+
+        underTest.generate();
+        underTest.generate();
+        assertThat(statistics.getMissedPongCount()).isEqualTo(1L);
+        assertThat(halfOpenCalls).hasValue(0);
+
+        underTest.generate();
+        underTest.generate();
+        assertThat(statistics.getMissedPongCount()).isEqualTo(3L);
+        assertThat(halfOpenCalls).hasValue(1);
+    }
+
+    @Test
+    public void answeredPingResetsMissedPongs() {
+        final PingPongMonitor underTest = monitor(2);
+
+        underTest.generate();
+        final byte[] secondPing = underTest.generate();
+        // a late pong answers all pings up to its own
+        underTest.onPong(secondPing);
+        underTest.generate();
+        underTest.generate();
+
+        assertThat(halfOpenCalls).hasValue(0);
+    }
+
+    @Test
+    public void neverCallsBackIfDisabled() {
+        final PingPongMonitor underTest = monitor(0);
+
+        for (int i = 0; i < 10; i++) {
+            underTest.generate();
+        }
+
+        assertThat(statistics.getMissedPongCount()).isEqualTo(9L);
+        assertThat(halfOpenCalls).hasValue(0);
+    }
+
+    @Test
+    public void ignoresPongsNotAnsweringPings() {
+        final PingPongMonitor underTest = monitor(2);
+        final byte[] ping = underTest.generate();
+
+        underTest.onPong(new byte[0]);
+        underTest.onPong(ByteBuffer.allocate(16).putLong(7L).putLong(0L).array());
+        underTest.onPong(ping);
+        underTest.onPong(ping);
+
+        assertThat(statistics.getPongCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void computesPercentilesAndHistogramOfRoundTrips() {
+        for (long millis = 1L; millis <= 100L; millis++) {
+            statistics.recordRoundTrip(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        statistics.recordRoundTrip(TimeUnit.MINUTES.toNanos(1L));
+
+        assertThat(statistics.getPercentile(50.0)).contains(Duration.ofMillis(51L));
+        assertThat(statistics.getPercentile(100.0)).contains(Duration.ofMinutes(1L));
+        final SortedMap<Duration, Long> histogram = statistics.getHistogram();
+        assertThat(histogram.firstKey()).isEqualTo(Duration.ofMillis(1L));
+        assertThat(histogram.get(Duration.ofMillis(1L))).isEqualTo(1L);
+        assertThat(histogram.get(Duration.ofMillis(2L))).isEqualTo(1L);
+        assertThat(histogram.get(Duration.ofMillis(4L))).isEqualTo(2L);
+        assertThat(histogram.get(Duration.ofMillis(128L))).isEqualTo(36L);
+        assertThat(histogram.get(histogram.lastKey())).isEqualTo(1L);
+        assertThatIllegalArgumentException().isThrownBy(() -> statistics.getPercentile(0.0));
+    }
+
+    @Test
+    public void keepsOnlyMostRecentRoundTrips() {
+        for (int i = 0; i < DefaultLatencyStatistics.WINDOW_SIZE; i++) {
+            statistics.recordRoundTrip(TimeUnit.SECONDS.toNanos(1L));
+        }
+        statistics.recordRoundTrip(TimeUnit.MILLISECONDS.toNanos(1L));
+
+        assertThat(statistics.getPongCount()).isEqualTo(DefaultLatencyStatistics.WINDOW_SIZE + 1L);
+        assertThat(statistics.getHistogram().values().stream().mapToLong(Long::longValue).sum())
+                .isEqualTo(DefaultLatencyStatistics.WINDOW_SIZE);
+        assertThat(statistics.getLatestRoundTripTime()).contains(Duration.ofMillis(1L));
+    }
+
+    private PingPongMonitor monitor(final int maxMissedPongs) {
+        return PingPongMonitor.newInstance(maxMissedPongs, statistics, roundTrip -> {},
+                halfOpenCalls::incrementAndGet, nanoClock::get);
+    }
+
+    private void advanceMillis(final long millis) {
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.ditto.client.configuration.SendQueueOverflowPolicy;
+import org.eclipse.ditto.client.management.SendQueueFullException;
+import org.eclipse.ditto.client.messaging.LaneStatistics;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SendQueue}.
+ */
+public final class SendQueueTest {
+
+    private final List<List<String>> writtenBatches = new CopyOnWriteArrayList<>();
+    private final List<List<String>> keptBatches = new CopyOnWriteArrayList<>();
+    private final List<Runnable> drainTasks = new ArrayList<>();
+
+    @Test
+    public void messagesAreWrittenInOrderAndInBatches() {
+        final SendQueue<String> underTest = newQueue(1000, 10, SendQueueOverflowPolicy.FAIL_FAST);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(underTest.offer("message-" + i));
+        }
+
+        assertThat(futures).noneMatch(CompletableFuture::isDone);
+        assertThat(drainTasks).hasSize(1);
+        runDrainTasks();
+
+        assertThat(futures).allMatch(future -> future.isDone() && !future.isCompletedExceptionally());
+        assertThat(writtenBatches).hasSize(2);
+        assertThat(writtenBatches.get(0)).hasSize(SendQueue.MAX_BATCH_SIZE).startsWith("message-0");
+        final List<String> written = new ArrayList<>();
+        writtenBatches.forEach(written::addAll);
+        assertThat(written).hasSize(100).endsWith("message-99");
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    public void failFastRejectsUntilLowWatermarkIsReached() {
+        final int highWatermark = SendQueue.MAX_BATCH_SIZE + 2;
+        final AtomicReference<SendQueue<String>> queue = new AtomicReference<>();
+        final List<CompletableFuture<Void>> offeredWhileDraining = new ArrayList<>();
+        final SendQueue<String> underTest = SendQueue.newInstance(highWatermark, 1, SendQueueOverflowPolicy.FAIL_FAST,
+                Duration.ofSeconds(1), messages -> {
+                    writtenBatches.add(messages);
+                    // after the first batch 2 messages are left, which is still above the low watermark
+                    if (writtenBatches.size() <= 2) {
+                        offeredWhileDraining.add(queue.get().offer("offered-" + writtenBatches.size()));
+                    }
+                }, keptBatches::add, drainTasks::add);
+        queue.set(underTest);
+        for (int i = 0; i < highWatermark; i++) {
+            underTest.offer("message-" + i);
+        }
+
+        assertFailedWithSendQueueFull(underTest.offer("rejected"));
+        runDrainTasks();
+
+        assertFailedWithSendQueueFull(offeredWhileDraining.get(0));
+        assertThat(offeredWhileDraining.get(1)).isCompleted();
+        assertThat(writtenBatches).hasSize(3);
+    }
+
+    @Test
+    public void dropOldestDiscardsTheOldestMessage() {
+        final SendQueue<String> underTest = newQueue(3, 1, SendQueueOverflowPolicy.DROP_OLDEST);
+        final CompletableFuture<Void> oldest = underTest.offer("a");
+        underTest.offer("b");
+        underTest.offer("c");
+
+        final CompletableFuture<Void> newest = underTest.offer("d");
+        assertFailedWithSendQueueFull(oldest);
+
+        runDrainTasks();
+        assertThat(newest).isCompleted();
+        assertThat(writtenBatches).containsExactly(Arrays.asList("b", "c", "d"));
+    }
+
+    @Test
+    public void acceptedMessagesAreNeitherRejectedNorDiscarded() {
+        final SendQueue<String> underTest = newQueue(2, 1, SendQueueOverflowPolicy.FAIL_FAST);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(underTest.offerAccepted("accepted-" + i));
+        }
+
+        assertFailedWithSendQueueFull(underTest.offer("rejected"));
+        runDrainTasks();
+
+        assertThat(futures).allMatch(future -> future.isDone() && !future.isCompletedExceptionally());
+        assertThat(writtenBatches)
+                .containsExactly(Arrays.asList("accepted-0", "accepted-1", "accepted-2", "accepted-3", "accepted-4"));
+    }
+
+    @Test
+    public void blockTimesOutIfQueueIsNotDrained() {
+        final SendQueue<String> underTest = newQueue(2, 0, SendQueueOverflowPolicy.BLOCK, Duration.ofMillis(50));
+        underTest.offer("a");
+        underTest.offer("b");
+
+        assertFailedWithSendQueueFull(underTest.offer("c"));
+    }
+
+    @Test
+    public void blockWaitsUntilQueueIsDrained() throws Exception {
+        final SendQueue<String> underTest = SendQueue.newInstance(2, 0, SendQueueOverflowPolicy.BLOCK, Duration.ofSeconds(10),
+                writtenBatches::add, keptBatches::add, command -> {
+                    final Thread drainer = new Thread(() -> {
+                        sleep(100L);
+                        command.run();
+                    });
+                    drainer.start();
+                });
+        underTest.offer("a");
+        underTest.offer("b");
+
+        final CompletableFuture<Void> blocked = underTest.offer("c");
+
+        assertThat(blocked.isCompletedExceptionally()).isFalse();
+        blocked.get(10, TimeUnit.SECONDS);
+        assertThat(writtenBatches.get(0)).containsExactly("a", "b");
+    }
+
+    @Test(timeout = 5_000L)
+    public void blockDoesNotParkTheDrainTask() {
+        final AtomicReference<SendQueue<String>> queue = new AtomicReference<>();
+        final SendQueue<String> underTest = SendQueue.newInstance(2, 0, SendQueueOverflowPolicy.BLOCK,
+                Duration.ofSeconds(10), messages -> {
+                    writtenBatches.add(messages);
+                    if (writtenBatches.size() == 1) {
+                        queue.get().offer("b");
+                        queue.get().offer("c");
+                    }
+                }, keptBatches::add, drainTasks::add);
+        queue.set(underTest);
+        final AtomicReference<CompletableFuture<Void>> offeredByCallback = new AtomicReference<>();
+        underTest.offer("a").thenRun(() -> offeredByCallback.set(underTest.offer("d")));
+
+        // WHEN: the drain task completes the future of "a" while the queue is full of "b" and "c"
+        runDrainTasks();
+
+        // THEN: "d" offered in the callback is rejected instead of waiting for the drain task to make room
+        assertFailedWithSendQueueFull(offeredByCallback.get());
+        assertThat(writtenBatches).containsExactly(Collections.singletonList("a"), Arrays.asList("b", "c"));
+    }
+
+    @Test
+    public void sinkErrorFailsTheBatch() {
+        final IllegalStateException error = new IllegalStateException("closed");
+        final SendQueue<String> underTest = SendQueue.newInstance(10, 5, SendQueueOverflowPolicy.FAIL_FAST,
+                Duration.ofSeconds(1), messages -> {
+                    throw error;
+                }, messages -> false, Runnable::run);
+
+        assertThat(underTest.offer("a")).isCompletedExceptionally();
+    }
+
+    @Test
+    public void sinkErrorKeepsOnlyTheOfferedDataMessages() {
+        final SendQueue<String> underTest = SendQueue.newInstance(10, 5, SendQueueOverflowPolicy.FAIL_FAST,
+                Duration.ofSeconds(1), messages -> {
+                    throw new IllegalStateException("closed");
+                }, keptBatches::add, drainTasks::add);
+        final CompletableFuture<Void> data = underTest.offer("data");
+        final CompletableFuture<Void> accepted = underTest.offerAccepted("accepted");
+        final CompletableFuture<Void> control = underTest.offerControl("START-SEND-EVENTS");
+
+        runDrainTasks();
+
+        assertThat(keptBatches).containsExactly(Collections.singletonList("data"));
+        assertThat(data).isCompleted();
+        assertThat(accepted).isCompletedExceptionally();
+        assertThat(control).isCompletedExceptionally();
+    }
+
+    @Test
+    public void controlMessagesAreWrittenAheadOfDataMessages() {
+        final SendQueue<String> underTest = newQueue(1000, 10, SendQueueOverflowPolicy.FAIL_FAST);
+        underTest.offer("data-0");
+        underTest.offer("data-1");
+        final CompletableFuture<Void> control = underTest.offerControl("START-SEND-EVENTS");
+
+        runDrainTasks();
+
+        assertThat(control).isCompleted();
+        assertThat(writtenBatches).containsExactly(Arrays.asList("START-SEND-EVENTS", "data-0", "data-1"));
+        assertThat(underTest.getSentCount(LaneStatistics.Lane.CONTROL)).isEqualTo(1L);
+        assertThat(underTest.getSentCount(LaneStatistics.Lane.DATA)).isEqualTo(2L);
+    }
+
+    @Test
+    public void controlMessagesAreNotRejectedByAFullQueue() {
+        final SendQueue<String> underTest = newQueue(2, 0, SendQueueOverflowPolicy.FAIL_FAST);
+        underTest.offer("a");
+        underTest.offer("b");
+
+        assertFailedWithSendQueueFull(underTest.offer("c"));
+        final CompletableFuture<Void> control = underTest.offerControl("JWT-TOKEN");
+        assertThat(underTest.size(LaneStatistics.Lane.CONTROL)).isEqualTo(1);
+
+        runDrainTasks();
+        assertThat(control).isCompleted();
+        assertThat(writtenBatches.get(0)).containsExactly("JWT-TOKEN", "a", "b");
+    }
+
+    @Test
+    public void controlMessagesDoNotStarveDataMessages() {
+        final SendQueue<String> underTest = newQueue(1000, 10, SendQueueOverflowPolicy.FAIL_FAST);
+        underTest.offer("data");
+        for (int i = 0; i < SendQueue.MAX_BATCH_SIZE * 2; i++) {
+            underTest.offerControl("control-" + i);
+        }
+
+        runDrainTasks();
+
+        assertThat(writtenBatches.get(0)).hasSize(SendQueue.MAX_CONTROL_MESSAGES_PER_BATCH + 1).endsWith("data");
+        assertThat(underTest.getStarvationGuardCount()).isEqualTo(1L);
+        assertThat(underTest.getSentCount(LaneStatistics.Lane.CONTROL)).isEqualTo(SendQueue.MAX_BATCH_SIZE * 2L);
+        assertThat(underTest.size(LaneStatistics.Lane.CONTROL)).isZero();
+    }
+
+    private SendQueue<String> newQueue(final int highWatermark, final int lowWatermark,
+            final SendQueueOverflowPolicy overflowPolicy) {
+        return newQueue(highWatermark, lowWatermark, overflowPolicy, Duration.ofSeconds(1));
+    }
+
+    private SendQueue<String> newQueue(final int highWatermark, final int lowWatermark,
+            final SendQueueOverflowPolicy overflowPolicy, final Duration blockTimeout) {
+        return SendQueue.newInstance(highWatermark, lowWatermark, overflowPolicy, blockTimeout, writtenBatches::add,
+                keptBatches::add, drainTasks::add);
+    }
+
+    private void runDrainTasks() {
+        final List<Runnable> tasks = new ArrayList<>(drainTasks);
+        drainTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static void assertFailedWithSendQueueFull(final CompletableFuture<Void> future) {
+        assertThat(future).isCompletedExceptionally();
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(future::join)
+                .withCauseInstanceOf(SendQueueFullException.class);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of validating an inbound text frame with {@link Utf8Validator} against decoding it into a String, which
+ * is what validated the frame before it was handed over as bytes. Run {@link #main(String[])} after
+ * {@code mvn test-compile} to get the allocated bytes per message as {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Utf8ValidatorBenchmark {
+
+    private static final String TWIN_EVENT = "{\"topic\":\"org.eclipse.ditto/thing-1/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"cid-1\",\"content-type\":\"application/json\"}," +
+            "\"path\":\"/features/environment/properties\",\"value\":{\"temperature\":21.5,\"humidity\":43," +
+            "\"location\":{\"lat\":47.68,\"lon\":9.38},\"history\":[21.1,21.2,21.4,21.5]},\"revision\":3}";
+
+    private byte[] frame;
+
+    @Setup
+    public void setUp() {
+        frame = TWIN_EVENT.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return Utf8Validator.isValid(frame);
+    }
+
+    @Benchmark
+    public String decode() {
+        return new String(frame, StandardCharsets.UTF_8);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(Utf8ValidatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+}
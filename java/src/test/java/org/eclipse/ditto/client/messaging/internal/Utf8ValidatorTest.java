@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link Utf8Validator}.
+ */
+public final class Utf8ValidatorTest {
+
+    @Test
+    public void acceptsWellFormedText() {
+        final String text = "{\"topic\":\"ns/thing/things/twin/events/modified\"," +
+                "\"value\":\"\u00fc\u20ac\ud83d\ude00\"}";
+
+        assertThat(Utf8Validator.isValid(text.getBytes(StandardCharsets.UTF_8))).isTrue();
+        assertThat(Utf8Validator.isValid(new byte[0])).isTrue();
+    }
+
+    @Test
+    public void rejectsMalformedSequences() {
+        // truncated sequence, lone continuation byte, overlong '/', encoded surrogate, code point above U+10FFFF
+        assertThat(Utf8Validator.isValid(bytes(0x7b, 0xc3))).isFalse();
+        assertThat(Utf8Validator.isValid(bytes(0x80))).isFalse();
+        assertThat(Utf8Validator.isValid(bytes(0xc0, 0xaf))).isFalse();
+        assertThat(Utf8Validator.isValid(bytes(0xe0, 0x80, 0xaf))).isFalse();
+        assertThat(Utf8Validator.isValid(bytes(0xed, 0xa0, 0x80))).isFalse();
+        assertThat(Utf8Validator.isValid(bytes(0xf4, 0x90, 0x80, 0x80))).isFalse();
+        assertThat(Utf8Validator.isValid(bytes(0xe2, 0x82, 0x41))).isFalse();
+    }
+
+    @Test
+    public void agreesWithTheStrictDecoderOfTheJdk() {
+        final Random random = new Random(42L);
+        final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        for (int i = 0; i < 100_000; i++) {
+            final byte[] bytes = new byte[random.nextInt(8)];
+            for (int k = 0; k < bytes.length; k++) {
+                // mostly lead and continuation bytes, so that valid multi-byte sequences occur as well
+                bytes[k] = (byte) (random.nextInt(4) == 0 ? random.nextInt(0x80) : 0x80 + random.nextInt(0x80));
+            }
+
+            assertThat(Utf8Validator.isValid(bytes)).as("%s", (Object) bytes)
+                    .isEqualTo(isDecodable(decoder, bytes));
+        }
+    }
+
+    private static boolean isDecodable(final CharsetDecoder decoder, final byte[] bytes) {
+        try {
+            decoder.reset().decode(ByteBuffer.wrap(bytes));
+            return true;
+        } catch (final CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static byte[] bytes(final int... values) {
+        final byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+}
@@ -19,9 +19,14 @@ import java.io.PrintWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -31,15 +36,26 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import org.awaitility.Awaitility;
 import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
 import org.eclipse.ditto.client.configuration.BasicAuthenticationConfiguration;
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.configuration.OutboxConfiguration;
+import org.eclipse.ditto.client.configuration.ReconnectDelayPolicy;
+import org.eclipse.ditto.client.configuration.SendQueueOverflowPolicy;
 import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.eclipse.ditto.client.internal.bus.Classification;
+import org.eclipse.ditto.client.management.ClientReconnectingException;
 import org.eclipse.ditto.client.messaging.AuthenticationProvider;
 import org.eclipse.ditto.client.messaging.AuthenticationProviders;
+import org.eclipse.ditto.client.messaging.EndpointHealth;
+import org.eclipse.ditto.client.messaging.LatencyStatistics;
 import org.eclipse.ditto.client.messaging.MessagingException;
+import org.eclipse.ditto.protocol.Adaptable;
 import org.junit.AfterClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.neovisionaries.ws.client.OpeningHandshakeException;
 import com.neovisionaries.ws.client.WebSocket;
@@ -52,6 +68,9 @@ public final class WebSocketMessagingProviderTest {
     private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
     private static final ScheduledExecutorService SCHEDULED_EXECUTOR = Executors.newScheduledThreadPool(1);
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @AfterClass
     public static void shutdownExecutor() {
         EXECUTOR.shutdownNow();
@@ -121,6 +140,308 @@ public final class WebSocketMessagingProviderTest {
                 .withCauseInstanceOf(MessagingException.class);
     }
 
+    @Test(timeout = 20_000)
+    public void standbyWebSocketTakesOverWithinASecond() throws Exception {
+        try (final WebSocketStandInServer server = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoint(server.getEndpoint())
+                    .hotStandbyEnabled(true)
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+            underTest.registerSubscriptionMessage("events", "START-SEND-EVENTS");
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+
+            // GIVEN: a subscribed connection and a standby connection without subscriptions
+            final WebSocketStandInServer.Connection active = server.nextConnection();
+            assertThat(active.nextTextMessage()).isEqualTo("START-SEND-EVENTS");
+            final WebSocketStandInServer.Connection standby = server.nextConnection();
+            // the client installs the standby connection right after the handshake
+            TimeUnit.MILLISECONDS.sleep(200L);
+
+            // WHEN: the backend kills the subscribed connection
+            final long killedAt = System.nanoTime();
+            active.kill();
+
+            // THEN: the subscription is replayed on the standby connection within a second
+            assertThat(standby.nextTextMessage()).isEqualTo("START-SEND-EVENTS");
+            final Duration failoverTime = Duration.ofNanos(System.nanoTime() - killedAt);
+            assertThat(failoverTime).isLessThan(Duration.ofSeconds(1L));
+
+            // THEN: a new standby connection is opened
+            server.nextConnection();
+            underTest.close();
+        }
+    }
+
+    @Test(timeout = 20_000L)
+    public void measuresRoundTripTimesOfPings() throws Exception {
+        try (final WebSocketStandInServer server = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoint(server.getEndpoint())
+                    .pingInterval(Duration.ofMillis(50L))
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+            server.nextConnection();
+
+            final LatencyStatistics statistics = underTest.getLatencyStatistics().orElseThrow(AssertionError::new);
+            Awaitility.await().atMost(5L, TimeUnit.SECONDS).until(() -> statistics.getPongCount() >= 3L);
+            assertThat(statistics.getLatestRoundTripTime()).isPresent();
+            assertThat(statistics.getPercentile(99.0)).isPresent();
+            assertThat(statistics.getHistogram().values().stream().mapToLong(Long::longValue).sum())
+                    .isGreaterThanOrEqualTo(3L);
+            underTest.close();
+        }
+    }
+
+    @Test(timeout = 20_000L)
+    public void reconnectsHalfOpenConnectionAfterMissedPongs() throws Exception {
+        try (final WebSocketStandInServer server = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoint(server.getEndpoint())
+                    .pingInterval(Duration.ofMillis(100L))
+                    .maxMissedPongs(2)
+                    .reconnectDelayPolicy(ReconnectDelayPolicy.fixed(Duration.ofMillis(100L)))
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+            underTest.registerSubscriptionMessage("events", "START-SEND-EVENTS");
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+            final WebSocketStandInServer.Connection halfOpen = server.nextConnection();
+            assertThat(halfOpen.nextTextMessage()).isEqualTo("START-SEND-EVENTS");
+
+            // WHEN: the connection silently stops answering pings
+            halfOpen.stopAnsweringPings();
+
+            // THEN: the client closes it and subscribes again on a new connection
+            final WebSocketStandInServer.Connection reconnected = server.nextConnection();
+            assertThat(reconnected.nextTextMessage()).isEqualTo("START-SEND-EVENTS");
+            assertThat(underTest.getLatencyStatistics().map(LatencyStatistics::getMissedPongCount))
+                    .hasValueSatisfying(missed -> assertThat(missed).isGreaterThanOrEqualTo(2L));
+            underTest.close();
+        }
+    }
+
+    @Test(timeout = 20_000L)
+    public void passesTheAttemptsSinceTheConnectionWasLostToTheReconnectDelayPolicy() throws Exception {
+        final List<Integer> attempts = new CopyOnWriteArrayList<>();
+        try (final WebSocketStandInServer server = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoint(server.getEndpoint())
+                    .reconnectDelayPolicy(attempt -> {
+                        attempts.add(attempt);
+                        return Duration.ofMillis(100L);
+                    })
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+
+            // WHEN: the connection is lost once and the client reconnects
+            server.nextConnection().kill();
+            server.nextConnection();
+            assertThat(attempts).containsExactly(1);
+
+            // WHEN: the connection is lost again and the server is gone
+            server.close();
+
+            // THEN: the attempts start over and count each failed reconnection
+            Awaitility.await().atMost(5L, TimeUnit.SECONDS).until(() -> attempts.size() >= 4);
+            assertThat(attempts.subList(0, 4)).containsExactly(1, 1, 2, 3);
+            underTest.close();
+        }
+    }
+
+    @Test(timeout = 20_000L)
+    public void reconnectsToNextEndpointWhenConnectionIsLost() throws Exception {
+        try (final WebSocketStandInServer first = WebSocketStandInServer.start();
+                final WebSocketStandInServer second = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoints(Arrays.asList(first.getEndpoint(), second.getEndpoint()))
+                    .reconnectDelayPolicy(ReconnectDelayPolicy.fixed(Duration.ofMillis(100L)))
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+            underTest.registerSubscriptionMessage("events", "START-SEND-EVENTS");
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+            final WebSocketStandInServer.Connection lost = first.nextConnection();
+            assertThat(lost.nextTextMessage()).isEqualTo("START-SEND-EVENTS");
+
+            // WHEN: the connection to the first endpoint is lost
+            lost.kill();
+
+            // THEN: the client subscribes again on the second endpoint
+            assertThat(second.nextConnection().nextTextMessage()).isEqualTo("START-SEND-EVENTS");
+            final List<EndpointHealth> health = underTest.getEndpointHealth();
+            assertThat(health).extracting(EndpointHealth::isHealthy).containsExactly(false, true);
+            assertThat(health).extracting(EndpointHealth::getConnectionCount).containsExactly(1L, 1L);
+            underTest.close();
+        }
+    }
+
+    @Test(timeout = 20_000L)
+    public void replaysTheWholeOutboxIntoAFullFailFastSendQueue() throws Exception {
+        final OutboxConfiguration outboxConfiguration = OutboxConfiguration.newBuilder()
+                .directory(temporaryFolder.getRoot().toPath())
+                .build();
+        final int messageCount = 200;
+        try (final Outbox outbox = Outbox.open(outboxConfiguration, Clock.systemUTC())) {
+            for (int i = 0; i < messageCount; i++) {
+                outbox.append("{\"message\":" + i + "}");
+            }
+        }
+        try (final WebSocketStandInServer server = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoint(server.getEndpoint())
+                    .sendQueueWatermarks(1, 2)
+                    .sendQueueOverflowPolicy(SendQueueOverflowPolicy.FAIL_FAST)
+                    .outboxConfiguration(outboxConfiguration)
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+
+            // WHEN: the outbox holds far more messages than the send queue accepts
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+
+            // THEN: all of them are sent in order
+            final WebSocketStandInServer.Connection connection = server.nextConnection();
+            for (int i = 0; i < messageCount; i++) {
+                assertThat(connection.nextTextMessage()).isEqualTo("{\"message\":" + i + "}");
+            }
+            underTest.close();
+        }
+    }
+
+    @Test(timeout = 20_000L)
+    public void emitsFromACallbackIntoAFullBlockingSendQueue() throws Exception {
+        try (final WebSocketStandInServer server = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoint(server.getEndpoint())
+                    .timeout(Duration.ofSeconds(5L))
+                    .sendQueueWatermarks(1, 2)
+                    .sendQueueOverflowPolicy(SendQueueOverflowPolicy.BLOCK)
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+            final WebSocketStandInServer.Connection connection = server.nextConnection();
+            final int messageCount = 200;
+
+            // WHEN: a callback occupying the only thread of the callback executor emits far more messages than the
+            // send queue holds
+            final CompletableFuture<Void> callback = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < messageCount; i++) {
+                    underTest.emit("{\"message\":" + i + "}");
+                }
+            }, EXECUTOR);
+
+            // THEN: the send queue is drained meanwhile and all messages are sent in order
+            callback.get(10L, TimeUnit.SECONDS);
+            for (int i = 0; i < messageCount; i++) {
+                assertThat(connection.nextTextMessage()).isEqualTo("{\"message\":" + i + "}");
+            }
+            underTest.close();
+        }
+    }
+
+    @Test(timeout = 20_000L)
+    public void controlMessagesAreNotKeptInTheOutboxWhileReconnecting() throws Exception {
+        final OutboxConfiguration outboxConfiguration = OutboxConfiguration.newBuilder()
+                .directory(temporaryFolder.getRoot().toPath())
+                .build();
+        try (final WebSocketStandInServer server = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoint(server.getEndpoint())
+                    .reconnectDelayPolicy(ReconnectDelayPolicy.fixed(Duration.ofSeconds(1L)))
+                    .outboxConfiguration(outboxConfiguration)
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+            underTest.registerSubscriptionMessage("events", "START-SEND-EVENTS");
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+            final WebSocketStandInServer.Connection lost = server.nextConnection();
+            assertThat(lost.nextTextMessage()).isEqualTo("START-SEND-EVENTS");
+
+            // WHEN: a control message and a data message are emitted while the client is reconnecting
+            lost.kill();
+            Awaitility.await().atMost(5L, TimeUnit.SECONDS).until(() -> {
+                try {
+                    underTest.emit("START-SEND-EVENTS");
+                    return false;
+                } catch (final ClientReconnectingException e) {
+                    return true;
+                }
+            });
+            underTest.emit("{\"message\":1}");
+
+            // THEN: only the data message is replayed from the outbox after the subscription was sent again
+            final WebSocketStandInServer.Connection reconnected = server.nextConnection();
+            assertThat(reconnected.nextTextMessage()).isEqualTo("START-SEND-EVENTS");
+            assertThat(reconnected.nextTextMessage()).isEqualTo("{\"message\":1}");
+            underTest.close();
+        }
+    }
+
+    @Test(timeout = 20_000L)
+    public void repliesAndSearchCommandsAreSentOnTheConnectionOfTheirSession() throws Exception {
+        try (final WebSocketStandInServer server = WebSocketStandInServer.start()) {
+            final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                    .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                    .endpoint(server.getEndpoint())
+                    .connectionPoolSize(2)
+                    .build();
+            final WebSocketMessagingProvider underTest =
+                    WebSocketMessagingProvider.newInstance(config, dummyAuth(), EXECUTOR, SCHEDULED_EXECUTOR);
+            final BlockingQueue<Adaptable> events = new LinkedBlockingQueue<>();
+            underTest.getAdaptableBus().subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, events::add);
+            underTest.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+            final List<WebSocketStandInServer.Connection> connections =
+                    Arrays.asList(server.nextConnection(), server.nextConnection());
+
+            // GIVEN: each connection created a search subscription and pushed an event requesting an acknowledgement
+            for (int i = 0; i < connections.size(); i++) {
+                connections.get(i).sendText("{\"topic\":\"_/_/things/twin/search/created\",\"headers\":{}," +
+                        "\"path\":\"/\",\"value\":{\"subscriptionId\":\"subscription-" + i + "\"}}");
+                connections.get(i).sendText("{\"topic\":\"ns/thing/things/twin/events/modified\"," +
+                        "\"headers\":{\"correlation-id\":\"event-" + i + "\",\"requested-acks\":[\"custom\"]}," +
+                        "\"path\":\"/attributes/a\",\"value\":" + i + ",\"revision\":1}");
+            }
+            for (int i = 0; i < connections.size(); i++) {
+                assertThat(events.poll(5L, TimeUnit.SECONDS)).isNotNull();
+            }
+
+            // WHEN: the client acknowledges the events and requests and cancels the subscriptions
+            // THEN: each message is sent on the connection of the session it refers to
+            for (int i = 0; i < connections.size(); i++) {
+                final String acknowledgement = "{\"topic\":\"ns/thing/things/twin/acks/custom\"," +
+                        "\"headers\":{\"correlation-id\":\"event-" + i + "\"},\"path\":\"/\",\"status\":200}";
+                final String request = "{\"topic\":\"_/_/things/twin/search/request\"," +
+                        "\"headers\":{\"correlation-id\":\"random-" + i + "\"},\"path\":\"/\"," +
+                        "\"value\":{\"subscriptionId\":\"subscription-" + i + "\",\"demand\":1}}";
+                final String cancellation = "{\"topic\":\"_/_/things/twin/search/cancel\",\"headers\":{}," +
+                        "\"path\":\"/\",\"value\":{\"subscriptionId\":\"subscription-" + i + "\"}}";
+                underTest.emit(acknowledgement);
+                underTest.emit(request);
+                underTest.emit(cancellation);
+
+                assertThat(connections.get(i).nextTextMessage()).isEqualTo(acknowledgement);
+                assertThat(connections.get(i).nextTextMessage()).isEqualTo(request);
+                assertThat(connections.get(i).nextTextMessage()).isEqualTo(cancellation);
+            }
+            underTest.close();
+        }
+    }
+
     private MessagingConfiguration configOf(final String uri, final Consumer<Throwable> errorHandler,
             final boolean reconnect) {
         return WebSocketMessagingConfiguration.newBuilder()
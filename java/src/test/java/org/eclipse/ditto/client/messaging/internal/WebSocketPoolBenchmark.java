@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of selecting the connection of a {@link WebSocketPool} for an outgoing message. Sniffing the envelope is
+ * compared with routing the fully parsed adaptable, which is what messages with escape sequences in their envelope
+ * fall back to. Run {@link #main(String[])} after {@code mvn test-compile} to get the allocated bytes per message as
+ * {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebSocketPoolBenchmark {
+
+    private static final String MODIFY_COMMAND = "{\"topic\":\"org.eclipse.ditto/thing-1/things/twin/commands/modify\"," +
+            "\"headers\":{\"correlation-id\":\"cid-1\",\"content-type\":\"application/json\"," +
+            "\"response-required\":true},\"path\":\"/attributes/location\",\"value\":{\"lat\":47.68,\"lon\":9.38}}";
+    private static final String LIVE_EVENT = "{\"topic\":\"org.eclipse.ditto/thing-1/things/live/events/modified\"," +
+            "\"headers\":{\"content-type\":\"application/json\"}," +
+            "\"path\":\"/features/environment/properties/temperature\",\"value\":21.5,\"revision\":3}";
+
+    private WebSocketPool pool;
+
+    @Setup
+    public void setUp() {
+        pool = WebSocketPool.newInstance(4);
+    }
+
+    @Benchmark
+    public WebSocketPool.Slot sniffCommand() {
+        return pool.forMessage(MODIFY_COMMAND);
+    }
+
+    @Benchmark
+    public WebSocketPool.Slot sniffEventWithoutCorrelationId() {
+        return pool.forMessage(LIVE_EVENT);
+    }
+
+    @Benchmark
+    public WebSocketPool.Slot parseCommand() {
+        return pool.forAdaptable(ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(MODIFY_COMMAND)));
+    }
+
+    @Benchmark
+    public WebSocketPool.Slot startStreamingCommand() {
+        return pool.forMessage("START-SEND-EVENTS?namespaces=org.eclipse.ditto");
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WebSocketPoolBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.client.internal.bus.Classification;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WebSocketPool}.
+ */
+public final class WebSocketPoolTest {
+
+    @Test
+    public void poolSizeMustBePositive() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> WebSocketPool.newInstance(0));
+    }
+
+    @Test
+    public void singleSlotCarriesEverything() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(1);
+        final WebSocketPool.Slot slot = underTest.getSlots().get(0);
+
+        assertThat(underTest.forMessage(command("a", "ns:thing"))).isSameAs(slot);
+        assertThat(underTest.forMessage("START-SEND-EVENTS")).isSameAs(slot);
+        assertThat(underTest.forSubscriptionKey(Classification.StreamingType.LIVE_MESSAGE)).isSameAs(slot);
+    }
+
+    @Test
+    public void commandsAreSpreadByCorrelationId() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(4);
+        final Set<Integer> usedSlots = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final String command = command("correlation-" + i, "ns:thing");
+            final WebSocketPool.Slot slot = underTest.forMessage(command);
+            assertThat(underTest.forMessage(command)).isSameAs(slot);
+            usedSlots.add(slot.getIndex());
+        }
+        assertThat(usedSlots).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    public void commandsAvoidReconnectingSlots() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(2);
+        final String command = command("correlation", "ns:thing");
+        final WebSocketPool.Slot preferredSlot = underTest.forMessage(command);
+
+        preferredSlot.startReconnecting();
+
+        assertThat(underTest.forMessage(command)).isNotSameAs(preferredSlot);
+    }
+
+    @Test
+    public void messagesWithoutCorrelationIdArePinnedByThing() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(8);
+        final WebSocketPool.Slot slot =
+                underTest.forMessage("{\"topic\":\"ns/thing/things/live/events/modified\",\"path\":\"/\"}");
+
+        assertThat(underTest.forMessage("{\"topic\":\"ns/thing/things/live/events/created\",\"path\":\"/a\"}"))
+                .isSameAs(slot);
+    }
+
+    @Test
+    public void routingFieldsInThePayloadAreIgnored() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(8);
+        final WebSocketPool.Slot slot = underTest.forMessage("{\"topic\":\"ns/thing/things/twin/events/modified\"," +
+                "\"path\":\"/\",\"value\":{\"topic\":\"other/thing\",\"correlation-id\":\"elsewhere\"}}");
+
+        assertThat(slot).isSameAs(underTest.forMessage("{\"topic\":\"ns/thing/things/twin/events/created\"," +
+                "\"path\":\"/\"}"));
+    }
+
+    @Test
+    public void subscriptionCommandsArePinnedToTheirSubscriptionSlot() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(4);
+        final Set<Integer> usedSlots = new HashSet<>();
+        for (final Classification.StreamingType streamingType : Classification.StreamingType.values()) {
+            final WebSocketPool.Slot slot = underTest.forSubscriptionKey(streamingType);
+            assertThat(underTest.forMessage(streamingType.start() + "?namespaces=ns")).isSameAs(slot);
+            assertThat(underTest.forMessage(streamingType.stop())).isSameAs(slot);
+            usedSlots.add(slot.getIndex());
+        }
+        assertThat(usedSlots).hasSize(Classification.StreamingType.values().length);
+    }
+
+    @Test
+    public void searchCommandsAreSentOnTheConnectionOfTheirSubscription() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(4);
+        for (final WebSocketPool.Slot slot : underTest.getSlots()) {
+            final String subscriptionId = "subscription-" + slot.getIndex();
+            underTest.recordInbound(slot, utf8(searchEvent("created", subscriptionId)));
+
+            // requests carry random correlation IDs and cancellations none at all
+            for (int i = 0; i < 10; i++) {
+                assertThat(underTest.forMessage(searchCommand("request", subscriptionId, "random-" + i)))
+                        .isSameAs(slot);
+            }
+            assertThat(underTest.forMessage(searchCommand("cancel", subscriptionId, null))).isSameAs(slot);
+        }
+    }
+
+    @Test
+    public void endedSearchSubscriptionsAreForgotten() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(4);
+        final WebSocketPool unrecorded = WebSocketPool.newInstance(4);
+        for (final WebSocketPool.Slot slot : underTest.getSlots()) {
+            final String subscriptionId = "subscription-" + slot.getIndex();
+            final String request = searchCommand("request", subscriptionId, "cid-" + slot.getIndex());
+            underTest.recordInbound(slot, utf8(searchEvent("created", subscriptionId)));
+            underTest.recordInbound(slot, utf8(searchEvent(slot.getIndex() % 2 == 0 ? "complete" : "failed",
+                    subscriptionId)));
+
+            assertThat(underTest.forMessage(request).getIndex()).isEqualTo(unrecorded.forMessage(request).getIndex());
+        }
+    }
+
+    @Test
+    public void acknowledgementsAndLiveResponsesAreSentOnTheConnectionOfTheirSignal() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(4);
+        for (final WebSocketPool.Slot slot : underTest.getSlots()) {
+            final String eventCorrelationId = "event-" + slot.getIndex();
+            final String commandCorrelationId = "command-" + slot.getIndex();
+            underTest.recordInbound(slot, utf8("{\"topic\":\"ns/thing/things/twin/events/modified\"," +
+                    "\"headers\":{\"correlation-id\":\"" + eventCorrelationId + "\"," +
+                    "\"requested-acks\":[\"custom\"]},\"path\":\"/\",\"value\":{},\"revision\":1}"));
+            underTest.recordInbound(slot, utf8("{\"topic\":\"ns/thing/things/live/commands/modify\"," +
+                    "\"headers\":{\"correlation-id\":\"" + commandCorrelationId + "\"},\"path\":\"/\"," +
+                    "\"value\":{}}"));
+
+            assertThat(underTest.forMessage("{\"topic\":\"ns/thing/things/twin/acks/custom\"," +
+                    "\"headers\":{\"correlation-id\":\"" + eventCorrelationId + "\"},\"path\":\"/\"," +
+                    "\"status\":200}")).isSameAs(slot);
+            assertThat(underTest.forMessage("{\"topic\":\"ns/thing/things/live/commands/modify\"," +
+                    "\"headers\":{\"correlation-id\":\"" + commandCorrelationId + "\"},\"path\":\"/\"," +
+                    "\"status\":204}")).isSameAs(slot);
+        }
+    }
+
+    @Test
+    public void signalsWithoutExpectedRepliesAreNotRecorded() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(4);
+        final WebSocketPool unrecorded = WebSocketPool.newInstance(4);
+        for (final WebSocketPool.Slot slot : underTest.getSlots()) {
+            final String correlationId = "event-" + slot.getIndex();
+            underTest.recordInbound(slot, utf8("{\"topic\":\"ns/thing/things/twin/events/modified\"," +
+                    "\"headers\":{\"correlation-id\":\"" + correlationId + "\",\"requested-acks\":[ ]}," +
+                    "\"path\":\"/\",\"value\":{},\"revision\":1}"));
+
+            final String command = command(correlationId, "ns:thing");
+            assertThat(underTest.forMessage(command).getIndex()).isEqualTo(unrecorded.forMessage(command).getIndex());
+        }
+    }
+
+    @Test
+    public void replacedSessionsAreForgotten() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(4);
+        final WebSocketPool unrecorded = WebSocketPool.newInstance(4);
+        final WebSocketPool.Slot slot = underTest.getSlots().get(3);
+        underTest.recordInbound(slot, utf8(searchEvent("created", "subscription")));
+        underTest.recordInbound(slot, utf8("{\"topic\":\"ns/thing/things/live/messages/hello\"," +
+                "\"headers\":{\"correlation-id\":\"message\"},\"path\":\"/inbox/messages/hello\"}"));
+
+        underTest.forgetSession(slot);
+
+        final String request = searchCommand("request", "subscription", "cid");
+        final String response = command("message", "ns:thing");
+        assertThat(underTest.forMessage(request).getIndex()).isEqualTo(unrecorded.forMessage(request).getIndex());
+        assertThat(underTest.forMessage(response).getIndex()).isEqualTo(unrecorded.forMessage(response).getIndex());
+    }
+
+    @Test
+    public void onlyTheNewestReplyRoutesAreKept() {
+        final WebSocketPool underTest = WebSocketPool.newInstance(4);
+        final WebSocketPool unrecorded = WebSocketPool.newInstance(4);
+        for (int i = 0; i <= WebSocketPool.MAX_REPLY_ROUTES; i++) {
+            final WebSocketPool.Slot slot = underTest.getSlots().get(i % 4);
+            underTest.recordInbound(slot, utf8("{\"topic\":\"ns/thing/things/live/commands/modify\"," +
+                    "\"headers\":{\"correlation-id\":\"command-" + i + "\"},\"path\":\"/\"}"));
+        }
+
+        final String oldest = command("command-0", "ns:thing");
+        final String newest = command("command-" + WebSocketPool.MAX_REPLY_ROUTES, "ns:thing");
+        assertThat(underTest.forMessage(oldest).getIndex()).isEqualTo(unrecorded.forMessage(oldest).getIndex());
+        assertThat(underTest.forMessage(newest).getIndex()).isEqualTo(WebSocketPool.MAX_REPLY_ROUTES % 4);
+    }
+
+    private static String searchEvent(final String action, final String subscriptionId) {
+        return "{\"topic\":\"_/_/things/twin/search/" + action + "\",\"headers\":{},\"path\":\"/\"," +
+                "\"value\":{\"subscriptionId\":\"" + subscriptionId + "\"}}";
+    }
+
+    private static String searchCommand(final String action, final String subscriptionId,
+            @Nullable final String correlationId) {
+        final String headers = null == correlationId ? "{}" : "{\"correlation-id\":\"" + correlationId + "\"}";
+        return "{\"topic\":\"_/_/things/twin/search/" + action + "\",\"headers\":" + headers +
+                ",\"path\":\"/\",\"value\":{\"subscriptionId\":\"" + subscriptionId + "\",\"demand\":1}}";
+    }
+
+    private static byte[] utf8(final String message) {
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String command(final String correlationId, final String thingId) {
+        final String[] namespaceAndName = thingId.split(":");
+        return "{\"topic\":\"" + namespaceAndName[0] + "/" + namespaceAndName[1] +
+                "/things/twin/commands/retrieve\",\"headers\":{\"correlation-id\":\"" + correlationId +
+                "\"},\"path\":\"/\"}";
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.configuration.BasicAuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.configuration.SendQueueOverflowPolicy;
+import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.eclipse.ditto.client.messaging.AuthenticationProviders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the throughput of a {@link WebSocketMessagingProvider} with a pool of WebSocket connections to a
+ * {@link WebSocketStandInServer}. Each invocation emits a batch of twin commands with distinct correlation IDs and
+ * waits until the server received all of them. Run {@link #main(String[])} after {@code mvn test-compile} on a
+ * machine with several cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebSocketPoolThroughputBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String MODIFY_COMMAND =
+            "{\"topic\":\"org.eclipse.ditto/thing-%d/things/twin/commands/modify\"," +
+            "\"headers\":{\"correlation-id\":\"cid-%d\",\"content-type\":\"application/json\"," +
+            "\"response-required\":false},\"path\":\"/features/environment/properties\"," +
+            "\"value\":{\"temperature\":21.5,\"humidity\":43,\"location\":{\"lat\":47.68,\"lon\":9.38}}}";
+
+    @Param({"1", "2", "4"})
+    public int connectionPoolSize;
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+    private WebSocketStandInServer server;
+    private WebSocketMessagingProvider messagingProvider;
+    private String[] commands;
+
+    @Setup
+    public void setUp() throws Exception {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        server = WebSocketStandInServer.start();
+        server.discardTextMessages();
+        final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                .endpoint(server.getEndpoint())
+                .connectionPoolSize(connectionPoolSize)
+                .sendQueueOverflowPolicy(SendQueueOverflowPolicy.BLOCK)
+                .build();
+        messagingProvider = WebSocketMessagingProvider.newInstance(config, AuthenticationProviders.basic(
+                        BasicAuthenticationConfiguration.newBuilder().username("dummy").password("auth").build()),
+                executor, scheduledExecutor);
+        messagingProvider.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+        for (int i = 0; i < connectionPoolSize; i++) {
+            server.nextConnection();
+        }
+        commands = new String[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            commands[i] = String.format(MODIFY_COMMAND, i % 100, i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        messagingProvider.close();
+        server.close();
+        executor.shutdownNow();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long emitBatch() {
+        final long expectedCount = server.getTextMessageCount() + BATCH_SIZE;
+        for (final String command : commands) {
+            messagingProvider.emit(command);
+        }
+        long count;
+        while ((count = server.getTextMessageCount()) < expectedCount) {
+            LockSupport.parkNanos(10_000L);
+        }
+        return count;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WebSocketPoolThroughputBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal WebSocket server standing in for the Ditto gateway. It accepts any handshake, records the text frames
+ * each connection receives, sends text frames, answers pings and is able to kill connections without a close frame.
+ */
+final class WebSocketStandInServer implements AutoCloseable {
+
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_CLOSE = 0x8;
+    private static final int OPCODE_PING = 0x9;
+    private static final int OPCODE_PONG = 0xA;
+    private static final int FIN = 0x80;
+
+    private final ServerSocket serverSocket;
+    private final BlockingQueue<Connection> connections;
+    private final List<Connection> allConnections;
+    private final LongAdder textMessageCount;
+    private volatile boolean recordingTextMessages;
+
+    private WebSocketStandInServer(final ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        connections = new LinkedBlockingQueue<>();
+        allConnections = new CopyOnWriteArrayList<>();
+        textMessageCount = new LongAdder();
+        recordingTextMessages = true;
+    }
+
+    /**
+     * Starts a server on a free local port.
+     *
+     * @return the server.
+     * @throws IOException if the server socket could not be opened.
+     */
+    static WebSocketStandInServer start() throws IOException {
+        final WebSocketStandInServer server = new WebSocketStandInServer(new ServerSocket(0));
+        final Thread acceptor = new Thread(server::acceptConnections, "websocket-stand-in-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server;
+    }
+
+    /**
+     * @return the endpoint of the server.
+     */
+    String getEndpoint() {
+        return "ws://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    /**
+     * Waits for the next connection which completed its handshake.
+     *
+     * @return the connection.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws AssertionError if no connection was established within 5 seconds.
+     */
+    Connection nextConnection() throws InterruptedException {
+        final Connection connection = connections.poll(5L, TimeUnit.SECONDS);
+        if (null == connection) {
+            throw new AssertionError("No WebSocket connection was established.");
+        }
+        return connection;
+    }
+
+    /**
+     * Only counts the text messages received from now on instead of recording them, e.g. for benchmarks.
+     */
+    void discardTextMessages() {
+        recordingTextMessages = false;
+    }
+
+    /**
+     * @return the number of text messages all connections received so far.
+     */
+    long getTextMessageCount() {
+        return textMessageCount.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (final Connection connection : allConnections) {
+            connection.kill();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                final Connection connection = new Connection(socket);
+                allConnections.add(connection);
+                final Thread reader = new Thread(connection::handle, "websocket-stand-in-connection");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (final IOException e) {
+                // server was closed
+            }
+        }
+    }
+
+    /**
+     * One accepted WebSocket connection.
+     */
+    final class Connection {
+
+        private final Socket socket;
+        private final BlockingQueue<String> textMessages;
+        private volatile boolean answeringPings;
+
+        private Connection(final Socket socket) {
+            this.socket = socket;
+            textMessages = new LinkedBlockingQueue<>();
+            answeringPings = true;
+        }
+
+        /**
+         * Waits for the next text message received by this connection.
+         *
+         * @return the text message.
+         * @throws InterruptedException if interrupted while waiting.
+         * @throws AssertionError if no text message was received within 5 seconds.
+         */
+        String nextTextMessage() throws InterruptedException {
+            final String textMessage = textMessages.poll(5L, TimeUnit.SECONDS);
+            if (null == textMessage) {
+                throw new AssertionError("No text message was received.");
+            }
+            return textMessage;
+        }
+
+        /**
+         * Sends a text message to the client.
+         *
+         * @param textMessage the text message.
+         * @throws IOException if the connection is closed.
+         */
+        void sendText(final String textMessage) throws IOException {
+            writeFrame(OPCODE_TEXT, textMessage.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Stops answering pings while keeping the TCP connection open, like a half-open connection does.
+         */
+        void stopAnsweringPings() {
+            answeringPings = false;
+        }
+
+        /**
+         * Closes the TCP connection without a WebSocket close frame, like a crashing gateway does.
+         */
+        void kill() {
+            try {
+                socket.close();
+            } catch (final IOException e) {
+                // already closed
+            }
+        }
+
+        private void handle() {
+            try {
+                handshake();
+                connections.add(this);
+                readFrames();
+            } catch (final IOException e) {
+                // connection was killed or closed by the client
+            } finally {
+                kill();
+            }
+        }
+
+        private void handshake() throws IOException {
+            final BufferedReader reader =
+                    new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+            String key = null;
+            String line;
+            while (null != (line = reader.readLine()) && !line.isEmpty()) {
+                if (line.toLowerCase().startsWith("sec-websocket-key:")) {
+                    key = line.substring(line.indexOf(':') + 1).trim();
+                }
+            }
+            if (null == key) {
+                throw new IOException("Handshake without Sec-WebSocket-Key");
+            }
+            final String response = "HTTP/1.1 101 Switching Protocols\r\n" +
+                    "Upgrade: websocket\r\n" +
+                    "Connection: Upgrade\r\n" +
+                    "Sec-WebSocket-Accept: " + acceptKeyOf(key) + "\r\n\r\n";
+            final OutputStream out = socket.getOutputStream();
+            out.write(response.getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+        }
+
+        private void readFrames() throws IOException {
+            // the client sends no frames before the handshake response, so the handshake reader buffered none
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                final int opcode = in.readUnsignedByte() & 0x0f;
+                final int maskAndLength = in.readUnsignedByte();
+                long length = maskAndLength & 0x7f;
+                if (length == 126) {
+                    length = in.readUnsignedShort();
+                } else if (length == 127) {
+                    length = in.readLong();
+                }
+                final byte[] mask = new byte[4];
+                if ((maskAndLength & 0x80) != 0) {
+                    in.readFully(mask);
+                }
+                final byte[] payload = new byte[(int) length];
+                in.readFully(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i % 4];
+                }
+                if (opcode == OPCODE_TEXT) {
+                    if (recordingTextMessages) {
+                        textMessages.add(new String(payload, StandardCharsets.UTF_8));
+                    }
+                    textMessageCount.increment();
+                } else if (opcode == OPCODE_PING && answeringPings) {
+                    writeFrame(OPCODE_PONG, payload);
+                } else if (opcode == OPCODE_CLOSE) {
+                    return;
+                }
+            }
+        }
+
+        private synchronized void writeFrame(final int opcode, final byte[] payload) throws IOException {
+            // frames of a server are not masked
+            final OutputStream out = socket.getOutputStream();
+            out.write(FIN | opcode);
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else if (payload.length <= 0xffff) {
+                out.write(126);
+                out.write(payload.length >>> 8);
+                out.write(payload.length & 0xff);
+            } else {
+                out.write(127);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) ((long) payload.length >>> shift) & 0xff);
+                }
+            }
+            out.write(payload);
+            out.flush();
+        }
+
+    }
+
+    private static String acceptKeyOf(final String key) {
+        try {
+            final MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            final byte[] digest = sha1.digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -67,4 +67,53 @@ public final class OptionsTest {
         softly.assertThat(option.getValue()).as("option value").isEqualTo(liveChannelConditionExpression);
     }
 
+    @Test
+    public void deliveryOrderReturnsExpected() {
+        final Option<DeliveryOrder> option = Options.Consumption.deliveryOrder(DeliveryOrder.SEQUENTIAL);
+
+        softly.assertThat(option.getName()).as("option name").isEqualTo(OptionName.Consumption.DELIVERY_ORDER);
+        softly.assertThat(option.getValue()).as("option value").isEqualTo(DeliveryOrder.SEQUENTIAL);
+    }
+
+    @Test
+    public void mailboxCapacityReturnsExpected() {
+        final Option<Integer> option = Options.Consumption.mailboxCapacity(42);
+
+        softly.assertThat(option.getName()).as("option name").isEqualTo(OptionName.Consumption.MAILBOX_CAPACITY);
+        softly.assertThat(option.getValue()).as("option value").isEqualTo(42);
+    }
+
+    @Test
+    public void tryToCreateMailboxCapacityWithZero() {
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> Options.Consumption.mailboxCapacity(0))
+                .withMessage("The mailboxCapacity must be positive but was 0.")
+                .withNoCause();
+    }
+
+    @Test
+    public void overflowPolicyReturnsExpected() {
+        final Option<OverflowPolicy> option = Options.Consumption.overflowPolicy(OverflowPolicy.FAIL);
+
+        softly.assertThat(option.getName()).as("option name").isEqualTo(OptionName.Consumption.OVERFLOW_POLICY);
+        softly.assertThat(option.getValue()).as("option value").isEqualTo(OverflowPolicy.FAIL);
+    }
+
+    @Test
+    public void suppressDuplicateEventsReturnsExpected() {
+        final Option<Integer> option = Options.Consumption.suppressDuplicateEvents(100_000);
+
+        softly.assertThat(option.getName()).as("option name")
+                .isEqualTo(OptionName.Consumption.SUPPRESS_DUPLICATE_EVENTS);
+        softly.assertThat(option.getValue()).as("option value").isEqualTo(100_000);
+    }
+
+    @Test
+    public void tryToCreateSuppressDuplicateEventsWithNegativeCapacity() {
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> Options.Consumption.suppressDuplicateEvents(-1))
+                .withMessage("The thingCapacity must be between 1 and 2^30 but was -1.")
+                .withNoCause();
+    }
+
 }
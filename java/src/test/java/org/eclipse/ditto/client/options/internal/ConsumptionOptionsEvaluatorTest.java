@@ -18,8 +18,10 @@ import static org.mutabilitydetector.unittesting.AllowedReason.provided;
 import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
 import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable;
 
+import org.eclipse.ditto.client.options.DeliveryOrder;
 import org.eclipse.ditto.client.options.Option;
 import org.eclipse.ditto.client.options.Options;
+import org.eclipse.ditto.client.options.OverflowPolicy;
 import org.eclipse.ditto.json.JsonFieldSelector;
 import org.junit.Before;
 import org.junit.Test;
@@ -76,4 +78,24 @@ public final class ConsumptionOptionsEvaluatorTest {
         assertThat(underTest.getExtraFields()).isEmpty();
     }
 
+    @Test
+    public void getDeliveryOrderReturnsExpectedIfProvided() {
+        final Option<?>[] options = new Option<?>[]{EXTRA_FIELDS,
+                Options.Consumption.deliveryOrder(DeliveryOrder.UNORDERED)};
+        underTest = OptionsEvaluator.forConsumptionOptions(options);
+
+        assertThat(underTest.getDeliveryOrder()).contains(DeliveryOrder.UNORDERED);
+        assertThat(underTest.getExtraFields()).contains(EXTRA_FIELDS.getValue());
+    }
+
+    @Test
+    public void getMailboxCapacityAndOverflowPolicyReturnExpectedIfProvided() {
+        final Option<?>[] options = new Option<?>[]{Options.Consumption.mailboxCapacity(100),
+                Options.Consumption.overflowPolicy(OverflowPolicy.DROP_NEWEST)};
+        underTest = OptionsEvaluator.forConsumptionOptions(options);
+
+        assertThat(underTest.getMailboxCapacity()).contains(100);
+        assertThat(underTest.getOverflowPolicy()).contains(OverflowPolicy.DROP_NEWEST);
+    }
+
 }